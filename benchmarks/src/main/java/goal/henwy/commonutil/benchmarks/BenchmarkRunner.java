@@ -0,0 +1,188 @@
+package goal.henwy.commonutil.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * 基准入口
+ * <br>{@code record <基线文件> [包含正则]}:单线程与多线程各运行一轮,附带GC分析器,结果写入基线文件
+ * <br>{@code compare <基线文件> [阈值百分比] [包含正则]}:重新运行并与基线比较,耗时或分配率超过阈值即视为退化,进程以1退出
+ * <br>其余参数原样交给{@link org.openjdk.jmh.Main}
+ * <br>线程数由系统属性<b>benchmark.threads</b>指定,默认"1,可用处理器数";
+ * 系统属性<b>benchmark.quick=true</b>时缩短预热与测量,仅用于冒烟
+ *
+ * @author HenwyGoal
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_INCLUDE = "goal\\.henwy\\.commonutil\\.benchmarks\\..*";
+
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    private static final String HEADER = "benchmark,params,threads,mode,unit,score,error,allocBytesPerOp";
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10;
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length >= 2 && "record".equals(args[0])) {
+            Map<String, Line> lines = run(args.length > 2 ? args[2] : DEFAULT_INCLUDE);
+            write(Paths.get(args[1]), lines.values());
+            return;
+        }
+        if (args.length >= 2 && "compare".equals(args[0])) {
+            double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+            Map<String, Line> baseline = read(Paths.get(args[1]));
+            Map<String, Line> current = run(args.length > 3 ? args[3] : DEFAULT_INCLUDE);
+            if (compare(baseline, current, threshold) > 0) {
+                System.exit(1);
+            }
+            return;
+        }
+        org.openjdk.jmh.Main.main(args);
+    }
+
+    private static Map<String, Line> run(String include) throws RunnerException {
+        Map<String, Line> lines = new LinkedHashMap<>();
+        for (int threads : threads()) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class);
+            if (Boolean.getBoolean("benchmark.quick")) {
+                options.forks(1).warmupIterations(1).measurementIterations(2)
+                        .warmupTime(TimeValue.milliseconds(300)).measurementTime(TimeValue.milliseconds(300));
+            }
+            for (RunResult result : new Runner(options.build()).run()) {
+                Line line = Line.of(result);
+                lines.put(line.key(), line);
+            }
+        }
+        return lines;
+    }
+
+    private static int[] threads() {
+        String value = System.getProperty("benchmark.threads", "1," + Runtime.getRuntime().availableProcessors());
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .mapToInt(Integer::parseInt).distinct().toArray();
+    }
+
+    private static int compare(Map<String, Line> baseline, Map<String, Line> current, double threshold) {
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %9s %12s %12s%n", "benchmark", "baseline", "current", "delta%", "baseAlloc", "alloc");
+        for (Line line : current.values()) {
+            Line base = baseline.get(line.key());
+            if (null == base) {
+                System.out.printf("%-70s %14s %14.3f%n", line.key(), "-", line.score);
+                continue;
+            }
+            double delta = percent(base.score, line.score);
+            boolean regressed = delta > threshold
+                    || (line.alloc > base.alloc && percent(base.alloc, line.alloc) > threshold && line.alloc - base.alloc >= 8);
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%% %12.1f %12.1f%s%n", line.key(), base.score, line.score,
+                    delta, base.alloc, line.alloc, regressed ? "  REGRESSION" : "");
+        }
+        System.out.printf("%d regression(s) over %.1f%%%n", regressions, threshold);
+        return regressions;
+    }
+
+    private static double percent(double base, double current) {
+        return 0 == base ? 0 : (current - base) * 100 / base;
+    }
+
+    private static void write(Path path, Collection<Line> lines) throws IOException {
+        List<String> content = new ArrayList<>();
+        content.add(HEADER);
+        for (Line line : lines) {
+            content.add(line.toCsv());
+        }
+        if (null != path.getParent()) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, content, StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Line> read(Path path) throws IOException {
+        Map<String, Line> lines = new LinkedHashMap<>();
+        for (String csv : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+            if (csv.isEmpty() || csv.startsWith(HEADER)) {
+                continue;
+            }
+            Line line = Line.parse(csv);
+            lines.put(line.key(), line);
+        }
+        return lines;
+    }
+
+
+    private static final class Line {
+        private final String benchmark;
+        private final String params;
+        private final int threads;
+        private final String mode;
+        private final String unit;
+        private final double score;
+        private final double error;
+        private final double alloc;
+
+        private Line(String benchmark, String params, int threads, String mode, String unit,
+                     double score, double error, double alloc) {
+            this.benchmark = benchmark;
+            this.params = params;
+            this.threads = threads;
+            this.mode = mode;
+            this.unit = unit;
+            this.score = score;
+            this.error = error;
+            this.alloc = alloc;
+        }
+
+        private static Line of(RunResult result) {
+            BenchmarkParams params = result.getParams();
+            StringJoiner joiner = new StringJoiner(";");
+            for (String key : params.getParamsKeys()) {
+                joiner.add(key + "=" + params.getParam(key));
+            }
+            Result<?> primary = result.getPrimaryResult();
+            Result<?> alloc = result.getSecondaryResults().get(ALLOC_RATE_NORM);
+            return new Line(params.getBenchmark(), joiner.toString(), params.getThreads(), params.getMode().shortLabel(),
+                    primary.getScoreUnit(), primary.getScore(), primary.getScoreError(),
+                    null == alloc ? Double.NaN : alloc.getScore());
+        }
+
+        private static Line parse(String csv) {
+            String[] f = csv.split(",", -1);
+            return new Line(f[0], f[1], Integer.parseInt(f[2]), f[3], f[4],
+                    Double.parseDouble(f[5]), Double.parseDouble(f[6]), Double.parseDouble(f[7]));
+        }
+
+        private String key() {
+            return benchmark + (params.isEmpty() ? "" : "[" + params + "]") + "@" + threads;
+        }
+
+        private String toCsv() {
+            return String.join(",", benchmark, params, String.valueOf(threads), mode, unit,
+                    String.format(Locale.ROOT, "%.3f", score), String.format(Locale.ROOT, "%.3f", error),
+                    String.format(Locale.ROOT, "%.1f", alloc));
+        }
+    }
+}
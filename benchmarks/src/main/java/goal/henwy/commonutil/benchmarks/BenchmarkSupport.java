@@ -0,0 +1,26 @@
+package goal.henwy.commonutil.benchmarks;
+
+import goal.henwy.commonutil.validator.ValidationException;
+
+/**
+ * 基准公共方法
+ *
+ * @author HenwyGoal
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * 执行必然失败的校验并返回捕获的异常;异常作为返回值交给JMH消费,避免被消除
+     */
+    static Object fail(Runnable check) {
+        try {
+            check.run();
+        } catch (ValidationException ex) {
+            return ex;
+        }
+        throw new IllegalStateException("校验未按预期失败");
+    }
+}
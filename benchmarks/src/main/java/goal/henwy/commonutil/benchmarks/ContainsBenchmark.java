@@ -0,0 +1,104 @@
+package goal.henwy.commonutil.benchmarks;
+
+import goal.henwy.commonutil.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 包含校验基准;覆盖文本、集合、数组与Map
+ *
+ * @author HenwyGoal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContainsBenchmark {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    @Param({"16", "1024"})
+    public int size;
+
+    private String text;
+    private StringBuilder builder;
+    private List<String> list;
+    private Set<String> set;
+    private String[] array;
+    private Map<String, Integer> map;
+    private String present;
+    private String absent;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder();
+        list = new ArrayList<>(size);
+        map = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            String item = "item" + i;
+            sb.append(item).append(',');
+            list.add(item);
+            map.put(item, i);
+        }
+        text = sb.toString();
+        builder = new StringBuilder(text);
+        set = new HashSet<>(list);
+        array = list.toArray(new String[0]);
+        present = "item" + (size - 1);
+        absent = "absent";
+    }
+
+    @Benchmark
+    public Validator textPass() {
+        return VALIDATOR.contains(text, "item", present);
+    }
+
+    @Benchmark
+    public Validator builderPass() {
+        return VALIDATOR.contains(builder, "item", present);
+    }
+
+    @Benchmark
+    public Object textFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.contains(text, "item", absent));
+    }
+
+    @Benchmark
+    public Validator listPass() {
+        return VALIDATOR.contains(list, "item", present);
+    }
+
+    @Benchmark
+    public Validator setPass() {
+        return VALIDATOR.contains(set, "item", present);
+    }
+
+    @Benchmark
+    public Object listFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.contains(list, "item", absent));
+    }
+
+    @Benchmark
+    public Validator arrayPass() {
+        return VALIDATOR.contains(array, "item", present);
+    }
+
+    @Benchmark
+    public Object arrayFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.contains(array, "item", absent));
+    }
+
+    @Benchmark
+    public Validator mapPass() {
+        return VALIDATOR.containsKey(map, "item", present);
+    }
+
+    @Benchmark
+    public Object mapFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.containsKey(map, "item", absent));
+    }
+}
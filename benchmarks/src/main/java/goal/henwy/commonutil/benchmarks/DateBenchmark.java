@@ -0,0 +1,56 @@
+package goal.henwy.commonutil.benchmarks;
+
+import goal.henwy.commonutil.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期校验基准
+ *
+ * @author HenwyGoal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateBenchmark {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final long DAY_MILLIS = 86400000L;
+
+    private Date now;
+    private Date yesterday;
+    private Date tomorrow;
+
+    @Setup
+    public void setup() {
+        now = new Date();
+        yesterday = new Date(now.getTime() - DAY_MILLIS);
+        tomorrow = new Date(now.getTime() + DAY_MILLIS);
+    }
+
+    @Benchmark
+    public Validator betweenPass() {
+        return VALIDATOR.between(now, "item", yesterday, tomorrow);
+    }
+
+    @Benchmark
+    public Validator beforeAfterPass() {
+        return VALIDATOR.before(now, "item", tomorrow).after(now, "item", yesterday);
+    }
+
+    @Benchmark
+    public Object betweenFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.between(tomorrow, "item", yesterday, now));
+    }
+
+    @Benchmark
+    public Object beforeFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.before(tomorrow, "item", now, "yyyy-MM-dd HH:mm:ss"));
+    }
+}
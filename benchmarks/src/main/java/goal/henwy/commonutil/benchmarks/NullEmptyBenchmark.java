@@ -0,0 +1,70 @@
+package goal.henwy.commonutil.benchmarks;
+
+import goal.henwy.commonutil.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 空值/空集合校验基准
+ *
+ * @author HenwyGoal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NullEmptyBenchmark {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private Object object;
+    private List<Integer> list;
+    private Integer[] array;
+    private Map<String, Integer> map;
+    private String text;
+    private String blank;
+
+    @Setup
+    public void setup() {
+        object = new Object();
+        list = Arrays.asList(1, 2, 3);
+        array = new Integer[]{1, 2, 3};
+        map = Collections.singletonMap("1", 1);
+        text = "   HenwyGoal";
+        blank = "            ";
+    }
+
+    @Benchmark
+    public Validator notNullPass() {
+        return VALIDATOR.notNull(object, "item");
+    }
+
+    @Benchmark
+    public Object notNullFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.notNull(null, "item"));
+    }
+
+    @Benchmark
+    public Validator notEmptyPass() {
+        return VALIDATOR.notEmpty(list, "item").notEmpty(array, "item").notEmpty(map, "item");
+    }
+
+    @Benchmark
+    public Object notEmptyFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.notEmpty(Collections.emptyList(), "item"));
+    }
+
+    @Benchmark
+    public Validator hasTextPass() {
+        return VALIDATOR.hasText(text, "item");
+    }
+
+    @Benchmark
+    public Object hasTextFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.hasText(blank, "item"));
+    }
+}
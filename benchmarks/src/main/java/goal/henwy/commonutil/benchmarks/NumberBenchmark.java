@@ -0,0 +1,65 @@
+package goal.henwy.commonutil.benchmarks;
+
+import goal.henwy.commonutil.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 数值校验基准;对比包装类型与基本类型重载
+ *
+ * @author HenwyGoal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberBenchmark {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private long value;
+    private Long boxed;
+    private Long boxedMin;
+    private Long boxedMax;
+    private BigDecimal decimal;
+    private BigDecimal decimalMax;
+
+    @Setup
+    public void setup() {
+        value = 42;
+        boxed = value;
+        boxedMin = 0L;
+        boxedMax = 100L;
+        decimal = new BigDecimal("42.5");
+        decimalMax = new BigDecimal("100");
+    }
+
+    @Benchmark
+    public Validator boxedPass() {
+        return VALIDATOR.between(boxed, "item", boxedMin, boxedMax).gt(boxed, "item", boxedMin);
+    }
+
+    @Benchmark
+    public Validator primitivePass() {
+        return VALIDATOR.betweenLong(value, "item", 0L, 100L).gtLong(value, "item", 0L);
+    }
+
+    @Benchmark
+    public Validator bigDecimalPass() {
+        return VALIDATOR.lte(decimal, "item", decimalMax);
+    }
+
+    @Benchmark
+    public Object boxedFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.gt(boxed, "item", boxedMax));
+    }
+
+    @Benchmark
+    public Object primitiveFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.betweenLong(value, "item", 50L, 100L));
+    }
+}
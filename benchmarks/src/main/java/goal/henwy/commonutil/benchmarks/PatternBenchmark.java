@@ -0,0 +1,75 @@
+package goal.henwy.commonutil.benchmarks;
+
+import goal.henwy.commonutil.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 格式校验基准;覆盖字符串正则(经缓存)、预编译正则与邮箱/手机号
+ *
+ * @author HenwyGoal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final String REGEX = "^[\\u4e00-\\u9fa5]*$";
+
+    private Pattern pattern;
+    private String chinese;
+    private String email;
+    private String telePhone;
+    private String illegal;
+
+    @Setup
+    public void setup() {
+        pattern = Pattern.compile(REGEX);
+        chinese = "校验器基准";
+        email = "HenwyGoal@163.com";
+        telePhone = "15625717814";
+        illegal = "Henwy.Goal.Henwy.Goal.Henwy.Goal@163";
+    }
+
+    @Benchmark
+    public Validator regexPass() {
+        return VALIDATOR.matchPattern(chinese, "item", REGEX, "纯中文");
+    }
+
+    @Benchmark
+    public Validator patternPass() {
+        return VALIDATOR.matchPattern(chinese, "item", pattern, "纯中文");
+    }
+
+    @Benchmark
+    public Object regexFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.matchPattern(email, "item", REGEX, "纯中文"));
+    }
+
+    @Benchmark
+    public Validator emailPass() {
+        return VALIDATOR.isEmail(email, "item");
+    }
+
+    @Benchmark
+    public Object emailFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.isEmail(illegal, "item"));
+    }
+
+    @Benchmark
+    public Validator telePhonePass() {
+        return VALIDATOR.isTelePhone(telePhone, "item");
+    }
+
+    @Benchmark
+    public Object telePhoneFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.isTelePhone(email, "item"));
+    }
+}
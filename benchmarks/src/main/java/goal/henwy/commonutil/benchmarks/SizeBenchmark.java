@@ -0,0 +1,65 @@
+package goal.henwy.commonutil.benchmarks;
+
+import goal.henwy.commonutil.validator.Validator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 长度校验基准
+ *
+ * @author HenwyGoal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SizeBenchmark {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private String text;
+    private List<Integer> list;
+    private Integer[] array;
+
+    @Setup
+    public void setup() {
+        text = "HenwyGoal";
+        list = Arrays.asList(1, 2, 3);
+        array = new Integer[]{1, 2, 3};
+    }
+
+    @Benchmark
+    public Validator textPass() {
+        return VALIDATOR.size(text, "item", 9).size(text, "item", 1, 16);
+    }
+
+    @Benchmark
+    public Object textFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.size(text, "item", 1, 5));
+    }
+
+    @Benchmark
+    public Validator collectionPass() {
+        return VALIDATOR.size(list, "item", 3).size(list, "item", 1, 16);
+    }
+
+    @Benchmark
+    public Object collectionFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.size(list, "item", 5));
+    }
+
+    @Benchmark
+    public Validator arrayPass() {
+        return VALIDATOR.size(array, "item", 3).size(array, "item", 1, 16);
+    }
+
+    @Benchmark
+    public Object arrayFail() {
+        return BenchmarkSupport.fail(() -> VALIDATOR.size(array, "item", 5, 16));
+    }
+}
@@ -0,0 +1,223 @@
+package goal.henwy.commonutil.codec;
+
+import java.util.Arrays;
+
+/**
+ * Base64编解码(RFC 4648)
+ * <br>{@link #STANDARD}使用"+/"字母表,{@link #URL_SAFE}使用"-_"字母表,二者编码时默认补齐"=",
+ * 通过{@link #withoutPadding()}获得不补齐的实例
+ * <br>编码每轮把6个字节拼为48位整数后查表输出8个字符;解码每轮查表8个字符后拼出6个字节,非法字符在整轮结束后统一判断
+ * <br>解码同时接受补齐与不补齐的输入,但补齐时总长度必须是4的倍数;不接受换行等空白字符,也不混用两种字母表
+ *
+ * @author HenwyGoal
+ */
+public final class Base64Codec extends ByteCodec {
+
+    public static final Base64Codec STANDARD = new Base64Codec(
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/", true);
+
+    public static final Base64Codec URL_SAFE = new Base64Codec(
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_", true);
+
+    private static final byte PAD = '=';
+
+    private final byte[] alphabet;
+
+    /**
+     * 字符到6位值的映射,非法字符为-1
+     */
+    private final int[] values;
+
+    private final boolean padding;
+
+    private final Base64Codec opposite;
+
+    private Base64Codec(String alphabet, boolean padding) {
+        this.alphabet = new byte[64];
+        this.values = new int[256];
+        Arrays.fill(values, -1);
+        for (int i = 0; i < 64; i++) {
+            this.alphabet[i] = (byte) alphabet.charAt(i);
+            values[alphabet.charAt(i)] = i;
+        }
+        this.padding = padding;
+        this.opposite = padding ? new Base64Codec(this) : null;
+    }
+
+    private Base64Codec(Base64Codec padded) {
+        this.alphabet = padded.alphabet;
+        this.values = padded.values;
+        this.padding = false;
+        this.opposite = padded;
+    }
+
+    /**
+     * 编码时不补齐"="的实例;解码行为不变
+     */
+    public Base64Codec withoutPadding() {
+        return padding ? opposite : this;
+    }
+
+    @Override
+    public int maxEncodedLength(int srcLength) {
+        int remainder = srcLength % 3;
+        int full = Math.multiplyExact(srcLength / 3, 4);
+        if (0 == remainder) {
+            return full;
+        }
+        return Math.addExact(full, padding ? 4 : remainder + 1);
+    }
+
+    @Override
+    public int maxDecodedLength(int srcLength) {
+        return srcLength / 4 * 3 + Math.max(0, srcLength % 4 - 1);
+    }
+
+    @Override
+    public int encode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        checkArrays(src, srcOff, srcLen, dst, dstOff, maxEncodedLength(srcLen));
+        byte[] table = alphabet;
+        int i = srcOff;
+        int o = dstOff;
+        int end = srcOff + srcLen;
+        for (int end6 = end - 5; i < end6; i += 6, o += 8) {
+            long bits = (src[i] & 0xFFL) << 40 | (src[i + 1] & 0xFFL) << 32 | (src[i + 2] & 0xFFL) << 24
+                    | (src[i + 3] & 0xFFL) << 16 | (src[i + 4] & 0xFFL) << 8 | (src[i + 5] & 0xFFL);
+            dst[o] = table[(int) (bits >>> 42) & 0x3F];
+            dst[o + 1] = table[(int) (bits >>> 36) & 0x3F];
+            dst[o + 2] = table[(int) (bits >>> 30) & 0x3F];
+            dst[o + 3] = table[(int) (bits >>> 24) & 0x3F];
+            dst[o + 4] = table[(int) (bits >>> 18) & 0x3F];
+            dst[o + 5] = table[(int) (bits >>> 12) & 0x3F];
+            dst[o + 6] = table[(int) (bits >>> 6) & 0x3F];
+            dst[o + 7] = table[(int) bits & 0x3F];
+        }
+        if (end - i >= 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[o] = table[bits >>> 18];
+            dst[o + 1] = table[(bits >>> 12) & 0x3F];
+            dst[o + 2] = table[(bits >>> 6) & 0x3F];
+            dst[o + 3] = table[bits & 0x3F];
+            i += 3;
+            o += 4;
+        }
+        int remainder = end - i;
+        if (1 == remainder) {
+            int bits = src[i] & 0xFF;
+            dst[o++] = table[bits >>> 2];
+            dst[o++] = table[(bits << 4) & 0x3F];
+            if (padding) {
+                dst[o++] = PAD;
+                dst[o++] = PAD;
+            }
+        } else if (2 == remainder) {
+            int bits = (src[i] & 0xFF) << 8 | (src[i + 1] & 0xFF);
+            dst[o++] = table[bits >>> 10];
+            dst[o++] = table[(bits >>> 4) & 0x3F];
+            dst[o++] = table[(bits << 2) & 0x3F];
+            if (padding) {
+                dst[o++] = PAD;
+            }
+        }
+        return o - dstOff;
+    }
+
+    @Override
+    public int decode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        checkRange(src.length, srcOff, srcLen);
+        int length = srcLen;
+        if (length > 0 && PAD == src[srcOff + length - 1]) {
+            length--;
+            if (length > 0 && PAD == src[srcOff + length - 1]) {
+                length--;
+            }
+            if (0 != (srcLen & 3)) {
+                throw new CodecException("补齐后的Base64文本长度必须为4的倍数", srcLen);
+            }
+        }
+        int remainder = length & 3;
+        if (1 == remainder) {
+            throw new CodecException("Base64文本长度不合法", length);
+        }
+        checkArrays(src, srcOff, srcLen, dst, dstOff, maxDecodedLength(length));
+        int[] table = values;
+        int i = srcOff;
+        int o = dstOff;
+        int end = srcOff + length - remainder;
+        for (int end8 = end - 7; i < end8; i += 8, o += 6) {
+            int d0 = table[src[i] & 0xFF];
+            int d1 = table[src[i + 1] & 0xFF];
+            int d2 = table[src[i + 2] & 0xFF];
+            int d3 = table[src[i + 3] & 0xFF];
+            int d4 = table[src[i + 4] & 0xFF];
+            int d5 = table[src[i + 5] & 0xFF];
+            int d6 = table[src[i + 6] & 0xFF];
+            int d7 = table[src[i + 7] & 0xFF];
+            if ((d0 | d1 | d2 | d3 | d4 | d5 | d6 | d7) < 0) {
+                throw illegal(src, i, srcOff);
+            }
+            long bits = (long) d0 << 42 | (long) d1 << 36 | (long) d2 << 30 | (long) d3 << 24
+                    | d4 << 18 | d5 << 12 | d6 << 6 | d7;
+            dst[o] = (byte) (bits >>> 40);
+            dst[o + 1] = (byte) (bits >>> 32);
+            dst[o + 2] = (byte) (bits >>> 24);
+            dst[o + 3] = (byte) (bits >>> 16);
+            dst[o + 4] = (byte) (bits >>> 8);
+            dst[o + 5] = (byte) bits;
+        }
+        if (i < end) {
+            int bits = quantum(src, i, 4, srcOff);
+            dst[o] = (byte) (bits >>> 16);
+            dst[o + 1] = (byte) (bits >>> 8);
+            dst[o + 2] = (byte) bits;
+            i += 4;
+            o += 3;
+        }
+        if (2 == remainder) {
+            dst[o++] = (byte) (quantum(src, i, 2, srcOff) >>> 16);
+        } else if (3 == remainder) {
+            int bits = quantum(src, i, 3, srcOff);
+            dst[o++] = (byte) (bits >>> 16);
+            dst[o++] = (byte) (bits >>> 8);
+        }
+        return o - dstOff;
+    }
+
+    @Override
+    int encodeUnit() {
+        return 3;
+    }
+
+    @Override
+    int decodeBoundary(int length, int last, int beforeLast) {
+        return length & ~3;
+    }
+
+    @Override
+    int trailingPadding(int last, int beforeLast) {
+        return PAD != last ? 0 : PAD != beforeLast ? 1 : 2;
+    }
+
+    /**
+     * 解码不超过4个字符,左对齐拼为24位值;不足4个时低位补0
+     */
+    private int quantum(byte[] src, int from, int count, int srcOff) {
+        int bits = 0;
+        for (int k = 0; k < count; k++) {
+            int value = values[src[from + k] & 0xFF];
+            if (value < 0) {
+                throw new CodecException("非法的Base64字符", from + k - srcOff);
+            }
+            bits |= value << (18 - 6 * k);
+        }
+        return bits;
+    }
+
+    private CodecException illegal(byte[] src, int from, int srcOff) {
+        int i = from;
+        while (values[src[i] & 0xFF] >= 0) {
+            i++;
+        }
+        return new CodecException("非法的Base64字符", i - srcOff);
+    }
+}
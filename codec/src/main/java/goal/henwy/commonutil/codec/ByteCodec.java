@@ -0,0 +1,254 @@
+package goal.henwy.commonutil.codec;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 字节编解码器
+ * <br>编码结果均为ASCII;核心实现只有基于字节数组的一组查表循环,其余形式的输入输出都归约到这组循环:
+ * 堆内{@link ByteBuffer}直接使用其底层数组,直接内存缓冲区与{@link CharSequence}经线程内复用的分块缓冲区中转,
+ * 写入调用方提供的数组或缓冲区时不产生任何分配
+ * <br>写入调用方缓冲区前按最大长度检查剩余空间,空间不足时抛出{@link BufferOverflowException}且不消费输入
+ * <br>输入不合法时抛出{@link CodecException}
+ * <br>实现不可变,<b>线程安全</b>
+ *
+ * @author HenwyGoal
+ */
+public abstract class ByteCodec {
+
+    /**
+     * 分块大小;同时是2、3、4的倍数,保证非末块不截断十六进制、Base64的编码单元
+     */
+    static final int CHUNK_SIZE = 3072;
+
+    private static final ThreadLocal<byte[][]> CHUNKS = ThreadLocal.withInitial(
+            () -> new byte[][]{new byte[CHUNK_SIZE], new byte[CHUNK_SIZE * 3]});
+
+    ByteCodec() {
+    }
+
+    /**
+     * 编码srcLength个字节最多产生的字节数
+     */
+    public abstract int maxEncodedLength(int srcLength);
+
+    /**
+     * 解码srcLength个字符最多产生的字节数
+     */
+    public abstract int maxDecodedLength(int srcLength);
+
+    /**
+     * 编码src[srcOff, srcOff + srcLen)写入dst[dstOff...]
+     *
+     * @return 写入的字节数
+     */
+    public abstract int encode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff);
+
+    /**
+     * 解码src[srcOff, srcOff + srcLen)写入dst[dstOff...]
+     *
+     * @return 写入的字节数
+     */
+    public abstract int decode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff);
+
+    /**
+     * 编码单元的字节数;非末块编码的长度须是它的倍数
+     */
+    int encodeUnit() {
+        return 1;
+    }
+
+    /**
+     * 非末块解码时本块可以完整处理的长度;不能把一个编码单元拆到两块
+     *
+     * @param last       块的最后一个字节,块为空时为-1
+     * @param beforeLast 块的倒数第二个字节,长度不足时为-1
+     */
+    int decodeBoundary(int length, int last, int beforeLast) {
+        return length;
+    }
+
+    /**
+     * 输入末尾不产生输出的补齐字符数;用于精确检查解码目标空间
+     */
+    int trailingPadding(int last, int beforeLast) {
+        return 0;
+    }
+
+
+    public byte[] encode(byte[] src) {
+        byte[] dst = new byte[maxEncodedLength(src.length)];
+        return trim(dst, encode(src, 0, src.length, dst, 0));
+    }
+
+    public String encodeToString(byte[] src) {
+        return encodeToString(src, 0, src.length);
+    }
+
+    @SuppressWarnings("deprecation")
+    public String encodeToString(byte[] src, int srcOff, int srcLen) {
+        checkRange(src.length, srcOff, srcLen);
+        byte[] dst = new byte[maxEncodedLength(srcLen)];
+        int written = encode(src, srcOff, srcLen, dst, 0);
+        // ASCII内容按hibyte=0构造,省去字符集解码
+        return new String(dst, 0, 0, written);
+    }
+
+    /**
+     * 编码结果追加到StringBuilder;经分块缓冲区中转,不产生中间数组
+     */
+    public StringBuilder encode(byte[] src, int srcOff, int srcLen, StringBuilder out) {
+        checkRange(src.length, srcOff, srcLen);
+        out.ensureCapacity(out.length() + maxEncodedLength(srcLen));
+        byte[] chunk = CHUNKS.get()[1];
+        for (int done = 0; done < srcLen; ) {
+            int take = Math.min(CHUNK_SIZE, srcLen - done);
+            int written = encode(src, srcOff + done, take, chunk, 0);
+            for (int i = 0; i < written; i++) {
+                out.append((char) chunk[i]);
+            }
+            done += take;
+        }
+        return out;
+    }
+
+    /**
+     * 编码src的剩余字节写入dst;src移动到limit,dst移动写入的字节数
+     */
+    public void encode(ByteBuffer src, ByteBuffer dst) {
+        int srcLen = src.remaining();
+        if (dst.remaining() < maxEncodedLength(srcLen)) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int written = encode(src.array(), src.arrayOffset() + src.position(), srcLen,
+                    dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + written);
+            return;
+        }
+        byte[][] chunks = CHUNKS.get();
+        while (src.hasRemaining()) {
+            int take = Math.min(CHUNK_SIZE, src.remaining());
+            src.get(chunks[0], 0, take);
+            dst.put(chunks[1], 0, encode(chunks[0], 0, take, chunks[1], 0));
+        }
+    }
+
+    public byte[] decode(byte[] src) {
+        byte[] dst = new byte[maxDecodedLength(src.length)];
+        return trim(dst, decode(src, 0, src.length, dst, 0));
+    }
+
+    public byte[] decode(CharSequence src) {
+        byte[] dst = new byte[maxDecodedLength(src)];
+        return trim(dst, decode(src, dst, 0));
+    }
+
+    /**
+     * 解码字符序列写入dst[dstOff...];非ASCII字符视为非法输入
+     *
+     * @return 写入的字节数
+     */
+    public int decode(CharSequence src, byte[] dst, int dstOff) {
+        int srcLen = src.length();
+        if (dst.length - dstOff < maxDecodedLength(src)) {
+            throw new BufferOverflowException();
+        }
+        byte[] chunk = CHUNKS.get()[0];
+        int written = 0;
+        int done = 0;
+        while (done < srcLen) {
+            int take = Math.min(CHUNK_SIZE, srcLen - done);
+            for (int i = 0; i < take; i++) {
+                char c = src.charAt(done + i);
+                if (c > 0x7F) {
+                    throw new CodecException("非ASCII字符", done + i);
+                }
+                chunk[i] = (byte) c;
+            }
+            int consume = done + take < srcLen ? decodeBoundary(take, chunk[take - 1], take > 1 ? chunk[take - 2] : -1) : take;
+            written += decodeChunk(chunk, consume, dst, dstOff + written, done);
+            done += consume;
+        }
+        return written;
+    }
+
+    /**
+     * 解码src的剩余字节写入dst;src移动到limit,dst移动写入的字节数
+     */
+    public void decode(ByteBuffer src, ByteBuffer dst) {
+        int srcLen = src.remaining();
+        int limit = src.limit();
+        int padding = srcLen < 2 ? 0 : trailingPadding(src.get(limit - 1), src.get(limit - 2));
+        if (dst.remaining() < maxDecodedLength(srcLen - padding)) {
+            throw new BufferOverflowException();
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int written = decode(src.array(), src.arrayOffset() + src.position(), srcLen,
+                    dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + written);
+            return;
+        }
+        byte[][] chunks = CHUNKS.get();
+        long done = 0;
+        while (src.hasRemaining()) {
+            int take = Math.min(CHUNK_SIZE, src.remaining());
+            src.get(chunks[0], 0, take);
+            int consume = src.hasRemaining() ? decodeBoundary(take, chunks[0][take - 1], take > 1 ? chunks[0][take - 2] : -1) : take;
+            src.position(src.position() - (take - consume));
+            dst.put(chunks[1], 0, decodeChunk(chunks[0], consume, chunks[1], 0, done));
+            done += consume;
+        }
+    }
+
+    /**
+     * 以UTF-8解码为字符串
+     */
+    public String decodeToString(CharSequence src) {
+        return new String(decode(src), StandardCharsets.UTF_8);
+    }
+
+    private int maxDecodedLength(CharSequence src) {
+        int srcLen = src.length();
+        int padding = srcLen < 2 ? 0 : trailingPadding(src.charAt(srcLen - 1), src.charAt(srcLen - 2));
+        return maxDecodedLength(srcLen - padding);
+    }
+
+    /**
+     * 解码一块并把异常位置换算为相对整个输入的位置
+     */
+    int decodeChunk(byte[] chunk, int length, byte[] dst, int dstOff, long base) {
+        try {
+            return decode(chunk, 0, length, dst, dstOff);
+        } catch (CodecException e) {
+            throw e.shift(base);
+        }
+    }
+
+    /**
+     * 数组形式编解码的参数检查;目标空间按最大长度检查
+     */
+    static void checkArrays(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff, int maxLength) {
+        checkRange(src.length, srcOff, srcLen);
+        if (dstOff < 0 || dstOff > dst.length) {
+            throw new IndexOutOfBoundsException("dstOff=" + dstOff + ", length=" + dst.length);
+        }
+        if (dst.length - dstOff < maxLength) {
+            throw new BufferOverflowException();
+        }
+    }
+
+    static void checkRange(int length, int off, int len) {
+        if (off < 0 || len < 0 || off > length - len) {
+            throw new IndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + length);
+        }
+    }
+
+    private static byte[] trim(byte[] dst, int length) {
+        return length == dst.length ? dst : Arrays.copyOf(dst, length);
+    }
+}
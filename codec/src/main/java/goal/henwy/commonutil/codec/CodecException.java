@@ -0,0 +1,36 @@
+package goal.henwy.commonutil.codec;
+
+/**
+ * 编解码异常
+ * <br>输入中出现编码表之外的字符、长度不合法或转义不完整时抛出,附带出错位置(相对输入起点)
+ *
+ * @author HenwyGoal
+ */
+public class CodecException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String reason;
+
+    private final long index;
+
+    public CodecException(String reason, long index) {
+        super(reason + "(位置" + index + ")");
+        this.reason = reason;
+        this.index = index;
+    }
+
+    /**
+     * 出错位置;分块处理时已换算为相对整个输入的位置
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * 将出错位置平移offset,用于分块处理时换算
+     */
+    CodecException shift(long offset) {
+        return 0 == offset ? this : new CodecException(reason, index + offset);
+    }
+}
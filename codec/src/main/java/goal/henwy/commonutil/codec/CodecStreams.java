@@ -0,0 +1,352 @@
+package goal.henwy.commonutil.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * 流式编解码
+ * <br>在{@link InputStream}/{@link OutputStream}与{@link ReadableByteChannel}/{@link WritableByteChannel}上逐块编解码,
+ * 内存占用只与固定的块大小有关,与数据总量无关,适合数百MB的附件导出等场景
+ * <br>块按编码单元对齐:Base64编码每块为3字节的倍数、解码每块为4字符的倍数,十六进制解码为偶数,百分号解码不拆分"%XX",
+ * 因此分块结果与整体编解码完全一致
+ * <br>解码时逐块校验输入,非法输入抛出{@link CodecException},位置为相对整个输入流的偏移
+ * <br>通道之间使用直接内存缓冲区读写,避免JDK为堆内缓冲区另做的临时拷贝
+ * <br>工具类 不可实例化;返回的流不是线程安全的
+ *
+ * @author HenwyGoal
+ */
+public final class CodecStreams {
+
+    /**
+     * 编码输入块大小;输出块按编解码器的最大长度分配
+     */
+    private static final int BLOCK_SIZE = ByteCodec.CHUNK_SIZE * 4;
+
+    private CodecStreams() {
+    }
+
+    /**
+     * 写入原始字节、向out写出编码结果的输出流
+     * <br>{@link OutputStream#flush()}只写出完整的编码单元;{@link EncodingOutputStream#finish()}写出末尾不足一个单元的部分,
+     * close时自动finish并关闭out
+     */
+    public static EncodingOutputStream encoding(ByteCodec codec, OutputStream out) {
+        return new EncodingOutputStream(Objects.requireNonNull(codec, "codec"), Objects.requireNonNull(out, "out"));
+    }
+
+    /**
+     * 从in读取编码文本、读出解码结果的输入流
+     */
+    public static InputStream decoding(ByteCodec codec, InputStream in) {
+        return new DecodingInputStream(Objects.requireNonNull(codec, "codec"), Objects.requireNonNull(in, "in"));
+    }
+
+    /**
+     * 读取in直到结束,编码后写入out;不关闭两端
+     *
+     * @return 写入out的字节数
+     */
+    public static long encode(ByteCodec codec, InputStream in, OutputStream out) throws IOException {
+        byte[] src = new byte[BLOCK_SIZE];
+        byte[] dst = new byte[codec.maxEncodedLength(BLOCK_SIZE)];
+        int unit = codec.encodeUnit();
+        long written = 0;
+        int pending = 0;
+        for (int n; (n = in.read(src, pending, src.length - pending)) >= 0; ) {
+            pending += n;
+            int take = pending - pending % unit;
+            if (take > 0) {
+                int length = codec.encode(src, 0, take, dst, 0);
+                out.write(dst, 0, length);
+                written += length;
+                pending = compact(src, take, pending);
+            }
+        }
+        int length = codec.encode(src, 0, pending, dst, 0);
+        out.write(dst, 0, length);
+        return written + length;
+    }
+
+    /**
+     * 读取in直到结束,解码后写入out;不关闭两端
+     *
+     * @return 写入out的字节数
+     */
+    public static long decode(ByteCodec codec, InputStream in, OutputStream out) throws IOException {
+        byte[] src = new byte[BLOCK_SIZE];
+        byte[] dst = new byte[codec.maxDecodedLength(BLOCK_SIZE)];
+        long consumed = 0;
+        long written = 0;
+        int pending = 0;
+        for (int n; (n = in.read(src, pending, src.length - pending)) >= 0; ) {
+            pending += n;
+            int take = boundary(codec, src, pending);
+            if (take > 0) {
+                int length = codec.decodeChunk(src, take, dst, 0, consumed);
+                out.write(dst, 0, length);
+                written += length;
+                consumed += take;
+                pending = compact(src, take, pending);
+            }
+        }
+        int length = codec.decodeChunk(src, pending, dst, 0, consumed);
+        out.write(dst, 0, length);
+        return written + length;
+    }
+
+    /**
+     * 读取in直到结束,编码后写入out;不关闭两端
+     *
+     * @return 写入out的字节数
+     */
+    public static long encode(ByteCodec codec, ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        ByteBuffer src = ByteBuffer.allocateDirect(BLOCK_SIZE);
+        ByteBuffer dst = ByteBuffer.allocateDirect(codec.maxEncodedLength(BLOCK_SIZE));
+        int unit = codec.encodeUnit();
+        long written = 0;
+        boolean eof = false;
+        while (!eof) {
+            eof = in.read(src) < 0;
+            src.flip();
+            int take = eof ? src.remaining() : src.remaining() - src.remaining() % unit;
+            written += pump(src, take, dst, out, codec, true);
+        }
+        return written;
+    }
+
+    /**
+     * 读取in直到结束,解码后写入out;不关闭两端
+     *
+     * @return 写入out的字节数
+     */
+    public static long decode(ByteCodec codec, ReadableByteChannel in, WritableByteChannel out) throws IOException {
+        ByteBuffer src = ByteBuffer.allocateDirect(BLOCK_SIZE);
+        ByteBuffer dst = ByteBuffer.allocateDirect(codec.maxDecodedLength(BLOCK_SIZE));
+        long consumed = 0;
+        long written = 0;
+        boolean eof = false;
+        while (!eof) {
+            eof = in.read(src) < 0;
+            src.flip();
+            int remaining = src.remaining();
+            int take = eof || 0 == remaining ? remaining : codec.decodeBoundary(remaining, src.get(src.limit() - 1),
+                    remaining > 1 ? src.get(src.limit() - 2) : -1);
+            try {
+                written += pump(src, take, dst, out, codec, false);
+            } catch (CodecException e) {
+                throw e.shift(consumed);
+            }
+            consumed += take;
+        }
+        return written;
+    }
+
+    /**
+     * 编解码src当前位置起的take个字节并全部写出,然后把未处理部分移到src开头
+     */
+    private static int pump(ByteBuffer src, int take, ByteBuffer dst, WritableByteChannel out, ByteCodec codec,
+                            boolean encode) throws IOException {
+        int limit = src.limit();
+        src.limit(src.position() + take);
+        dst.clear();
+        if (encode) {
+            codec.encode(src, dst);
+        } else {
+            codec.decode(src, dst);
+        }
+        src.limit(limit);
+        src.compact();
+        dst.flip();
+        int length = dst.remaining();
+        while (dst.hasRemaining()) {
+            out.write(dst);
+        }
+        return length;
+    }
+
+    private static int boundary(ByteCodec codec, byte[] src, int length) {
+        return 0 == length ? 0 : codec.decodeBoundary(length, src[length - 1], length > 1 ? src[length - 2] : -1);
+    }
+
+    private static int compact(byte[] src, int from, int length) {
+        System.arraycopy(src, from, src, 0, length - from);
+        return length - from;
+    }
+
+
+    /**
+     * 编码输出流
+     */
+    public static final class EncodingOutputStream extends OutputStream {
+        private final ByteCodec codec;
+        private final OutputStream out;
+        private final byte[] src = new byte[BLOCK_SIZE];
+        private final byte[] dst;
+        private final int unit;
+        private int pending;
+        private boolean finished;
+
+        private EncodingOutputStream(ByteCodec codec, OutputStream out) {
+            this.codec = codec;
+            this.out = out;
+            this.dst = new byte[codec.maxEncodedLength(BLOCK_SIZE)];
+            this.unit = codec.encodeUnit();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (pending == src.length) {
+                drain(false);
+            }
+            src[pending++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            ByteCodec.checkRange(b.length, off, len);
+            while (len > 0) {
+                if (pending == src.length) {
+                    drain(false);
+                }
+                int take = Math.min(len, src.length - pending);
+                System.arraycopy(b, off, src, pending, take);
+                pending += take;
+                off += take;
+                len -= take;
+            }
+        }
+
+        /**
+         * 写出完整的编码单元并刷新out;末尾不足一个单元的字节保留到后续写入或finish
+         */
+        @Override
+        public void flush() throws IOException {
+            if (!finished) {
+                drain(false);
+            }
+            out.flush();
+        }
+
+        /**
+         * 写出全部剩余数据(含补齐),之后不能再写入;不关闭out
+         */
+        public void finish() throws IOException {
+            if (!finished) {
+                drain(true);
+                finished = true;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                finish();
+            } finally {
+                out.close();
+            }
+        }
+
+        private void drain(boolean last) throws IOException {
+            int take = last ? pending : pending - pending % unit;
+            if (take > 0) {
+                out.write(dst, 0, codec.encode(src, 0, take, dst, 0));
+                pending = compact(src, take, pending);
+            }
+        }
+
+        private void ensureOpen() throws IOException {
+            if (finished) {
+                throw new IOException("编码输出流已结束");
+            }
+        }
+    }
+
+    /**
+     * 解码输入流
+     */
+    private static final class DecodingInputStream extends InputStream {
+        private final ByteCodec codec;
+        private final InputStream in;
+        private final byte[] src = new byte[BLOCK_SIZE];
+        private final byte[] dst;
+        private int pending;
+        private int position;
+        private int limit;
+        private long consumed;
+        private boolean eof;
+
+        private DecodingInputStream(ByteCodec codec, InputStream in) {
+            this.codec = codec;
+            this.in = in;
+            this.dst = new byte[codec.maxDecodedLength(BLOCK_SIZE)];
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return dst[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            ByteCodec.checkRange(b.length, off, len);
+            if (0 == len) {
+                return 0;
+            }
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            int take = Math.min(len, limit - position);
+            System.arraycopy(dst, position, b, off, take);
+            position += take;
+            return take;
+        }
+
+        @Override
+        public int available() {
+            return limit - position;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        /**
+         * 读取并解码下一块;直到产出数据或输入结束
+         */
+        private boolean fill() throws IOException {
+            position = 0;
+            limit = 0;
+            while (0 == limit) {
+                if (eof) {
+                    return false;
+                }
+                int n = in.read(src, pending, src.length - pending);
+                int take;
+                if (n < 0) {
+                    eof = true;
+                    take = pending;
+                } else {
+                    pending += n;
+                    take = boundary(codec, src, pending);
+                }
+                if (take > 0) {
+                    limit = codec.decodeChunk(src, take, dst, 0, consumed);
+                    consumed += take;
+                    pending = compact(src, take, pending);
+                }
+            }
+            return true;
+        }
+    }
+}
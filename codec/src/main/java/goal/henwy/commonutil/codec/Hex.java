@@ -0,0 +1,115 @@
+package goal.henwy.commonutil.codec;
+
+/**
+ * 十六进制编解码
+ * <br>编码查256项双字节表,每轮处理8个字节;解码查256项表,每轮产出8个字节,非法字符在整轮结束后统一判断
+ * <br>解码大小写不敏感;{@link #LOWER}编码输出小写,{@link #UPPER}编码输出大写
+ *
+ * @author HenwyGoal
+ */
+public final class Hex extends ByteCodec {
+
+    public static final Hex LOWER = new Hex("0123456789abcdef");
+
+    public static final Hex UPPER = new Hex("0123456789ABCDEF");
+
+    /**
+     * 字节值到两个字符的映射,pairs[2b]为高位、pairs[2b+1]为低位
+     */
+    private final byte[] pairs = new byte[512];
+
+    /**
+     * 字符到半字节值的映射,非法字符为-1
+     */
+    static final int[] DECODE = new int[256];
+
+    static {
+        for (int i = 0; i < DECODE.length; i++) {
+            DECODE[i] = i < 0x80 ? Character.digit(i, 16) : -1;
+        }
+    }
+
+    private Hex(String digits) {
+        for (int b = 0; b < 256; b++) {
+            pairs[2 * b] = (byte) digits.charAt(b >>> 4);
+            pairs[2 * b + 1] = (byte) digits.charAt(b & 0xF);
+        }
+    }
+
+    @Override
+    public int maxEncodedLength(int srcLength) {
+        return srcLength * 2;
+    }
+
+    @Override
+    public int maxDecodedLength(int srcLength) {
+        return srcLength / 2;
+    }
+
+    @Override
+    public int encode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        checkArrays(src, srcOff, srcLen, dst, dstOff, maxEncodedLength(srcLen));
+        byte[] table = pairs;
+        int i = srcOff;
+        int o = dstOff;
+        int end = srcOff + srcLen;
+        for (int end8 = end - 7; i < end8; i += 8, o += 16) {
+            for (int k = 0; k < 8; k++) {
+                int t = (src[i + k] & 0xFF) << 1;
+                dst[o + 2 * k] = table[t];
+                dst[o + 2 * k + 1] = table[t + 1];
+            }
+        }
+        for (; i < end; i++, o += 2) {
+            int t = (src[i] & 0xFF) << 1;
+            dst[o] = table[t];
+            dst[o + 1] = table[t + 1];
+        }
+        return o - dstOff;
+    }
+
+    @Override
+    public int decode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        checkArrays(src, srcOff, srcLen, dst, dstOff, maxDecodedLength(srcLen));
+        if (0 != (srcLen & 1)) {
+            throw new CodecException("十六进制文本长度必须为偶数", srcLen);
+        }
+        int i = srcOff;
+        int o = dstOff;
+        int end = srcOff + srcLen;
+        for (int end16 = end - 15; i < end16; i += 16, o += 8) {
+            int invalid = 0;
+            for (int k = 0; k < 8; k++) {
+                int hi = DECODE[src[i + 2 * k] & 0xFF];
+                int lo = DECODE[src[i + 2 * k + 1] & 0xFF];
+                invalid |= hi | lo;
+                dst[o + k] = (byte) (hi << 4 | lo);
+            }
+            if (invalid < 0) {
+                throw illegal(src, i, srcOff);
+            }
+        }
+        for (; i < end; i += 2, o++) {
+            int hi = DECODE[src[i] & 0xFF];
+            int lo = DECODE[src[i + 1] & 0xFF];
+            if ((hi | lo) < 0) {
+                throw illegal(src, i, srcOff);
+            }
+            dst[o] = (byte) (hi << 4 | lo);
+        }
+        return o - dstOff;
+    }
+
+    @Override
+    int decodeBoundary(int length, int last, int beforeLast) {
+        return length & ~1;
+    }
+
+    private static CodecException illegal(byte[] src, int from, int srcOff) {
+        int i = from;
+        while (DECODE[src[i] & 0xFF] >= 0) {
+            i++;
+        }
+        return new CodecException("非法的十六进制字符", i - srcOff);
+    }
+}
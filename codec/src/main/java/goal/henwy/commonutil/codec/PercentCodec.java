@@ -0,0 +1,140 @@
+package goal.henwy.commonutil.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 百分号编解码(URL编码)
+ * <br>{@link #RFC3986}只保留非保留字符(字母、数字与"-._~"),空格编码为"%20";
+ * {@link #FORM}按application/x-www-form-urlencoded规则保留字母、数字与"*-._",空格编码为"+",解码时"+"还原为空格
+ * <br>编码按256项表判断字节是否需要转义,连续无需转义的字节整段复制;解码时连续不含转义的字节同样整段复制
+ * <br>文本以UTF-8与字节互转;转义后的十六进制为大写,解码大小写不敏感
+ *
+ * @author HenwyGoal
+ */
+public final class PercentCodec extends ByteCodec {
+
+    public static final PercentCodec RFC3986 = new PercentCodec("-._~", false);
+
+    public static final PercentCodec FORM = new PercentCodec("*-._", true);
+
+    private static final byte[] DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    /**
+     * 无需转义的字节
+     */
+    private final boolean[] safe = new boolean[256];
+
+    private final boolean form;
+
+    private PercentCodec(String safeMarks, boolean form) {
+        for (int c = '0'; c <= '9'; c++) {
+            safe[c] = true;
+        }
+        for (int c = 'A'; c <= 'Z'; c++) {
+            safe[c] = true;
+            safe[c + ('a' - 'A')] = true;
+        }
+        for (int i = 0; i < safeMarks.length(); i++) {
+            safe[safeMarks.charAt(i)] = true;
+        }
+        this.form = form;
+    }
+
+    @Override
+    public int maxEncodedLength(int srcLength) {
+        return Math.multiplyExact(srcLength, 3);
+    }
+
+    @Override
+    public int maxDecodedLength(int srcLength) {
+        return srcLength;
+    }
+
+    /**
+     * 以UTF-8编码文本后转义
+     */
+    public String encode(CharSequence text) {
+        return encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int encode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        checkArrays(src, srcOff, srcLen, dst, dstOff, maxEncodedLength(srcLen));
+        boolean[] table = safe;
+        int i = srcOff;
+        int o = dstOff;
+        int end = srcOff + srcLen;
+        while (i < end) {
+            int run = i;
+            while (run < end && table[src[run] & 0xFF]) {
+                run++;
+            }
+            if (run > i) {
+                System.arraycopy(src, i, dst, o, run - i);
+                o += run - i;
+                i = run;
+                continue;
+            }
+            int b = src[i++] & 0xFF;
+            if (form && ' ' == b) {
+                dst[o++] = '+';
+            } else {
+                dst[o] = '%';
+                dst[o + 1] = DIGITS[b >>> 4];
+                dst[o + 2] = DIGITS[b & 0xF];
+                o += 3;
+            }
+        }
+        return o - dstOff;
+    }
+
+    @Override
+    public int decode(byte[] src, int srcOff, int srcLen, byte[] dst, int dstOff) {
+        checkArrays(src, srcOff, srcLen, dst, dstOff, maxDecodedLength(srcLen));
+        int i = srcOff;
+        int o = dstOff;
+        int end = srcOff + srcLen;
+        while (i < end) {
+            int run = i;
+            while (run < end && '%' != src[run] && (!form || '+' != src[run])) {
+                run++;
+            }
+            if (run > i) {
+                System.arraycopy(src, i, dst, o, run - i);
+                o += run - i;
+                i = run;
+                continue;
+            }
+            if ('+' == src[i]) {
+                dst[o++] = ' ';
+                i++;
+                continue;
+            }
+            if (end - i < 3) {
+                throw new CodecException("不完整的转义序列", i - srcOff);
+            }
+            int hi = Hex.DECODE[src[i + 1] & 0xFF];
+            int lo = Hex.DECODE[src[i + 2] & 0xFF];
+            if ((hi | lo) < 0) {
+                throw new CodecException("非法的转义序列", i - srcOff);
+            }
+            dst[o++] = (byte) (hi << 4 | lo);
+            i += 3;
+        }
+        return o - dstOff;
+    }
+
+    /**
+     * 不把"%XX"拆到两块
+     */
+    @Override
+    int decodeBoundary(int length, int last, int beforeLast) {
+        if ('%' == last) {
+            return length - 1;
+        }
+        if ('%' == beforeLast) {
+            return length - 2;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,92 @@
+package goal.henwy.commonutil.codec.test;
+
+import goal.henwy.commonutil.codec.Base64Codec;
+import goal.henwy.commonutil.codec.CodecException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Base64编解码测试类
+ *
+ * @author HenwyGoal
+ */
+class Base64CodecTest {
+
+    @Test
+    void testSameAsJdk() {
+        Random random = new Random(1);
+        for (int length = 0; length < 200; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            check(Base64Codec.STANDARD, Base64.getEncoder(), data);
+            check(Base64Codec.URL_SAFE, Base64.getUrlEncoder(), data);
+            check(Base64Codec.STANDARD.withoutPadding(), Base64.getEncoder().withoutPadding(), data);
+            check(Base64Codec.URL_SAFE.withoutPadding(), Base64.getUrlEncoder().withoutPadding(), data);
+        }
+        Assertions.assertSame(Base64Codec.STANDARD.withoutPadding(), Base64Codec.STANDARD.withoutPadding().withoutPadding());
+    }
+
+    @Test
+    void testBuffer() {
+        byte[] data = new byte[10000];
+        new Random(2).nextBytes(data);
+        String expected = Base64.getEncoder().encodeToString(data);
+
+        ByteBuffer src = ByteBuffer.allocateDirect(data.length);
+        src.put(data).flip();
+        ByteBuffer encoded = ByteBuffer.allocateDirect(Base64Codec.STANDARD.maxEncodedLength(data.length));
+        Base64Codec.STANDARD.encode(src, encoded);
+        Assertions.assertFalse(src.hasRemaining());
+        encoded.flip();
+        byte[] text = new byte[encoded.remaining()];
+        encoded.duplicate().get(text);
+        Assertions.assertEquals(expected, new String(text, StandardCharsets.US_ASCII));
+
+        ByteBuffer decoded = ByteBuffer.allocate(data.length + 8);
+        decoded.position(3);
+        Base64Codec.STANDARD.decode(encoded, decoded);
+        Assertions.assertEquals(data.length + 3, decoded.position());
+        byte[] actual = new byte[data.length];
+        System.arraycopy(decoded.array(), 3, actual, 0, data.length);
+        Assertions.assertArrayEquals(data, actual);
+
+        byte[] dst = new byte[data.length];
+        Assertions.assertEquals(data.length, Base64Codec.STANDARD.decode(expected, dst, 0));
+        Assertions.assertArrayEquals(data, dst);
+        Assertions.assertEquals(expected, Base64Codec.STANDARD.encode(data, 0, data.length, new StringBuilder()).toString());
+
+        Assertions.assertThrows(BufferOverflowException.class,
+                () -> Base64Codec.STANDARD.encode(ByteBuffer.wrap(data), ByteBuffer.allocate(10)));
+    }
+
+    @Test
+    void testIllegal() {
+        Assertions.assertThrows(CodecException.class, () -> Base64Codec.STANDARD.decode("QQ="));
+        Assertions.assertThrows(CodecException.class, () -> Base64Codec.STANDARD.decode("Q"));
+        Assertions.assertThrows(CodecException.class, () -> Base64Codec.STANDARD.decode("QQ=A"));
+        Assertions.assertThrows(CodecException.class, () -> Base64Codec.STANDARD.decode("中文"));
+        Assertions.assertThrows(CodecException.class, () -> Base64Codec.STANDARD.decode("-_-_"));
+        Assertions.assertArrayEquals(new byte[]{'A'}, Base64Codec.STANDARD.decode("QQ"));
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            text.append("QUJD");
+        }
+        text.setCharAt(5000, '*');
+        CodecException ex = Assertions.assertThrows(CodecException.class, () -> Base64Codec.STANDARD.decode(text));
+        Assertions.assertEquals(5000, ex.getIndex());
+    }
+
+    private static void check(Base64Codec codec, Base64.Encoder encoder, byte[] data) {
+        String expected = encoder.encodeToString(data);
+        Assertions.assertEquals(expected, codec.encodeToString(data));
+        Assertions.assertArrayEquals(data, codec.decode(expected));
+        Assertions.assertArrayEquals(data, codec.decode(expected.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
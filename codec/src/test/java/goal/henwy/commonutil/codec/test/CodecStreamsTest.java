@@ -0,0 +1,158 @@
+package goal.henwy.commonutil.codec.test;
+
+import goal.henwy.commonutil.codec.Base64Codec;
+import goal.henwy.commonutil.codec.ByteCodec;
+import goal.henwy.commonutil.codec.CodecException;
+import goal.henwy.commonutil.codec.CodecStreams;
+import goal.henwy.commonutil.codec.Hex;
+import goal.henwy.commonutil.codec.PercentCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 流式编解码测试类
+ *
+ * @author HenwyGoal
+ */
+class CodecStreamsTest {
+
+    private static final List<ByteCodec> CODECS = Arrays.asList(
+            Base64Codec.STANDARD, Base64Codec.URL_SAFE.withoutPadding(), Hex.LOWER, PercentCodec.RFC3986, PercentCodec.FORM);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testStream() throws IOException {
+        byte[] data = data(100003);
+        for (ByteCodec codec : CODECS) {
+            byte[] expected = codec.encode(data);
+
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            Assertions.assertEquals(expected.length, CodecStreams.encode(codec, new TrickleInputStream(data), encoded));
+            Assertions.assertArrayEquals(expected, encoded.toByteArray());
+
+            ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            Assertions.assertEquals(data.length, CodecStreams.decode(codec, new TrickleInputStream(expected), decoded));
+            Assertions.assertArrayEquals(data, decoded.toByteArray());
+
+            encoded.reset();
+            try (OutputStream out = CodecStreams.encoding(codec, encoded)) {
+                out.write(data, 0, 10);
+                out.flush();
+                out.write(data[10]);
+                out.write(data, 11, data.length - 11);
+            }
+            Assertions.assertArrayEquals(expected, encoded.toByteArray());
+
+            decoded.reset();
+            try (InputStream in = CodecStreams.decoding(codec, new TrickleInputStream(expected))) {
+                decoded.write(in.read());
+                byte[] buffer = new byte[777];
+                for (int n; (n = in.read(buffer)) >= 0; ) {
+                    decoded.write(buffer, 0, n);
+                }
+                Assertions.assertEquals(-1, in.read());
+            }
+            Assertions.assertArrayEquals(data, decoded.toByteArray(), codec.toString());
+        }
+    }
+
+    @Test
+    void testChannel() throws IOException {
+        byte[] data = data(200001);
+        Path raw = Files.write(dir.resolve("raw"), data);
+        Path encoded = dir.resolve("encoded");
+        Path decoded = dir.resolve("decoded");
+        try (FileChannel in = FileChannel.open(raw);
+             FileChannel out = FileChannel.open(encoded, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            CodecStreams.encode(Base64Codec.STANDARD, in, out);
+        }
+        Assertions.assertEquals(Base64.getEncoder().encodeToString(data),
+                new String(Files.readAllBytes(encoded), StandardCharsets.US_ASCII));
+        try (FileChannel in = FileChannel.open(encoded);
+             FileChannel out = FileChannel.open(decoded, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            Assertions.assertEquals(data.length, CodecStreams.decode(Base64Codec.STANDARD, in, out));
+        }
+        Assertions.assertArrayEquals(data, Files.readAllBytes(decoded));
+    }
+
+    @Test
+    void testIllegal() throws IOException {
+        byte[] text = Base64Codec.STANDARD.encode(data(50000));
+        text[40000] = '*';
+        CodecException ex = Assertions.assertThrows(CodecException.class,
+                () -> CodecStreams.decode(Base64Codec.STANDARD, new TrickleInputStream(text), new ByteArrayOutputStream()));
+        Assertions.assertEquals(40000, ex.getIndex());
+
+        Path file = Files.write(dir.resolve("illegal"), text);
+        try (FileChannel in = FileChannel.open(file)) {
+            ex = Assertions.assertThrows(CodecException.class,
+                    () -> CodecStreams.decode(Base64Codec.STANDARD, in, new DiscardChannel()));
+        }
+        Assertions.assertEquals(40000, ex.getIndex());
+
+        OutputStream out = CodecStreams.encoding(Hex.LOWER, new ByteArrayOutputStream());
+        out.close();
+        Assertions.assertThrows(IOException.class, () -> out.write(1));
+    }
+
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        new Random(length).nextBytes(data);
+        return data;
+    }
+
+    /**
+     * 每次只返回不定长度的一小段,覆盖分块边界
+     */
+    private static final class TrickleInputStream extends FilterInputStream {
+        private final Random random = new Random(5);
+
+        private TrickleInputStream(byte[] data) {
+            super(new ByteArrayInputStream(data));
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1 + random.nextInt(5000)));
+        }
+    }
+
+    private static final class DiscardChannel implements WritableByteChannel {
+        @Override
+        public int write(ByteBuffer src) {
+            int length = src.remaining();
+            src.position(src.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
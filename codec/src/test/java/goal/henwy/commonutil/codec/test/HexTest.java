@@ -0,0 +1,67 @@
+package goal.henwy.commonutil.codec.test;
+
+import goal.henwy.commonutil.codec.CodecException;
+import goal.henwy.commonutil.codec.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * 十六进制编解码测试类
+ *
+ * @author HenwyGoal
+ */
+class HexTest {
+
+    @Test
+    void testEncode() {
+        Assertions.assertEquals("", Hex.LOWER.encodeToString(new byte[0]));
+        Assertions.assertEquals("00ff7f80", Hex.LOWER.encodeToString(new byte[]{0, -1, 127, -128}));
+        Assertions.assertEquals("00FF7F80", Hex.UPPER.encodeToString(new byte[]{0, -1, 127, -128}));
+
+        Random random = new Random(3);
+        for (int length = 1; length < 100; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            String expected = String.format("%0" + (2 * length) + "x", new BigInteger(1, data));
+            Assertions.assertEquals(expected, Hex.LOWER.encodeToString(data));
+            Assertions.assertArrayEquals(data, Hex.LOWER.decode(expected));
+            Assertions.assertArrayEquals(data, Hex.UPPER.decode(expected.toUpperCase()));
+        }
+    }
+
+    @Test
+    void testBuffer() {
+        byte[] data = new byte[7001];
+        new Random(4).nextBytes(data);
+        ByteBuffer src = ByteBuffer.allocateDirect(data.length);
+        src.put(data).flip();
+        ByteBuffer encoded = ByteBuffer.allocateDirect(data.length * 2);
+        Hex.LOWER.encode(src, encoded);
+        encoded.flip();
+        ByteBuffer decoded = ByteBuffer.allocateDirect(data.length);
+        Hex.LOWER.decode(encoded, decoded);
+        Assertions.assertFalse(decoded.hasRemaining());
+        decoded.flip();
+        byte[] actual = new byte[data.length];
+        decoded.get(actual);
+        Assertions.assertArrayEquals(data, actual);
+
+        byte[] dst = new byte[data.length * 2 + 1];
+        Assertions.assertEquals(data.length * 2, Hex.UPPER.encode(data, 0, data.length, dst, 1));
+        Assertions.assertEquals(Hex.UPPER.encodeToString(data).charAt(0), (char) dst[1]);
+    }
+
+    @Test
+    void testIllegal() {
+        Assertions.assertThrows(CodecException.class, () -> Hex.LOWER.decode("abc"));
+        CodecException ex = Assertions.assertThrows(CodecException.class, () -> Hex.LOWER.decode("0011223344556677zz"));
+        Assertions.assertEquals(16, ex.getIndex());
+        ex = Assertions.assertThrows(CodecException.class, () -> Hex.LOWER.decode("00112233g4556677"));
+        Assertions.assertEquals(8, ex.getIndex());
+        Assertions.assertThrows(CodecException.class, () -> Hex.LOWER.decode("００"));
+    }
+}
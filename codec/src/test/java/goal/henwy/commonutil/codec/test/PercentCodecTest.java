@@ -0,0 +1,66 @@
+package goal.henwy.commonutil.codec.test;
+
+import goal.henwy.commonutil.codec.CodecException;
+import goal.henwy.commonutil.codec.PercentCodec;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 百分号编解码测试类
+ *
+ * @author HenwyGoal
+ */
+class PercentCodecTest {
+
+    private static final String TEXT = "a b+c/d?e=f&g~h*i.j-k_l 中文!'()";
+
+    @Test
+    void testForm() throws UnsupportedEncodingException {
+        String expected = URLEncoder.encode(TEXT, "UTF-8");
+        Assertions.assertEquals(expected, PercentCodec.FORM.encode(TEXT));
+        Assertions.assertEquals(TEXT, PercentCodec.FORM.decodeToString(expected));
+        Assertions.assertEquals(URLDecoder.decode("%e4%B8%ad+x", "UTF-8"), PercentCodec.FORM.decodeToString("%e4%B8%ad+x"));
+    }
+
+    @Test
+    void testRfc3986() {
+        Assertions.assertEquals("a%20b%2Bc%2Fd%3Fe%3Df%26g~h%2Ai.j-k_l%20%E4%B8%AD%E6%96%87%21%27%28%29",
+                PercentCodec.RFC3986.encode(TEXT));
+        Assertions.assertEquals(TEXT, PercentCodec.RFC3986.decodeToString(PercentCodec.RFC3986.encode(TEXT)));
+        Assertions.assertEquals("a+b", PercentCodec.RFC3986.decodeToString("a+b"));
+    }
+
+    @Test
+    void testChunkBoundary() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append(i % 7 == 0 ? "中" : "x");
+        }
+        String encoded = PercentCodec.RFC3986.encode(text);
+        Assertions.assertEquals(text.toString(), PercentCodec.RFC3986.decodeToString(encoded));
+
+        byte[] bytes = encoded.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer src = ByteBuffer.allocateDirect(bytes.length);
+        src.put(bytes).flip();
+        ByteBuffer dst = ByteBuffer.allocateDirect(bytes.length);
+        PercentCodec.RFC3986.decode(src, dst);
+        dst.flip();
+        byte[] decoded = new byte[dst.remaining()];
+        dst.get(decoded);
+        Assertions.assertEquals(text.toString(), new String(decoded, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testIllegal() {
+        Assertions.assertThrows(CodecException.class, () -> PercentCodec.RFC3986.decode("abc%4"));
+        CodecException ex = Assertions.assertThrows(CodecException.class, () -> PercentCodec.RFC3986.decode("ab%zz"));
+        Assertions.assertEquals(2, ex.getIndex());
+        Assertions.assertThrows(CodecException.class, () -> PercentCodec.RFC3986.decode("中"));
+    }
+}
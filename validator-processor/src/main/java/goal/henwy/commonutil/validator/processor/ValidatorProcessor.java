@@ -0,0 +1,520 @@
+package goal.henwy.commonutil.validator.processor;
+
+import goal.henwy.commonutil.validator.annotation.After;
+import goal.henwy.commonutil.validator.annotation.BeanValidator;
+import goal.henwy.commonutil.validator.annotation.Before;
+import goal.henwy.commonutil.validator.annotation.Between;
+import goal.henwy.commonutil.validator.annotation.Email;
+import goal.henwy.commonutil.validator.annotation.HasText;
+import goal.henwy.commonutil.validator.annotation.MatchPattern;
+import goal.henwy.commonutil.validator.annotation.NotNull;
+import goal.henwy.commonutil.validator.annotation.Size;
+import goal.henwy.commonutil.validator.annotation.TelePhone;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 校验注解处理器
+ * <br>为每个含校验注解字段的类生成{@link BeanValidator}实现,生成代码直接调用Validator的链式方法,运行期没有反射
+ * <br>注解参数(正则语法、取值范围、日期文本、长度)与字段类型在编译期校验,不合法时报告编译错误
+ * <br>私有字段通过同名的getter(布尔类型可为is前缀)访问;被校验类及其外部类不能为私有,嵌套类须为静态
+ *
+ * @author HenwyGoal
+ */
+@SupportedAnnotationTypes("goal.henwy.commonutil.validator.annotation.*")
+public final class ValidatorProcessor extends AbstractProcessor {
+
+    private static final String ANNOTATION_PACKAGE = "goal.henwy.commonutil.validator.annotation.";
+
+    private static final String VALIDATOR = "goal.henwy.commonutil.validator.Validator";
+
+    private static final String VALIDATION_RESULT = "goal.henwy.commonutil.validator.ValidationResult";
+
+    private static final String INDENT = "                ";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (ElementKind.FIELD == element.getKind()) {
+                    types.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+        }
+        for (TypeElement type : types) {
+            new Generation(type).run();
+        }
+        return true;
+    }
+
+
+    /**
+     * 单个类的代码生成
+     */
+    private final class Generation {
+
+        private final TypeElement type;
+
+        private final Elements elements = processingEnv.getElementUtils();
+
+        private final Types types = processingEnv.getTypeUtils();
+
+        private final StringBuilder constants = new StringBuilder();
+
+        private final List<String> calls = new ArrayList<>();
+
+        private int constantCount;
+
+        private boolean failed;
+
+        private Generation(TypeElement type) {
+            this.type = type;
+        }
+
+        private void run() {
+            checkType();
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+                    String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+                    if (name.startsWith(ANNOTATION_PACKAGE)) {
+                        emit(field, mirror, name.substring(ANNOTATION_PACKAGE.length()));
+                    }
+                }
+            }
+            if (!failed) {
+                write();
+            }
+        }
+
+        private void checkType() {
+            if (ElementKind.CLASS != type.getKind()) {
+                error(type, null, "校验注解只能用于类的字段");
+            }
+            for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+                if (e.getModifiers().contains(Modifier.PRIVATE)) {
+                    error(type, null, "被校验类及其外部类不能为私有");
+                }
+                if (NestingKind.MEMBER == ((TypeElement) e).getNestingKind() && !e.getModifiers().contains(Modifier.STATIC)) {
+                    error(type, null, "被校验的嵌套类须为静态");
+                }
+                if (NestingKind.LOCAL == ((TypeElement) e).getNestingKind()
+                        || NestingKind.ANONYMOUS == ((TypeElement) e).getNestingKind()) {
+                    error(type, null, "不支持局部类与匿名类");
+                }
+            }
+        }
+
+        private void emit(VariableElement field, AnnotationMirror mirror, String annotation) {
+            if (field.getModifiers().contains(Modifier.STATIC)) {
+                error(field, mirror, "不支持静态字段");
+                return;
+            }
+            String accessor = accessor(field, mirror);
+            if (null == accessor) {
+                return;
+            }
+            TypeMirror fieldType = field.asType();
+            switch (annotation) {
+                case "NotNull": {
+                    NotNull a = field.getAnnotation(NotNull.class);
+                    if (require(fieldType.getKind().isPrimitive() ? null : fieldType, field, mirror, "引用类型")) {
+                        call("notNull", accessor, literal(a.value()));
+                    }
+                    break;
+                }
+                case "HasText": {
+                    HasText a = field.getAnnotation(HasText.class);
+                    if (require(assignable(fieldType, "java.lang.CharSequence"), field, mirror, "CharSequence")) {
+                        call("hasText", accessor, literal(a.value()));
+                    }
+                    break;
+                }
+                case "Email": {
+                    Email a = field.getAnnotation(Email.class);
+                    if (require(assignable(fieldType, "java.lang.CharSequence"), field, mirror, "CharSequence")) {
+                        call("isEmail", accessor, literal(a.value()), String.valueOf(a.required()));
+                    }
+                    break;
+                }
+                case "TelePhone": {
+                    TelePhone a = field.getAnnotation(TelePhone.class);
+                    if (require(assignable(fieldType, "java.lang.CharSequence"), field, mirror, "CharSequence")) {
+                        call("isTelePhone", accessor, literal(a.value()), String.valueOf(a.required()));
+                    }
+                    break;
+                }
+                case "MatchPattern":
+                    emitPattern(field, mirror, accessor, field.getAnnotation(MatchPattern.class));
+                    break;
+                case "Size":
+                    emitSize(field, mirror, accessor, field.getAnnotation(Size.class));
+                    break;
+                case "Between":
+                    emitBetween(field, mirror, accessor, field.getAnnotation(Between.class));
+                    break;
+                case "Before": {
+                    Before a = field.getAnnotation(Before.class);
+                    emitDate(field, mirror, accessor, "before", a.value(), a.date(), a.dateFormat(), a.required());
+                    break;
+                }
+                case "After": {
+                    After a = field.getAnnotation(After.class);
+                    emitDate(field, mirror, accessor, "after", a.value(), a.date(), a.dateFormat(), a.required());
+                    break;
+                }
+                default:
+            }
+        }
+
+        private void emitPattern(VariableElement field, AnnotationMirror mirror, String accessor, MatchPattern a) {
+            if (!require(same(field.asType(), "java.lang.String"), field, mirror, "String")) {
+                return;
+            }
+            try {
+                Pattern.compile(a.regexp());
+            } catch (PatternSyntaxException e) {
+                error(field, mirror, "正则语法错误:" + e.getDescription());
+                return;
+            }
+            String constant = constant("java.util.regex.Pattern", "PATTERN",
+                    "java.util.regex.Pattern.compile(" + literal(a.regexp()) + ")");
+            call("matchPattern", accessor, literal(a.value()), constant, literal(a.patternName()), String.valueOf(a.required()));
+        }
+
+        private void emitSize(VariableElement field, AnnotationMirror mirror, String accessor, Size a) {
+            TypeMirror fieldType = field.asType();
+            boolean array = TypeKind.ARRAY == fieldType.getKind()
+                    && !((javax.lang.model.type.ArrayType) fieldType).getComponentType().getKind().isPrimitive();
+            boolean collection = types.isAssignable(types.erasure(fieldType),
+                    types.erasure(elements.getTypeElement("java.util.Collection").asType()));
+            if (!require(null != same(fieldType, "java.lang.String") || array || collection ? fieldType : null,
+                    field, mirror, "String、Collection或引用类型数组")) {
+                return;
+            }
+            if (a.min() <= 0 || a.max() < a.min()) {
+                error(field, mirror, "长度须大于0且最大长度不能小于最小长度");
+                return;
+            }
+            if (a.min() == a.max()) {
+                call("size", accessor, literal(a.value()), String.valueOf(a.min()), String.valueOf(a.required()));
+            } else {
+                call("size", accessor, literal(a.value()), String.valueOf(a.min()), String.valueOf(a.max()),
+                        String.valueOf(a.required()));
+            }
+        }
+
+        private void emitBetween(VariableElement field, AnnotationMirror mirror, String accessor, Between a) {
+            TypeMirror fieldType = field.asType();
+            TypeKind kind = fieldType.getKind();
+            boolean primitive = TypeKind.INT == kind || TypeKind.LONG == kind || TypeKind.SHORT == kind
+                    || TypeKind.BYTE == kind || TypeKind.FLOAT == kind || TypeKind.DOUBLE == kind;
+            if (!require(primitive ? fieldType : assignable(fieldType, "java.lang.Number"), field, mirror, "数值类型")) {
+                return;
+            }
+            BigDecimal min;
+            BigDecimal max;
+            try {
+                min = new BigDecimal(a.min().trim());
+                max = new BigDecimal(a.max().trim());
+            } catch (NumberFormatException e) {
+                error(field, mirror, "取值范围须为十进制数值文本");
+                return;
+            }
+            if (min.compareTo(max) >= 0) {
+                error(field, mirror, "最小值须小于最大值");
+                return;
+            }
+            String name = literal(a.value());
+            if (TypeKind.FLOAT == kind || TypeKind.DOUBLE == kind) {
+                call("betweenDouble", accessor, name, min.doubleValue() + "D", max.doubleValue() + "D");
+                return;
+            }
+            if (primitive && isIntegral(min) && isIntegral(max)) {
+                boolean asInt = TypeKind.LONG != kind && fits(min, Integer.MIN_VALUE, Integer.MAX_VALUE)
+                        && fits(max, Integer.MIN_VALUE, Integer.MAX_VALUE);
+                if (asInt) {
+                    call("betweenInt", accessor, name, min.toBigInteger().toString(), max.toBigInteger().toString());
+                    return;
+                }
+                if (fits(min, Long.MIN_VALUE, Long.MAX_VALUE) && fits(max, Long.MIN_VALUE, Long.MAX_VALUE)) {
+                    call("betweenLong", accessor, name, min.toBigInteger() + "L", max.toBigInteger() + "L");
+                    return;
+                }
+            }
+            String target = primitive ? "(java.lang.Number) " + accessor : accessor;
+            call("between", target, name, constant("java.lang.Number", "MIN", number(min)),
+                    constant("java.lang.Number", "MAX", number(max)), String.valueOf(a.required()));
+        }
+
+        private void emitDate(VariableElement field, AnnotationMirror mirror, String accessor, String method,
+                              String name, String date, String dateFormat, boolean required) {
+            String dateType = dateType(field.asType());
+            if (null == dateType) {
+                error(field, mirror, "字段类型须为java.util.Date、java.time.Instant、java.time.LocalDate或java.time.LocalDateTime,实际为"
+                        + field.asType());
+                return;
+            }
+            try {
+                BeanValidator.date(date, dateFormat);
+            } catch (RuntimeException e) {
+                error(field, mirror, "日期文本(" + date + ")不符合格式(" + dateFormat + "):" + e.getMessage());
+                return;
+            }
+            String args = "(" + literal(date) + ", " + literal(dateFormat) + ")";
+            String initializer;
+            switch (dateType) {
+                case "java.time.Instant":
+                    initializer = BeanValidator.class.getName() + ".date" + args + ".toInstant()";
+                    break;
+                case "java.time.LocalDate":
+                    initializer = BeanValidator.class.getName() + ".dateTime" + args + ".toLocalDate()";
+                    break;
+                case "java.time.LocalDateTime":
+                    initializer = BeanValidator.class.getName() + ".dateTime" + args;
+                    break;
+                default:
+                    initializer = BeanValidator.class.getName() + ".date" + args;
+            }
+            String constant = constant(dateType, "DATE", initializer);
+            call(method, accessor, literal(name), constant, literal(dateFormat), String.valueOf(required));
+        }
+
+        /**
+         * @return 日期注解对应的常量类型;java.util.Date可为其子类,java.time类型须完全一致;不支持时返回null
+         */
+        private String dateType(TypeMirror fieldType) {
+            if (null != assignable(fieldType, "java.util.Date")) {
+                return "java.util.Date";
+            }
+            for (String typeName : new String[]{"java.time.Instant", "java.time.LocalDate", "java.time.LocalDateTime"}) {
+                if (null != same(fieldType, typeName)) {
+                    return typeName;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * @return 字段的访问表达式;私有字段使用getter,找不到时报告错误并返回null
+         */
+        private String accessor(VariableElement field, AnnotationMirror mirror) {
+            String name = field.getSimpleName().toString();
+            if (!field.getModifiers().contains(Modifier.PRIVATE)) {
+                return "target." + name;
+            }
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            boolean bool = TypeKind.BOOLEAN == field.asType().getKind();
+            for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+                String methodName = method.getSimpleName().toString();
+                boolean named = ("get" + capitalized).equals(methodName) || (bool && ("is" + capitalized).equals(methodName));
+                if (named && method.getParameters().isEmpty() && !method.getModifiers().contains(Modifier.PRIVATE)
+                        && !method.getModifiers().contains(Modifier.STATIC)
+                        && types.isSameType(method.getReturnType(), field.asType())) {
+                    return "target." + methodName + "()";
+                }
+            }
+            error(field, mirror, "私有字段" + name + "缺少可访问的getter方法");
+            return null;
+        }
+
+        private void write() {
+            String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+            StringBuilder simpleName = new StringBuilder();
+            for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+                simpleName.insert(0, (e == type ? "" : "_")).insert(0, e.getSimpleName());
+            }
+            String validatorName = simpleName.append("Validator").toString();
+            String targetType = type.getQualifiedName().toString() + wildcards();
+            StringBuilder chain = new StringBuilder();
+            for (String call : calls) {
+                chain.append('\n').append(INDENT).append(call);
+            }
+
+            StringBuilder source = new StringBuilder();
+            if (!packageName.isEmpty()) {
+                source.append("package ").append(packageName).append(";\n\n");
+            }
+            source.append("/**\n")
+                    .append(" * {@link ").append(type.getQualifiedName()).append("}的校验器\n")
+                    .append(" * <br>由").append(ValidatorProcessor.class.getName()).append("生成,请勿修改\n")
+                    .append(" */\n")
+                    .append("public final class ").append(validatorName)
+                    .append(" implements ").append(BeanValidator.class.getName()).append('<').append(targetType).append("> {\n\n")
+                    .append("    public static final ").append(validatorName).append(" INSTANCE = new ").append(validatorName).append("();\n\n")
+                    .append("    private static final ").append(VALIDATOR).append(" VALIDATOR = ").append(VALIDATOR)
+                    .append(".ValidatorBuilder.build();\n")
+                    .append(constants)
+                    .append("\n    private ").append(validatorName).append("() {\n    }\n\n")
+                    .append("    @Override\n")
+                    .append("    public void validate(").append(targetType).append(" target) {\n")
+                    .append("        VALIDATOR.notNull(target, \"校验对象\")").append(chain).append(";\n")
+                    .append("    }\n\n")
+                    .append("    @Override\n")
+                    .append("    public ").append(VALIDATION_RESULT).append(" validate(").append(targetType).append(" target, ")
+                    .append(VALIDATION_RESULT).append(" result) {\n")
+                    .append("        VALIDATOR.notNull(result, \"校验结果\");\n")
+                    .append("        if (null == target) {\n")
+                    .append("            ").append(VALIDATOR).append(".collecting(result).notNull(target, \"校验对象\");\n")
+                    .append("            return result;\n")
+                    .append("        }\n")
+                    .append("        ").append(VALIDATOR).append(".collecting(result)").append(chain).append(";\n")
+                    .append("        return result;\n")
+                    .append("    }\n")
+                    .append("}\n");
+            String qualifiedName = packageName.isEmpty() ? validatorName : packageName + "." + validatorName;
+            try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+                writer.write(ascii(source));
+            } catch (IOException e) {
+                error(type, null, "生成校验器失败:" + e.getMessage());
+            }
+        }
+
+        private String wildcards() {
+            int count = type.getTypeParameters().size();
+            if (0 == count) {
+                return "";
+            }
+            StringBuilder builder = new StringBuilder("<?");
+            for (int i = 1; i < count; i++) {
+                builder.append(", ?");
+            }
+            return builder.append('>').toString();
+        }
+
+        private void call(String method, String... args) {
+            calls.add('.' + method + '(' + String.join(", ", args) + ')');
+        }
+
+        private String constant(String constantType, String prefix, String initializer) {
+            String name = prefix + "_" + constantCount++;
+            constants.append("\n    private static final ").append(constantType).append(' ').append(name)
+                    .append(" = ").append(initializer).append(";\n");
+            return name;
+        }
+
+        private boolean require(TypeMirror matched, VariableElement field, AnnotationMirror mirror, String expected) {
+            if (null == matched) {
+                error(field, mirror, "字段类型须为" + expected + ",实际为" + field.asType());
+                return false;
+            }
+            return true;
+        }
+
+        private TypeMirror assignable(TypeMirror fieldType, String typeName) {
+            TypeElement element = elements.getTypeElement(typeName);
+            return types.isAssignable(fieldType, element.asType()) && !fieldType.getKind().isPrimitive() ? fieldType : null;
+        }
+
+        private TypeMirror same(TypeMirror fieldType, String typeName) {
+            return types.isSameType(fieldType, elements.getTypeElement(typeName).asType()) ? fieldType : null;
+        }
+
+        private void error(Element element, AnnotationMirror mirror, String message) {
+            failed = true;
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element, mirror);
+        }
+    }
+
+    private static boolean isIntegral(BigDecimal value) {
+        return value.signum() == 0 || value.stripTrailingZeros().scale() <= 0;
+    }
+
+    private static boolean fits(BigDecimal value, long min, long max) {
+        return value.compareTo(BigDecimal.valueOf(min)) >= 0 && value.compareTo(BigDecimal.valueOf(max)) <= 0;
+    }
+
+    /**
+     * 整数边界生成Long或BigInteger常量,小数边界生成BigDecimal常量;比较均为精确比较
+     */
+    private static String number(BigDecimal value) {
+        if (isIntegral(value)) {
+            if (fits(value, Long.MIN_VALUE, Long.MAX_VALUE)) {
+                return "java.lang.Long.valueOf(" + value.toBigInteger() + "L)";
+            }
+            return "new java.math.BigInteger(\"" + value.toBigInteger() + "\")";
+        }
+        return "new java.math.BigDecimal(\"" + value.toPlainString() + "\")";
+    }
+
+    /**
+     * 非ASCII字符以unicode转义输出,生成代码与编译编码无关
+     */
+    private static String ascii(CharSequence source) {
+        StringBuilder builder = new StringBuilder(source.length());
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c > 0x7e) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 转义为Java字符串字面量
+     */
+    private static String literal(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
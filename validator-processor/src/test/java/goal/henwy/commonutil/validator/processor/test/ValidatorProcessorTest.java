@@ -0,0 +1,188 @@
+package goal.henwy.commonutil.validator.processor.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationResult;
+import goal.henwy.commonutil.validator.annotation.BeanValidator;
+import goal.henwy.commonutil.validator.processor.ValidatorProcessor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 校验注解处理器测试类
+ *
+ * @author HenwyGoal
+ */
+class ValidatorProcessorTest {
+
+    private static final String ORDER = String.join("\n",
+            "package sample;",
+            "import goal.henwy.commonutil.validator.annotation.*;",
+            "import java.math.BigDecimal;",
+            "import java.util.*;",
+            "public class Order {",
+            "    @NotNull(\"订单号\") @HasText(\"订单号\") String id;",
+            "    @Between(value = \"数量\", min = \"1\", max = \"100\") int count;",
+            "    @Between(value = \"金额\", min = \"0\", max = \"99.99\") private BigDecimal amount;",
+            "    @Between(value = \"流水号\", min = \"9007199254740993\", max = \"9007199254740995\", required = false) Long serial;",
+            "    @Between(value = \"比例\", min = \"0\", max = \"1\") double ratio;",
+            "    @Size(value = \"名称\", min = 2, max = 5) String name;",
+            "    @Size(value = \"标签\", min = 1, max = 3, required = false) List<String> tags;",
+            "    @MatchPattern(value = \"编码\", regexp = \"^[A-Z]{2}\\\\d+$\", patternName = \"编码\") String code;",
+            "    @Email(value = \"邮箱\", required = false) String email;",
+            "    @TelePhone(\"手机号\") String phone;",
+            "    @After(value = \"下单时间\", date = \"2020-01-01\")",
+            "    @Before(value = \"下单时间\", date = \"2030-01-01 12:00\", dateFormat = \"yyyy-MM-dd HH:mm\") Date createTime;",
+            "    @After(value = \"发货日期\", date = \"2020-01-01\") java.time.LocalDate shipDate;",
+            "    @Before(value = \"支付时间\", date = \"2030-01-01 12:00\", dateFormat = \"yyyy-MM-dd HH:mm\") java.time.LocalDateTime payTime;",
+            "    @After(value = \"到账时间\", date = \"2020-01-01\", required = false) java.time.Instant arriveTime;",
+            "    public BigDecimal getAmount() { return amount; }",
+            "    public static Order valid() {",
+            "        Order o = new Order();",
+            "        o.id = \"A1\"; o.count = 1; o.amount = new BigDecimal(\"99.99\"); o.ratio = 0.5; o.name = \"噶噶\";",
+            "        o.code = \"AB12\"; o.phone = \"15625717814\"; o.createTime = new Date();",
+            "        o.shipDate = java.time.LocalDate.now(); o.payTime = java.time.LocalDateTime.now();",
+            "        return o;",
+            "    }",
+            "    public static Order invalid() {",
+            "        Order o = valid();",
+            "        o.id = \" \"; o.count = 101; o.amount = new BigDecimal(\"99.991\"); o.serial = 9007199254740992L;",
+            "        o.tags = new ArrayList<>(); o.code = \"ab\"; o.email = \"x@y\"; o.createTime = new Date(0);",
+            "        o.shipDate = java.time.LocalDate.of(2019, 12, 31); o.arriveTime = java.time.Instant.EPOCH;",
+            "        return o;",
+            "    }",
+            "    public static class Item {",
+            "        @NotNull(\"商品\") private Long sku;",
+            "        public Long getSku() { return sku; }",
+            "    }",
+            "}");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testGenerate() throws Exception {
+        List<Diagnostic<? extends JavaFileObject>> errors = compile("sample.Order", ORDER);
+        Assertions.assertEquals(Collections.emptyList(), errors);
+        Assertions.assertTrue(Files.exists(dir.resolve("sample/OrderValidator.class")));
+        Assertions.assertTrue(Files.exists(dir.resolve("sample/Order_ItemValidator.class")));
+        // 基本类型字段调用基本类型重载,校验时不装箱
+        String generated = new String(Files.readAllBytes(dir.resolve("sample/OrderValidator.java")), StandardCharsets.UTF_8);
+        Assertions.assertTrue(generated.contains(".betweenInt(target.count, "), generated);
+        Assertions.assertTrue(generated.contains(".betweenDouble(target.ratio, "), generated);
+        Assertions.assertFalse(generated.contains("(java.lang.Number) target."), generated);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{dir.toUri().toURL()}, getClass().getClassLoader())) {
+            Class<?> order = loader.loadClass("sample.Order");
+            @SuppressWarnings("unchecked")
+            BeanValidator<Object> validator = (BeanValidator<Object>) loader.loadClass("sample.OrderValidator")
+                    .getField("INSTANCE").get(null);
+            Object valid = order.getMethod("valid").invoke(null);
+            Object invalid = order.getMethod("invalid").invoke(null);
+
+            validator.validate(valid);
+            Assertions.assertTrue(validator.validate(valid, new ValidationResult()).isValid());
+
+            ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> validator.validate(invalid));
+            Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg("订单号"), ex.getMessage());
+            Assertions.assertThrows(ValidationException.class, () -> validator.validate(null));
+
+            ValidationResult result = validator.validate(invalid, new ValidationResult());
+            Assertions.assertEquals(Arrays.asList(
+                    ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg("订单号"),
+                    ExMsgTemplateEnum.MUST_BETWEEN.errMsg("数量", 1, 100),
+                    ExMsgTemplateEnum.MUST_BETWEEN.errMsg("金额", 0L, "99.99"),
+                    ExMsgTemplateEnum.MUST_BETWEEN.errMsg("流水号", 9007199254740993L, 9007199254740995L),
+                    ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg("标签"),
+                    ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("ab", "编码"),
+                    ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("x@y", "邮箱"),
+                    ExMsgTemplateEnum.MUST_AFTER.errMsg("下单时间", "2020-01-01"),
+                    ExMsgTemplateEnum.MUST_AFTER.errMsg("发货日期", "2020-01-01"),
+                    ExMsgTemplateEnum.MUST_AFTER.errMsg("到账时间", "2020-01-01")
+            ), result.getMessages());
+            Assertions.assertEquals(1, validator.validate(null, new ValidationResult()).size());
+        }
+    }
+
+    @Test
+    void testCompileError() {
+        String source = String.join("\n",
+                "package sample;",
+                "import goal.henwy.commonutil.validator.annotation.*;",
+                "public class Broken {",
+                "    @HasText(\"数量\") int count;",
+                "    @MatchPattern(value = \"编码\", regexp = \"[a-\", patternName = \"编码\") String code;",
+                "    @Between(value = \"金额\", min = \"10\", max = \"1\") Integer amount;",
+                "    @Size(value = \"名称\", min = 0, max = 5) String name;",
+                "    @Before(value = \"时间\", date = \"2020/01/01\") java.util.Date time;",
+                "    @NotNull(\"备注\") private String remark;",
+                "}");
+        List<Diagnostic<? extends JavaFileObject>> errors = compile("sample.Broken", source);
+        Assertions.assertEquals(6, errors.size(), errors.toString());
+        Assertions.assertTrue(errors.get(0).getMessage(Locale.ROOT).contains("CharSequence"));
+        Assertions.assertTrue(errors.get(5).getMessage(Locale.ROOT).contains("remark"));
+        Assertions.assertFalse(Files.exists(dir.resolve("sample/BrokenValidator.class")));
+    }
+
+    /**
+     * 测试运行器的类加载器不一定反映在java.class.path中,按类的代码来源拼接编译类路径
+     */
+    private static String classPath(Class<?>... classes) {
+        List<String> paths = new ArrayList<>();
+        for (Class<?> clazz : classes) {
+            try {
+                paths.add(Paths.get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).toString());
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return String.join(File.pathSeparator, paths);
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(String className, String source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        JavaFileObject file = new SimpleJavaFileObject(
+                URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        List<String> options = Arrays.asList("-classpath", classPath(BeanValidator.class, ValidatorProcessor.class),
+                "-d", dir.toString(), "-s", dir.toString());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null,
+                Collections.singletonList(file));
+        task.setProcessors(Collections.singletonList(new ValidatorProcessor()));
+        task.call();
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (Diagnostic.Kind.ERROR == diagnostic.getKind()) {
+                errors.add(diagnostic);
+            }
+        }
+        return errors;
+    }
+}
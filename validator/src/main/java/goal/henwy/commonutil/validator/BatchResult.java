@@ -0,0 +1,73 @@
+package goal.henwy.commonutil.validator;
+
+/**
+ * 批量校验结果
+ * <br>按输入顺序记录全部违规项,以及每个违规项所属对象在输入中的下标
+ * <br>构建完成后不可变
+ *
+ * @author HenwyGoal
+ */
+public final class BatchResult {
+
+    static final BatchResult EMPTY = new BatchResult(new ValidationResult(1), new int[0]);
+
+    private final ValidationResult violations;
+
+    private final int[] indices;
+
+    BatchResult(ValidationResult violations, int[] indices) {
+        this.violations = violations;
+        this.indices = indices;
+    }
+
+    public int size() {
+        return violations.size();
+    }
+
+    public boolean isValid() {
+        return violations.isValid();
+    }
+
+    /**
+     * @return 第index个违规项所属对象在输入中的下标
+     */
+    public int getIndex(int index) {
+        violations.getTemplate(index);
+        return indices[index];
+    }
+
+    public ExMsgTemplateEnum getTemplate(int index) {
+        return violations.getTemplate(index);
+    }
+
+    public int getCode(int index) {
+        return violations.getCode(index);
+    }
+
+    public Object[] getArgs(int index) {
+        return violations.getArgs(index);
+    }
+
+    public String getMessage(int index) {
+        return violations.getMessage(index);
+    }
+
+    /**
+     * 存在违规项时抛出第一个违规项对应的异常
+     */
+    public void throwIfInvalid() {
+        violations.throwIfInvalid();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("BatchResult[");
+        for (int i = 0; i < size(); i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            violations.appendMessage(i, builder.append(indices[i]).append(": "));
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,335 @@
+package goal.henwy.commonutil.validator;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行批量校验器
+ * <br>将大批量数据按固定块大小切分,各块并行执行同一校验逻辑,最终按输入顺序合并违规项
+ * <br>默认使用{@link ForkJoinPool#commonPool()};指定并行度时使用独立的{@link ForkJoinPool},需在不再使用时{@link #close()}
+ * <br>运行时支持虚拟线程(Java 21+)且开启{@link Builder#virtualThreads(boolean)}时,改用虚拟线程执行,并发数不超过并行度;
+ * 不支持时自动回退到{@link ForkJoinPool}
+ * <br>校验逻辑会被多个线程同时调用,须线程安全;{@link ValidationSchema}与{@link Validator}单例均满足要求
+ * <pre>
+ * try (BatchValidator&lt;Order&gt; batch = BatchValidator.builder(ORDER_SCHEMA).parallelism(8).build()) {
+ *     BatchResult result = batch.validate(orders);
+ * }
+ * </pre>
+ *
+ * @param <T> 被校验对象类型
+ * @author HenwyGoal
+ */
+public final class BatchValidator<T> implements AutoCloseable {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private static final long DEFAULT_CLOSE_TIMEOUT_SECONDS = 30;
+
+    private static final Method VIRTUAL_THREAD_EXECUTOR = virtualThreadExecutor();
+
+    private final Check<T> check;
+
+    private final int parallelism;
+
+    private final int chunkSize;
+
+    private final boolean virtualThreads;
+
+    private final ForkJoinPool pool;
+
+    private final boolean ownPool;
+
+    private final long closeTimeoutNanos;
+
+    private BatchValidator(Builder<T> builder) {
+        this.check = builder.check;
+        this.chunkSize = builder.chunkSize;
+        this.closeTimeoutNanos = builder.closeTimeoutNanos;
+        this.virtualThreads = builder.virtualThreads && null != VIRTUAL_THREAD_EXECUTOR;
+        this.ownPool = builder.parallelism > 0 && !this.virtualThreads;
+        this.parallelism = builder.parallelism > 0 ? builder.parallelism : ForkJoinPool.getCommonPoolParallelism();
+        this.pool = this.ownPool ? new ForkJoinPool(this.parallelism) : ForkJoinPool.commonPool();
+    }
+
+    public static <T> Builder<T> builder(Check<T> check) {
+        return new Builder<>(check);
+    }
+
+    public static <T> Builder<T> builder(ValidationSchema<T> schema) {
+        VALIDATOR.notNull(schema, "校验方案");
+        return new Builder<>(schema::validate);
+    }
+
+    /**
+     * @return 当前运行时是否支持虚拟线程
+     */
+    public static boolean isVirtualThreadSupported() {
+        return null != VIRTUAL_THREAD_EXECUTOR;
+    }
+
+    public BatchResult validate(T[] targets) {
+        VALIDATOR.notNull(targets, "校验对象");
+        return validate(Arrays.asList(targets));
+    }
+
+    /**
+     * 校验全部对象;违规项按输入顺序排列,并记录所属对象的下标
+     * <br>非随机访问列表会先复制为数组列表
+     * <br>校验逻辑抛出的异常原样抛出
+     */
+    public BatchResult validate(List<? extends T> targets) {
+        VALIDATOR.notNull(targets, "校验对象");
+        List<? extends T> items = targets instanceof RandomAccess ? targets : new ArrayList<>(targets);
+        int chunkCount = (int) ((items.size() + (long) chunkSize - 1) / chunkSize);
+        Chunk[] chunks = new Chunk[chunkCount];
+        if (chunkCount <= 1 || 1 == parallelism) {
+            for (int c = 0; c < chunkCount; c++) {
+                chunks[c] = run(items, c);
+            }
+        } else if (virtualThreads) {
+            runVirtual(items, chunks);
+        } else {
+            pool.invoke(new ChunkTask<>(this, items, chunks, 0, chunkCount));
+        }
+        return merge(chunks);
+    }
+
+    private Chunk run(List<? extends T> items, int chunkIndex) {
+        int from = chunkIndex * chunkSize;
+        int to = Math.min(from + chunkSize, items.size());
+        ValidationResult result = new ValidationResult();
+        int[] indices = null;
+        for (int i = from; i < to; i++) {
+            int before = result.size();
+            check.check(items.get(i), result);
+            int after = result.size();
+            if (after > before) {
+                if (null == indices) {
+                    indices = new int[Math.max(after, 8)];
+                } else if (after > indices.length) {
+                    indices = Arrays.copyOf(indices, Math.max(after, indices.length << 1));
+                }
+                Arrays.fill(indices, before, after, i);
+            }
+        }
+        return null == indices ? null : new Chunk(result, indices);
+    }
+
+    private void runVirtual(List<? extends T> items, Chunk[] chunks) {
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService) VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("创建虚拟线程执行器失败", e);
+        }
+        try {
+            AtomicInteger next = new AtomicInteger();
+            int workers = Math.min(parallelism, chunks.length);
+            List<Future<?>> futures = new ArrayList<>(workers);
+            for (int w = 0; w < workers; w++) {
+                futures.add(executor.submit(() -> {
+                    for (int c = next.getAndIncrement(); c < chunks.length; c = next.getAndIncrement()) {
+                        chunks[c] = run(items, c);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                await(future);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("批量校验被中断", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static BatchResult merge(Chunk[] chunks) {
+        int total = 0;
+        for (Chunk chunk : chunks) {
+            if (null != chunk) {
+                total += chunk.result.size();
+            }
+        }
+        if (0 == total) {
+            return BatchResult.EMPTY;
+        }
+        ValidationResult violations = new ValidationResult(total);
+        int[] indices = new int[total];
+        for (Chunk chunk : chunks) {
+            if (null != chunk) {
+                System.arraycopy(chunk.indices, 0, indices, violations.size(), chunk.result.size());
+                violations.addAll(chunk.result);
+            }
+        }
+        return new BatchResult(violations, indices);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * 关闭独立创建的{@link ForkJoinPool},至多等待{@link Builder#closeTimeout(long, TimeUnit)}让进行中的校验结束,
+     * 超时或被中断时中止剩余任务;使用公共池或虚拟线程时无操作
+     */
+    @Override
+    public void close() {
+        if (!ownPool) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(closeTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Method virtualThreadExecutor() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+
+    /**
+     * 单个对象的收集式校验逻辑;须线程安全
+     */
+    @FunctionalInterface
+    public interface Check<T> {
+        void check(T target, ValidationResult result);
+    }
+
+    public static final class Builder<T> {
+
+        private final Check<T> check;
+
+        private int parallelism;
+
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+        private boolean virtualThreads;
+
+        private long closeTimeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_CLOSE_TIMEOUT_SECONDS);
+
+        private Builder(Check<T> check) {
+            VALIDATOR.notNull(check, "校验逻辑");
+            this.check = check;
+        }
+
+        /**
+         * 最大并行度;不指定时使用公共池的并行度
+         */
+        public Builder<T> parallelism(int parallelism) {
+            VALIDATOR.gtInt(parallelism, "并行度", 0);
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * 每块对象数,默认{@value #DEFAULT_CHUNK_SIZE};块是调度与合并的最小单位
+         */
+        public Builder<T> chunkSize(int chunkSize) {
+            VALIDATOR.gtInt(chunkSize, "块大小", 0);
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * 运行时支持时使用虚拟线程;不支持时忽略
+         */
+        public Builder<T> virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * {@link #close()}等待进行中校验结束的最长时间,默认{@value #DEFAULT_CLOSE_TIMEOUT_SECONDS}秒
+         */
+        public Builder<T> closeTimeout(long timeout, TimeUnit unit) {
+            VALIDATOR.gteLong(timeout, "关闭等待时间", 0L).notNull(unit, "时间单位");
+            this.closeTimeoutNanos = unit.toNanos(timeout);
+            return this;
+        }
+
+        public BatchValidator<T> build() {
+            return new BatchValidator<>(this);
+        }
+    }
+
+    private static final class Chunk {
+        private final ValidationResult result;
+        private final int[] indices;
+
+        private Chunk(ValidationResult result, int[] indices) {
+            this.result = result;
+            this.indices = indices;
+        }
+    }
+
+    private static final class ChunkTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient BatchValidator<T> batch;
+        private final transient List<? extends T> items;
+        private final transient Chunk[] chunks;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(BatchValidator<T> batch, List<? extends T> items, Chunk[] chunks, int from, int to) {
+            this.batch = batch;
+            this.items = items;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (1 == to - from) {
+                chunks[from] = batch.run(items, from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask<>(batch, items, chunks, from, mid), new ChunkTask<>(batch, items, chunks, mid, to));
+        }
+    }
+}
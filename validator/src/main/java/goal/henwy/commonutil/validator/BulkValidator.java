@@ -0,0 +1,225 @@
+package goal.henwy.commonutil.validator;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 列式批量校验器
+ * <br>对一整列取值执行同一校验,返回不通过的下标集合({@link BitSet});空集合表示全部通过
+ * <br>列参数(取值范围、格式等)每列只校验一次,参数不合法时与{@link Validator}一样抛出{@link ValidationException}
+ * <br>每64个元素累积到一个long中再写入位图,循环体无分支、无装箱,便于JIT展开
+ * <br>最终类 不可被继承;单例模式,与{@link Validator}的获取方式一致
+ *
+ * @author HenwyGoal
+ */
+public final class BulkValidator {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private BulkValidator() {
+    }
+
+    public static class BulkValidatorBuilder {
+        private static final BulkValidator INSTANCE = new BulkValidator();
+
+        private BulkValidatorBuilder() {
+        }
+
+        public static BulkValidator build() {
+            return INSTANCE;
+        }
+    }
+
+
+    public BitSet notNull(Object[] values, String targetName) {
+        VALIDATOR.notNull(values, targetName);
+        int length = values.length;
+        long[] words = new long[wordCount(length)];
+        for (int w = 0, base = 0; base < length; w++, base += Long.SIZE) {
+            int end = Math.min(base + Long.SIZE, length);
+            long word = 0;
+            for (int i = base; i < end; i++) {
+                word |= (null == values[i] ? 1L : 0L) << i;
+            }
+            words[w] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    public BitSet notNull(List<?> values, String targetName) {
+        VALIDATOR.notNull(values, targetName);
+        BitSet failures = new BitSet();
+        int i = 0;
+        for (Object value : values) {
+            if (null == value) {
+                failures.set(i);
+            }
+            i++;
+        }
+        return failures;
+    }
+
+    public BitSet hasText(CharSequence[] values, String targetName) {
+        VALIDATOR.notNull(values, targetName);
+        BitSet failures = new BitSet();
+        for (int i = 0; i < values.length; i++) {
+            if (!Validator.InnerMethod.hasText(values[i])) {
+                failures.set(i);
+            }
+        }
+        return failures;
+    }
+
+    public BitSet hasText(List<? extends CharSequence> values, String targetName) {
+        VALIDATOR.notNull(values, targetName);
+        BitSet failures = new BitSet();
+        int i = 0;
+        for (CharSequence value : values) {
+            if (!Validator.InnerMethod.hasText(value)) {
+                failures.set(i);
+            }
+            i++;
+        }
+        return failures;
+    }
+
+
+    public BitSet between(int[] values, String targetName, int min, int max) {
+        VALIDATOR.notNull(values, targetName).isLegal(min < max, "最小值与最大值");
+        int length = values.length;
+        long[] words = new long[wordCount(length)];
+        for (int w = 0, base = 0; base < length; w++, base += Long.SIZE) {
+            int end = Math.min(base + Long.SIZE, length);
+            long word = 0;
+            for (int i = base; i < end; i++) {
+                int v = values[i];
+                word |= (v < min | v > max ? 1L : 0L) << i;
+            }
+            words[w] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    public BitSet between(long[] values, String targetName, long min, long max) {
+        VALIDATOR.notNull(values, targetName).isLegal(min < max, "最小值与最大值");
+        int length = values.length;
+        long[] words = new long[wordCount(length)];
+        for (int w = 0, base = 0; base < length; w++, base += Long.SIZE) {
+            int end = Math.min(base + Long.SIZE, length);
+            long word = 0;
+            for (int i = base; i < end; i++) {
+                long v = values[i];
+                word |= (v < min | v > max ? 1L : 0L) << i;
+            }
+            words[w] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * NaN不在任何区间内,视为不通过
+     */
+    public BitSet between(double[] values, String targetName, double min, double max) {
+        VALIDATOR.notNull(values, targetName).isLegal(min < max, "最小值与最大值");
+        int length = values.length;
+        long[] words = new long[wordCount(length)];
+        for (int w = 0, base = 0; base < length; w++, base += Long.SIZE) {
+            int end = Math.min(base + Long.SIZE, length);
+            long word = 0;
+            for (int i = base; i < end; i++) {
+                double v = values[i];
+                word |= (v >= min & v <= max ? 0L : 1L) << i;
+            }
+            words[w] = word;
+        }
+        return BitSet.valueOf(words);
+    }
+
+
+    /**
+     * 整列复用同一个{@link Matcher};空白或null的取值视为不通过
+     */
+    public BitSet matchPattern(List<? extends CharSequence> values, String targetName, Pattern pattern, String patternName) {
+        VALIDATOR.notNull(values, targetName).notNull(pattern, "格式").hasText(patternName, "格式名称");
+        BitSet failures = new BitSet();
+        Matcher matcher = pattern.matcher("");
+        int i = 0;
+        for (CharSequence value : values) {
+            if (!Validator.InnerMethod.hasText(value) || !matcher.reset(value).matches()) {
+                failures.set(i);
+            }
+            i++;
+        }
+        return failures;
+    }
+
+    public BitSet matchPattern(List<? extends CharSequence> values, String targetName, String pattern, String patternName) {
+        VALIDATOR.hasText(pattern, "格式");
+        return matchPattern(values, targetName, Validator.InnerConstant.pattern(pattern), patternName);
+    }
+
+    public BitSet isEmail(List<? extends CharSequence> values, String targetName) {
+        VALIDATOR.notNull(values, targetName);
+        BitSet failures = new BitSet();
+        int i = 0;
+        for (CharSequence value : values) {
+            if (!FormatMatcher.isEmail(value)) {
+                failures.set(i);
+            }
+            i++;
+        }
+        return failures;
+    }
+
+    public BitSet isTelePhone(List<? extends CharSequence> values, String targetName) {
+        VALIDATOR.notNull(values, targetName);
+        BitSet failures = new BitSet();
+        int i = 0;
+        for (CharSequence value : values) {
+            if (!FormatMatcher.isTelePhone(value)) {
+                failures.set(i);
+            }
+            i++;
+        }
+        return failures;
+    }
+
+    /**
+     * 文本长度范围校验;空白或null的取值视为不通过
+     */
+    public BitSet size(List<? extends CharSequence> values, String targetName, int minSize, int maxSize) {
+        VALIDATOR.notNull(values, targetName).gtInt(minSize, targetName + "文本最小长度", 0)
+                .gtInt(maxSize, targetName + "文本最大长度", minSize);
+        BitSet failures = new BitSet();
+        int i = 0;
+        for (CharSequence value : values) {
+            if (!Validator.InnerMethod.hasText(value) || value.length() < minSize || value.length() > maxSize) {
+                failures.set(i);
+            }
+            i++;
+        }
+        return failures;
+    }
+
+
+    /**
+     * 存在不通过的下标时抛出异常;首个模板参数为带首个不通过下标的目标名称,如"item[3]"
+     *
+     * @param args 模板的其余参数,如取值范围
+     */
+    public void requireNone(BitSet failures, ExMsgTemplateEnum template, String targetName, Object... args) {
+        int first = failures.nextSetBit(0);
+        if (first >= 0) {
+            Object[] elements = new Object[args.length + 1];
+            elements[0] = targetName + "[" + first + "]";
+            System.arraycopy(args, 0, elements, 1, args.length);
+            throw template.ex(elements);
+        }
+    }
+
+    private static int wordCount(int length) {
+        return (length + Long.SIZE - 1) >>> 6;
+    }
+}
@@ -0,0 +1,1637 @@
+package goal.henwy.commonutil.validator;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static goal.henwy.commonutil.validator.ExMsgTemplateEnum.*;
+
+/**
+ * 收集式校验器
+ * <br>与{@link Validator}提供相同的链式校验方法与校验语义,但不抛出异常:
+ * 每个违规项写入{@link ValidationResult},链条继续执行后续校验
+ * <br>单个校验方法内部仍按{@link Validator}的顺序检查,遇到首个问题即记录并结束该方法
+ * <br>校验通过的路径上不产生任何分配;惰性序列(Iterable、Iterator、Stream、Spliterator)的遍历除外
+ * <br>通过{@link Validator#collecting()}或{@link Validator#collecting(ValidationResult)}获取
+ * <br>持有可变的结果对象,<b>非线程安全</b>;可调用{@link #reset()}后按请求复用
+ *
+ * @author HenwyGoal
+ */
+public final class CollectingValidator {
+
+    private final ValidationResult result;
+
+    CollectingValidator(ValidationResult result) {
+        this.result = result;
+    }
+
+    public ValidationResult getResult() {
+        return result;
+    }
+
+    public CollectingValidator reset() {
+        result.reset();
+        return this;
+    }
+
+
+    public <T> CollectingValidator notNull(T target, String targetName) {
+        isNotNull(target, targetName);
+        return this;
+    }
+
+    public <T> CollectingValidator notEmpty(Collection<T> target, String targetName) {
+        isNotEmpty(target, targetName);
+        return this;
+    }
+
+    public <T> CollectingValidator notEmpty(T[] target, String targetName) {
+        isNotEmpty(target, targetName);
+        return this;
+    }
+
+    public <T> CollectingValidator notEmpty(MembershipIndex<T> target, String targetName) {
+        isNotEmpty(target, targetName);
+        return this;
+    }
+
+    public CollectingValidator notEmpty(KeywordMatcher target, String targetName) {
+        isNotEmpty(target, targetName);
+        return this;
+    }
+
+    public <T> CollectingValidator notEmpty(Iterable<T> target, String targetName) {
+        if (null == target || !target.iterator().hasNext()) {
+            reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator notEmpty(Iterator<T> target, String targetName) {
+        if (null == target || !target.hasNext()) {
+            reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 流不能再使用;大小未知时读取第一个元素即停止
+     */
+    public <T> CollectingValidator notEmpty(Stream<T> target, String targetName) {
+        if (null == target || !Validator.InnerMethod.nonEmpty(target.spliterator())) {
+            reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 大小未知时会消费第一个元素
+     */
+    public <T> CollectingValidator notEmpty(Spliterator<T> target, String targetName) {
+        if (null == target || !Validator.InnerMethod.nonEmpty(target)) {
+            reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+        }
+        return this;
+    }
+
+    public <K, V> CollectingValidator notEmpty(Map<K, V> target, String targetName) {
+        isNotEmpty(target, targetName);
+        return this;
+    }
+
+    public CollectingValidator hasText(CharSequence target, String targetName) {
+        isText(target, targetName);
+        return this;
+    }
+
+
+    public CollectingValidator contains(CharSequence target, String targetName, CharSequence item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName) && isText(item, "必要文本") && Validator.InnerMethod.indexOf(target, item) < 0) {
+            reject(MUST_CONTAIN_TEXT, targetName, item);
+        }
+        return this;
+    }
+
+    public CollectingValidator contains(CharSequence target, String targetName, CharSequence item) {
+        return contains(target, targetName, item, true);
+    }
+
+    /**
+     * 文本须至少包含一个关键词;失败信息列出关键词,较多时只列出前几个
+     */
+    public CollectingValidator contains(CharSequence target, String targetName, KeywordMatcher keywords, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName) && isNotEmpty(keywords, "必要关键词") && !keywords.matches(target)) {
+            reject(MUST_CONTAIN_TEXT, targetName, keywords.describe());
+        }
+        return this;
+    }
+
+    public CollectingValidator contains(CharSequence target, String targetName, KeywordMatcher keywords) {
+        return contains(target, targetName, keywords, true);
+    }
+
+    /**
+     * @param keywordsName 失败信息中关键词集合的名称,如"促销用语"
+     */
+    public CollectingValidator contains(CharSequence target, String targetName, KeywordMatcher keywords, String keywordsName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName) && isNotEmpty(keywords, "必要关键词") && isText(keywordsName, "关键词名称")
+                && !keywords.matches(target)) {
+            reject(MUST_CONTAIN_TEXT, targetName, keywordsName);
+        }
+        return this;
+    }
+
+    public CollectingValidator contains(CharSequence target, String targetName, KeywordMatcher keywords, String keywordsName) {
+        return contains(target, targetName, keywords, keywordsName, true);
+    }
+
+    public <T> CollectingValidator contains(Collection<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName) && isNotNull(item, "必要元素") && !target.contains(item)) {
+            reject(MUST_CONTAIN_ELEMENT, targetName, item);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator contains(Collection<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    /**
+     * 惰性序列的元素包含校验;遇到第一个相等元素即停止,语义与信息与集合版本一致
+     */
+    public <T> CollectingValidator contains(Iterable<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        containsOf(null == target ? null : target.spliterator(), targetName, item);
+        return this;
+    }
+
+    public <T> CollectingValidator contains(Iterable<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    public <T> CollectingValidator contains(Iterator<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        containsOf(null == target ? null : Spliterators.spliteratorUnknownSize(target, 0), targetName, item);
+        return this;
+    }
+
+    public <T> CollectingValidator contains(Iterator<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    public <T> CollectingValidator contains(Stream<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        containsOf(null == target ? null : target.spliterator(), targetName, item);
+        return this;
+    }
+
+    public <T> CollectingValidator contains(Stream<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    public <T> CollectingValidator contains(Spliterator<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        containsOf(target, targetName, item);
+        return this;
+    }
+
+    public <T> CollectingValidator contains(Spliterator<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    private void containsOf(Spliterator<?> target, String targetName, Object item) {
+        Validator.InnerMethod.Probe probe = new Validator.InnerMethod.Probe(item);
+        if (((null != target && target.tryAdvance(probe)) || reject(MUST_NOT_NULL_OR_EMPTY, targetName))
+                && isNotNull(item, "必要元素") && !Validator.InnerMethod.find(target, probe).found) {
+            reject(MUST_CONTAIN_ELEMENT, targetName, item);
+        }
+    }
+
+    public <T> CollectingValidator contains(T[] target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName) && isNotNull(item, "必要元素")
+                && !Validator.InnerMethod.isArrayContainsItem(target, item)) {
+            reject(MUST_CONTAIN_ELEMENT, targetName, item);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator contains(T[] target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    /**
+     * 以预构建的成员索引判断;适合百万级参考集合
+     */
+    public <T> CollectingValidator contains(MembershipIndex<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName) && isNotNull(item, "必要元素") && !target.contains(item)) {
+            reject(MUST_CONTAIN_ELEMENT, targetName, item);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator contains(MembershipIndex<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    public <K, V> CollectingValidator containsKey(Map<K, V> target, String targetName, K item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName) && isNotNull(item, "必要键") && !target.containsKey(item)) {
+            reject(MUST_CONTAIN_KEY, targetName, item);
+        }
+        return this;
+    }
+
+    public <K, V> CollectingValidator containsKey(Map<K, V> target, String targetName, K item) {
+        return containsKey(target, targetName, item, true);
+    }
+
+    public CollectingValidator notContains(CharSequence target, String targetName, CharSequence item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName) && isText(item, "必要文本") && Validator.InnerMethod.indexOf(target, item) >= 0) {
+            reject(MUST_NOT_CONTAIN_TEXT, targetName, item);
+        }
+        return this;
+    }
+
+    public CollectingValidator notContains(CharSequence target, String targetName, CharSequence item) {
+        return notContains(target, targetName, item, true);
+    }
+
+    /**
+     * 文本不能包含任一关键词;失败信息给出最先出现的关键词
+     */
+    public CollectingValidator notContains(CharSequence target, String targetName, KeywordMatcher keywords, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName) && isNotNull(keywords, "禁止关键词")) {
+            String found = keywords.find(target);
+            if (null != found) {
+                reject(MUST_NOT_CONTAIN_TEXT, targetName, found);
+            }
+        }
+        return this;
+    }
+
+    public CollectingValidator notContains(CharSequence target, String targetName, KeywordMatcher keywords) {
+        return notContains(target, targetName, keywords, true);
+    }
+
+    /**
+     * 按黑名单当前的关键词校验;失败信息给出最先出现的关键词
+     */
+    public CollectingValidator notContains(CharSequence target, String targetName, KeywordBlocklist blocklist, Boolean required) {
+        if (isNotNull(blocklist, "关键词黑名单")) {
+            notContains(target, targetName, blocklist.matcher(), required);
+        }
+        return this;
+    }
+
+    public CollectingValidator notContains(CharSequence target, String targetName, KeywordBlocklist blocklist) {
+        return notContains(target, targetName, blocklist, true);
+    }
+
+    public <T> CollectingValidator notContains(Collection<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName) && isNotNull(item, "必要元素") && target.contains(item)) {
+            reject(MUST_NOT_CONTAIN_ELEMENT, targetName, item);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator notContains(Collection<T> target, String targetName, T item) {
+        return notContains(target, targetName, item, true);
+    }
+
+    public <T> CollectingValidator notContains(T[] target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName) && isNotNull(item, "必要元素")
+                && Validator.InnerMethod.isArrayContainsItem(target, item)) {
+            reject(MUST_NOT_CONTAIN_ELEMENT, targetName, item);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator notContains(T[] target, String targetName, T item) {
+        return notContains(target, targetName, item, true);
+    }
+
+    /**
+     * 以预构建的成员索引判断;布隆过滤器未命中时直接通过
+     */
+    public <T> CollectingValidator notContains(MembershipIndex<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName) && isNotNull(item, "必要元素") && target.contains(item)) {
+            reject(MUST_NOT_CONTAIN_ELEMENT, targetName, item);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator notContains(MembershipIndex<T> target, String targetName, T item) {
+        return notContains(target, targetName, item, true);
+    }
+
+    public <K, V> CollectingValidator notContainsKey(Map<K, V> target, String targetName, K item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName) && isNotNull(item, "必要键") && target.containsKey(item)) {
+            reject(MUST_NOT_CONTAIN_KEY, targetName, item);
+        }
+        return this;
+    }
+
+    public <K, V> CollectingValidator notContainsKey(Map<K, V> target, String targetName, K item) {
+        return notContainsKey(target, targetName, item, true);
+    }
+
+
+    public CollectingValidator eq(Number target, String targetName, Number aim, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(aim, "标准值") && Validator.InnerMethod.compare(target, aim) != 0) {
+            reject(MUST_EQUAL_NUMBER, targetName, aim);
+        }
+        return this;
+    }
+
+    public CollectingValidator eq(Number target, String targetName, Number aim) {
+        return eq(target, targetName, aim, true);
+    }
+
+    public CollectingValidator eqInt(int target, String targetName, int aim) {
+        if (target != aim) {
+            reject(MUST_EQUAL_NUMBER, targetName, aim);
+        }
+        return this;
+    }
+
+    public CollectingValidator eqLong(long target, String targetName, long aim) {
+        if (target != aim) {
+            reject(MUST_EQUAL_NUMBER, targetName, aim);
+        }
+        return this;
+    }
+
+    public CollectingValidator eqDouble(double target, String targetName, double aim) {
+        if (target != aim) {
+            reject(MUST_EQUAL_NUMBER, targetName, aim);
+        }
+        return this;
+    }
+
+    public CollectingValidator neq(Number target, String targetName, Number aim, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(aim, "标准值") && Validator.InnerMethod.compare(target, aim) == 0) {
+            reject(MUST_NOT_EQUAL_NUMBER, targetName, aim);
+        }
+        return this;
+    }
+
+    public CollectingValidator neq(Number target, String targetName, Number aim) {
+        return neq(target, targetName, aim, true);
+    }
+
+    public CollectingValidator neqInt(int target, String targetName, int aim) {
+        if (target == aim) {
+            reject(MUST_NOT_EQUAL_NUMBER, targetName, aim);
+        }
+        return this;
+    }
+
+    public CollectingValidator neqLong(long target, String targetName, long aim) {
+        if (target == aim) {
+            reject(MUST_NOT_EQUAL_NUMBER, targetName, aim);
+        }
+        return this;
+    }
+
+    public CollectingValidator neqDouble(double target, String targetName, double aim) {
+        if (target == aim) {
+            reject(MUST_NOT_EQUAL_NUMBER, targetName, aim);
+        }
+        return this;
+    }
+
+    public CollectingValidator lte(Number target, String targetName, Number max, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(max, "最大值") && Validator.InnerMethod.compare(target, max) == Validator.InnerMethod.GREATER) {
+            reject(MUST_LTE, targetName, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator lte(Number target, String targetName, Number max) {
+        return lte(target, targetName, max, true);
+    }
+
+    public CollectingValidator lteInt(int target, String targetName, int max) {
+        if (target > max) {
+            reject(MUST_LTE, targetName, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator lteLong(long target, String targetName, long max) {
+        if (target > max) {
+            reject(MUST_LTE, targetName, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator lteDouble(double target, String targetName, double max) {
+        if (target > max) {
+            reject(MUST_LTE, targetName, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator lt(Number target, String targetName, Number max, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(max, "最大值") && Validator.InnerMethod.isGreaterOrEqual(Validator.InnerMethod.compare(target, max))) {
+            reject(MUST_LT, targetName, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator lt(Number target, String targetName, Number max) {
+        return lt(target, targetName, max, true);
+    }
+
+    public CollectingValidator ltInt(int target, String targetName, int max) {
+        if (target >= max) {
+            reject(MUST_LT, targetName, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator ltLong(long target, String targetName, long max) {
+        if (target >= max) {
+            reject(MUST_LT, targetName, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator ltDouble(double target, String targetName, double max) {
+        if (target >= max) {
+            reject(MUST_LT, targetName, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator gte(Number target, String targetName, Number min, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(min, "最小值") && Validator.InnerMethod.compare(target, min) == Validator.InnerMethod.LESS) {
+            reject(MUST_GTE, targetName, min);
+        }
+        return this;
+    }
+
+    public CollectingValidator gte(Number target, String targetName, Number min) {
+        return gte(target, targetName, min, true);
+    }
+
+    public CollectingValidator gteInt(int target, String targetName, int min) {
+        if (target < min) {
+            reject(MUST_GTE, targetName, min);
+        }
+        return this;
+    }
+
+    public CollectingValidator gteLong(long target, String targetName, long min) {
+        if (target < min) {
+            reject(MUST_GTE, targetName, min);
+        }
+        return this;
+    }
+
+    public CollectingValidator gteDouble(double target, String targetName, double min) {
+        if (target < min) {
+            reject(MUST_GTE, targetName, min);
+        }
+        return this;
+    }
+
+    public CollectingValidator gt(Number target, String targetName, Number min, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(min, "最小值") && Validator.InnerMethod.isLessOrEqual(Validator.InnerMethod.compare(target, min))) {
+            reject(MUST_GT, targetName, min);
+        }
+        return this;
+    }
+
+    public CollectingValidator gt(Number target, String targetName, Number min) {
+        return gt(target, targetName, min, true);
+    }
+
+    public CollectingValidator gtInt(int target, String targetName, int min) {
+        if (target <= min) {
+            reject(MUST_GT, targetName, min);
+        }
+        return this;
+    }
+
+    public CollectingValidator gtLong(long target, String targetName, long min) {
+        if (target <= min) {
+            reject(MUST_GT, targetName, min);
+        }
+        return this;
+    }
+
+    public CollectingValidator gtDouble(double target, String targetName, double min) {
+        if (target <= min) {
+            reject(MUST_GT, targetName, min);
+        }
+        return this;
+    }
+
+    public CollectingValidator between(Number target, String targetName, Number min, Number max, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(min, "最小值") && isNotNull(max, "最大值")
+                && isLegal(Validator.InnerMethod.compare(min, max) == Validator.InnerMethod.LESS, "最小值与最大值")
+                && (Validator.InnerMethod.compare(target, min) == Validator.InnerMethod.LESS
+                || Validator.InnerMethod.compare(target, max) == Validator.InnerMethod.GREATER)) {
+            reject(MUST_BETWEEN, targetName, min, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator between(Number target, String targetName, Number min, Number max) {
+        return between(target, targetName, min, max, true);
+    }
+
+    public CollectingValidator betweenInt(int target, String targetName, int min, int max) {
+        if (isLegal(min < max, "最小值与最大值") && (target < min || target > max)) {
+            reject(MUST_BETWEEN, targetName, min, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator betweenLong(long target, String targetName, long min, long max) {
+        if (isLegal(min < max, "最小值与最大值") && (target < min || target > max)) {
+            reject(MUST_BETWEEN, targetName, min, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator betweenDouble(double target, String targetName, double min, double max) {
+        if (isLegal(min < max, "最小值与最大值") && (target < min || target > max)) {
+            reject(MUST_BETWEEN, targetName, min, max);
+        }
+        return this;
+    }
+
+    public CollectingValidator before(Date target, String targetName, Date end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(end, "最晚时间") && isText(dateFormat, "日期格式")
+                && target.after(end)) {
+            reject(MUST_BEFORE, targetName, Validator.InnerMethod.formatLazily(end, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator before(Date target, String targetName, Date end, Boolean required) {
+        return before(target, targetName, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator before(Date target, String targetName, Date end, String dateFormat) {
+        return before(target, targetName, end, dateFormat, true);
+    }
+
+    public CollectingValidator before(Date target, String targetName, Date end) {
+        return before(target, targetName, end, true);
+    }
+
+    public CollectingValidator after(Date target, String targetName, Date start, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(start, "最早时间") && isText(dateFormat, "日期格式")
+                && target.before(start)) {
+            reject(MUST_AFTER, targetName, Validator.InnerMethod.formatLazily(start, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator after(Date target, String targetName, Date start, Boolean required) {
+        return after(target, targetName, start, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator after(Date target, String targetName, Date start, String dateFormat) {
+        return after(target, targetName, start, dateFormat, true);
+    }
+
+    public CollectingValidator after(Date target, String targetName, Date start) {
+        return after(target, targetName, start, true);
+    }
+
+    public CollectingValidator between(Date target, String targetName, Date start, Date end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(start, "最早时间") && isNotNull(end, "最晚时间")
+                && isText(dateFormat, "日期格式") && isLegal(start.before(end), "最早时间与最晚时间关系")
+                && (target.before(start) || target.after(end))) {
+            reject(MUST_BETWEEN, targetName, Validator.InnerMethod.formatLazily(start, dateFormat),
+                    Validator.InnerMethod.formatLazily(end, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator between(Date target, String targetName, Date start, Date end, Boolean required) {
+        return between(target, targetName, start, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator between(Date target, String targetName, Date start, Date end, String dateFormat) {
+        return between(target, targetName, start, end, dateFormat, true);
+    }
+
+    public CollectingValidator between(Date target, String targetName, Date start, Date end) {
+        return between(target, targetName, start, end, true);
+    }
+
+    public CollectingValidator before(Instant target, String targetName, Instant end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(end, "最晚时间") && isText(dateFormat, "日期格式")
+                && target.isAfter(end)) {
+            reject(MUST_BEFORE, targetName, Validator.InnerMethod.formatLazily(end, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator before(Instant target, String targetName, Instant end, Boolean required) {
+        return before(target, targetName, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator before(Instant target, String targetName, Instant end, String dateFormat) {
+        return before(target, targetName, end, dateFormat, true);
+    }
+
+    public CollectingValidator before(Instant target, String targetName, Instant end) {
+        return before(target, targetName, end, true);
+    }
+
+    public CollectingValidator after(Instant target, String targetName, Instant start, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(start, "最早时间") && isText(dateFormat, "日期格式")
+                && target.isBefore(start)) {
+            reject(MUST_AFTER, targetName, Validator.InnerMethod.formatLazily(start, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator after(Instant target, String targetName, Instant start, Boolean required) {
+        return after(target, targetName, start, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator after(Instant target, String targetName, Instant start, String dateFormat) {
+        return after(target, targetName, start, dateFormat, true);
+    }
+
+    public CollectingValidator after(Instant target, String targetName, Instant start) {
+        return after(target, targetName, start, true);
+    }
+
+    public CollectingValidator between(Instant target, String targetName, Instant start, Instant end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(start, "最早时间") && isNotNull(end, "最晚时间")
+                && isText(dateFormat, "日期格式") && isLegal(start.isBefore(end), "最早时间与最晚时间关系")
+                && (target.isBefore(start) || target.isAfter(end))) {
+            reject(MUST_BETWEEN, targetName, Validator.InnerMethod.formatLazily(start, dateFormat),
+                    Validator.InnerMethod.formatLazily(end, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator between(Instant target, String targetName, Instant start, Instant end, Boolean required) {
+        return between(target, targetName, start, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator between(Instant target, String targetName, Instant start, Instant end, String dateFormat) {
+        return between(target, targetName, start, end, dateFormat, true);
+    }
+
+    public CollectingValidator between(Instant target, String targetName, Instant start, Instant end) {
+        return between(target, targetName, start, end, true);
+    }
+
+    public CollectingValidator before(LocalDate target, String targetName, LocalDate end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(end, "最晚时间") && isText(dateFormat, "日期格式")
+                && target.isAfter(end)) {
+            reject(MUST_BEFORE, targetName, Validator.InnerMethod.formatLazily(end, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator before(LocalDate target, String targetName, LocalDate end, Boolean required) {
+        return before(target, targetName, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator before(LocalDate target, String targetName, LocalDate end, String dateFormat) {
+        return before(target, targetName, end, dateFormat, true);
+    }
+
+    public CollectingValidator before(LocalDate target, String targetName, LocalDate end) {
+        return before(target, targetName, end, true);
+    }
+
+    public CollectingValidator after(LocalDate target, String targetName, LocalDate start, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(start, "最早时间") && isText(dateFormat, "日期格式")
+                && target.isBefore(start)) {
+            reject(MUST_AFTER, targetName, Validator.InnerMethod.formatLazily(start, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator after(LocalDate target, String targetName, LocalDate start, Boolean required) {
+        return after(target, targetName, start, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator after(LocalDate target, String targetName, LocalDate start, String dateFormat) {
+        return after(target, targetName, start, dateFormat, true);
+    }
+
+    public CollectingValidator after(LocalDate target, String targetName, LocalDate start) {
+        return after(target, targetName, start, true);
+    }
+
+    public CollectingValidator between(LocalDate target, String targetName, LocalDate start, LocalDate end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(start, "最早时间") && isNotNull(end, "最晚时间")
+                && isText(dateFormat, "日期格式") && isLegal(start.isBefore(end), "最早时间与最晚时间关系")
+                && (target.isBefore(start) || target.isAfter(end))) {
+            reject(MUST_BETWEEN, targetName, Validator.InnerMethod.formatLazily(start, dateFormat),
+                    Validator.InnerMethod.formatLazily(end, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator between(LocalDate target, String targetName, LocalDate start, LocalDate end, Boolean required) {
+        return between(target, targetName, start, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator between(LocalDate target, String targetName, LocalDate start, LocalDate end, String dateFormat) {
+        return between(target, targetName, start, end, dateFormat, true);
+    }
+
+    public CollectingValidator between(LocalDate target, String targetName, LocalDate start, LocalDate end) {
+        return between(target, targetName, start, end, true);
+    }
+
+    public CollectingValidator before(LocalDateTime target, String targetName, LocalDateTime end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(end, "最晚时间") && isText(dateFormat, "日期格式")
+                && target.isAfter(end)) {
+            reject(MUST_BEFORE, targetName, Validator.InnerMethod.formatLazily(end, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator before(LocalDateTime target, String targetName, LocalDateTime end, Boolean required) {
+        return before(target, targetName, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator before(LocalDateTime target, String targetName, LocalDateTime end, String dateFormat) {
+        return before(target, targetName, end, dateFormat, true);
+    }
+
+    public CollectingValidator before(LocalDateTime target, String targetName, LocalDateTime end) {
+        return before(target, targetName, end, true);
+    }
+
+    public CollectingValidator after(LocalDateTime target, String targetName, LocalDateTime start, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(start, "最早时间") && isText(dateFormat, "日期格式")
+                && target.isBefore(start)) {
+            reject(MUST_AFTER, targetName, Validator.InnerMethod.formatLazily(start, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator after(LocalDateTime target, String targetName, LocalDateTime start, Boolean required) {
+        return after(target, targetName, start, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator after(LocalDateTime target, String targetName, LocalDateTime start, String dateFormat) {
+        return after(target, targetName, start, dateFormat, true);
+    }
+
+    public CollectingValidator after(LocalDateTime target, String targetName, LocalDateTime start) {
+        return after(target, targetName, start, true);
+    }
+
+    public CollectingValidator between(LocalDateTime target, String targetName, LocalDateTime start, LocalDateTime end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotNull(target, targetName) && isNotNull(start, "最早时间") && isNotNull(end, "最晚时间")
+                && isText(dateFormat, "日期格式") && isLegal(start.isBefore(end), "最早时间与最晚时间关系")
+                && (target.isBefore(start) || target.isAfter(end))) {
+            reject(MUST_BETWEEN, targetName, Validator.InnerMethod.formatLazily(start, dateFormat),
+                    Validator.InnerMethod.formatLazily(end, dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator between(LocalDateTime target, String targetName, LocalDateTime start, LocalDateTime end, Boolean required) {
+        return between(target, targetName, start, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public CollectingValidator between(LocalDateTime target, String targetName, LocalDateTime start, LocalDateTime end, String dateFormat) {
+        return between(target, targetName, start, end, dateFormat, true);
+    }
+
+    public CollectingValidator between(LocalDateTime target, String targetName, LocalDateTime start, LocalDateTime end) {
+        return between(target, targetName, start, end, true);
+    }
+
+    /**
+     * 以毫秒时间戳比较;不创建日期对象,格式化仅在读取违规信息时按系统时区进行
+     */
+    public CollectingValidator beforeEpochMilli(long target, String targetName, long end, String dateFormat) {
+        if (isText(dateFormat, "日期格式") && target > end) {
+            reject(MUST_BEFORE, targetName, Validator.InnerMethod.formatLazily(Instant.ofEpochMilli(end), dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator beforeEpochMilli(long target, String targetName, long end) {
+        return beforeEpochMilli(target, targetName, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT);
+    }
+
+    public CollectingValidator afterEpochMilli(long target, String targetName, long start, String dateFormat) {
+        if (isText(dateFormat, "日期格式") && target < start) {
+            reject(MUST_AFTER, targetName, Validator.InnerMethod.formatLazily(Instant.ofEpochMilli(start), dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator afterEpochMilli(long target, String targetName, long start) {
+        return afterEpochMilli(target, targetName, start, Validator.InnerConstant.DEFAULT_DATE_FORMAT);
+    }
+
+    public CollectingValidator betweenEpochMilli(long target, String targetName, long start, long end, String dateFormat) {
+        if (isText(dateFormat, "日期格式") && isLegal(start < end, "最早时间与最晚时间关系")
+                && (target < start || target > end)) {
+            reject(MUST_BETWEEN, targetName, Validator.InnerMethod.formatLazily(Instant.ofEpochMilli(start), dateFormat),
+                    Validator.InnerMethod.formatLazily(Instant.ofEpochMilli(end), dateFormat));
+        }
+        return this;
+    }
+
+    public CollectingValidator betweenEpochMilli(long target, String targetName, long start, long end) {
+        return betweenEpochMilli(target, targetName, start, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT);
+    }
+
+
+    public CollectingValidator matchPattern(String target, String targetName, Pattern pattern, String patternName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName) && isNotNull(pattern, "格式") && isText(patternName, "格式名称")
+                && !pattern.matcher(target).matches()) {
+            reject(MUST_MATCH_PATTERN, target, patternName);
+        }
+        return this;
+    }
+
+    public CollectingValidator matchPattern(String target, String targetName, Pattern pattern, String patternName) {
+        return matchPattern(target, targetName, pattern, patternName, true);
+    }
+
+    public CollectingValidator matchPattern(String target, String targetName, String pattern, String patternName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return matchPattern(target, targetName, Validator.InnerConstant.pattern(pattern), patternName, required);
+    }
+
+    public CollectingValidator matchPattern(String target, String targetName, String pattern, String patternName) {
+        return matchPattern(target, targetName, pattern, patternName, true);
+    }
+
+    public CollectingValidator isEmail(CharSequence target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName) && !FormatMatcher.isEmail(target)) {
+            reject(MUST_MATCH_PATTERN, target.toString(), "邮箱");
+        }
+        return this;
+    }
+
+    public CollectingValidator isEmail(CharSequence target, String targetName) {
+        return isEmail(target, targetName, true);
+    }
+
+    /**
+     * 保留String参数的版本,兼容按String签名编译的调用方
+     */
+    public CollectingValidator isEmail(String target, String targetName, Boolean required) {
+        return isEmail((CharSequence) target, targetName, required);
+    }
+
+    public CollectingValidator isEmail(String target, String targetName) {
+        return isEmail((CharSequence) target, targetName, true);
+    }
+
+    public CollectingValidator isTelePhone(CharSequence target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName) && !FormatMatcher.isTelePhone(target)) {
+            reject(MUST_MATCH_PATTERN, target.toString(), "手机号");
+        }
+        return this;
+    }
+
+    public CollectingValidator isTelePhone(CharSequence target, String targetName) {
+        return isTelePhone(target, targetName, true);
+    }
+
+    /**
+     * 保留String参数的版本,兼容按String签名编译的调用方
+     */
+    public CollectingValidator isTelePhone(String target, String targetName, Boolean required) {
+        return isTelePhone((CharSequence) target, targetName, required);
+    }
+
+    public CollectingValidator isTelePhone(String target, String targetName) {
+        return isTelePhone((CharSequence) target, targetName, true);
+    }
+
+
+    public CollectingValidator size(String target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName)) {
+            isLength(target.length(), targetName, "文本标准长度", size);
+        }
+        return this;
+    }
+
+    public CollectingValidator size(String target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public CollectingValidator size(String target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isText(target, targetName)) {
+            isLengthBetween(target.length(), targetName, "文本", minSize, maxSize, minSize);
+        }
+        return this;
+    }
+
+    public CollectingValidator size(String target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    /**
+     * 在UTF-8字节上判断是否含有非空白字符;不解码为字符串
+     */
+    public CollectingValidator hasTextUtf8(byte[] target, String targetName) {
+        isTextUtf8(target, targetName);
+        return this;
+    }
+
+    /**
+     * 按码点数判断UTF-8文本长度
+     */
+    public CollectingValidator sizeUtf8(byte[] target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName)) {
+            isLength(Utf8Bytes.codePointCount(target, 0, target.length), targetName, "文本标准长度", size);
+        }
+        return this;
+    }
+
+    public CollectingValidator sizeUtf8(byte[] target, String targetName, Integer size) {
+        return sizeUtf8(target, targetName, size, true);
+    }
+
+    public CollectingValidator sizeUtf8(byte[] target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName)) {
+            isLengthBetween(Utf8Bytes.codePointCount(target, 0, target.length), targetName, "文本", minSize, maxSize, minSize);
+        }
+        return this;
+    }
+
+    public CollectingValidator sizeUtf8(byte[] target, String targetName, Integer minSize, Integer maxSize) {
+        return sizeUtf8(target, targetName, minSize, maxSize, true);
+    }
+
+    /**
+     * @param item UTF-8编码的必要文本;建议预先编码为常量
+     */
+    public CollectingValidator containsUtf8(byte[] target, String targetName, byte[] item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName) && isTextUtf8(item, "必要文本") && !Utf8Bytes.contains(target, 0, target.length, item)) {
+            reject(MUST_CONTAIN_TEXT, targetName, Utf8Bytes.toString(item, 0, item.length));
+        }
+        return this;
+    }
+
+    public CollectingValidator containsUtf8(byte[] target, String targetName, byte[] item) {
+        return containsUtf8(target, targetName, item, true);
+    }
+
+    public CollectingValidator notContainsUtf8(byte[] target, String targetName, byte[] item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName) && isTextUtf8(item, "必要文本") && Utf8Bytes.contains(target, 0, target.length, item)) {
+            reject(MUST_NOT_CONTAIN_TEXT, targetName, Utf8Bytes.toString(item, 0, item.length));
+        }
+        return this;
+    }
+
+    public CollectingValidator notContainsUtf8(byte[] target, String targetName, byte[] item) {
+        return notContainsUtf8(target, targetName, item, true);
+    }
+
+    public CollectingValidator isEmailUtf8(byte[] target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName) && !Utf8Bytes.isEmail(target, 0, target.length)) {
+            reject(MUST_MATCH_PATTERN, Utf8Bytes.toString(target, 0, target.length), "邮箱");
+        }
+        return this;
+    }
+
+    public CollectingValidator isEmailUtf8(byte[] target, String targetName) {
+        return isEmailUtf8(target, targetName, true);
+    }
+
+    public CollectingValidator isTelePhoneUtf8(byte[] target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName) && !Utf8Bytes.isTelePhone(target, 0, target.length)) {
+            reject(MUST_MATCH_PATTERN, Utf8Bytes.toString(target, 0, target.length), "手机号");
+        }
+        return this;
+    }
+
+    public CollectingValidator isTelePhoneUtf8(byte[] target, String targetName) {
+        return isTelePhoneUtf8(target, targetName, true);
+    }
+
+    /**
+     * 在UTF-8字节上判断是否含有非空白字符;缓冲区取position到limit之间的字节,不改变其状态;不解码为字符串
+     */
+    public CollectingValidator hasTextUtf8(ByteBuffer target, String targetName) {
+        isTextUtf8(target, targetName);
+        return this;
+    }
+
+    /**
+     * 按码点数判断UTF-8文本长度
+     */
+    public CollectingValidator sizeUtf8(ByteBuffer target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName)) {
+            isLength(Utf8Bytes.codePointCount(target, target.position(), target.limit()), targetName, "文本标准长度", size);
+        }
+        return this;
+    }
+
+    public CollectingValidator sizeUtf8(ByteBuffer target, String targetName, Integer size) {
+        return sizeUtf8(target, targetName, size, true);
+    }
+
+    public CollectingValidator sizeUtf8(ByteBuffer target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName)) {
+            isLengthBetween(Utf8Bytes.codePointCount(target, target.position(), target.limit()), targetName, "文本", minSize, maxSize, minSize);
+        }
+        return this;
+    }
+
+    public CollectingValidator sizeUtf8(ByteBuffer target, String targetName, Integer minSize, Integer maxSize) {
+        return sizeUtf8(target, targetName, minSize, maxSize, true);
+    }
+
+    /**
+     * @param item UTF-8编码的必要文本;建议预先编码为常量
+     */
+    public CollectingValidator containsUtf8(ByteBuffer target, String targetName, byte[] item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName) && isTextUtf8(item, "必要文本") && !Utf8Bytes.contains(target, target.position(), target.limit(), item)) {
+            reject(MUST_CONTAIN_TEXT, targetName, Utf8Bytes.toString(item, 0, item.length));
+        }
+        return this;
+    }
+
+    public CollectingValidator containsUtf8(ByteBuffer target, String targetName, byte[] item) {
+        return containsUtf8(target, targetName, item, true);
+    }
+
+    public CollectingValidator notContainsUtf8(ByteBuffer target, String targetName, byte[] item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName) && isTextUtf8(item, "必要文本") && Utf8Bytes.contains(target, target.position(), target.limit(), item)) {
+            reject(MUST_NOT_CONTAIN_TEXT, targetName, Utf8Bytes.toString(item, 0, item.length));
+        }
+        return this;
+    }
+
+    public CollectingValidator notContainsUtf8(ByteBuffer target, String targetName, byte[] item) {
+        return notContainsUtf8(target, targetName, item, true);
+    }
+
+    public CollectingValidator isEmailUtf8(ByteBuffer target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName) && !Utf8Bytes.isEmail(target, target.position(), target.limit())) {
+            reject(MUST_MATCH_PATTERN, Utf8Bytes.toString(target, target.position(), target.limit()), "邮箱");
+        }
+        return this;
+    }
+
+    public CollectingValidator isEmailUtf8(ByteBuffer target, String targetName) {
+        return isEmailUtf8(target, targetName, true);
+    }
+
+    public CollectingValidator isTelePhoneUtf8(ByteBuffer target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isTextUtf8(target, targetName) && !Utf8Bytes.isTelePhone(target, target.position(), target.limit())) {
+            reject(MUST_MATCH_PATTERN, Utf8Bytes.toString(target, target.position(), target.limit()), "手机号");
+        }
+        return this;
+    }
+
+    public CollectingValidator isTelePhoneUtf8(ByteBuffer target, String targetName) {
+        return isTelePhoneUtf8(target, targetName, true);
+    }
+
+    public <T> CollectingValidator size(Collection<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName)) {
+            isLength(target.size(), targetName, "列表长度", size);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator size(Collection<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> CollectingValidator size(Collection<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName)) {
+            isLengthBetween(target.size(), targetName, "列表", minSize, maxSize, 0);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator size(Collection<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    public <T> CollectingValidator size(T[] target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName)) {
+            isLength(target.length, targetName, "列表长度", size);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator size(T[] target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> CollectingValidator size(T[] target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        if (isNotEmpty(target, targetName)) {
+            isLengthBetween(target.length, targetName, "列表", minSize, maxSize, 0);
+        }
+        return this;
+    }
+
+    public <T> CollectingValidator size(T[] target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    /**
+     * 惰性序列的长度校验:{@link Iterable}、{@link Iterator}、{@link Stream}、{@link Spliterator}
+     * <br>逐个计数,超过标准长度(或最大长度)一个元素即停止;已知确切大小(SIZED)时不遍历
+     * <br>信息与集合版本一致
+     */
+    public <T> CollectingValidator size(Iterable<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        sizeOf(null == target ? null : target.spliterator(), targetName, size);
+        return this;
+    }
+
+    public <T> CollectingValidator size(Iterable<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> CollectingValidator size(Iterable<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        sizeOf(null == target ? null : target.spliterator(), targetName, minSize, maxSize);
+        return this;
+    }
+
+    public <T> CollectingValidator size(Iterable<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    public <T> CollectingValidator size(Iterator<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        sizeOf(null == target ? null : Spliterators.spliteratorUnknownSize(target, 0), targetName, size);
+        return this;
+    }
+
+    public <T> CollectingValidator size(Iterator<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> CollectingValidator size(Iterator<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        sizeOf(null == target ? null : Spliterators.spliteratorUnknownSize(target, 0), targetName, minSize, maxSize);
+        return this;
+    }
+
+    public <T> CollectingValidator size(Iterator<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    public <T> CollectingValidator size(Stream<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        sizeOf(null == target ? null : target.spliterator(), targetName, size);
+        return this;
+    }
+
+    public <T> CollectingValidator size(Stream<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> CollectingValidator size(Stream<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        sizeOf(null == target ? null : target.spliterator(), targetName, minSize, maxSize);
+        return this;
+    }
+
+    public <T> CollectingValidator size(Stream<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    public <T> CollectingValidator size(Spliterator<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        sizeOf(target, targetName, size);
+        return this;
+    }
+
+    public <T> CollectingValidator size(Spliterator<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> CollectingValidator size(Spliterator<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        sizeOf(target, targetName, minSize, maxSize);
+        return this;
+    }
+
+    public <T> CollectingValidator size(Spliterator<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    /**
+     * 参数不合法时不遍历
+     */
+    private void sizeOf(Spliterator<?> target, String targetName, Integer size) {
+        Validator.InnerMethod.Probe probe = new Validator.InnerMethod.Probe(null);
+        if (isNotEmpty(target, targetName, probe)) {
+            long count = null == size || size <= 0 ? 0 : Validator.InnerMethod.count(target, probe, size + 1L);
+            isLength(count, targetName, "列表长度", size);
+        }
+    }
+
+    private void sizeOf(Spliterator<?> target, String targetName, Integer minSize, Integer maxSize) {
+        Validator.InnerMethod.Probe probe = new Validator.InnerMethod.Probe(null);
+        if (isNotEmpty(target, targetName, probe)) {
+            long count = null == minSize || minSize <= 0 || null == maxSize || maxSize <= minSize
+                    ? 0 : Validator.InnerMethod.count(target, probe, maxSize + 1L);
+            isLengthBetween(count, targetName, "列表", minSize, maxSize, 0);
+        }
+    }
+
+
+    public CollectingValidator isLegal(Boolean isLegal, String targetName) {
+        if (!Boolean.TRUE.equals(isLegal)) {
+            reject(MUST_LEGAL, targetName);
+        }
+        return this;
+    }
+
+    public CollectingValidator isExist(Boolean isExist, String targetName) {
+        if (!Boolean.TRUE.equals(isExist)) {
+            reject(MUST_EXIST, targetName);
+        }
+        return this;
+    }
+
+    public CollectingValidator notExist(Boolean isExist, String targetName) {
+        if (Boolean.TRUE.equals(isExist)) {
+            reject(MUST_NOT_EXIST, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 经存在性校验器查询单个键;同一请求内有多个键时使用{@link ExistenceChecker#batch()}合并查询
+     */
+    public <K> CollectingValidator isExist(ExistenceChecker<K> checker, String targetName, K key) {
+        if (isNotNull(checker, "存在性校验器") && isNotNull(key, targetName) && !checker.exists(key)) {
+            reject(MUST_EXIST, targetName);
+        }
+        return this;
+    }
+
+    public <K> CollectingValidator notExist(ExistenceChecker<K> checker, String targetName, K key) {
+        if (isNotNull(checker, "存在性校验器") && isNotNull(key, targetName) && checker.exists(key)) {
+            reject(MUST_NOT_EXIST, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 键须已加入集合
+     */
+    public CollectingValidator isExist(OffHeapKeySet keys, String targetName, long key) {
+        if (isNotNull(keys, "键集合") && !keys.contains(key)) {
+            reject(MUST_EXIST, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 键不能已加入集合;只判断,不加入
+     */
+    public CollectingValidator notExist(OffHeapKeySet keys, String targetName, long key) {
+        if (isNotNull(keys, "键集合") && keys.contains(key)) {
+            reject(MUST_NOT_EXIST, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 键在批次内不能重复;首次出现时加入集合,再次出现时记录违规
+     */
+    public CollectingValidator unique(OffHeapKeySet keys, String targetName, long key) {
+        if (isNotNull(keys, "键集合") && !keys.add(key)) {
+            reject(MUST_NOT_EXIST, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 键须已加入集合
+     */
+    public CollectingValidator isExist(OffHeapKeySet keys, String targetName, CharSequence key) {
+        if (isNotNull(keys, "键集合") && isNotNull(key, "键") && !keys.contains(key)) {
+            reject(MUST_EXIST, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 键不能已加入集合;只判断,不加入
+     */
+    public CollectingValidator notExist(OffHeapKeySet keys, String targetName, CharSequence key) {
+        if (isNotNull(keys, "键集合") && isNotNull(key, "键") && keys.contains(key)) {
+            reject(MUST_NOT_EXIST, targetName);
+        }
+        return this;
+    }
+
+    /**
+     * 键在批次内不能重复;首次出现时加入集合,再次出现时记录违规
+     */
+    public CollectingValidator unique(OffHeapKeySet keys, String targetName, CharSequence key) {
+        if (isNotNull(keys, "键集合") && isNotNull(key, "键") && !keys.add(key)) {
+            reject(MUST_NOT_EXIST, targetName);
+        }
+        return this;
+    }
+
+
+    /**
+     * 以下判定方法:通过返回true;不通过时记录违规项并返回false
+     */
+    private boolean reject(ExMsgTemplateEnum template, Object... elements) {
+        result.add(template, elements);
+        return false;
+    }
+
+    private boolean isNotNull(Object target, String targetName) {
+        return null != target || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isNotEmpty(Collection<?> target, String targetName) {
+        return (null != target && !target.isEmpty()) || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isNotEmpty(Object[] target, String targetName) {
+        return (null != target && 0 != target.length) || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isNotEmpty(Map<?, ?> target, String targetName) {
+        return (null != target && !target.isEmpty()) || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isNotEmpty(MembershipIndex<?> target, String targetName) {
+        return (null != target && !target.isEmpty()) || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isNotEmpty(KeywordMatcher target, String targetName) {
+        return (null != target && !target.isEmpty()) || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    /**
+     * 大小未知时读取的第一个元素计入probe
+     */
+    private boolean isNotEmpty(Spliterator<?> target, String targetName, Validator.InnerMethod.Probe probe) {
+        return (null != target && Validator.InnerMethod.nonEmpty(target, probe)) || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isText(CharSequence target, String targetName) {
+        return Validator.InnerMethod.hasText(target) || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isTextUtf8(byte[] target, String targetName) {
+        return (null != target && Utf8Bytes.hasText(target, 0, target.length)) || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isTextUtf8(ByteBuffer target, String targetName) {
+        return (null != target && Utf8Bytes.hasText(target, target.position(), target.limit()))
+                || reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    private boolean isLegal(boolean isLegal, String targetName) {
+        return isLegal || reject(MUST_LEGAL, targetName);
+    }
+
+    /**
+     * 与{@link Validator}中size的gt + eq校验链等价;长度名称仅在失败时拼接
+     */
+    private boolean isLength(long length, String targetName, String lengthName, Integer size) {
+        if (null == size) {
+            return reject(MUST_NOT_NULL_OR_EMPTY, targetName + lengthName);
+        }
+        if (size <= 0) {
+            return reject(MUST_GT, targetName + lengthName, 0);
+        }
+        return length == size || reject(MUST_EQUAL_NUMBER, targetName + lengthName, size);
+    }
+
+    /**
+     * 与{@link Validator}中size的gt + gt + between校验链等价;长度名称仅在失败时拼接
+     *
+     * @param maxFloor 最大长度需大于的值;文本为最小长度,列表与数组为0
+     */
+    private boolean isLengthBetween(long length, String targetName, String kind,
+                                    Integer minSize, Integer maxSize, Integer maxFloor) {
+        if (null == minSize) {
+            return reject(MUST_NOT_NULL_OR_EMPTY, targetName + kind + "最小长度");
+        }
+        if (minSize <= 0) {
+            return reject(MUST_GT, targetName + kind + "最小长度", 0);
+        }
+        if (null == maxSize) {
+            return reject(MUST_NOT_NULL_OR_EMPTY, targetName + kind + "最大长度");
+        }
+        if (maxSize <= maxFloor) {
+            return reject(MUST_GT, targetName + kind + "最大长度", maxFloor);
+        }
+        if (minSize >= maxSize) {
+            return reject(MUST_LEGAL, "最小值与最大值");
+        }
+        return (length >= minSize && length <= maxSize)
+                || reject(MUST_BETWEEN, targetName + kind + "长度", minSize, maxSize);
+    }
+}
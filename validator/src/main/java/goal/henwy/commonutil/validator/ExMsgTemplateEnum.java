@@ -1,10 +1,18 @@
 package goal.henwy.commonutil.validator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Formattable;
+import java.util.List;
+import java.util.MissingFormatArgumentException;
 
 /**
  * 异常信息模板枚举类
  * <br>用于Validator异常信息的构造
  * <br>通用的模板应当在后续版本迭代中补充到这里来
+ * <br>模板在枚举初始化时预编译为字面量片段,渲染时不再解析格式串;仅支持%s占位符
+ * <br>每个模板带有稳定的数值错误码,热路径可只上报错误码而不构造异常信息
  *
  * @author HenwyGoal
  */
@@ -13,52 +21,170 @@ public enum ExMsgTemplateEnum {
     /**
      *
      */
-    MUST_NOT_NULL_OR_EMPTY("%s不能为空"),
-    MUST_CONTAIN_TEXT("%s未包含必要文本(%s)"),
-    MUST_CONTAIN_ELEMENT("%s未包含必要元素(%s)"),
-    MUST_CONTAIN_KEY("%s未包含必要键(%s)"),
-    MUST_NOT_CONTAIN_TEXT("%s不能包含文本(%s)"),
-    MUST_NOT_CONTAIN_ELEMENT("%s不能包含元素(%s)"),
-    MUST_NOT_CONTAIN_KEY("%s不能包含键(%s)"),
-    MUST_EQUAL_NUMBER("%s不是正确值(%s)"),
-    MUST_NOT_EQUAL_NUMBER("%s不能取值为(%s)"),
+    MUST_NOT_NULL_OR_EMPTY(1000, "%s不能为空"),
+    MUST_CONTAIN_TEXT(1100, "%s未包含必要文本(%s)"),
+    MUST_CONTAIN_ELEMENT(1101, "%s未包含必要元素(%s)"),
+    MUST_CONTAIN_KEY(1102, "%s未包含必要键(%s)"),
+    MUST_NOT_CONTAIN_TEXT(1110, "%s不能包含文本(%s)"),
+    MUST_NOT_CONTAIN_ELEMENT(1111, "%s不能包含元素(%s)"),
+    MUST_NOT_CONTAIN_KEY(1112, "%s不能包含键(%s)"),
+    MUST_EQUAL_NUMBER(1200, "%s不是正确值(%s)"),
+    MUST_NOT_EQUAL_NUMBER(1201, "%s不能取值为(%s)"),
 
-    MUST_GT("%s的最小值为%s"),
-    MUST_GTE("%s取值不能小于%s"),
-    MUST_LT("%s的最小值为%s"),
-    MUST_LTE("%s取值不能大于%s"),
-    MUST_BETWEEN("%s的取值范围为[%s~%s]"),
+    MUST_GT(1210, "%s的最小值为%s"),
+    MUST_GTE(1211, "%s取值不能小于%s"),
+    MUST_LT(1212, "%s的最小值为%s"),
+    MUST_LTE(1213, "%s取值不能大于%s"),
+    MUST_BETWEEN(1220, "%s的取值范围为[%s~%s]"),
 
-    MUST_BEFORE("%s取值不能晚于(%s)"),
-    MUST_AFTER("%s取值不能早于于(%s)"),
+    MUST_BEFORE(1300, "%s取值不能晚于(%s)"),
+    MUST_AFTER(1301, "%s取值不能早于于(%s)"),
 
-    MUST_MATCH_PATTERN("%s不符合%s的格式要求"),
+    MUST_MATCH_PATTERN(1400, "%s不符合%s的格式要求"),
 
-    MUST_LEGAL("%s取值不合理"),
-    MUST_EXIST("%s不存在"),
-    MUST_NOT_EXIST("%s已存在"),
+    MUST_LEGAL(1500, "%s取值不合理"),
+    MUST_EXIST(1501, "%s不存在"),
+    MUST_NOT_EXIST(1502, "%s已存在"),
 
 
 
     ;
 
 
+    private static final String PLACEHOLDER = "%s";
+
+    private static final ExMsgTemplateEnum[] VALUES = values();
+
+    /**
+     * 稳定的数值错误码;按校验类别分段,新增模板只能追加新码,已发布的码不得修改
+     */
+    private final int code;
+
     private final String template;
 
-    ExMsgTemplateEnum(String template) {
+    /**
+     * 模板在占位符处切分后的字面量片段;片段数 = 占位符数 + 1
+     */
+    private final String[] literals;
+
+    ExMsgTemplateEnum(int code, String template) {
+        this.code = code;
         this.template = template;
+        this.literals = compile(template);
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public String template() {
+        return template;
+    }
+
+    /**
+     * @return 模板中的参数个数
+     */
+    public int argCount() {
+        return literals.length - 1;
     }
 
     public String errMsg(Object... elements) {
-        return String.format(this.template, elements);
+        return appendMsg(new StringBuilder(estimateLength()), elements).toString();
     }
 
-    public RuntimeException ex(Object... elements) {
-        return new RuntimeException(errMsg(elements));
+    /**
+     * 将异常信息渲染到调用方提供的StringBuilder中;与{@link String#format(String, Object...)}的%s语义一致
+     *
+     * @throws MissingFormatArgumentException 参数个数少于占位符个数
+     */
+    public StringBuilder appendMsg(StringBuilder out, Object... elements) {
+        int argCount = literals.length - 1;
+        checkArgCount(elements, argCount);
+        for (int i = 0; i < argCount; i++) {
+            out.append(literals[i]);
+            appendArg(out, elements[i]);
+        }
+        return out.append(literals[argCount]);
+    }
+
+    /**
+     * 将异常信息渲染到任意{@link Appendable}中
+     *
+     * @throws UncheckedIOException 写入失败
+     */
+    public <A extends Appendable> A appendMsg(A out, Object... elements) {
+        if (out instanceof StringBuilder) {
+            appendMsg((StringBuilder) out, elements);
+            return out;
+        }
+        int argCount = literals.length - 1;
+        checkArgCount(elements, argCount);
+        try {
+            for (int i = 0; i < argCount; i++) {
+                out.append(literals[i]);
+                if (elements[i] instanceof Formattable) {
+                    out.append(String.format(PLACEHOLDER, elements[i]));
+                } else {
+                    out.append(String.valueOf(elements[i]));
+                }
+            }
+            out.append(literals[argCount]);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out;
+    }
+
+    /**
+     * 构造校验异常;异常信息在读取时才渲染
+     * <br>开启{@link ValidationMetrics}时按模板计数
+     */
+    public ValidationException ex(Object... elements) {
+        if (ValidationMetrics.ENABLED) {
+            ValidationMetrics.exception(this);
+        }
+        return new ValidationException(this, elements);
     }
 
+    public static ExMsgTemplateEnum ofCode(int code) {
+        for (ExMsgTemplateEnum value : VALUES) {
+            if (value.code == code) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown code: " + code);
+    }
 
+    private int estimateLength() {
+        return template.length() + 16 * (literals.length - 1);
+    }
 
+    private static void appendArg(StringBuilder out, Object element) {
+        if (element instanceof CharSequence) {
+            out.append((CharSequence) element);
+        } else if (element instanceof Formattable) {
+            out.append(String.format(PLACEHOLDER, element));
+        } else {
+            out.append(element);
+        }
+    }
 
+    private static void checkArgCount(Object[] elements, int argCount) {
+        int length = null == elements ? 0 : elements.length;
+        if (length < argCount) {
+            throw new MissingFormatArgumentException(PLACEHOLDER);
+        }
+    }
 
+    private static String[] compile(String template) {
+        List<String> parts = new ArrayList<>(4);
+        int from = 0;
+        int at;
+        while ((at = template.indexOf(PLACEHOLDER, from)) >= 0) {
+            parts.add(template.substring(from, at));
+            from = at + PLACEHOLDER.length();
+        }
+        parts.add(template.substring(from));
+        return parts.toArray(new String[0]);
+    }
 }
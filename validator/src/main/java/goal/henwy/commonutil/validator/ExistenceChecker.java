@@ -0,0 +1,354 @@
+package goal.henwy.commonutil.validator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static goal.henwy.commonutil.validator.ExMsgTemplateEnum.*;
+
+/**
+ * 存在性校验器
+ * <br>把{@link Validator#isExist(Boolean, String)}、{@link Validator#notExist(Boolean, String)}背后的逐个查询
+ * 改为经{@link ExistenceSource}的批量查询:一次请求内以{@link #batch()}登记全部待校验的键,
+ * {@link Batch#validate()}时合并为一次(超过{@link Builder#maxBatchSize(int)}时按批拆分)查询后再按登记顺序判断
+ * <br>可选本地缓存:存在与不存在的结果分别按有效期缓存,有效期内不再查询数据源;缓存条目超过上限时先清理过期条目,
+ * 仍超过则不再缓存新结果,直到最早的条目到期前不再重复清理
+ * <br>校验器<b>线程安全</b>,建议按数据源单例复用;{@link Batch}属于单次请求,<b>非线程安全</b>
+ * <pre>
+ * private static final ExistenceChecker&lt;Long&gt; USER_CHECKER = ExistenceChecker.builder(userDao::findExistingIds)
+ *         .cacheTtl(30, TimeUnit.SECONDS)
+ *         .build();
+ * USER_CHECKER.batch()
+ *         .isExist(order.getBuyerId(), "买家")
+ *         .isExist(order.getSellerId(), "卖家")
+ *         .validate();
+ * </pre>
+ *
+ * @param <K> 键类型
+ * @author HenwyGoal
+ */
+public final class ExistenceChecker<K> {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    private static final int DEFAULT_MAX_CACHE_SIZE = 100000;
+
+    private final ExistenceSource<K> source;
+
+    private final int maxBatchSize;
+
+    private final long positiveTtlNanos;
+
+    private final long negativeTtlNanos;
+
+    private final int maxCacheSize;
+
+    private final LongSupplier ticker;
+
+    private final ConcurrentHashMap<K, CacheEntry> cache;
+
+    /**
+     * 缓存中最早到期时间的下界;此前清理不会移除任何条目,缓存已满时据此跳过全量扫描
+     * <br>并发写入可能丢失一次下调,只会推迟清理,不影响查询结果
+     */
+    private volatile long nextExpiry;
+
+    private ExistenceChecker(Builder<K> builder) {
+        this.source = builder.source;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.positiveTtlNanos = builder.positiveTtlNanos;
+        this.negativeTtlNanos = builder.negativeTtlNanos;
+        this.maxCacheSize = builder.maxCacheSize;
+        this.ticker = builder.ticker;
+        this.cache = positiveTtlNanos > 0 || negativeTtlNanos > 0 ? new ConcurrentHashMap<>() : null;
+        this.nextExpiry = null == cache ? 0 : ticker.getAsLong();
+    }
+
+    public static <K> Builder<K> builder(ExistenceSource<K> source) {
+        return new Builder<>(source);
+    }
+
+    /**
+     * 开始一次请求内的合并校验
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * 单个键是否存在;优先使用缓存
+     */
+    public boolean exists(K key) {
+        VALIDATOR.notNull(key, "键");
+        return lookup(Collections.singleton(key)).contains(key);
+    }
+
+    /**
+     * 批量查询;未缓存的键合并查询数据源
+     *
+     * @return keys中存在的键
+     */
+    public Set<K> existing(Collection<? extends K> keys) {
+        VALIDATOR.notNull(keys, "键集合");
+        Set<K> distinct = new LinkedHashSet<>(keys.size());
+        for (K key : keys) {
+            VALIDATOR.notNull(key, "键");
+            distinct.add(key);
+        }
+        return lookup(distinct);
+    }
+
+    /**
+     * 清空本地缓存;数据源发生已知变更时调用
+     */
+    public void invalidateAll() {
+        if (null != cache) {
+            cache.clear();
+        }
+    }
+
+    public void invalidate(K key) {
+        if (null != cache && null != key) {
+            cache.remove(key);
+        }
+    }
+
+    private Set<K> lookup(Set<K> keys) {
+        Set<K> found = new LinkedHashSet<>();
+        Set<K> missing = keys;
+        long now = 0;
+        if (null != cache) {
+            now = ticker.getAsLong();
+            missing = new LinkedHashSet<>();
+            for (K key : keys) {
+                CacheEntry entry = cache.get(key);
+                if (null == entry || now - entry.expiresAt >= 0) {
+                    missing.add(key);
+                } else if (entry.exists) {
+                    found.add(key);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        List<K> pending = new ArrayList<>(missing);
+        for (int from = 0; from < pending.size(); from += maxBatchSize) {
+            Set<K> chunk = new LinkedHashSet<>(pending.subList(from, Math.min(pending.size(), from + maxBatchSize)));
+            Set<K> existing = source.findExisting(Collections.unmodifiableSet(chunk));
+            VALIDATOR.notNull(existing, "数据源查询结果");
+            for (K key : chunk) {
+                boolean exists = existing.contains(key);
+                if (exists) {
+                    found.add(key);
+                }
+                if (null != cache) {
+                    store(key, exists, now);
+                }
+            }
+        }
+        return found;
+    }
+
+    private void store(K key, boolean exists, long now) {
+        long ttl = exists ? positiveTtlNanos : negativeTtlNanos;
+        if (ttl <= 0) {
+            return;
+        }
+        if (cache.size() >= maxCacheSize) {
+            if (now - nextExpiry < 0) {
+                return;
+            }
+            evictExpired(now);
+            if (cache.size() >= maxCacheSize) {
+                return;
+            }
+        }
+        long expiresAt = now + ttl;
+        if (expiresAt - nextExpiry < 0) {
+            nextExpiry = expiresAt;
+        }
+        cache.put(key, new CacheEntry(exists, expiresAt));
+    }
+
+    /**
+     * 移除过期条目,并以剩余条目中最早的到期时间更新{@link #nextExpiry}
+     */
+    private void evictExpired(long now) {
+        long earliest = Long.MAX_VALUE;
+        boolean remaining = false;
+        for (Iterator<CacheEntry> it = cache.values().iterator(); it.hasNext(); ) {
+            long expiresAt = it.next().expiresAt;
+            if (now - expiresAt >= 0) {
+                it.remove();
+            } else if (!remaining || expiresAt - earliest < 0) {
+                earliest = expiresAt;
+                remaining = true;
+            }
+        }
+        nextExpiry = remaining ? earliest : now;
+    }
+
+
+    /**
+     * 单次请求内的合并校验;登记方法不查询数据源,{@link #validate()}时一次完成
+     */
+    public final class Batch {
+
+        private final List<K> keys = new ArrayList<>();
+
+        private final List<String> targetNames = new ArrayList<>();
+
+        private final List<Boolean> expected = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        /**
+         * 登记:键须存在
+         */
+        public Batch isExist(K key, String targetName) {
+            return add(key, targetName, true);
+        }
+
+        /**
+         * 登记:键不能存在
+         */
+        public Batch notExist(K key, String targetName) {
+            return add(key, targetName, false);
+        }
+
+        public int size() {
+            return keys.size();
+        }
+
+        /**
+         * 快速失败校验;按登记顺序抛出首个违规项
+         */
+        public void validate() {
+            Set<K> existing = lookupAll();
+            for (int i = 0; i < keys.size(); i++) {
+                boolean exists = existing.contains(keys.get(i));
+                if (exists != expected.get(i)) {
+                    throw Validator.failed(exists ? MUST_NOT_EXIST : MUST_EXIST, targetNames.get(i), targetNames.get(i));
+                }
+            }
+        }
+
+        /**
+         * 收集式校验;按登记顺序记录全部违规项
+         *
+         * @return 传入的结果对象
+         */
+        public ValidationResult validate(ValidationResult result) {
+            VALIDATOR.notNull(result, "校验结果");
+            Set<K> existing = lookupAll();
+            for (int i = 0; i < keys.size(); i++) {
+                boolean exists = existing.contains(keys.get(i));
+                if (exists != expected.get(i)) {
+                    result.add(exists ? MUST_NOT_EXIST : MUST_EXIST, targetNames.get(i));
+                }
+            }
+            return result;
+        }
+
+        private Batch add(K key, String targetName, boolean exists) {
+            VALIDATOR.notNull(key, targetName).hasText(targetName, "校验目标名称");
+            keys.add(key);
+            targetNames.add(targetName);
+            expected.add(exists);
+            return this;
+        }
+
+        private Set<K> lookupAll() {
+            return keys.isEmpty() ? Collections.<K>emptySet() : lookup(new LinkedHashSet<>(keys));
+        }
+    }
+
+    private static final class CacheEntry {
+        private final boolean exists;
+        private final long expiresAt;
+
+        private CacheEntry(boolean exists, long expiresAt) {
+            this.exists = exists;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public static final class Builder<K> {
+
+        private final ExistenceSource<K> source;
+
+        private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+        private long positiveTtlNanos;
+
+        private long negativeTtlNanos;
+
+        private int maxCacheSize = DEFAULT_MAX_CACHE_SIZE;
+
+        private LongSupplier ticker = System::nanoTime;
+
+        private Builder(ExistenceSource<K> source) {
+            VALIDATOR.notNull(source, "数据源");
+            this.source = source;
+        }
+
+        /**
+         * 单次查询数据源的最大键数,默认{@value #DEFAULT_MAX_BATCH_SIZE};应与数据库IN条件的上限一致
+         */
+        public Builder<K> maxBatchSize(int maxBatchSize) {
+            VALIDATOR.gtInt(maxBatchSize, "单次查询最大键数", 0);
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * 开启本地缓存,存在与不存在的结果使用同一有效期
+         */
+        public Builder<K> cacheTtl(long ttl, TimeUnit unit) {
+            return cacheTtl(ttl, ttl, unit);
+        }
+
+        /**
+         * 开启本地缓存;有效期为0的一类结果不缓存
+         */
+        public Builder<K> cacheTtl(long positiveTtl, long negativeTtl, TimeUnit unit) {
+            VALIDATOR.gteLong(positiveTtl, "存在结果有效期", 0L).gteLong(negativeTtl, "不存在结果有效期", 0L).notNull(unit, "时间单位");
+            this.positiveTtlNanos = unit.toNanos(positiveTtl);
+            this.negativeTtlNanos = unit.toNanos(negativeTtl);
+            return this;
+        }
+
+        /**
+         * 缓存条目上限,默认{@value #DEFAULT_MAX_CACHE_SIZE}
+         */
+        public Builder<K> maxCacheSize(int maxCacheSize) {
+            VALIDATOR.gtInt(maxCacheSize, "缓存条目上限", 0);
+            this.maxCacheSize = maxCacheSize;
+            return this;
+        }
+
+        /**
+         * 纳秒时钟,默认{@link System#nanoTime()};测试时可替换以控制缓存过期
+         */
+        public Builder<K> ticker(LongSupplier ticker) {
+            VALIDATOR.notNull(ticker, "时钟");
+            this.ticker = ticker;
+            return this;
+        }
+
+        public ExistenceChecker<K> build() {
+            return new ExistenceChecker<>(this);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package goal.henwy.commonutil.validator;
+
+import java.util.Set;
+
+/**
+ * 存在性数据源
+ * <br>数据库、缓存等外部存储的批量查询接口,供{@link ExistenceChecker}合并查询使用
+ * <br>实现须线程安全;单元测试中可用内存集合代替,如{@code keys -> keys.stream().filter(db::contains).collect(toSet())}
+ *
+ * @param <K> 键类型;须正确实现hashCode与equals
+ * @author HenwyGoal
+ */
+@FunctionalInterface
+public interface ExistenceSource<K> {
+
+    /**
+     * 批量查询
+     *
+     * @param keys 待查询的键,不含null与重复键,数量不超过{@link ExistenceChecker.Builder#maxBatchSize(int)}
+     * @return keys中存在的键;不能返回null
+     */
+    Set<K> findExisting(Set<K> keys);
+}
@@ -0,0 +1,131 @@
+package goal.henwy.commonutil.validator;
+
+/**
+ * 格式匹配器
+ * <br>邮箱、手机号的手写单趟匹配;与{@link #EMAIL_REGEX}、{@link #TELEPHONE_REGEX}接受完全相同的字符串集合
+ * <br>线性时间、无回溯、无分配;适用于任意{@link CharSequence}
+ * <br>工具类 不可实例化
+ *
+ * @author HenwyGoal
+ */
+public final class FormatMatcher {
+
+    /**
+     * 邮箱格式的参照正则
+     * <br>等价描述:{@code @}前为以单个[-+.]分隔的单词串,{@code @}后为以单个[-.]分隔的单词串且至少含一个{@code .}分隔;
+     * 单词字符为[a-zA-Z_0-9]
+     */
+    public static final String EMAIL_REGEX = "^\\w+([-+.]\\w+)*@\\w+([-.]\\w+)*\\.\\w+([-.]\\w+)*$";
+
+    /**
+     * 手机号格式的参照正则
+     * <br>注意:字符类中的{@code |}是字面字符,因此"14|"、"15|"、"18|"开头的号码同样被接受;匹配器如实保留该行为
+     */
+    public static final String TELEPHONE_REGEX = "^(13[0-9]|14[5|7]|15[0|1|2|3|4|5|6|7|8|9]|18[0|1|2|3|5|6|7|8|9])\\d{8}$";
+
+    private static final int TELEPHONE_LENGTH = 11;
+
+    private FormatMatcher() {
+    }
+
+    public static boolean isEmail(CharSequence target) {
+        if (null == target) {
+            return false;
+        }
+        int length = target.length();
+        int i = skipWord(target, 0, length);
+        if (0 == i) {
+            return false;
+        }
+        while (i < length && '@' != target.charAt(i)) {
+            char c = target.charAt(i);
+            if ('-' != c && '+' != c && '.' != c) {
+                return false;
+            }
+            int next = skipWord(target, i + 1, length);
+            if (next == i + 1) {
+                return false;
+            }
+            i = next;
+        }
+        if (i == length) {
+            return false;
+        }
+        int next = skipWord(target, i + 1, length);
+        if (next == i + 1) {
+            return false;
+        }
+        i = next;
+        boolean dotted = false;
+        while (i < length) {
+            char c = target.charAt(i);
+            if ('.' == c) {
+                dotted = true;
+            } else if ('-' != c) {
+                return false;
+            }
+            next = skipWord(target, i + 1, length);
+            if (next == i + 1) {
+                return false;
+            }
+            i = next;
+        }
+        return dotted;
+    }
+
+    public static boolean isTelePhone(CharSequence target) {
+        if (null == target || TELEPHONE_LENGTH != target.length() || '1' != target.charAt(0)) {
+            return false;
+        }
+        char c = target.charAt(2);
+        switch (target.charAt(1)) {
+            case '3':
+                if (!isDigit(c)) {
+                    return false;
+                }
+                break;
+            case '4':
+                if ('5' != c && '7' != c && '|' != c) {
+                    return false;
+                }
+                break;
+            case '5':
+                if (!isDigit(c) && '|' != c) {
+                    return false;
+                }
+                break;
+            case '8':
+                if ((!isDigit(c) || '4' == c) && '|' != c) {
+                    return false;
+                }
+                break;
+            default:
+                return false;
+        }
+        for (int i = 3; i < TELEPHONE_LENGTH; i++) {
+            if (!isDigit(target.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 从start起连续单词字符之后的位置;start处不是单词字符时返回start
+     */
+    private static int skipWord(CharSequence target, int start, int length) {
+        int i = start;
+        while (i < length && isWord(target.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    static boolean isWord(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || '_' == c;
+    }
+
+    static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
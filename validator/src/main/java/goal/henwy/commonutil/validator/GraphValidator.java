@@ -0,0 +1,472 @@
+package goal.henwy.commonutil.validator;
+
+import goal.henwy.commonutil.validator.annotation.BeanValidator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static goal.henwy.commonutil.validator.ExMsgTemplateEnum.*;
+
+/**
+ * 对象图校验器
+ * <br>从根对象出发,按各类型注册的子对象取值函数遍历嵌套对象(订单 → 明细 → 商品),对每个对象执行该类型的校验;
+ * 子对象可以是单个对象、{@link Iterable}、数组或{@link Map}(取值)
+ * <br>一次校验内以对象身份(==)记录已访问对象:被多处引用的同一实例只校验一次;
+ * 重新遇到当前路径上的祖先对象即为循环引用,默认按{@link ExMsgTemplateEnum#MUST_LEGAL}报告,可通过{@link Builder#allowCycles(boolean)}放行
+ * <br>未注册的类型视为叶子,不校验也不遍历;注册类型的子类沿用父类的注册
+ * <br>同一层子对象数量达到{@link Builder#parallelThreshold(int)}时分块在{@link ForkJoinPool#commonPool()}上并行遍历,
+ * 收集式校验按子对象顺序合并违规项;快速失败时只取消失败分块之后的分块,之前的分块执行完毕,抛出按子对象顺序最靠前的违规
+ * <br>并行快速失败时,共享实例的校验失败会被记录,其他分块再次遇到该实例时抛出同一违规;
+ * 其他分块正在遍历或因取消未遍历完的共享实例,由再次遇到的分块重新遍历,因此结果与顺序遍历一致
+ * <br>并行收集式校验中共享实例由先到达的分支校验;跨并行分支的循环引用可能无法检测,但遍历总会结束
+ * <br>构建后不可变,<b>线程安全</b>;校验逻辑与取值函数须线程安全且无副作用
+ * <pre>
+ * private static final GraphValidator&lt;Order&gt; ORDER_GRAPH = GraphValidator.&lt;Order&gt;builder()
+ *         .node(Order.class, ORDER_SCHEMA)
+ *         .children(Order.class, Order::getLines)
+ *         .node(OrderLine.class, LINE_SCHEMA)
+ *         .children(OrderLine.class, OrderLine::getProduct)
+ *         .node(Product.class, PRODUCT_SCHEMA)
+ *         .build();
+ * ORDER_GRAPH.validate(order);
+ * </pre>
+ *
+ * @param <T> 根对象类型
+ * @author HenwyGoal
+ */
+public final class GraphValidator<T> {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final int DEFAULT_PARALLEL_THRESHOLD = 1024;
+
+    private static final Node<Object> LEAF = new Node<>(null);
+
+    private static final Object WALKING = new Object();
+
+    private static final Object DONE = new Object();
+
+    private final Map<Class<?>, Node<Object>> nodes;
+
+    private final ClassValue<Node<Object>> resolved = new ClassValue<Node<Object>>() {
+        @Override
+        protected Node<Object> computeValue(Class<?> type) {
+            for (Class<?> c = type; null != c; c = c.getSuperclass()) {
+                Node<Object> node = nodes.get(c);
+                if (null != node) {
+                    return node;
+                }
+            }
+            return LEAF;
+        }
+    };
+
+    private final boolean allowCycles;
+
+    private final int parallelThreshold;
+
+    private GraphValidator(Builder<T> builder) {
+        Map<Class<?>, Node<Object>> nodes = new HashMap<>();
+        for (Map.Entry<Class<?>, Node<Object>> entry : builder.nodes.entrySet()) {
+            nodes.put(entry.getKey(), entry.getValue().freeze());
+        }
+        this.nodes = nodes;
+        this.allowCycles = builder.allowCycles;
+        this.parallelThreshold = builder.parallelThreshold;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 快速失败校验;遇到首个违规项即抛出{@link ValidationException}
+     */
+    public void validate(T root) {
+        VALIDATOR.notNull(root, "校验对象");
+        new Run(null).walk(root, null);
+    }
+
+    /**
+     * 收集式校验;遍历整个对象图并将违规项写入结果对象
+     *
+     * @return 传入的结果对象
+     */
+    public ValidationResult validate(T root, ValidationResult result) {
+        VALIDATOR.notNull(result, "校验结果");
+        if (null == root) {
+            result.add(MUST_NOT_NULL_OR_EMPTY, "校验对象");
+            return result;
+        }
+        new Run(result).walk(root, null);
+        return result;
+    }
+
+
+    /**
+     * 单个对象的校验逻辑;结果对象为null时快速失败抛出异常,否则记录违规项。须线程安全
+     */
+    @FunctionalInterface
+    public interface Check<N> {
+        void check(N node, ValidationResult result);
+    }
+
+    private static final class Node<N> {
+        private final Check<? super N> check;
+        private final List<Function<? super N, ?>> children;
+
+        private Node(Check<? super N> check) {
+            this(check, new ArrayList<>());
+        }
+
+        private Node(Check<? super N> check, List<Function<? super N, ?>> children) {
+            this.check = check;
+            this.children = children;
+        }
+
+        /**
+         * 构建时复制为不可变节点,之后继续使用构建器不影响已构建的校验器
+         */
+        private Node<N> freeze() {
+            return new Node<>(check, Collections.unmodifiableList(new ArrayList<>(children)));
+        }
+    }
+
+    /**
+     * 当前路径上的一个对象;用于判断循环引用
+     */
+    private static final class Frame {
+        private final Object target;
+        private final Frame parent;
+
+        private Frame(Object target, Frame parent) {
+            this.target = target;
+            this.parent = parent;
+        }
+    }
+
+    /**
+     * 以对象身份比较的键
+     */
+    private static final class Identity {
+        private final Object target;
+        private final int hash;
+
+        private Identity(Object target) {
+            this.target = target;
+            this.hash = System.identityHashCode(target);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Identity && ((Identity) other).target == target;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 一次校验的遍历状态
+     */
+    private final class Run {
+        /**
+         * 对象 → 遍历状态:{@link #WALKING}、{@link #DONE},或快速失败时该对象子图抛出的违规
+         */
+        private final ConcurrentHashMap<Identity, Object> visited = new ConcurrentHashMap<>();
+        private final ValidationResult result;
+
+        private Run(ValidationResult result) {
+            this.result = result;
+        }
+
+        private void walk(Object target, Frame parent) {
+            walk(target, parent, result, null);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void walk(Object target, Frame parent, ValidationResult sink, Chunk chunk) {
+            Node<Object> node = resolved.get(target.getClass());
+            if (LEAF == node || null != chunk && chunk.cancelled()) {
+                return;
+            }
+            Identity identity = new Identity(target);
+            Object state = visited.putIfAbsent(identity, WALKING);
+            if (null != state) {
+                if (state instanceof ValidationException) {
+                    throw (ValidationException) state;
+                }
+                if (DONE == state) {
+                    return;
+                }
+                if (onPath(parent, target)) {
+                    if (!allowCycles) {
+                        reportCycle(target, parent, sink);
+                    }
+                    return;
+                }
+                // 其他分块正在遍历或已放弃的实例:收集式校验交由先到达的分支,快速失败时在当前路径上重新遍历
+                if (null != sink) {
+                    return;
+                }
+            }
+            try {
+                if (null != node.check) {
+                    node.check.check(target, sink);
+                }
+                Frame frame = new Frame(target, parent);
+                for (Function<? super Object, ?> accessor : node.children) {
+                    Object child = accessor.apply(target);
+                    if (child instanceof Iterable) {
+                        walkAll((Iterable<Object>) child, frame, sink, chunk);
+                    } else if (child instanceof Object[]) {
+                        walkAll(Arrays.asList((Object[]) child), frame, sink, chunk);
+                    } else if (child instanceof Map) {
+                        walkAll(((Map<?, Object>) child).values(), frame, sink, chunk);
+                    } else if (null != child) {
+                        walk(child, frame, sink, chunk);
+                    }
+                }
+            } catch (ValidationException e) {
+                visited.put(identity, e);
+                throw e;
+            }
+            // 被取消时子图可能未遍历完,不标记为完成
+            if (null == chunk || !chunk.cancelled()) {
+                visited.put(identity, DONE);
+            }
+        }
+
+        private void walkAll(Iterable<Object> children, Frame frame, ValidationResult sink, Chunk chunk) {
+            if (children instanceof Collection && ((Collection<?>) children).size() >= parallelThreshold) {
+                Collection<Object> collection = (Collection<Object>) children;
+                walkParallel(collection instanceof RandomAccess ? (List<Object>) collection : new ArrayList<>(collection),
+                        frame, sink, chunk);
+                return;
+            }
+            for (Object child : children) {
+                if (null != child) {
+                    walk(child, frame, sink, chunk);
+                }
+            }
+        }
+
+        private void walkParallel(List<Object> children, Frame frame, ValidationResult sink, Chunk parent) {
+            int chunkCount = Math.max(2, Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                    children.size() / Math.max(1, parallelThreshold / 4)));
+            AtomicInteger firstFailed = new AtomicInteger(Integer.MAX_VALUE);
+            List<SiblingTask> tasks = new ArrayList<>(chunkCount);
+            for (int c = 0; c < chunkCount; c++) {
+                int from = (int) ((long) children.size() * c / chunkCount);
+                int to = (int) ((long) children.size() * (c + 1) / chunkCount);
+                tasks.add(new SiblingTask(this, children, from, to, frame, null == sink ? null : new ValidationResult(),
+                        new Chunk(parent, firstFailed, c)));
+            }
+            ForkJoinTask.invokeAll(tasks);
+            for (SiblingTask task : tasks) {
+                if (null != task.failure) {
+                    throw task.failure;
+                }
+                if (null != sink) {
+                    sink.addAll(task.result);
+                }
+            }
+        }
+
+        private boolean onPath(Frame frame, Object target) {
+            for (Frame f = frame; null != f; f = f.parent) {
+                if (f.target == target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 以类型名描述循环路径,如"对象图循环引用(Order→OrderLine→Order)"
+         */
+        private void reportCycle(Object target, Frame parent, ValidationResult sink) {
+            Deque<String> path = new ArrayDeque<>();
+            path.push(target.getClass().getSimpleName());
+            for (Frame f = parent; null != f; f = f.parent) {
+                path.push(f.target.getClass().getSimpleName());
+                if (f.target == target) {
+                    break;
+                }
+            }
+            String name = "对象图循环引用(" + String.join("→", path) + ")";
+            if (null == sink) {
+                throw MUST_LEGAL.ex(name);
+            }
+            sink.add(MUST_LEGAL, name);
+        }
+    }
+
+    /**
+     * 并行遍历中的一个分块;同层排在其前的分块失败,或所在的上层分块被取消时,其结果不再需要
+     */
+    private static final class Chunk {
+        private final Chunk parent;
+        private final AtomicInteger firstFailed;
+        private final int index;
+
+        private Chunk(Chunk parent, AtomicInteger firstFailed, int index) {
+            this.parent = parent;
+            this.firstFailed = firstFailed;
+            this.index = index;
+        }
+
+        private boolean cancelled() {
+            for (Chunk c = this; null != c; c = c.parent) {
+                if (c.firstFailed.get() < c.index) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void fail() {
+            firstFailed.accumulateAndGet(index, Math::min);
+        }
+    }
+
+    private static final class SiblingTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient GraphValidator<?>.Run run;
+        private final transient List<Object> children;
+        private final int from;
+        private final int to;
+        private final transient Frame frame;
+        private final transient ValidationResult result;
+        private final transient Chunk chunk;
+        private transient ValidationException failure;
+
+        private SiblingTask(GraphValidator<?>.Run run, List<Object> children, int from, int to, Frame frame,
+                            ValidationResult result, Chunk chunk) {
+            this.run = run;
+            this.children = children;
+            this.from = from;
+            this.to = to;
+            this.frame = frame;
+            this.result = result;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                for (int i = from; i < to && !chunk.cancelled(); i++) {
+                    Object child = children.get(i);
+                    if (null != child) {
+                        run.walk(child, frame, result, chunk);
+                    }
+                }
+            } catch (ValidationException e) {
+                failure = e;
+                chunk.fail();
+            }
+        }
+    }
+
+    public static final class Builder<T> {
+
+        private final Map<Class<?>, Node<Object>> nodes = new HashMap<>();
+
+        private boolean allowCycles;
+
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+        private Builder() {
+        }
+
+        /**
+         * 注册类型的校验方案;同一类型只能注册一次校验
+         */
+        public <N> Builder<T> node(Class<N> type, ValidationSchema<? super N> schema) {
+            VALIDATOR.notNull(schema, "校验方案");
+            return node(type, (N node, ValidationResult result) -> {
+                if (null == result) {
+                    schema.validate(node);
+                } else {
+                    schema.validate(node, result);
+                }
+            });
+        }
+
+        /**
+         * 注册类型的注解校验器
+         */
+        public <N> Builder<T> node(Class<N> type, BeanValidator<? super N> validator) {
+            VALIDATOR.notNull(validator, "注解校验器");
+            return node(type, (N node, ValidationResult result) -> {
+                if (null == result) {
+                    validator.validate(node);
+                } else {
+                    validator.validate(node, result);
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        public <N> Builder<T> node(Class<N> type, Check<? super N> check) {
+            VALIDATOR.notNull(type, "对象类型").notNull(check, "校验逻辑");
+            Node<Object> node = nodes.get(type);
+            VALIDATOR.isLegal(null == node || null == node.check, type.getName() + "的校验逻辑");
+            Node<Object> registered = new Node<>((Check<? super Object>) check);
+            if (null != node) {
+                registered.children.addAll(node.children);
+            }
+            nodes.put(type, registered);
+            return this;
+        }
+
+        /**
+         * 注册类型的子对象取值函数;可多次调用以注册多个子对象,未注册校验逻辑的类型只遍历不校验
+         */
+        @SuppressWarnings("unchecked")
+        public <N> Builder<T> children(Class<N> type, Function<? super N, ?> accessor) {
+            VALIDATOR.notNull(type, "对象类型").notNull(accessor, "取值函数");
+            nodes.computeIfAbsent(type, key -> new Node<>(null)).children.add((Function<? super Object, ?>) accessor);
+            return this;
+        }
+
+        /**
+         * 是否放行循环引用,默认不放行;放行时循环处不再深入
+         */
+        public Builder<T> allowCycles(boolean allowCycles) {
+            this.allowCycles = allowCycles;
+            return this;
+        }
+
+        /**
+         * 同一层子对象达到该数量时并行遍历,默认{@value #DEFAULT_PARALLEL_THRESHOLD};取{@link Integer#MAX_VALUE}即不并行
+         */
+        public Builder<T> parallelThreshold(int parallelThreshold) {
+            VALIDATOR.gtInt(parallelThreshold, "并行阈值", 1);
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        public GraphValidator<T> build() {
+            return new GraphValidator<>(this);
+        }
+    }
+}
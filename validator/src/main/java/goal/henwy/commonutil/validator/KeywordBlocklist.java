@@ -0,0 +1,85 @@
+package goal.henwy.commonutil.validator;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 关键词黑名单
+ * <br>持有预编译的{@link KeywordMatcher},供{@link Validator#notContains(CharSequence, String, KeywordBlocklist)}与
+ * {@link ValidationSchema.Builder#notContainsKeywords}使用;校验语义与{@link ExMsgTemplateEnum#MUST_NOT_CONTAIN_TEXT}一致
+ * <br>名单变化时通过{@link #replace(Collection)}在调用线程上构建新的匹配器后原子替换,替换前后的校验互不阻塞;
+ * 每次校验只读取一次当前匹配器,不会在一次扫描中混用新旧名单
+ * <br><b>线程安全</b>;建议作为静态常量或单例共享
+ *
+ * @author HenwyGoal
+ */
+public final class KeywordBlocklist {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private final AtomicReference<KeywordMatcher> matcher;
+
+    private KeywordBlocklist(KeywordMatcher matcher) {
+        this.matcher = new AtomicReference<>(matcher);
+    }
+
+    public static KeywordBlocklist of(Collection<? extends CharSequence> keywords) {
+        return new KeywordBlocklist(KeywordMatcher.of(keywords));
+    }
+
+    public static KeywordBlocklist of(CharSequence... keywords) {
+        return new KeywordBlocklist(KeywordMatcher.of(keywords));
+    }
+
+    public static KeywordBlocklist of(KeywordMatcher matcher) {
+        VALIDATOR.notNull(matcher, "关键词匹配器");
+        return new KeywordBlocklist(matcher);
+    }
+
+    /**
+     * 以新的关键词构建匹配器并整体替换;构建失败时保留原名单
+     *
+     * @return 被替换的匹配器
+     */
+    public KeywordMatcher replace(Collection<? extends CharSequence> keywords) {
+        return matcher.getAndSet(KeywordMatcher.of(keywords));
+    }
+
+    /**
+     * @return 被替换的匹配器
+     */
+    public KeywordMatcher replace(KeywordMatcher matcher) {
+        VALIDATOR.notNull(matcher, "关键词匹配器");
+        return this.matcher.getAndSet(matcher);
+    }
+
+    /**
+     * 当前匹配器;需要对同一名单做多次判断时先取出再使用
+     */
+    public KeywordMatcher matcher() {
+        return matcher.get();
+    }
+
+    public boolean matches(CharSequence text) {
+        return matcher.get().matches(text);
+    }
+
+    /**
+     * @see KeywordMatcher#find(CharSequence)
+     */
+    public String find(CharSequence text) {
+        return matcher.get().find(text);
+    }
+
+    /**
+     * @see KeywordMatcher#findAll(CharSequence)
+     */
+    public List<String> findAll(CharSequence text) {
+        return matcher.get().findAll(text);
+    }
+
+    public int size() {
+        return matcher.get().size();
+    }
+}
@@ -0,0 +1,262 @@
+package goal.henwy.commonutil.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 关键词匹配器
+ * <br>以Aho-Corasick自动机一次扫描文本即判断是否出现任一关键词,耗时与文本长度成正比,与关键词数量无关;
+ * 供{@link Validator#contains(CharSequence, String, KeywordMatcher)}、{@link Validator#notContains(CharSequence, String, KeywordMatcher)}使用
+ * <br>直接按{@link CharSequence#charAt(int)}读取文本,StringBuilder等非String文本同样不复制
+ * <br>状态转移按字符排序后平铺在并列数组中,查找时二分;失配转移在构建时预先计算
+ * <br>区分大小写,按UTF-16字符匹配,与{@link String#contains(CharSequence)}结论一致
+ * <br>构建后不可变,<b>线程安全</b>;建议作为静态常量复用,关键词变化时整体重建
+ *
+ * @author HenwyGoal
+ */
+public final class KeywordMatcher {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final int ROOT = 0;
+
+    /**
+     * 异常信息中最多列出的关键词数量
+     */
+    private static final int DESCRIBED_KEYWORDS = 3;
+
+    private final String[] keywords;
+
+    /**
+     * 状态s的转移为下标[edgeStart[s], edgeStart[s + 1])内的edgeChars/edgeTargets,按字符升序
+     */
+    private final int[] edgeStart;
+
+    private final char[] edgeChars;
+
+    private final int[] edgeTargets;
+
+    private final int[] failure;
+
+    /**
+     * 到达状态时已匹配的关键词下标(含失配链上的),没有时为-1
+     */
+    private final int[] output;
+
+    /**
+     * 以该状态结束的关键词下标,没有时为-1
+     */
+    private final int[] terminal;
+
+    /**
+     * 失配链上最近的、以其结束关键词的状态,没有时为-1;用于列出同一位置结束的全部关键词
+     */
+    private final int[] dictionary;
+
+    private KeywordMatcher(String[] keywords) {
+        this.keywords = keywords;
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        trie.add(new HashMap<>());
+        ends.add(-1);
+        for (int k = 0; k < keywords.length; k++) {
+            int state = ROOT;
+            String keyword = keywords[k];
+            for (int i = 0; i < keyword.length(); i++) {
+                Integer next = trie.get(state).get(keyword.charAt(i));
+                if (null == next) {
+                    next = trie.size();
+                    trie.get(state).put(keyword.charAt(i), next);
+                    trie.add(new HashMap<>());
+                    ends.add(-1);
+                }
+                state = next;
+            }
+            if (ends.get(state) < 0) {
+                ends.set(state, k);
+            }
+        }
+
+        int states = trie.size();
+        int edges = states - 1;
+        this.edgeStart = new int[states + 1];
+        this.edgeChars = new char[edges];
+        this.edgeTargets = new int[edges];
+        this.failure = new int[states];
+        this.output = new int[states];
+        this.terminal = new int[states];
+        this.dictionary = new int[states];
+        int cursor = 0;
+        for (int s = 0; s < states; s++) {
+            edgeStart[s] = cursor;
+            Character[] chars = trie.get(s).keySet().toArray(new Character[0]);
+            Arrays.sort(chars);
+            for (Character c : chars) {
+                edgeChars[cursor] = c;
+                edgeTargets[cursor++] = trie.get(s).get(c);
+            }
+            output[s] = ends.get(s);
+            terminal[s] = ends.get(s);
+            dictionary[s] = -1;
+        }
+        edgeStart[states] = cursor;
+
+        // 广度优先计算失配转移,父状态的失配转移总是先于子状态完成
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int e = edgeStart[ROOT]; e < edgeStart[ROOT + 1]; e++) {
+            queue[tail++] = edgeTargets[e];
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int e = edgeStart[state]; e < edgeStart[state + 1]; e++) {
+                int child = edgeTargets[e];
+                int fall = failure[state];
+                int next;
+                while ((next = next(fall, edgeChars[e])) < 0 && ROOT != fall) {
+                    fall = failure[fall];
+                }
+                failure[child] = next < 0 ? ROOT : next;
+                dictionary[child] = terminal[failure[child]] >= 0 ? failure[child] : dictionary[failure[child]];
+                if (output[child] < 0) {
+                    output[child] = output[failure[child]];
+                }
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * 以集合中的关键词构建;关键词不能为空白文本,重复的只保留一个
+     */
+    public static KeywordMatcher of(Collection<? extends CharSequence> keywords) {
+        VALIDATOR.notNull(keywords, "关键词集合");
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (CharSequence keyword : keywords) {
+            VALIDATOR.hasText(keyword, "关键词");
+            distinct.add(keyword.toString());
+        }
+        return new KeywordMatcher(distinct.toArray(new String[0]));
+    }
+
+    public static KeywordMatcher of(CharSequence... keywords) {
+        VALIDATOR.notNull(keywords, "关键词数组");
+        return of(Arrays.asList(keywords));
+    }
+
+    /**
+     * 文本中是否出现任一关键词;null文本返回false
+     */
+    public boolean matches(CharSequence text) {
+        return null != find(text);
+    }
+
+    /**
+     * 返回文本中结束位置最靠前的关键词,没有时返回null;同一位置结束的多个关键词中返回较长的
+     */
+    public String find(CharSequence text) {
+        if (null == text || 0 == keywords.length) {
+            return null;
+        }
+        int state = ROOT;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = next(state, c)) < 0 && ROOT != state) {
+                state = failure[state];
+            }
+            state = next < 0 ? ROOT : next;
+            if (output[state] >= 0) {
+                return keywords[output[state]];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 一次扫描列出文本中出现的全部关键词,按结束位置先后排列,不重复;没有时返回空列表
+     */
+    public List<String> findAll(CharSequence text) {
+        if (null == text || 0 == keywords.length) {
+            return Collections.emptyList();
+        }
+        List<String> found = null;
+        BitSet seen = null;
+        int state = ROOT;
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = next(state, c)) < 0 && ROOT != state) {
+                state = failure[state];
+            }
+            state = next < 0 ? ROOT : next;
+            if (output[state] < 0) {
+                continue;
+            }
+            if (null == found) {
+                found = new ArrayList<>();
+                seen = new BitSet(keywords.length);
+            }
+            for (int s = terminal[state] >= 0 ? state : dictionary[state]; s >= 0; s = dictionary[s]) {
+                if (!seen.get(terminal[s])) {
+                    seen.set(terminal[s]);
+                    found.add(keywords[terminal[s]]);
+                }
+            }
+        }
+        return null == found ? Collections.<String>emptyList() : found;
+    }
+
+    public int size() {
+        return keywords.length;
+    }
+
+    public boolean isEmpty() {
+        return 0 == keywords.length;
+    }
+
+    /**
+     * 异常信息中的关键词描述,如"促销、折扣";超过{@value #DESCRIBED_KEYWORDS}个时只列出前几个并注明总数
+     */
+    String describe() {
+        StringBuilder description = new StringBuilder();
+        for (int k = 0; k < keywords.length && k < DESCRIBED_KEYWORDS; k++) {
+            if (k > 0) {
+                description.append('、');
+            }
+            description.append(keywords[k]);
+        }
+        if (keywords.length > DESCRIBED_KEYWORDS) {
+            description.append("等").append(keywords.length).append("个关键词");
+        }
+        return description.toString();
+    }
+
+    /**
+     * 状态state经字符c的转移,没有时返回-1
+     */
+    private int next(int state, char c) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char value = edgeChars[mid];
+            if (value < c) {
+                low = mid + 1;
+            } else if (value > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+}
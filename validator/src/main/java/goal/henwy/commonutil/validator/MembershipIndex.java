@@ -0,0 +1,243 @@
+package goal.henwy.commonutil.validator;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 成员索引
+ * <br>为大规模参考集合(黑名单、白名单等)预构建的只读成员判断结构,供{@link Validator#contains(MembershipIndex, String, Object)}、
+ * {@link Validator#notContains(MembershipIndex, String, Object)}使用,替代对数组的逐个比较
+ * <br>前置布隆过滤器(每元素{@value #BITS_PER_ELEMENT}位、{@value #HASH_COUNT}个哈希,误判率约1%)快速给出否定结果,
+ * 命中后再经精确结构确认,结果没有误判
+ * <br>对象元素按哈希值排序存放于并列数组,二分查找后以equals确认;long元素去重排序后与过滤器位图一同存放于堆外内存,
+ * 不占用GC堆,也不参与GC扫描
+ * <br>构建后不可变,<b>线程安全</b>;建议作为静态常量复用,参考集合变化时整体重建
+ *
+ * @param <T> 元素类型
+ * @author HenwyGoal
+ */
+public abstract class MembershipIndex<T> {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final int BITS_PER_ELEMENT = 10;
+
+    private static final int HASH_COUNT = 7;
+
+    private final int size;
+
+    private MembershipIndex(int size) {
+        this.size = size;
+    }
+
+    /**
+     * 以集合元素构建索引;元素不能为null,须正确实现hashCode与equals
+     */
+    public static <T> MembershipIndex<T> of(Collection<? extends T> elements) {
+        VALIDATOR.notNull(elements, "成员集合");
+        return new ObjectIndex<>(elements.toArray());
+    }
+
+    /**
+     * 以数组元素构建索引;元素不能为null,须正确实现hashCode与equals
+     */
+    @SafeVarargs
+    public static <T> MembershipIndex<T> of(T... elements) {
+        VALIDATOR.notNull(elements, "成员数组");
+        return new ObjectIndex<>(elements.clone());
+    }
+
+    /**
+     * 以long元素构建堆外索引;传入数组不被修改,构建完成后即可丢弃
+     */
+    public static MembershipIndex<Long> ofLongs(long... elements) {
+        VALIDATOR.notNull(elements, "成员数组");
+        long[] values = elements.clone();
+        Arrays.sort(values);
+        int count = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (0 == i || values[i] != values[count - 1]) {
+                values[count++] = values[i];
+            }
+        }
+        return new LongIndex(values, count);
+    }
+
+    /**
+     * 判断元素是否属于索引;null与类型不符的元素返回false
+     */
+    public abstract boolean contains(Object item);
+
+    /**
+     * 判断long元素是否属于索引,等价于contains(Long.valueOf(item));long索引上不产生装箱
+     */
+    public boolean containsLong(long item) {
+        return contains(Long.valueOf(item));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+
+    /**
+     * 布隆过滤器位数;取2的幂以便以掩码取位
+     */
+    private static int bloomBits(int size) {
+        long bits = Math.max(Long.SIZE, (long) size * BITS_PER_ELEMENT);
+        return (int) Math.min(1L << 30, Long.highestOneBit(bits - 1) << 1);
+    }
+
+    /**
+     * MurmurHash3的64位终结混淆
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * 双重哈希生成第i个位置:h1 + i * h2
+     */
+    private static int probe(long mixed, int i, int mask) {
+        int h1 = (int) mixed;
+        int h2 = (int) (mixed >>> 32) | 1;
+        return (h1 + i * h2) & mask;
+    }
+
+
+    private static final class ObjectIndex<T> extends MembershipIndex<T> {
+        private final long[] bloom;
+        private final int mask;
+        private final int[] hashes;
+        private final Object[] elements;
+
+        private ObjectIndex(Object[] source) {
+            super(source.length);
+            this.mask = bloomBits(source.length) - 1;
+            this.bloom = new long[(mask + 1) / Long.SIZE];
+            // 高32位为哈希、低32位为下标,一次基本类型排序得到按哈希有序的下标序列
+            long[] order = new long[source.length];
+            for (int i = 0; i < source.length; i++) {
+                VALIDATOR.notNull(source[i], "成员元素");
+                int hash = source[i].hashCode();
+                order[i] = ((long) hash << 32) | i;
+                long mixed = mix(hash);
+                for (int k = 0; k < HASH_COUNT; k++) {
+                    int bit = probe(mixed, k, mask);
+                    bloom[bit >>> 6] |= 1L << bit;
+                }
+            }
+            Arrays.sort(order);
+            this.hashes = new int[source.length];
+            this.elements = new Object[source.length];
+            for (int i = 0; i < order.length; i++) {
+                hashes[i] = (int) (order[i] >> 32);
+                elements[i] = source[(int) order[i]];
+            }
+        }
+
+        @Override
+        public boolean contains(Object item) {
+            if (null == item) {
+                return false;
+            }
+            int hash = item.hashCode();
+            long mixed = mix(hash);
+            for (int k = 0; k < HASH_COUNT; k++) {
+                int bit = probe(mixed, k, mask);
+                if (0 == (bloom[bit >>> 6] & (1L << bit))) {
+                    return false;
+                }
+            }
+            int index = Arrays.binarySearch(hashes, hash);
+            if (index < 0) {
+                return false;
+            }
+            // 哈希相同的元素连续存放,向两侧逐个确认
+            for (int i = index; i >= 0 && hashes[i] == hash; i--) {
+                if (item.equals(elements[i])) {
+                    return true;
+                }
+            }
+            for (int i = index + 1; i < hashes.length && hashes[i] == hash; i++) {
+                if (item.equals(elements[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class LongIndex extends MembershipIndex<Long> {
+        private final LongBuffer bloom;
+        private final int mask;
+        private final LongBuffer sorted;
+
+        /**
+         * @param values 已排序去重的元素,前count个有效
+         */
+        private LongIndex(long[] values, int count) {
+            super(count);
+            this.mask = bloomBits(count) - 1;
+            this.bloom = allocate((mask + 1) / Long.SIZE);
+            this.sorted = allocate(count);
+            for (int i = 0; i < count; i++) {
+                sorted.put(values[i]);
+                long mixed = mix(values[i]);
+                for (int k = 0; k < HASH_COUNT; k++) {
+                    int bit = probe(mixed, k, mask);
+                    bloom.put(bit >>> 6, bloom.get(bit >>> 6) | 1L << bit);
+                }
+            }
+        }
+
+        private static LongBuffer allocate(int longs) {
+            if (longs > Integer.MAX_VALUE / Long.BYTES) {
+                throw ExMsgTemplateEnum.MUST_LTE.ex("成员数量", Integer.MAX_VALUE / Long.BYTES);
+            }
+            return ByteBuffer.allocateDirect(Math.max(1, longs) * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        }
+
+        @Override
+        public boolean contains(Object item) {
+            return item instanceof Long && containsLong((Long) item);
+        }
+
+        @Override
+        public boolean containsLong(long item) {
+            long mixed = mix(item);
+            for (int k = 0; k < HASH_COUNT; k++) {
+                int bit = probe(mixed, k, mask);
+                if (0 == (bloom.get(bit >>> 6) & (1L << bit))) {
+                    return false;
+                }
+            }
+            int low = 0;
+            int high = size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long value = sorted.get(mid);
+                if (value < item) {
+                    low = mid + 1;
+                } else if (value > item) {
+                    high = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package goal.henwy.commonutil.validator;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.function.Consumer;
+
+/**
+ * 堆外键集合
+ * <br>批量导入等场景下判断键是否重复、是否已出现,供{@link Validator#unique(OffHeapKeySet, String, long)}、
+ * {@link Validator#isExist(OffHeapKeySet, String, long)}、{@link Validator#notExist(OffHeapKeySet, String, long)}使用,
+ * 替代数百万元素的HashSet:键以long存放于堆外直接缓冲区的开放寻址(线性探测)表,每个键只占8字节,不产生装箱对象,也不参与GC扫描
+ * <br>按预计键数量分配容量,负载超过{@value #MAX_LOAD_PERCENT}%时容量翻倍;单个集合最多容纳约9395万个键
+ * <br>文本键按64位哈希存放,不保留原文;500万个不同文本误判为重复的概率约为百万分之一;同一实例中不要混用long键与文本键
+ * <br>内存在{@link #close()}时立即释放,扩容时旧表同样立即释放,不等待GC;应在批次结束时以try-with-resources关闭;
+ * 遗漏关闭时缓冲区随实例被GC回收,仅作兜底;关闭后再使用抛出{@link IllegalStateException}
+ * <br><b>非线程安全</b>;每个批次独占一个实例
+ *
+ * @author HenwyGoal
+ */
+public final class OffHeapKeySet implements AutoCloseable {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final int MAX_LOAD_PERCENT = 70;
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * 直接缓冲区按int寻址字节,表容量取不超过其上限的2的幂
+     */
+    private static final int MAX_CAPACITY = Integer.highestOneBit(Integer.MAX_VALUE / Long.BYTES);
+
+    private static final long MAX_SIZE = (long) MAX_CAPACITY * MAX_LOAD_PERCENT / 100;
+
+    /**
+     * 0表示空槽,键0单独记录
+     */
+    private static final long EMPTY = 0L;
+
+    private static final Consumer<ByteBuffer> RELEASER = releaser();
+
+    /**
+     * 表所在的直接缓冲区;释放内存须持有原缓冲区而非其LongBuffer视图
+     */
+    private ByteBuffer memory;
+
+    private LongBuffer table;
+
+    private int capacity;
+
+    private long size;
+
+    private boolean hasZero;
+
+    private OffHeapKeySet(int capacity) {
+        this.capacity = capacity;
+        this.memory = allocate(capacity);
+        this.table = memory.asLongBuffer();
+    }
+
+    /**
+     * 按预计键数量创建;实际数量超出时自动扩容
+     */
+    public static OffHeapKeySet withExpectedSize(long expectedSize) {
+        VALIDATOR.betweenLong(expectedSize, "预计键数量", 0L, MAX_SIZE);
+        return new OffHeapKeySet(capacityFor(expectedSize));
+    }
+
+    /**
+     * 加入键
+     *
+     * @return 键此前不存在时返回true
+     */
+    public boolean add(long key) {
+        LongBuffer table = ensureOpen();
+        if (EMPTY == key) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int mask = capacity - 1;
+        for (int slot = (int) mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = table.get(slot);
+            if (current == key) {
+                return false;
+            }
+            if (EMPTY == current) {
+                if (size >= MAX_SIZE) {
+                    throw ExMsgTemplateEnum.MUST_LTE.ex("键数量", MAX_SIZE);
+                }
+                table.put(slot, key);
+                if (++size * 100 > (long) capacity * MAX_LOAD_PERCENT && capacity < MAX_CAPACITY) {
+                    resize();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 以文本的64位哈希加入键
+     *
+     * @return 键此前不存在时返回true
+     */
+    public boolean add(CharSequence key) {
+        VALIDATOR.notNull(key, "键");
+        return add(hash(key));
+    }
+
+    public boolean contains(long key) {
+        LongBuffer table = ensureOpen();
+        if (EMPTY == key) {
+            return hasZero;
+        }
+        int mask = capacity - 1;
+        for (int slot = (int) mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long current = table.get(slot);
+            if (current == key) {
+                return true;
+            }
+            if (EMPTY == current) {
+                return false;
+            }
+        }
+    }
+
+    public boolean contains(CharSequence key) {
+        VALIDATOR.notNull(key, "键");
+        return contains(hash(key));
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * 清空全部键,保留已分配的表供下一批次复用
+     */
+    public void clear() {
+        LongBuffer table = ensureOpen();
+        for (int slot = 0; slot < capacity; slot++) {
+            table.put(slot, EMPTY);
+        }
+        size = 0;
+        hasZero = false;
+    }
+
+    /**
+     * 立即释放堆外内存;重复调用无副作用
+     */
+    @Override
+    public void close() {
+        ByteBuffer released = memory;
+        if (null != released) {
+            memory = null;
+            table = null;
+            RELEASER.accept(released);
+        }
+    }
+
+    private void resize() {
+        ByteBuffer oldMemory = memory;
+        LongBuffer oldTable = table;
+        int oldCapacity = capacity;
+        int newCapacity = oldCapacity << 1;
+        ByteBuffer newMemory = allocate(newCapacity);
+        LongBuffer newTable = newMemory.asLongBuffer();
+        int mask = newCapacity - 1;
+        for (int slot = 0; slot < oldCapacity; slot++) {
+            long key = oldTable.get(slot);
+            if (EMPTY == key) {
+                continue;
+            }
+            int target = (int) mix(key) & mask;
+            while (EMPTY != newTable.get(target)) {
+                target = (target + 1) & mask;
+            }
+            newTable.put(target, key);
+        }
+        memory = newMemory;
+        table = newTable;
+        capacity = newCapacity;
+        RELEASER.accept(oldMemory);
+    }
+
+    private LongBuffer ensureOpen() {
+        LongBuffer table = this.table;
+        if (null == table) {
+            throw new IllegalStateException("堆外键集合已关闭");
+        }
+        return table;
+    }
+
+    /**
+     * 容量取2的幂,使预计数量下的负载不超过上限
+     */
+    private static int capacityFor(long expectedSize) {
+        long slots = Math.max(MIN_CAPACITY, expectedSize / MAX_LOAD_PERCENT * 100 + 100);
+        return (int) Math.min(MAX_CAPACITY, Long.highestOneBit(slots - 1) << 1);
+    }
+
+    /**
+     * 直接缓冲区分配时已清零
+     */
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * 直接缓冲区的立即释放:Java 9起经Unsafe.invokeCleaner,Java 8经缓冲区自带的Cleaner;均不可用时交由GC回收
+     */
+    private static Consumer<ByteBuffer> releaser() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            Object unsafe = field.get(null);
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Java 8没有invokeCleaner,改用缓冲区自带的Cleaner
+        }
+        try {
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> invoke(clean, invoke(cleaner, buffer));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return buffer -> {
+            };
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("释放堆外内存失败", e);
+        }
+    }
+
+    /**
+     * MurmurHash3的64位终结混淆;连续id也能均匀分布到各槽
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * 文本的64位哈希:逐字符异或、相乘、循环移位后混淆,与长度一同混入以区分前缀
+     */
+    private static long hash(CharSequence key) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            h = Long.rotateLeft((h ^ key.charAt(i)) * 0xff51afd7ed558ccdL, 27);
+        }
+        return mix(h ^ key.length());
+    }
+}
@@ -0,0 +1,199 @@
+package goal.henwy.commonutil.validator;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 正则缓存
+ * <br>线程安全、有界;供{@link Validator#matchPattern(String, String, String, String)}等以字符串传入正则的方法复用编译结果
+ * <br>超出容量时按淘汰策略移除一个条目:{@link EvictionPolicy#LRU}移除最久未使用的,{@link EvictionPolicy#LFU}移除使用次数最少的
+ * <br>淘汰通过扫描完成,只在未命中且超出容量时发生;命中路径仅有一次并发读取与一次时间戳/计数更新
+ * <br>预加载的正则不参与淘汰,适合在启动时放入固定规则
+ * <br>全局实例的容量与策略分别由系统属性<b>{@value #MAX_SIZE_PROPERTY}</b>、<b>{@value #POLICY_PROPERTY}</b>配置,
+ * 默认{@value #DEFAULT_MAX_SIZE}与LRU
+ *
+ * @author HenwyGoal
+ */
+public final class PatternCache {
+
+    public static final String MAX_SIZE_PROPERTY = "goal.henwy.commonutil.validator.patternCache.maxSize";
+
+    public static final String POLICY_PROPERTY = "goal.henwy.commonutil.validator.patternCache.policy";
+
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    public enum EvictionPolicy {
+        /**
+         * 最近最少使用
+         */
+        LRU,
+        /**
+         * 最不经常使用
+         */
+        LFU,
+    }
+
+    private final Map<String, Entry> container;
+
+    private final int maxSize;
+
+    private final EvictionPolicy policy;
+
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    public PatternCache(int maxSize, EvictionPolicy policy) {
+        if (maxSize <= 0) {
+            throw ExMsgTemplateEnum.MUST_GT.ex("正则缓存容量", 0);
+        }
+        if (null == policy) {
+            throw ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.ex("正则缓存淘汰策略");
+        }
+        this.maxSize = maxSize;
+        this.policy = policy;
+        this.container = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    static PatternCache fromSystemProperties() {
+        int maxSize = Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE);
+        String policy = System.getProperty(POLICY_PROPERTY, EvictionPolicy.LRU.name());
+        return new PatternCache(maxSize, EvictionPolicy.valueOf(policy.trim().toUpperCase()));
+    }
+
+    /**
+     * 获取编译后的正则;未命中时编译并放入缓存
+     *
+     * @throws java.util.regex.PatternSyntaxException 正则不合法
+     */
+    public Pattern get(String regex) {
+        Entry entry = container.get(regex);
+        if (null != entry) {
+            hitCount.increment();
+            entry.touch(policy);
+            return entry.pattern;
+        }
+        missCount.increment();
+        entry = container.computeIfAbsent(regex, r -> new Entry(Pattern.compile(r), false));
+        entry.touch(policy);
+        if (container.size() > maxSize) {
+            evict(regex);
+        }
+        return entry.pattern;
+    }
+
+    /**
+     * 预加载正则;预加载的条目常驻缓存,不参与淘汰
+     */
+    public PatternCache preload(String... regexes) {
+        for (String regex : regexes) {
+            container.put(regex, new Entry(Pattern.compile(regex), true));
+        }
+        return this;
+    }
+
+    public PatternCache preload(Collection<String> regexes) {
+        return preload(regexes.toArray(new String[0]));
+    }
+
+    public void clear() {
+        container.clear();
+    }
+
+    public int size() {
+        return container.size();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public EvictionPolicy policy() {
+        return policy;
+    }
+
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * @param protectedKey 刚放入的条目;不作为淘汰对象,避免LFU下新条目总是被立即淘汰
+     */
+    private void evict(String protectedKey) {
+        synchronized (evictionLock) {
+            while (container.size() > maxSize) {
+                String victim = null;
+                Entry victimEntry = null;
+                long victimScore = Long.MAX_VALUE;
+                for (Map.Entry<String, Entry> e : container.entrySet()) {
+                    Entry candidate = e.getValue();
+                    if (candidate.pinned || e.getKey().equals(protectedKey)) {
+                        continue;
+                    }
+                    long score = EvictionPolicy.LRU == policy ? candidate.lastAccess : candidate.frequency;
+                    if (score < victimScore) {
+                        victim = e.getKey();
+                        victimEntry = candidate;
+                        victimScore = score;
+                    }
+                }
+                if (null == victim) {
+                    return;
+                }
+                if (container.remove(victim, victimEntry)) {
+                    evictionCount.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PatternCache{policy=" + policy + ", size=" + size() + "/" + maxSize
+                + ", hit=" + hitCount() + ", miss=" + missCount() + ", eviction=" + evictionCount() + '}';
+    }
+
+
+    private static final class Entry {
+
+        private static final AtomicLongFieldUpdater<Entry> FREQUENCY =
+                AtomicLongFieldUpdater.newUpdater(Entry.class, "frequency");
+
+        private final Pattern pattern;
+
+        private final boolean pinned;
+
+        private volatile long lastAccess;
+
+        private volatile long frequency;
+
+        private Entry(Pattern pattern, boolean pinned) {
+            this.pattern = pattern;
+            this.pinned = pinned;
+        }
+
+        private void touch(EvictionPolicy policy) {
+            if (EvictionPolicy.LRU == policy) {
+                lastAccess = System.nanoTime();
+            } else {
+                FREQUENCY.incrementAndGet(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,917 @@
+package goal.henwy.commonutil.validator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static goal.henwy.commonutil.validator.ExMsgTemplateEnum.*;
+
+/**
+ * 流式文件校验器
+ * <br>通过{@link FileChannel#map}分窗口映射CSV或JSON Lines文件,逐行切分记录,将字段切片以{@link CharSequence}视图直接交给规则校验;
+ * 不把文件解析为对象,堆内存占用与文件大小无关
+ * <br>违规项连同字段的字节偏移量与行号交给{@link ViolationHandler}
+ * <br>字段视图规则:
+ * <br>1. CSV支持双引号包裹的字段,视图为引号内的原始内容(转义的{@code ""}不做还原);字段内不允许换行
+ * <br>2. JSON Lines仅解析每行顶层对象的键;字符串取值的视图为引号内的原始内容(转义序列不做还原),
+ * 其余取值为原始文本,{@code null}视为缺失
+ * <br>3. 纯ASCII字段直接按字节读取;含多字节字符的字段按UTF-8解码到可复用的缓冲区
+ * <br>构建完成后不可变,<b>线程安全</b>;每次校验使用独立的匹配器与缓冲区
+ * <pre>
+ * private static final StreamingValidator ORDER_FILE = StreamingValidator.csv(',').skipHeader()
+ *         .hasText(0, "订单号")
+ *         .between(2, "金额", 0L, 100000L)
+ *         .isTelePhone(3, "手机号")
+ *         .build();
+ * long violations = ORDER_FILE.validate(path, (offset, line, template, args) -&gt; log(offset, template.errMsg(args)));
+ * </pre>
+ *
+ * @author HenwyGoal
+ */
+public final class StreamingValidator {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    private static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private static final int ABSENT = -1;
+
+    private final boolean json;
+
+    private final byte delimiter;
+
+    private final boolean skipHeader;
+
+    private final int windowSize;
+
+    private final int slotCount;
+
+    private final byte[][] keys;
+
+    private final FieldRule[] rules;
+
+    private final int matcherCount;
+
+    private StreamingValidator(Builder<?> builder) {
+        this.json = builder.json;
+        this.delimiter = builder.delimiter;
+        this.skipHeader = builder.skipHeader;
+        this.windowSize = builder.windowSize;
+        this.slotCount = builder.slotCount();
+        this.keys = builder.keys();
+        this.rules = builder.rules.toArray(new FieldRule[0]);
+        this.matcherCount = builder.matcherCount;
+    }
+
+    /**
+     * CSV文件;字段以列下标(从0开始)指定
+     */
+    public static Builder<Integer> csv(char delimiter) {
+        VALIDATOR.isLegal(delimiter < 0x80 && '"' != delimiter && '\n' != delimiter && '\r' != delimiter, "分隔符");
+        return new Builder<>(false, (byte) delimiter);
+    }
+
+    /**
+     * JSON Lines文件;字段以顶层键名指定
+     */
+    public static Builder<String> jsonLines() {
+        return new Builder<>(true, (byte) 0);
+    }
+
+    /**
+     * 快速失败校验;遇到首个违规项即抛出{@link ValidationException},目标名称(格式不符时为字段取值)后附加"@字节偏移量"
+     */
+    public void validate(Path file) throws IOException {
+        validate(file, (offset, line, template, args) -> {
+            Object[] elements = args.clone();
+            elements[0] = elements[0] + "@" + offset;
+            throw template.ex(elements);
+        });
+    }
+
+    /**
+     * @return 违规项数量
+     */
+    public long validate(Path file, ViolationHandler handler) throws IOException {
+        VALIDATOR.notNull(file, "文件");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return validate(channel, handler);
+        }
+    }
+
+    /**
+     * 从文件起始处开始校验,与通道当前位置无关;不关闭通道
+     *
+     * @return 违规项数量
+     */
+    public long validate(FileChannel channel, ViolationHandler handler) throws IOException {
+        VALIDATOR.notNull(channel, "文件通道").notNull(handler, "违规处理器");
+        Context context = new Context(this, handler);
+        long size = channel.size();
+        long position = 0;
+        while (position < size) {
+            long length = Math.min(windowSize, size - position);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            boolean last = position + length == size;
+            int consumed = context.scan(window, position, (int) length, last);
+            if (0 == consumed) {
+                throw new IllegalStateException("单条记录超过映射窗口大小(" + windowSize + "字节),偏移量" + position);
+            }
+            position += consumed;
+        }
+        return context.violations;
+    }
+
+    public int ruleCount() {
+        return rules.length;
+    }
+
+
+    /**
+     * 违规处理器;在校验线程中按文件顺序回调
+     */
+    @FunctionalInterface
+    public interface ViolationHandler {
+        /**
+         * @param offset 违规字段的字节偏移量;记录本身不合法时为记录起始偏移量
+         * @param line   行号,从1开始
+         */
+        void onViolation(long offset, long line, ExMsgTemplateEnum template, Object[] args);
+    }
+
+    /**
+     * 构建器
+     *
+     * @param <K> 字段标识类型;CSV为列下标,JSON Lines为键名
+     */
+    public static final class Builder<K> {
+
+        private final boolean json;
+
+        private final byte delimiter;
+
+        private final Map<K, Integer> slots = new LinkedHashMap<>();
+
+        private final List<FieldRule> rules = new ArrayList<>();
+
+        private boolean skipHeader;
+
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+
+        private int matcherCount;
+
+        private Builder(boolean json, byte delimiter) {
+            this.json = json;
+            this.delimiter = delimiter;
+        }
+
+        /**
+         * 跳过首行
+         */
+        public Builder<K> skipHeader() {
+            this.skipHeader = true;
+            return this;
+        }
+
+        /**
+         * 映射窗口字节数,默认64MB;单条记录不能超过该大小
+         */
+        public Builder<K> windowSize(int windowSize) {
+            VALIDATOR.gtInt(windowSize, "映射窗口大小", 0);
+            this.windowSize = windowSize;
+            return this;
+        }
+
+        public Builder<K> hasText(K field, String targetName) {
+            return add(new HasTextRule(slot(field), name(targetName)));
+        }
+
+        public Builder<K> size(K field, String targetName, int minSize, int maxSize, boolean required) {
+            String prefix = name(targetName) + "文本";
+            VALIDATOR.gtInt(minSize, prefix + "最小长度", 0).gtInt(maxSize, prefix + "最大长度", minSize);
+            return add(new SizeRule(slot(field), targetName, required, minSize, maxSize, prefix + "长度"));
+        }
+
+        public Builder<K> size(K field, String targetName, int minSize, int maxSize) {
+            return size(field, targetName, minSize, maxSize, true);
+        }
+
+        public Builder<K> matchPattern(K field, String targetName, Pattern pattern, String patternName, boolean required) {
+            VALIDATOR.notNull(pattern, "格式").hasText(patternName, "格式名称");
+            return add(new PatternRule(slot(field), name(targetName), required, pattern, patternName, matcherCount++));
+        }
+
+        public Builder<K> matchPattern(K field, String targetName, Pattern pattern, String patternName) {
+            return matchPattern(field, targetName, pattern, patternName, true);
+        }
+
+        public Builder<K> matchPattern(K field, String targetName, String pattern, String patternName, boolean required) {
+            VALIDATOR.hasText(pattern, "格式");
+            return matchPattern(field, targetName, Pattern.compile(pattern), patternName, required);
+        }
+
+        public Builder<K> matchPattern(K field, String targetName, String pattern, String patternName) {
+            return matchPattern(field, targetName, pattern, patternName, true);
+        }
+
+        public Builder<K> isEmail(K field, String targetName, boolean required) {
+            return add(new FormatRule(slot(field), name(targetName), required, false, "邮箱"));
+        }
+
+        public Builder<K> isEmail(K field, String targetName) {
+            return isEmail(field, targetName, true);
+        }
+
+        public Builder<K> isTelePhone(K field, String targetName, boolean required) {
+            return add(new FormatRule(slot(field), name(targetName), required, true, "手机号"));
+        }
+
+        public Builder<K> isTelePhone(K field, String targetName) {
+            return isTelePhone(field, targetName, true);
+        }
+
+        /**
+         * 整数取值范围校验;字段按十进制整数解析,不做任何分配
+         */
+        public Builder<K> between(K field, String targetName, long min, long max, boolean required) {
+            VALIDATOR.isLegal(min < max, "最小值与最大值");
+            return add(new LongBetweenRule(slot(field), name(targetName), required, min, max));
+        }
+
+        public Builder<K> between(K field, String targetName, long min, long max) {
+            return between(field, targetName, min, max, true);
+        }
+
+        /**
+         * 小数取值范围校验;字段按{@link Double#parseDouble(String)}解析
+         */
+        public Builder<K> between(K field, String targetName, double min, double max, boolean required) {
+            VALIDATOR.isLegal(min < max, "最小值与最大值");
+            return add(new DoubleBetweenRule(slot(field), name(targetName), required, min, max));
+        }
+
+        public Builder<K> between(K field, String targetName, double min, double max) {
+            return between(field, targetName, min, max, true);
+        }
+
+        /**
+         * 日期取值范围校验;字段按dateFormat解析为{@link LocalDate},格式化器在构建时创建
+         */
+        public Builder<K> between(K field, String targetName, LocalDate start, LocalDate end,
+                                  String dateFormat, boolean required) {
+            VALIDATOR.notNull(start, "最早时间").notNull(end, "最晚时间").hasText(dateFormat, "日期格式")
+                    .isLegal(start.isBefore(end), "最早时间与最晚时间关系");
+            return add(new DateBetweenRule(slot(field), name(targetName), required, start, end,
+                    DateTimeFormatter.ofPattern(dateFormat), dateFormat));
+        }
+
+        public Builder<K> between(K field, String targetName, LocalDate start, LocalDate end, boolean required) {
+            return between(field, targetName, start, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+        }
+
+        public Builder<K> between(K field, String targetName, LocalDate start, LocalDate end) {
+            return between(field, targetName, start, end, true);
+        }
+
+        public StreamingValidator build() {
+            VALIDATOR.notEmpty(rules, "校验规则");
+            return new StreamingValidator(this);
+        }
+
+        private Builder<K> add(FieldRule rule) {
+            rules.add(rule);
+            return this;
+        }
+
+        private int slot(K field) {
+            VALIDATOR.notNull(field, "字段");
+            if (json) {
+                VALIDATOR.hasText((String) field, "字段键名");
+                return slots.computeIfAbsent(field, k -> slots.size());
+            }
+            int column = (Integer) field;
+            VALIDATOR.gteInt(column, "字段列下标", 0);
+            slots.put(field, column);
+            return column;
+        }
+
+        private int slotCount() {
+            int count = 0;
+            for (int slot : slots.values()) {
+                count = Math.max(count, slot + 1);
+            }
+            return count;
+        }
+
+        private byte[][] keys() {
+            if (!json) {
+                return null;
+            }
+            byte[][] keys = new byte[slots.size()][];
+            for (Map.Entry<K, Integer> entry : slots.entrySet()) {
+                keys[entry.getValue()] = ((String) entry.getKey()).getBytes(StandardCharsets.UTF_8);
+            }
+            return keys;
+        }
+
+        private static String name(String targetName) {
+            VALIDATOR.hasText(targetName, "目标名称");
+            return targetName;
+        }
+    }
+
+
+    /**
+     * 单次校验的可变状态:字段边界、视图、解码缓冲区与匹配器
+     */
+    private static final class Context {
+
+        private final StreamingValidator owner;
+
+        private final ViolationHandler handler;
+
+        private final int[] starts;
+
+        private final int[] ends;
+
+        private final ByteSlice slice = new ByteSlice();
+
+        private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private CharBuffer chars = CharBuffer.allocate(256);
+
+        private final Matcher[] matchers;
+
+        private ByteBuffer buffer;
+
+        private long base;
+
+        private long line;
+
+        private long violations;
+
+        private long fieldOffset;
+
+        private Context(StreamingValidator owner, ViolationHandler handler) {
+            this.owner = owner;
+            this.handler = handler;
+            this.starts = new int[owner.slotCount];
+            this.ends = new int[owner.slotCount];
+            this.matchers = new Matcher[owner.matcherCount];
+            for (FieldRule rule : owner.rules) {
+                if (rule instanceof PatternRule) {
+                    PatternRule patternRule = (PatternRule) rule;
+                    matchers[patternRule.matcherIndex] = patternRule.pattern.matcher("");
+                }
+            }
+        }
+
+        /**
+         * 扫描窗口内的完整记录
+         *
+         * @return 已消费的字节数;非最后一个窗口时不消费末尾不完整的记录
+         */
+        private int scan(ByteBuffer window, long windowBase, int length, boolean last) {
+            this.buffer = window;
+            this.base = windowBase;
+            int start = 0;
+            while (start < length) {
+                int newline = indexOf(window, (byte) '\n', start, length);
+                if (newline < 0 && !last) {
+                    return start;
+                }
+                int end = newline < 0 ? length : newline;
+                int next = newline < 0 ? length : newline + 1;
+                if (end > start && '\r' == window.get(end - 1)) {
+                    end--;
+                }
+                line++;
+                if (!(owner.skipHeader && 1 == line) && end > start) {
+                    record(start, end);
+                }
+                start = next;
+            }
+            return length;
+        }
+
+        private void record(int start, int end) {
+            Arrays.fill(starts, ABSENT);
+            boolean legal = owner.json ? splitJson(start, end) : splitCsv(start, end);
+            if (!legal) {
+                fieldOffset = base + start;
+                reject(MUST_MATCH_PATTERN, "第" + line + "行记录", owner.json ? "JSON" : "CSV");
+                return;
+            }
+            for (FieldRule rule : owner.rules) {
+                int slot = rule.slot;
+                CharSequence value = null;
+                if (ABSENT != starts[slot]) {
+                    fieldOffset = base + starts[slot];
+                    value = view(starts[slot], ends[slot]);
+                } else {
+                    fieldOffset = base + start;
+                }
+                rule.check(value, this);
+            }
+        }
+
+        private boolean splitCsv(int start, int end) {
+            ByteBuffer buf = buffer;
+            int column = 0;
+            int i = start;
+            while (column < starts.length) {
+                int fieldStart = i;
+                int fieldEnd;
+                if (i < end && '"' == buf.get(i)) {
+                    int j = i + 1;
+                    while (true) {
+                        j = indexOf(buf, (byte) '"', j, end);
+                        if (j < 0) {
+                            return false;
+                        }
+                        if (j + 1 < end && '"' == buf.get(j + 1)) {
+                            j += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    fieldStart = i + 1;
+                    fieldEnd = j;
+                    i = j + 1;
+                    if (i < end && owner.delimiter != buf.get(i)) {
+                        return false;
+                    }
+                } else {
+                    int j = indexOf(buf, owner.delimiter, i, end);
+                    fieldEnd = j < 0 ? end : j;
+                    i = fieldEnd;
+                }
+                if (fieldEnd > fieldStart) {
+                    starts[column] = fieldStart;
+                    ends[column] = fieldEnd;
+                }
+                column++;
+                if (i >= end) {
+                    break;
+                }
+                i++;
+            }
+            return true;
+        }
+
+        private boolean splitJson(int start, int end) {
+            ByteBuffer buf = buffer;
+            int i = skipSpace(buf, start, end);
+            if (i >= end || '{' != buf.get(i)) {
+                return false;
+            }
+            i = skipSpace(buf, i + 1, end);
+            if (i < end && '}' == buf.get(i)) {
+                return skipSpace(buf, i + 1, end) == end;
+            }
+            while (i < end) {
+                if ('"' != buf.get(i)) {
+                    return false;
+                }
+                int keyEnd = skipString(buf, i + 1, end);
+                if (keyEnd < 0) {
+                    return false;
+                }
+                int slot = keySlot(buf, i + 1, keyEnd);
+                i = skipSpace(buf, keyEnd + 1, end);
+                if (i >= end || ':' != buf.get(i)) {
+                    return false;
+                }
+                i = skipSpace(buf, i + 1, end);
+                if (i >= end) {
+                    return false;
+                }
+                int valueStart = i;
+                int valueEnd;
+                byte b = buf.get(i);
+                if ('"' == b) {
+                    valueEnd = skipString(buf, i + 1, end);
+                    if (valueEnd < 0) {
+                        return false;
+                    }
+                    i = valueEnd + 1;
+                    valueStart++;
+                } else if ('{' == b || '[' == b) {
+                    i = skipNested(buf, i, end);
+                    if (i < 0) {
+                        return false;
+                    }
+                    valueEnd = i;
+                } else {
+                    while (i < end && ',' != buf.get(i) && '}' != buf.get(i) && !isSpace(buf.get(i))) {
+                        i++;
+                    }
+                    valueEnd = i;
+                    if (valueEnd == valueStart) {
+                        return false;
+                    }
+                    if (4 == valueEnd - valueStart && 'n' == b && 'u' == buf.get(valueStart + 1)
+                            && 'l' == buf.get(valueStart + 2) && 'l' == buf.get(valueStart + 3)) {
+                        valueEnd = valueStart;
+                    }
+                }
+                if (slot >= 0 && valueEnd > valueStart) {
+                    starts[slot] = valueStart;
+                    ends[slot] = valueEnd;
+                }
+                i = skipSpace(buf, i, end);
+                if (i >= end) {
+                    return false;
+                }
+                b = buf.get(i);
+                if ('}' == b) {
+                    return skipSpace(buf, i + 1, end) == end;
+                }
+                if (',' != b) {
+                    return false;
+                }
+                i = skipSpace(buf, i + 1, end);
+            }
+            return false;
+        }
+
+        private int keySlot(ByteBuffer buf, int start, int end) {
+            byte[][] keys = owner.keys;
+            for (int k = 0; k < keys.length; k++) {
+                byte[] key = keys[k];
+                if (key.length != end - start) {
+                    continue;
+                }
+                int j = 0;
+                while (j < key.length && key[j] == buf.get(start + j)) {
+                    j++;
+                }
+                if (j == key.length) {
+                    return k;
+                }
+            }
+            return ABSENT;
+        }
+
+        /**
+         * @return 纯ASCII时返回字节视图,否则解码到复用的字符缓冲区
+         */
+        private CharSequence view(int start, int end) {
+            ByteBuffer buf = buffer;
+            for (int i = start; i < end; i++) {
+                if (buf.get(i) < 0) {
+                    return decode(start, end);
+                }
+            }
+            return slice.wrap(buf, start, end - start);
+        }
+
+        private CharSequence decode(int start, int end) {
+            ByteBuffer in = buffer.duplicate();
+            in.limit(end).position(start);
+            if (chars.capacity() < end - start) {
+                chars = CharBuffer.allocate(Math.max(end - start, chars.capacity() << 1));
+            }
+            CharBuffer out = chars;
+            out.clear();
+            decoder.reset();
+            CoderResult result = decoder.decode(in, out, true);
+            if (!result.isUnderflow()) {
+                throw new IllegalStateException("字段解码失败:" + result);
+            }
+            decoder.flush(out);
+            out.flip();
+            return out;
+        }
+
+        boolean reject(ExMsgTemplateEnum template, Object... args) {
+            violations++;
+            handler.onViolation(fieldOffset, line, template, args);
+            return false;
+        }
+
+        private static int indexOf(ByteBuffer buf, byte target, int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (target == buf.get(i)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean isSpace(byte b) {
+            return ' ' == b || '\t' == b || '\r' == b;
+        }
+
+        private static int skipSpace(ByteBuffer buf, int from, int to) {
+            int i = from;
+            while (i < to && isSpace(buf.get(i))) {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * @return 字符串结束引号的位置;未闭合时返回-1
+         */
+        private static int skipString(ByteBuffer buf, int from, int to) {
+            for (int i = from; i < to; i++) {
+                byte b = buf.get(i);
+                if ('\\' == b) {
+                    i++;
+                } else if ('"' == b) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return 对象或数组结束括号之后的位置;未闭合时返回-1
+         */
+        private static int skipNested(ByteBuffer buf, int from, int to) {
+            int depth = 0;
+            for (int i = from; i < to; i++) {
+                byte b = buf.get(i);
+                if ('"' == b) {
+                    i = skipString(buf, i + 1, to);
+                    if (i < 0) {
+                        return -1;
+                    }
+                } else if ('{' == b || '[' == b) {
+                    depth++;
+                } else if (('}' == b || ']' == b) && 0 == --depth) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * 字节切片的字符视图;每个字节即一个字符,仅用于纯ASCII字段
+     */
+    private static final class ByteSlice implements CharSequence {
+
+        private ByteBuffer buffer;
+
+        private int offset;
+
+        private int length;
+
+        private ByteSlice wrap(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+            }
+            return (char) buffer.get(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length);
+            }
+            return new ByteSlice().wrap(buffer, offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buffer.get(offset + i);
+            }
+            return new String(bytes, StandardCharsets.US_ASCII);
+        }
+    }
+
+
+    /**
+     * 字段规则
+     * <br>取值为null表示字段缺失或为空
+     */
+    private abstract static class FieldRule {
+
+        final int slot;
+
+        final String targetName;
+
+        final boolean required;
+
+        FieldRule(int slot, String targetName, boolean required) {
+            this.slot = slot;
+            this.targetName = targetName;
+            this.required = required;
+        }
+
+        abstract boolean check(CharSequence value, Context context);
+
+        boolean absent(Context context) {
+            return !required || context.reject(MUST_NOT_NULL_OR_EMPTY, targetName);
+        }
+    }
+
+    private static final class HasTextRule extends FieldRule {
+        HasTextRule(int slot, String targetName) {
+            super(slot, targetName, true);
+        }
+
+        @Override
+        boolean check(CharSequence value, Context context) {
+            return Validator.InnerMethod.hasText(value) || absent(context);
+        }
+    }
+
+    private static final class SizeRule extends FieldRule {
+        private final int minSize;
+        private final int maxSize;
+        private final String lengthName;
+
+        SizeRule(int slot, String targetName, boolean required, int minSize, int maxSize, String lengthName) {
+            super(slot, targetName, required);
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.lengthName = lengthName;
+        }
+
+        @Override
+        boolean check(CharSequence value, Context context) {
+            if (!Validator.InnerMethod.hasText(value)) {
+                return absent(context);
+            }
+            int length = value.length();
+            return (length >= minSize && length <= maxSize) || context.reject(MUST_BETWEEN, lengthName, minSize, maxSize);
+        }
+    }
+
+    private static final class PatternRule extends FieldRule {
+        private final Pattern pattern;
+        private final String patternName;
+        private final int matcherIndex;
+
+        PatternRule(int slot, String targetName, boolean required, Pattern pattern, String patternName, int matcherIndex) {
+            super(slot, targetName, required);
+            this.pattern = pattern;
+            this.patternName = patternName;
+            this.matcherIndex = matcherIndex;
+        }
+
+        @Override
+        boolean check(CharSequence value, Context context) {
+            if (!Validator.InnerMethod.hasText(value)) {
+                return absent(context);
+            }
+            return context.matchers[matcherIndex].reset(value).matches()
+                    || context.reject(MUST_MATCH_PATTERN, value.toString(), patternName);
+        }
+    }
+
+    private static final class FormatRule extends FieldRule {
+        private final boolean telephone;
+        private final String formatName;
+
+        FormatRule(int slot, String targetName, boolean required, boolean telephone, String formatName) {
+            super(slot, targetName, required);
+            this.telephone = telephone;
+            this.formatName = formatName;
+        }
+
+        @Override
+        boolean check(CharSequence value, Context context) {
+            if (!Validator.InnerMethod.hasText(value)) {
+                return absent(context);
+            }
+            boolean matched = telephone ? FormatMatcher.isTelePhone(value) : FormatMatcher.isEmail(value);
+            return matched || context.reject(MUST_MATCH_PATTERN, value.toString(), formatName);
+        }
+    }
+
+    private static final class LongBetweenRule extends FieldRule {
+        private final long min;
+        private final long max;
+
+        LongBetweenRule(int slot, String targetName, boolean required, long min, long max) {
+            super(slot, targetName, required);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean check(CharSequence value, Context context) {
+            if (!Validator.InnerMethod.hasText(value)) {
+                return absent(context);
+            }
+            int length = value.length();
+            boolean negative = '-' == value.charAt(0);
+            int i = negative || '+' == value.charAt(0) ? 1 : 0;
+            if (i == length) {
+                return context.reject(MUST_MATCH_PATTERN, targetName, "整数");
+            }
+            long number = 0;
+            for (; i < length; i++) {
+                int digit = value.charAt(i) - '0';
+                if (digit < 0 || digit > 9 || number < (Long.MIN_VALUE + digit) / 10) {
+                    return context.reject(MUST_MATCH_PATTERN, targetName, "整数");
+                }
+                number = number * 10 - digit;
+            }
+            if (!negative) {
+                if (Long.MIN_VALUE == number) {
+                    return context.reject(MUST_MATCH_PATTERN, targetName, "整数");
+                }
+                number = -number;
+            }
+            return (number >= min && number <= max) || context.reject(MUST_BETWEEN, targetName, min, max);
+        }
+    }
+
+    private static final class DoubleBetweenRule extends FieldRule {
+        private final double min;
+        private final double max;
+
+        DoubleBetweenRule(int slot, String targetName, boolean required, double min, double max) {
+            super(slot, targetName, required);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean check(CharSequence value, Context context) {
+            if (!Validator.InnerMethod.hasText(value)) {
+                return absent(context);
+            }
+            double number;
+            try {
+                number = Double.parseDouble(value.toString());
+            } catch (NumberFormatException e) {
+                return context.reject(MUST_MATCH_PATTERN, targetName, "数值");
+            }
+            return (number >= min && number <= max) || context.reject(MUST_BETWEEN, targetName, min, max);
+        }
+    }
+
+    private static final class DateBetweenRule extends FieldRule {
+        private final LocalDate start;
+        private final LocalDate end;
+        private final DateTimeFormatter formatter;
+        private final String dateFormat;
+        private final String startText;
+        private final String endText;
+
+        DateBetweenRule(int slot, String targetName, boolean required, LocalDate start, LocalDate end,
+                        DateTimeFormatter formatter, String dateFormat) {
+            super(slot, targetName, required);
+            this.start = start;
+            this.end = end;
+            this.formatter = formatter;
+            this.dateFormat = dateFormat;
+            this.startText = formatter.format(start);
+            this.endText = formatter.format(end);
+        }
+
+        @Override
+        boolean check(CharSequence value, Context context) {
+            if (!Validator.InnerMethod.hasText(value)) {
+                return absent(context);
+            }
+            LocalDate date;
+            try {
+                date = formatter.parse(value, LocalDate::from);
+            } catch (DateTimeParseException e) {
+                return context.reject(MUST_MATCH_PATTERN, targetName, dateFormat);
+            }
+            return (!date.isBefore(start) && !date.isAfter(end)) || context.reject(MUST_BETWEEN, targetName, startText, endText);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package goal.henwy.commonutil.validator;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8字节上的文本判断
+ * <br>供{@link Validator}中以Utf8结尾的方法使用,直接在字节上完成判断,不解码为字符串,通过路径上没有分配
+ * <br>数组与缓冲区都以[from, to)表示范围;缓冲区使用绝对位置读取,不改变position/limit
+ * <br>工具类 不可实例化
+ *
+ * @author HenwyGoal
+ */
+final class Utf8Bytes {
+
+    /**
+     * 以单字节为字符的复用视图;邮箱、手机号只由ASCII字符组成,非ASCII字节映射为不属于任何格式字符的值,
+     * 因此在视图上匹配与在解码结果上匹配结论一致
+     */
+    private static final ThreadLocal<ByteView> VIEW = ThreadLocal.withInitial(ByteView::new);
+
+    private Utf8Bytes() {
+    }
+
+    /**
+     * 是否含有非空白字符;空白与{@link Character#isWhitespace(int)}一致,非ASCII字符按码点判断
+     */
+    static boolean hasText(byte[] target, int from, int to) {
+        for (int i = from; i < to; ) {
+            int b = target[i];
+            if (b >= 0) {
+                if (!Character.isWhitespace(b)) {
+                    return true;
+                }
+                i++;
+                continue;
+            }
+            int width = width(b);
+            if (i + width > to || !Character.isWhitespace(codePoint(target, i, width))) {
+                return true;
+            }
+            i += width;
+        }
+        return false;
+    }
+
+    static boolean hasText(ByteBuffer target, int from, int to) {
+        for (int i = from; i < to; ) {
+            int b = target.get(i);
+            if (b >= 0) {
+                if (!Character.isWhitespace(b)) {
+                    return true;
+                }
+                i++;
+                continue;
+            }
+            int width = width(b);
+            if (i + width > to || !Character.isWhitespace(codePoint(target, i, width))) {
+                return true;
+            }
+            i += width;
+        }
+        return false;
+    }
+
+    /**
+     * 码点数量;即非后续字节(10xxxxxx以外)的个数
+     */
+    static int codePointCount(byte[] target, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if ((target[i] & 0xC0) != 0x80) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    static int codePointCount(ByteBuffer target, int from, int to) {
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if ((target.get(i) & 0xC0) != 0x80) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 是否包含item的字节序列;UTF-8自同步,合法编码下字节匹配等价于字符匹配
+     */
+    static boolean contains(byte[] target, int from, int to, byte[] item) {
+        if (0 == item.length) {
+            return true;
+        }
+        byte first = item[0];
+        for (int i = from, last = to - item.length; i <= last; i++) {
+            if (target[i] != first) {
+                continue;
+            }
+            int k = 1;
+            while (k < item.length && target[i + k] == item[k]) {
+                k++;
+            }
+            if (k == item.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean contains(ByteBuffer target, int from, int to, byte[] item) {
+        if (0 == item.length) {
+            return true;
+        }
+        byte first = item[0];
+        for (int i = from, last = to - item.length; i <= last; i++) {
+            if (target.get(i) != first) {
+                continue;
+            }
+            int k = 1;
+            while (k < item.length && target.get(i + k) == item[k]) {
+                k++;
+            }
+            if (k == item.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean isEmail(byte[] target, int from, int to) {
+        ByteView view = VIEW.get().wrap(target, null, from, to);
+        try {
+            return FormatMatcher.isEmail(view);
+        } finally {
+            view.clear();
+        }
+    }
+
+    static boolean isEmail(ByteBuffer target, int from, int to) {
+        ByteView view = VIEW.get().wrap(null, target, from, to);
+        try {
+            return FormatMatcher.isEmail(view);
+        } finally {
+            view.clear();
+        }
+    }
+
+    static boolean isTelePhone(byte[] target, int from, int to) {
+        ByteView view = VIEW.get().wrap(target, null, from, to);
+        try {
+            return FormatMatcher.isTelePhone(view);
+        } finally {
+            view.clear();
+        }
+    }
+
+    static boolean isTelePhone(ByteBuffer target, int from, int to) {
+        ByteView view = VIEW.get().wrap(null, target, from, to);
+        try {
+            return FormatMatcher.isTelePhone(view);
+        } finally {
+            view.clear();
+        }
+    }
+
+    /**
+     * 解码为字符串;只在拼装异常信息时使用
+     */
+    static String toString(byte[] target, int from, int to) {
+        return new String(target, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    static String toString(ByteBuffer target, int from, int to) {
+        ByteBuffer slice = target.duplicate();
+        slice.limit(to).position(from);
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+
+    /**
+     * 首字节对应的编码长度;非法首字节按1处理
+     */
+    private static int width(int lead) {
+        int b = lead & 0xFF;
+        if (b >= 0xF0 && b < 0xF8) {
+            return 4;
+        }
+        if (b >= 0xE0) {
+            return b < 0xF0 ? 3 : 1;
+        }
+        return b >= 0xC0 ? 2 : 1;
+    }
+
+    private static int codePoint(byte[] target, int i, int width) {
+        int lead = target[i] & 0xFF;
+        if (1 == width) {
+            return lead;
+        }
+        int cp = lead & (0x7F >> width);
+        for (int k = 1; k < width; k++) {
+            cp = cp << 6 | (target[i + k] & 0x3F);
+        }
+        return cp;
+    }
+
+    private static int codePoint(ByteBuffer target, int i, int width) {
+        int lead = target.get(i) & 0xFF;
+        if (1 == width) {
+            return lead;
+        }
+        int cp = lead & (0x7F >> width);
+        for (int k = 1; k < width; k++) {
+            cp = cp << 6 | (target.get(i + k) & 0x3F);
+        }
+        return cp;
+    }
+
+
+    private static final class ByteView implements CharSequence {
+
+        private byte[] array;
+
+        private ByteBuffer buffer;
+
+        private int from;
+
+        private int length;
+
+        private ByteView wrap(byte[] array, ByteBuffer buffer, int from, int to) {
+            this.array = array;
+            this.buffer = buffer;
+            this.from = from;
+            this.length = to - from;
+            return this;
+        }
+
+        /**
+         * 不持有调用方的数据,避免线程内长期引用大缓冲区
+         */
+        private void clear() {
+            this.array = null;
+            this.buffer = null;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Length: " + length);
+            }
+            return (char) ((null != array ? array[from + index] : buffer.get(from + index)) & 0xFF);
+        }
+
+        /**
+         * 视图随调用复用,返回复制出的String,调用结束后仍可使用
+         */
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length || start > end) {
+                throw new IndexOutOfBoundsException("Start: " + start + ", End: " + end + ", Length: " + length);
+            }
+            char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = charAt(start + i);
+            }
+            return new String(chars);
+        }
+    }
+}
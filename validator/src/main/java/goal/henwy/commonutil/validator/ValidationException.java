@@ -0,0 +1,79 @@
+package goal.henwy.commonutil.validator;
+
+/**
+ * 校验异常
+ * <br>由{@link ExMsgTemplateEnum#ex(Object...)}构造;持有异常信息模板与模板参数
+ * <br>异常信息仅在首次调用{@link #getMessage()}时渲染,未读取信息的失败不承担格式化开销
+ * <br>默认不采集调用栈;调试时可通过系统属性
+ * <b>{@value #STACK_TRACE_PROPERTY}=true</b>重新开启
+ * <br>非最终类;业务可继承以细分异常类型
+ *
+ * @author HenwyGoal
+ */
+public class ValidationException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 开启调用栈采集的系统属性名
+     */
+    public static final String STACK_TRACE_PROPERTY = "goal.henwy.commonutil.validator.stackTrace";
+
+    private static final boolean STACK_TRACE_ENABLED = Boolean.getBoolean(STACK_TRACE_PROPERTY);
+
+    private final ExMsgTemplateEnum template;
+
+    private final Object[] args;
+
+    private transient volatile String message;
+
+    public ValidationException(ExMsgTemplateEnum template, Object... args) {
+        this(template, STACK_TRACE_ENABLED, args);
+    }
+
+    protected ValidationException(ExMsgTemplateEnum template, boolean writableStackTrace, Object... args) {
+        super(null, null, false, writableStackTrace);
+        this.template = template;
+        this.args = args;
+    }
+
+    public ExMsgTemplateEnum getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return 模板的稳定错误码;无需渲染异常信息
+     */
+    public int getCode() {
+        return template.code();
+    }
+
+    /**
+     * @return 模板参数;为避免复制直接返回内部数组,调用方不应修改
+     */
+    public Object[] getArgs() {
+        return args;
+    }
+
+    @Override
+    public String getMessage() {
+        String msg = message;
+        if (null == msg) {
+            msg = template.errMsg(args);
+            message = msg;
+        }
+        return msg;
+    }
+
+    /**
+     * 将异常信息渲染到调用方提供的StringBuilder中;已渲染过时直接追加缓存的信息
+     */
+    public StringBuilder appendMessage(StringBuilder out) {
+        String msg = message;
+        return null == msg ? template.appendMsg(out, args) : out.append(msg);
+    }
+
+    public static boolean isStackTraceEnabled() {
+        return STACK_TRACE_ENABLED;
+    }
+}
@@ -0,0 +1,407 @@
+package goal.henwy.commonutil.validator;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 校验指标
+ * <br>按规则(异常信息模板)与目标名称统计{@link Validator}的通过/不通过次数,按模板统计异常构造次数,
+ * 并按名称记录抽样的校验耗时直方图
+ * <br>通过系统属性<b>{@value #ENABLED_PROPERTY}=true</b>开启;开关为静态常量,关闭时埋点分支被JIT折叠,不产生任何开销
+ * <br>计数器使用{@link LongAdder},多线程下无竞争热点;每个规则下的目标名称数量有上限
+ * (系统属性{@value #MAX_TARGETS_PROPERTY},默认{@value #DEFAULT_MAX_TARGETS}),超出部分合并计入"*"
+ * <br>耗时每{@value #SAMPLE_RATE_PROPERTY}(默认{@value #DEFAULT_SAMPLE_RATE})次抽样一次,按2的幂分桶,单位纳秒
+ * <br>开启时注册JMX对象<b>{@value #OBJECT_NAME}</b>;也可通过{@link #snapshot()}直接读取
+ * <br>工具类 不可实例化
+ *
+ * @author HenwyGoal
+ */
+public final class ValidationMetrics {
+
+    /**
+     * 开启指标的系统属性名
+     */
+    public static final String ENABLED_PROPERTY = "goal.henwy.commonutil.validator.metrics";
+
+    public static final String SAMPLE_RATE_PROPERTY = "goal.henwy.commonutil.validator.metrics.sampleRate";
+
+    public static final String MAX_TARGETS_PROPERTY = "goal.henwy.commonutil.validator.metrics.maxTargets";
+
+    public static final String OBJECT_NAME = "goal.henwy.commonutil.validator:type=ValidationMetrics";
+
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * {@link #startSample()}未抽中时的返回值
+     */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    static final String OVERFLOW_TARGET = "*";
+
+    private static final int DEFAULT_SAMPLE_RATE = 64;
+
+    private static final int DEFAULT_MAX_TARGETS = 1024;
+
+    private static final int SAMPLE_RATE = Math.max(1, Integer.getInteger(SAMPLE_RATE_PROPERTY, DEFAULT_SAMPLE_RATE));
+
+    private static final int MAX_TARGETS = Math.max(1, Integer.getInteger(MAX_TARGETS_PROPERTY, DEFAULT_MAX_TARGETS));
+
+    private static final ExMsgTemplateEnum[] TEMPLATES = ExMsgTemplateEnum.values();
+
+    /**
+     * 按模板序号索引,每个模板下按目标名称计数
+     */
+    @SuppressWarnings("unchecked")
+    private static final ConcurrentMap<String, RuleCounter>[] RULES = new ConcurrentMap[TEMPLATES.length];
+
+    private static final LongAdder[] EXCEPTIONS = new LongAdder[TEMPLATES.length];
+
+    private static final ConcurrentMap<String, Histogram> LATENCIES = new ConcurrentHashMap<>();
+
+    static {
+        for (int i = 0; i < TEMPLATES.length; i++) {
+            RULES[i] = new ConcurrentHashMap<>();
+            EXCEPTIONS[i] = new LongAdder();
+        }
+        if (ENABLED) {
+            register();
+        }
+    }
+
+    private ValidationMetrics() {
+    }
+
+    static void pass(ExMsgTemplateEnum rule, String targetName) {
+        counter(rule, targetName).passes.increment();
+    }
+
+    static void fail(ExMsgTemplateEnum rule, String targetName) {
+        counter(rule, targetName).failures.increment();
+    }
+
+    static void exception(ExMsgTemplateEnum template) {
+        EXCEPTIONS[template.ordinal()].increment();
+    }
+
+    /**
+     * 开始一次可能被抽样的计时
+     * <br>指标关闭或未抽中时返回{@link #NOT_SAMPLED},否则返回当前纳秒时间
+     */
+    public static long startSample() {
+        if (!ENABLED || (SAMPLE_RATE > 1 && 0 != ThreadLocalRandom.current().nextInt(SAMPLE_RATE))) {
+            return NOT_SAMPLED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * 结束计时并计入指定名称的直方图;start为{@link #NOT_SAMPLED}时无操作
+     */
+    public static void endSample(String name, long start) {
+        if (NOT_SAMPLED == start) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        Histogram histogram = LATENCIES.get(name);
+        if (null == histogram) {
+            histogram = LATENCIES.computeIfAbsent(name, k -> new Histogram());
+        }
+        histogram.record(elapsed);
+    }
+
+    public static Snapshot snapshot() {
+        List<RuleStat> rules = new ArrayList<>();
+        Map<ExMsgTemplateEnum, Long> exceptions = new EnumMap<>(ExMsgTemplateEnum.class);
+        for (int i = 0; i < TEMPLATES.length; i++) {
+            for (Map.Entry<String, RuleCounter> entry : RULES[i].entrySet()) {
+                rules.add(new RuleStat(TEMPLATES[i], entry.getKey(),
+                        entry.getValue().passes.sum(), entry.getValue().failures.sum()));
+            }
+            long count = EXCEPTIONS[i].sum();
+            if (0 != count) {
+                exceptions.put(TEMPLATES[i], count);
+            }
+        }
+        Map<String, LatencyStat> latencies = new LinkedHashMap<>();
+        for (Map.Entry<String, Histogram> entry : LATENCIES.entrySet()) {
+            latencies.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return new Snapshot(rules, exceptions, latencies);
+    }
+
+    /**
+     * 清空全部指标
+     */
+    public static void reset() {
+        for (int i = 0; i < TEMPLATES.length; i++) {
+            RULES[i].clear();
+            EXCEPTIONS[i].reset();
+        }
+        LATENCIES.clear();
+    }
+
+    private static RuleCounter counter(ExMsgTemplateEnum rule, String targetName) {
+        ConcurrentMap<String, RuleCounter> counters = RULES[rule.ordinal()];
+        String key = null == targetName ? "null" : targetName;
+        RuleCounter counter = counters.get(key);
+        if (null == counter) {
+            if (counters.size() >= MAX_TARGETS) {
+                key = OVERFLOW_TARGET;
+            }
+            counter = counters.computeIfAbsent(key, k -> new RuleCounter());
+        }
+        return counter;
+    }
+
+    private static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(new Jmx(), ValidationMetricsMXBean.class, true), new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // 重复注册或运行环境禁止JMX时仍可通过snapshot()读取
+        }
+    }
+
+
+    private static final class RuleCounter {
+        private final LongAdder passes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+
+    /**
+     * 以2的幂分桶的耗时直方图;第i个桶记录[2^(i-1), 2^i)纳秒的样本
+     */
+    private static final class Histogram {
+        private final LongAdder[] buckets = new LongAdder[Long.SIZE + 1];
+        private final LongAdder sum = new LongAdder();
+
+        private Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long nanos) {
+            long value = Math.max(0, nanos);
+            buckets[Long.SIZE - Long.numberOfLeadingZeros(value)].increment();
+            sum.add(value);
+        }
+
+        private LatencyStat snapshot() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return new LatencyStat(counts, sum.sum());
+        }
+    }
+
+    /**
+     * 单个规则在单个目标名称上的计数
+     */
+    public static final class RuleStat {
+        private final ExMsgTemplateEnum rule;
+        private final String targetName;
+        private final long passCount;
+        private final long failCount;
+
+        private RuleStat(ExMsgTemplateEnum rule, String targetName, long passCount, long failCount) {
+            this.rule = rule;
+            this.targetName = targetName;
+            this.passCount = passCount;
+            this.failCount = failCount;
+        }
+
+        public ExMsgTemplateEnum getRule() {
+            return rule;
+        }
+
+        public String getTargetName() {
+            return targetName;
+        }
+
+        public long getPassCount() {
+            return passCount;
+        }
+
+        public long getFailCount() {
+            return failCount;
+        }
+
+        @Override
+        public String toString() {
+            return rule + ":" + targetName + "[pass=" + passCount + ", fail=" + failCount + "]";
+        }
+    }
+
+    /**
+     * 抽样耗时统计;分位数取所在桶的上界,为估计值
+     */
+    public static final class LatencyStat {
+        private final long[] buckets;
+        private final long count;
+        private final long sumNanos;
+
+        private LatencyStat(long[] buckets, long sumNanos) {
+            this.buckets = buckets;
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            this.count = total;
+            this.sumNanos = sumNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanNanos() {
+            return 0 == count ? 0 : (double) sumNanos / count;
+        }
+
+        /**
+         * @param quantile 0到1之间,如0.99
+         */
+        public long getQuantileNanos(double quantile) {
+            if (0 == count) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                seen += buckets[i];
+                if (seen >= Math.max(1, rank)) {
+                    return 0 == i ? 0 : (i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        /**
+         * @return 各桶的样本数;第i个桶为[2^(i-1), 2^i)纳秒
+         */
+        public long[] getBuckets() {
+            return buckets.clone();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, mean=%.0fns, p50=%dns, p99=%dns",
+                    count, getMeanNanos(), getQuantileNanos(0.5), getQuantileNanos(0.99));
+        }
+    }
+
+    /**
+     * 指标快照;构建后不可变
+     */
+    public static final class Snapshot {
+        private final List<RuleStat> rules;
+        private final Map<ExMsgTemplateEnum, Long> exceptions;
+        private final Map<String, LatencyStat> latencies;
+
+        private Snapshot(List<RuleStat> rules, Map<ExMsgTemplateEnum, Long> exceptions, Map<String, LatencyStat> latencies) {
+            this.rules = Collections.unmodifiableList(rules);
+            this.exceptions = Collections.unmodifiableMap(exceptions);
+            this.latencies = Collections.unmodifiableMap(latencies);
+        }
+
+        public List<RuleStat> getRules() {
+            return rules;
+        }
+
+        public RuleStat getRule(ExMsgTemplateEnum rule, String targetName) {
+            for (RuleStat stat : rules) {
+                if (stat.rule == rule && stat.targetName.equals(targetName)) {
+                    return stat;
+                }
+            }
+            return null;
+        }
+
+        public Map<ExMsgTemplateEnum, Long> getExceptions() {
+            return exceptions;
+        }
+
+        public Map<String, LatencyStat> getLatencies() {
+            return latencies;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot[rules=" + rules + ", exceptions=" + exceptions + ", latencies=" + latencies + "]";
+        }
+    }
+
+    /**
+     * JMX视图;键为"模板名:目标名称"
+     */
+    public interface ValidationMetricsMXBean {
+
+        Map<String, Long> getPassCounts();
+
+        Map<String, Long> getFailCounts();
+
+        Map<String, Long> getExceptionCounts();
+
+        Map<String, String> getLatencies();
+
+        void reset();
+    }
+
+    private static final class Jmx implements ValidationMetricsMXBean {
+
+        @Override
+        public Map<String, Long> getPassCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (RuleStat stat : snapshot().rules) {
+                counts.put(stat.rule + ":" + stat.targetName, stat.passCount);
+            }
+            return counts;
+        }
+
+        @Override
+        public Map<String, Long> getFailCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (RuleStat stat : snapshot().rules) {
+                counts.put(stat.rule + ":" + stat.targetName, stat.failCount);
+            }
+            return counts;
+        }
+
+        @Override
+        public Map<String, Long> getExceptionCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (Map.Entry<ExMsgTemplateEnum, Long> entry : snapshot().exceptions.entrySet()) {
+                counts.put(entry.getKey().name(), entry.getValue());
+            }
+            return counts;
+        }
+
+        @Override
+        public Map<String, String> getLatencies() {
+            Map<String, String> latencies = new LinkedHashMap<>();
+            for (Map.Entry<String, LatencyStat> entry : snapshot().latencies.entrySet()) {
+                latencies.put(entry.getKey(), entry.getValue().toString());
+            }
+            return latencies;
+        }
+
+        @Override
+        public void reset() {
+            ValidationMetrics.reset();
+        }
+    }
+}
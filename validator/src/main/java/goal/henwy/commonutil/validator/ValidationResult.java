@@ -0,0 +1,150 @@
+package goal.henwy.commonutil.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 校验结果
+ * <br>按发生顺序记录全部违规项(异常信息模板 + 模板参数);不构造异常,也不渲染异常信息
+ * <br>内部以两个平行数组存储;校验全部通过时不产生任何分配
+ * <br>可复用:调用{@link #reset()}后即可用于下一次请求,适合放入对象池或ThreadLocal
+ * <br><b>非线程安全</b>
+ *
+ * @author HenwyGoal
+ */
+public final class ValidationResult {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private ExMsgTemplateEnum[] templates;
+
+    private Object[][] args;
+
+    private int size;
+
+    public ValidationResult() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ValidationResult(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.templates = new ExMsgTemplateEnum[capacity];
+        this.args = new Object[capacity][];
+    }
+
+    void add(ExMsgTemplateEnum template, Object... elements) {
+        if (size == templates.length) {
+            int capacity = size << 1;
+            templates = Arrays.copyOf(templates, capacity);
+            args = Arrays.copyOf(args, capacity);
+        }
+        templates[size] = template;
+        args[size] = elements;
+        size++;
+    }
+
+    /**
+     * 按顺序追加另一结果中的全部违规项;用于合并分块校验的结果
+     */
+    void addAll(ValidationResult other) {
+        int required = size + other.size;
+        if (required > templates.length) {
+            int capacity = Math.max(required, size << 1);
+            templates = Arrays.copyOf(templates, capacity);
+            args = Arrays.copyOf(args, capacity);
+        }
+        System.arraycopy(other.templates, 0, templates, size, other.size);
+        System.arraycopy(other.args, 0, args, size, other.size);
+        size = required;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isValid() {
+        return 0 == size;
+    }
+
+    public ExMsgTemplateEnum getTemplate(int index) {
+        checkIndex(index);
+        return templates[index];
+    }
+
+    /**
+     * @return 模板的稳定错误码;无需渲染异常信息
+     */
+    public int getCode(int index) {
+        checkIndex(index);
+        return templates[index].code();
+    }
+
+    /**
+     * @return 模板参数;为避免复制直接返回内部数组,调用方不应修改
+     */
+    public Object[] getArgs(int index) {
+        checkIndex(index);
+        return args[index];
+    }
+
+    public String getMessage(int index) {
+        checkIndex(index);
+        return templates[index].errMsg(args[index]);
+    }
+
+    /**
+     * 将第index个违规项的异常信息渲染到调用方提供的StringBuilder中
+     */
+    public StringBuilder appendMessage(int index, StringBuilder out) {
+        checkIndex(index);
+        return templates[index].appendMsg(out, args[index]);
+    }
+
+    public List<String> getMessages() {
+        if (0 == size) {
+            return Collections.emptyList();
+        }
+        List<String> messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add(templates[i].errMsg(args[i]));
+        }
+        return messages;
+    }
+
+    public ValidationException toException(int index) {
+        checkIndex(index);
+        return templates[index].ex(args[index]);
+    }
+
+    /**
+     * 存在违规项时抛出第一个违规项对应的异常;与快速失败模式的行为保持一致
+     */
+    public void throwIfInvalid() {
+        if (0 != size) {
+            throw toException(0);
+        }
+    }
+
+    /**
+     * 清空结果以便复用;保留已扩容的内部数组
+     */
+    public ValidationResult reset() {
+        Arrays.fill(templates, 0, size, null);
+        Arrays.fill(args, 0, size, null);
+        size = 0;
+        return this;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationResult" + getMessages();
+    }
+}
@@ -0,0 +1,858 @@
+package goal.henwy.commonutil.validator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import static goal.henwy.commonutil.validator.ExMsgTemplateEnum.*;
+
+/**
+ * 校验方案
+ * <br>针对同一类型对象的预编译校验规则集合;规则参数(取值范围、格式、长度等)仅在构建时校验一次
+ * <br>正则在构建时编译,日期边界在构建时格式化,长度名称在构建时拼接;执行期不再有任何准备工作
+ * <br>构建完成后规则不可变,<b>线程安全</b>;建议作为静态常量按类型复用
+ * <br>快速失败校验可通过{@link Builder#ordering(Ordering)}按代价或运行期失败率调整规则执行顺序,报告的违规项与声明顺序一致
+ * <br>校验语义与{@link Validator}中同名方法保持一致
+ * <pre>
+ * private static final ValidationSchema&lt;Order&gt; ORDER_SCHEMA = ValidationSchema.&lt;Order&gt;builder()
+ *         .notNull(Order::getId, "订单号")
+ *         .between(Order::getAmount, "金额", 0, 100000)
+ *         .matchPattern(Order::getPhone, "手机号", "^\\d{11}$", "手机号")
+ *         .build();
+ * ORDER_SCHEMA.validate(order);
+ * </pre>
+ *
+ * @param <T> 被校验对象类型
+ * @author HenwyGoal
+ */
+public final class ValidationSchema<T> {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    /**
+     * 自适应排序时每2^n次快速失败校验抽样一次
+     */
+    private static final int SAMPLE_MASK = 15;
+
+    /**
+     * 自适应排序时每累计多少次抽样重新排序一次
+     */
+    private static final int REPLAN_SAMPLES = 256;
+
+    /**
+     * 失败率的先验值;避免从未失败的规则代价被无限放大
+     */
+    private static final double FAILURE_PRIOR = 0.01;
+
+    private final Rule<T>[] rules;
+
+    private final String metricName;
+
+    /**
+     * 快速失败时的执行顺序,元素为规则的声明下标;按声明顺序执行时为null
+     */
+    private volatile int[] plan;
+
+    private final AtomicLongArray executions;
+
+    private final AtomicLongArray failures;
+
+    private final AtomicInteger samples;
+
+    private ValidationSchema(Rule<T>[] rules, String metricName, Ordering ordering) {
+        this.rules = rules;
+        this.metricName = metricName;
+        this.plan = Ordering.DECLARED == ordering ? null : costPlan(rules);
+        boolean adaptive = Ordering.ADAPTIVE == ordering;
+        this.executions = adaptive ? new AtomicLongArray(rules.length) : null;
+        this.failures = adaptive ? new AtomicLongArray(rules.length) : null;
+        this.samples = adaptive ? new AtomicInteger() : null;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 快速失败校验;遇到首个违规项即抛出{@link ValidationException}
+     */
+    public void validate(T target) {
+        VALIDATOR.notNull(target, "校验对象");
+        long start = ValidationMetrics.startSample();
+        try {
+            int[] order = plan;
+            if (null == order) {
+                for (Rule<T> rule : rules) {
+                    rule.check(target, null);
+                }
+            } else {
+                validateOrdered(target, order);
+            }
+        } finally {
+            ValidationMetrics.endSample(metricName, start);
+        }
+    }
+
+    /**
+     * 收集式校验;执行全部规则并将违规项写入结果对象
+     * <br>全部规则都会执行,因此始终按声明顺序执行,违规项顺序不受{@link Ordering}影响
+     *
+     * @return 传入的结果对象
+     */
+    public ValidationResult validate(T target, ValidationResult result) {
+        VALIDATOR.notNull(result, "校验结果");
+        if (null == target) {
+            result.add(MUST_NOT_NULL_OR_EMPTY, "校验对象");
+            return result;
+        }
+        long start = ValidationMetrics.startSample();
+        try {
+            for (Rule<T> rule : rules) {
+                rule.check(target, result);
+            }
+        } finally {
+            ValidationMetrics.endSample(metricName, start);
+        }
+        return result;
+    }
+
+    public int ruleCount() {
+        return rules.length;
+    }
+
+    /**
+     * 当前快速失败执行顺序下各规则的校验目标名称;用于观察排序结果
+     */
+    public List<String> executionOrder() {
+        int[] order = plan;
+        List<String> names = new ArrayList<>(rules.length);
+        for (int i = 0; i < rules.length; i++) {
+            names.add(rules[null == order ? i : order[i]].targetName);
+        }
+        return names;
+    }
+
+    /**
+     * 按执行顺序快速失败;抛出的始终是按声明顺序执行时会抛出的异常
+     */
+    private void validateOrdered(T target, int[] order) {
+        boolean sampled = null != samples && 0 == (ThreadLocalRandom.current().nextInt() & SAMPLE_MASK);
+        for (int p = 0; p < order.length; p++) {
+            try {
+                rules[order[p]].check(target, null);
+            } catch (ValidationException e) {
+                if (sampled) {
+                    record(order, p + 1, true);
+                }
+                throw firstDeclared(target, order, p, e);
+            } catch (RuntimeException e) {
+                // 规则依赖声明在前的规则先通过(如先判空再读取下级属性)时,提前执行可能抛出其他异常;此时按声明顺序重新执行
+                for (Rule<T> rule : rules) {
+                    rule.check(target, null);
+                }
+                throw e;
+            }
+        }
+        if (sampled) {
+            record(order, order.length, false);
+        }
+    }
+
+    /**
+     * 执行顺序中第p条规则不通过时,补充执行声明在其之前、但尚未执行的规则,返回声明顺序上最靠前的违规
+     */
+    private ValidationException firstDeclared(T target, int[] order, int p, ValidationException failure) {
+        int declared = order[p];
+        int[] skipped = new int[order.length - p - 1];
+        int count = 0;
+        for (int q = p + 1; q < order.length; q++) {
+            if (order[q] < declared) {
+                skipped[count++] = order[q];
+            }
+        }
+        Arrays.sort(skipped, 0, count);
+        for (int i = 0; i < count; i++) {
+            try {
+                rules[skipped[i]].check(target, null);
+            } catch (ValidationException e) {
+                return e;
+            }
+        }
+        return failure;
+    }
+
+    /**
+     * 记录一次抽样:执行顺序中前executed条规则被执行,failed时最后一条不通过
+     */
+    private void record(int[] order, int executed, boolean failed) {
+        for (int p = 0; p < executed; p++) {
+            executions.incrementAndGet(order[p]);
+        }
+        if (failed) {
+            failures.incrementAndGet(order[executed - 1]);
+        }
+        if (0 == samples.incrementAndGet() % REPLAN_SAMPLES) {
+            replan();
+        }
+    }
+
+    /**
+     * 按 代价 / 失败率 升序重新排序,使廉价且常失败的规则先执行;随后计数减半,使统计逐步反映近期数据
+     */
+    private void replan() {
+        double[] scores = new double[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            long executed = executions.get(i);
+            double rate = 0 == executed ? 0 : (double) failures.get(i) / executed;
+            scores[i] = rules[i].cost / (rate + FAILURE_PRIOR);
+            executions.set(i, executed >> 1);
+            failures.set(i, failures.get(i) >> 1);
+        }
+        plan = sortedPlan(scores);
+    }
+
+    private static int[] costPlan(Rule<?>[] rules) {
+        double[] scores = new double[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            scores[i] = rules[i].cost;
+        }
+        return sortedPlan(scores);
+    }
+
+    /**
+     * 按分数升序排列规则下标;分数相同时保持声明顺序
+     */
+    private static int[] sortedPlan(double[] scores) {
+        Integer[] indices = new Integer[scores.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        Arrays.sort(indices, (a, b) -> Double.compare(scores[a], scores[b]));
+        int[] order = new int[indices.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = indices[i];
+        }
+        return order;
+    }
+
+
+    /**
+     * 快速失败校验的规则执行顺序
+     * <br>规则之间须相互独立、取值函数无副作用;无论哪种顺序,{@link #validate(Object)}抛出的都是声明顺序上第一条不通过规则的异常:
+     * 某条规则不通过时,会补充执行声明在它之前但被排到后面的规则
+     */
+    public enum Ordering {
+        /**
+         * 按声明顺序执行;默认
+         */
+        DECLARED,
+        /**
+         * 按静态代价估计执行:判空与长度、数值与日期比较、包含、格式与关键词、正则;代价相同时按声明顺序
+         */
+        COST,
+        /**
+         * 以静态代价排序起步,运行期抽样统计各规则的失败率,定期按 代价 / 失败率 重新排序
+         */
+        ADAPTIVE
+    }
+
+
+    public static final class Builder<T> {
+
+        private final List<Rule<T>> rules = new ArrayList<>();
+
+        private String metricName = "ValidationSchema";
+
+        private Ordering ordering = Ordering.DECLARED;
+
+        private Builder() {
+        }
+
+        /**
+         * 指标名称;开启{@link ValidationMetrics}时抽样耗时按此名称汇总,默认"ValidationSchema"
+         */
+        public Builder<T> metricName(String metricName) {
+            this.metricName = name(metricName);
+            return this;
+        }
+
+        /**
+         * 快速失败校验的规则执行顺序,默认{@link Ordering#DECLARED}
+         */
+        public Builder<T> ordering(Ordering ordering) {
+            VALIDATOR.notNull(ordering, "执行顺序");
+            this.ordering = ordering;
+            return this;
+        }
+
+        public Builder<T> notNull(Function<? super T, ?> accessor, String targetName) {
+            return add(new NotNullRule<>(accessor(accessor), name(targetName)));
+        }
+
+        public Builder<T> hasText(Function<? super T, ? extends CharSequence> accessor, String targetName) {
+            return add(new HasTextRule<>(accessor(accessor), name(targetName)));
+        }
+
+        public Builder<T> between(Function<? super T, ? extends Number> accessor, String targetName,
+                                  Number min, Number max, boolean required) {
+            VALIDATOR.notNull(min, "最小值").notNull(max, "最大值")
+                    .isLegal(Validator.InnerMethod.compare(min, max) == Validator.InnerMethod.LESS, "最小值与最大值");
+            return add(new NumberBetweenRule<>(accessor(accessor), name(targetName), required, min, max));
+        }
+
+        public Builder<T> between(Function<? super T, ? extends Number> accessor, String targetName, Number min, Number max) {
+            return between(accessor, targetName, min, max, true);
+        }
+
+        public Builder<T> before(Function<? super T, ? extends Date> accessor, String targetName,
+                                 Date end, String dateFormat, boolean required) {
+            VALIDATOR.notNull(end, "最晚时间").hasText(dateFormat, "日期格式");
+            return add(new DateRangeRule<>(accessor(accessor), name(targetName), required, Long.MIN_VALUE, end.getTime(),
+                    MUST_BEFORE, Validator.InnerMethod.parseString(end, dateFormat)));
+        }
+
+        public Builder<T> before(Function<? super T, ? extends Date> accessor, String targetName, Date end, boolean required) {
+            return before(accessor, targetName, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+        }
+
+        public Builder<T> before(Function<? super T, ? extends Date> accessor, String targetName, Date end) {
+            return before(accessor, targetName, end, true);
+        }
+
+        public Builder<T> after(Function<? super T, ? extends Date> accessor, String targetName,
+                                Date start, String dateFormat, boolean required) {
+            VALIDATOR.notNull(start, "最早时间").hasText(dateFormat, "日期格式");
+            return add(new DateRangeRule<>(accessor(accessor), name(targetName), required, start.getTime(), Long.MAX_VALUE,
+                    MUST_AFTER, Validator.InnerMethod.parseString(start, dateFormat)));
+        }
+
+        public Builder<T> after(Function<? super T, ? extends Date> accessor, String targetName, Date start, boolean required) {
+            return after(accessor, targetName, start, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+        }
+
+        public Builder<T> after(Function<? super T, ? extends Date> accessor, String targetName, Date start) {
+            return after(accessor, targetName, start, true);
+        }
+
+        public Builder<T> between(Function<? super T, ? extends Date> accessor, String targetName,
+                                  Date start, Date end, String dateFormat, boolean required) {
+            VALIDATOR.notNull(start, "最早时间").notNull(end, "最晚时间").hasText(dateFormat, "日期格式")
+                    .isLegal(start.before(end), "最早时间与最晚时间关系");
+            return add(new DateRangeRule<>(accessor(accessor), name(targetName), required, start.getTime(), end.getTime(),
+                    MUST_BETWEEN, Validator.InnerMethod.parseString(start, dateFormat),
+                    Validator.InnerMethod.parseString(end, dateFormat)));
+        }
+
+        public Builder<T> between(Function<? super T, ? extends Date> accessor, String targetName,
+                                  Date start, Date end, boolean required) {
+            return between(accessor, targetName, start, end, Validator.InnerConstant.DEFAULT_DATE_FORMAT, required);
+        }
+
+        public Builder<T> between(Function<? super T, ? extends Date> accessor, String targetName, Date start, Date end) {
+            return between(accessor, targetName, start, end, true);
+        }
+
+        public Builder<T> matchPattern(Function<? super T, String> accessor, String targetName,
+                                       Pattern pattern, String patternName, boolean required) {
+            VALIDATOR.notNull(pattern, "格式").hasText(patternName, "格式名称");
+            return add(new PatternRule<>(accessor(accessor), name(targetName), required, pattern, patternName));
+        }
+
+        public Builder<T> matchPattern(Function<? super T, String> accessor, String targetName,
+                                       Pattern pattern, String patternName) {
+            return matchPattern(accessor, targetName, pattern, patternName, true);
+        }
+
+        public Builder<T> matchPattern(Function<? super T, String> accessor, String targetName,
+                                       String pattern, String patternName, boolean required) {
+            VALIDATOR.hasText(pattern, "格式");
+            return matchPattern(accessor, targetName, Pattern.compile(pattern), patternName, required);
+        }
+
+        public Builder<T> matchPattern(Function<? super T, String> accessor, String targetName,
+                                       String pattern, String patternName) {
+            return matchPattern(accessor, targetName, pattern, patternName, true);
+        }
+
+        public Builder<T> isEmail(Function<? super T, ? extends CharSequence> accessor, String targetName, boolean required) {
+            return add(new FormatRule<>(accessor(accessor), name(targetName), required, false, "邮箱"));
+        }
+
+        public Builder<T> isEmail(Function<? super T, ? extends CharSequence> accessor, String targetName) {
+            return isEmail(accessor, targetName, true);
+        }
+
+        public Builder<T> isTelePhone(Function<? super T, ? extends CharSequence> accessor, String targetName, boolean required) {
+            return add(new FormatRule<>(accessor(accessor), name(targetName), required, true, "手机号"));
+        }
+
+        public Builder<T> isTelePhone(Function<? super T, ? extends CharSequence> accessor, String targetName) {
+            return isTelePhone(accessor, targetName, true);
+        }
+
+        /**
+         * 文本长度校验;对应{@link Validator#size(String, String, Integer, Boolean)}
+         */
+        public Builder<T> size(Function<? super T, ? extends CharSequence> accessor, String targetName,
+                               Integer size, boolean required) {
+            String lengthName = name(targetName) + "文本标准长度";
+            VALIDATOR.notNull(size, lengthName).gtInt(size.intValue(), lengthName, 0);
+            return add(new TextSizeRule<>(accessor(accessor), targetName, required, size, size, MUST_EQUAL_NUMBER,
+                    new Object[]{lengthName, size}));
+        }
+
+        public Builder<T> size(Function<? super T, ? extends CharSequence> accessor, String targetName, Integer size) {
+            return size(accessor, targetName, size, true);
+        }
+
+        /**
+         * 文本长度范围校验;对应{@link Validator#size(String, String, Integer, Integer, Boolean)}
+         */
+        public Builder<T> size(Function<? super T, ? extends CharSequence> accessor, String targetName,
+                               Integer minSize, Integer maxSize, boolean required) {
+            String prefix = name(targetName) + "文本";
+            VALIDATOR.notNull(minSize, prefix + "最小长度").gtInt(minSize.intValue(), prefix + "最小长度", 0)
+                    .gt(maxSize, prefix + "最大长度", minSize);
+            return add(new TextSizeRule<>(accessor(accessor), targetName, required, minSize, maxSize, MUST_BETWEEN,
+                    new Object[]{prefix + "长度", minSize, maxSize}));
+        }
+
+        public Builder<T> size(Function<? super T, ? extends CharSequence> accessor, String targetName,
+                               Integer minSize, Integer maxSize) {
+            return size(accessor, targetName, minSize, maxSize, true);
+        }
+
+        /**
+         * 列表长度校验;对应{@link Validator#size(Collection, String, Integer, Boolean)}
+         */
+        public Builder<T> collectionSize(Function<? super T, ? extends Collection<?>> accessor, String targetName,
+                                         Integer size, boolean required) {
+            String lengthName = name(targetName) + "列表长度";
+            VALIDATOR.notNull(size, lengthName).gtInt(size.intValue(), lengthName, 0);
+            return add(new CollectionSizeRule<>(accessor(accessor), targetName, required, size, size, MUST_EQUAL_NUMBER,
+                    new Object[]{lengthName, size}));
+        }
+
+        public Builder<T> collectionSize(Function<? super T, ? extends Collection<?>> accessor, String targetName, Integer size) {
+            return collectionSize(accessor, targetName, size, true);
+        }
+
+        /**
+         * 列表长度范围校验;对应{@link Validator#size(Collection, String, Integer, Integer, Boolean)}
+         */
+        public Builder<T> collectionSize(Function<? super T, ? extends Collection<?>> accessor, String targetName,
+                                         Integer minSize, Integer maxSize, boolean required) {
+            String prefix = name(targetName) + "列表";
+            VALIDATOR.notNull(minSize, prefix + "最小长度").gtInt(minSize.intValue(), prefix + "最小长度", 0)
+                    .notNull(maxSize, prefix + "最大长度").gtInt(maxSize.intValue(), prefix + "最大长度", 0)
+                    .isLegal(minSize < maxSize, "最小值与最大值");
+            return add(new CollectionSizeRule<>(accessor(accessor), targetName, required, minSize, maxSize, MUST_BETWEEN,
+                    new Object[]{prefix + "长度", minSize, maxSize}));
+        }
+
+        public Builder<T> collectionSize(Function<? super T, ? extends Collection<?>> accessor, String targetName,
+                                         Integer minSize, Integer maxSize) {
+            return collectionSize(accessor, targetName, minSize, maxSize, true);
+        }
+
+        /**
+         * 文本包含校验;对应{@link Validator#contains(CharSequence, String, CharSequence, Boolean)}
+         */
+        public Builder<T> containsText(Function<? super T, ? extends CharSequence> accessor, String targetName,
+                                       CharSequence item, boolean required) {
+            VALIDATOR.hasText(item, "必要文本");
+            return add(new TextContainsRule<>(accessor(accessor), name(targetName), required, item.toString()));
+        }
+
+        public Builder<T> containsText(Function<? super T, ? extends CharSequence> accessor, String targetName, CharSequence item) {
+            return containsText(accessor, targetName, item, true);
+        }
+
+        /**
+         * 关键词黑名单校验;对应{@link Validator#notContains(CharSequence, String, KeywordBlocklist, Boolean)}
+         * <br>每次执行读取黑名单当前的匹配器,名单替换后无需重建方案;
+         * 快速失败时报告最先出现的关键词,收集式校验一次扫描报告全部出现的关键词
+         */
+        public Builder<T> notContainsKeywords(Function<? super T, ? extends CharSequence> accessor, String targetName,
+                                              KeywordBlocklist blocklist, boolean required) {
+            VALIDATOR.notNull(blocklist, "关键词黑名单");
+            return add(new KeywordRule<>(accessor(accessor), name(targetName), required, blocklist));
+        }
+
+        public Builder<T> notContainsKeywords(Function<? super T, ? extends CharSequence> accessor, String targetName,
+                                              KeywordBlocklist blocklist) {
+            return notContainsKeywords(accessor, targetName, blocklist, true);
+        }
+
+        /**
+         * 元素包含校验;对应{@link Validator#contains(Collection, String, Object, Boolean)}
+         */
+        public <E> Builder<T> contains(Function<? super T, ? extends Collection<? super E>> accessor, String targetName,
+                                       E item, boolean required) {
+            VALIDATOR.notNull(item, "必要元素");
+            return add(new CollectionContainsRule<>(accessor(accessor), name(targetName), required, item));
+        }
+
+        public <E> Builder<T> contains(Function<? super T, ? extends Collection<? super E>> accessor, String targetName, E item) {
+            return contains(accessor, targetName, item, true);
+        }
+
+        @SuppressWarnings("unchecked")
+        public ValidationSchema<T> build() {
+            return new ValidationSchema<>(rules.toArray(new Rule[0]), metricName, ordering);
+        }
+
+        private Builder<T> add(Rule<T> rule) {
+            rules.add(rule);
+            return this;
+        }
+
+        private static <A> A accessor(A accessor) {
+            VALIDATOR.notNull(accessor, "取值函数");
+            return accessor;
+        }
+
+        private static String name(String targetName) {
+            VALIDATOR.hasText(targetName, "校验目标名称");
+            return targetName;
+        }
+    }
+
+
+    /**
+     * 预编译规则
+     * <br>{@link #check(Object, ValidationResult)}通过返回true;
+     * 不通过时结果对象为null则抛出异常,否则记录违规项并返回false
+     */
+    abstract static class Rule<T> {
+
+        /**
+         * 静态代价估计:判空与长度 &lt; 数值与日期比较 &lt; 包含 &lt; 格式与关键词扫描 &lt; 正则
+         */
+        static final int COST_PRESENCE = 1;
+        static final int COST_SIZE = 1;
+        static final int COST_COMPARE = 2;
+        static final int COST_CONTAINS = 3;
+        static final int COST_FORMAT = 4;
+        static final int COST_PATTERN = 5;
+
+        final String targetName;
+
+        final boolean required;
+
+        final int cost;
+
+        Rule(String targetName, boolean required, int cost) {
+            this.targetName = targetName;
+            this.required = required;
+            this.cost = cost;
+        }
+
+        abstract boolean check(T target, ValidationResult result);
+
+        /**
+         * 快速失败时抛出异常并按规则的目标名称计入指标;收集式校验时记录违规项
+         */
+        boolean reject(ValidationResult result, ExMsgTemplateEnum template, Object... elements) {
+            if (null == result) {
+                throw Validator.failed(template, targetName, elements);
+            }
+            result.add(template, elements);
+            return false;
+        }
+
+        /**
+         * 空值处理:非必填时放行,必填时按为空处理
+         */
+        boolean absent(ValidationResult result) {
+            return !required || reject(result, MUST_NOT_NULL_OR_EMPTY, targetName);
+        }
+    }
+
+    private static final class NotNullRule<T> extends Rule<T> {
+        private final Function<? super T, ?> accessor;
+
+        NotNullRule(Function<? super T, ?> accessor, String targetName) {
+            super(targetName, true, COST_PRESENCE);
+            this.accessor = accessor;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            return null != accessor.apply(target) || absent(result);
+        }
+    }
+
+    private static final class HasTextRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends CharSequence> accessor;
+
+        HasTextRule(Function<? super T, ? extends CharSequence> accessor, String targetName) {
+            super(targetName, true, COST_PRESENCE);
+            this.accessor = accessor;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            return Validator.InnerMethod.hasText(accessor.apply(target)) || absent(result);
+        }
+    }
+
+    private static final class NumberBetweenRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends Number> accessor;
+        private final Number min;
+        private final Number max;
+
+        NumberBetweenRule(Function<? super T, ? extends Number> accessor, String targetName, boolean required,
+                          Number min, Number max) {
+            super(targetName, required, COST_COMPARE);
+            this.accessor = accessor;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            Number value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            return (Validator.InnerMethod.compare(value, min) != Validator.InnerMethod.LESS
+                    && Validator.InnerMethod.compare(value, max) != Validator.InnerMethod.GREATER)
+                    || reject(result, MUST_BETWEEN, targetName, min, max);
+        }
+    }
+
+    private static final class DateRangeRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends Date> accessor;
+        private final long start;
+        private final long end;
+        private final ExMsgTemplateEnum template;
+        private final Object[] boundTexts;
+
+        DateRangeRule(Function<? super T, ? extends Date> accessor, String targetName, boolean required,
+                      long start, long end, ExMsgTemplateEnum template, String... boundTexts) {
+            super(targetName, required, COST_COMPARE);
+            this.accessor = accessor;
+            this.start = start;
+            this.end = end;
+            this.template = template;
+            this.boundTexts = boundTexts;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            Date value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            long time = value.getTime();
+            if (time >= start && time <= end) {
+                return true;
+            }
+            Object[] elements = new Object[boundTexts.length + 1];
+            elements[0] = targetName;
+            System.arraycopy(boundTexts, 0, elements, 1, boundTexts.length);
+            return reject(result, template, elements);
+        }
+    }
+
+    private static final class PatternRule<T> extends Rule<T> {
+        private final Function<? super T, String> accessor;
+        private final Pattern pattern;
+        private final String patternName;
+
+        PatternRule(Function<? super T, String> accessor, String targetName, boolean required,
+                    Pattern pattern, String patternName) {
+            super(targetName, required, COST_PATTERN);
+            this.accessor = accessor;
+            this.pattern = pattern;
+            this.patternName = patternName;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            String value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            if (!Validator.InnerMethod.hasText(value)) {
+                return reject(result, MUST_NOT_NULL_OR_EMPTY, targetName);
+            }
+            return pattern.matcher(value).matches() || reject(result, MUST_MATCH_PATTERN, value, patternName);
+        }
+    }
+
+    private static final class FormatRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends CharSequence> accessor;
+        private final boolean telePhone;
+        private final String formatName;
+
+        FormatRule(Function<? super T, ? extends CharSequence> accessor, String targetName, boolean required,
+                   boolean telePhone, String formatName) {
+            super(targetName, required, COST_FORMAT);
+            this.accessor = accessor;
+            this.telePhone = telePhone;
+            this.formatName = formatName;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            CharSequence value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            if (!Validator.InnerMethod.hasText(value)) {
+                return reject(result, MUST_NOT_NULL_OR_EMPTY, targetName);
+            }
+            boolean matched = telePhone ? FormatMatcher.isTelePhone(value) : FormatMatcher.isEmail(value);
+            return matched || reject(result, MUST_MATCH_PATTERN, value.toString(), formatName);
+        }
+    }
+
+    private static final class TextSizeRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends CharSequence> accessor;
+        private final int minSize;
+        private final int maxSize;
+        private final ExMsgTemplateEnum template;
+        private final Object[] elements;
+
+        TextSizeRule(Function<? super T, ? extends CharSequence> accessor, String targetName, boolean required,
+                     int minSize, int maxSize, ExMsgTemplateEnum template, Object[] elements) {
+            super(targetName, required, COST_SIZE);
+            this.accessor = accessor;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.template = template;
+            this.elements = elements;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            CharSequence value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            if (!Validator.InnerMethod.hasText(value)) {
+                return reject(result, MUST_NOT_NULL_OR_EMPTY, targetName);
+            }
+            int length = value.length();
+            return (length >= minSize && length <= maxSize) || reject(result, template, elements.clone());
+        }
+    }
+
+    private static final class CollectionSizeRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends Collection<?>> accessor;
+        private final int minSize;
+        private final int maxSize;
+        private final ExMsgTemplateEnum template;
+        private final Object[] elements;
+
+        CollectionSizeRule(Function<? super T, ? extends Collection<?>> accessor, String targetName, boolean required,
+                           int minSize, int maxSize, ExMsgTemplateEnum template, Object[] elements) {
+            super(targetName, required, COST_SIZE);
+            this.accessor = accessor;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.template = template;
+            this.elements = elements;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            Collection<?> value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            if (value.isEmpty()) {
+                return reject(result, MUST_NOT_NULL_OR_EMPTY, targetName);
+            }
+            int size = value.size();
+            return (size >= minSize && size <= maxSize) || reject(result, template, elements.clone());
+        }
+    }
+
+    private static final class TextContainsRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends CharSequence> accessor;
+        private final String item;
+
+        TextContainsRule(Function<? super T, ? extends CharSequence> accessor, String targetName, boolean required,
+                         String item) {
+            super(targetName, required, COST_CONTAINS);
+            this.accessor = accessor;
+            this.item = item;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            CharSequence value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            if (!Validator.InnerMethod.hasText(value)) {
+                return reject(result, MUST_NOT_NULL_OR_EMPTY, targetName);
+            }
+            return Validator.InnerMethod.indexOf(value, item) >= 0 || reject(result, MUST_CONTAIN_TEXT, targetName, item);
+        }
+    }
+
+    private static final class KeywordRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends CharSequence> accessor;
+        private final KeywordBlocklist blocklist;
+
+        KeywordRule(Function<? super T, ? extends CharSequence> accessor, String targetName, boolean required,
+                    KeywordBlocklist blocklist) {
+            super(targetName, required, COST_FORMAT);
+            this.accessor = accessor;
+            this.blocklist = blocklist;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            CharSequence value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            if (!Validator.InnerMethod.hasText(value)) {
+                return reject(result, MUST_NOT_NULL_OR_EMPTY, targetName);
+            }
+            KeywordMatcher matcher = blocklist.matcher();
+            if (null == result) {
+                String found = matcher.find(value);
+                return null == found || reject(null, MUST_NOT_CONTAIN_TEXT, targetName, found);
+            }
+            List<String> found = matcher.findAll(value);
+            return found.isEmpty() || reject(result, MUST_NOT_CONTAIN_TEXT, targetName, String.join("、", found));
+        }
+    }
+
+    private static final class CollectionContainsRule<T> extends Rule<T> {
+        private final Function<? super T, ? extends Collection<?>> accessor;
+        private final Object item;
+
+        CollectionContainsRule(Function<? super T, ? extends Collection<?>> accessor, String targetName, boolean required,
+                               Object item) {
+            super(targetName, required, COST_CONTAINS);
+            this.accessor = accessor;
+            this.item = item;
+        }
+
+        @Override
+        boolean check(T target, ValidationResult result) {
+            Collection<?> value = accessor.apply(target);
+            if (null == value) {
+                return absent(result);
+            }
+            if (value.isEmpty()) {
+                return reject(result, MUST_NOT_NULL_OR_EMPTY, targetName);
+            }
+            return value.contains(item) || reject(result, MUST_CONTAIN_ELEMENT, targetName, item);
+        }
+    }
+}
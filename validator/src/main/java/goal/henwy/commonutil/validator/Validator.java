@@ -1,13 +1,27 @@
 package goal.henwy.commonutil.validator;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.Collection;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 import static goal.henwy.commonutil.validator.ExMsgTemplateEnum.*;
 
@@ -38,40 +52,113 @@ public final class Validator {
         }
     }
 
+    /**
+     * 获取收集式校验器
+     * <br>链式调用不抛出异常,违规项全部记录到结果对象中
+     *
+     * @see CollectingValidator
+     */
+    public static CollectingValidator collecting() {
+        return new CollectingValidator(new ValidationResult());
+    }
+
+    /**
+     * 获取写入指定结果对象的收集式校验器
+     * <br>结果对象可由调用方池化复用
+     */
+    public static CollectingValidator collecting(ValidationResult result) {
+        return new CollectingValidator(result);
+    }
+
+    /**
+     * 获取全局正则缓存;用于查看命中统计或在启动时预加载正则
+     */
+    public static PatternCache patternCache() {
+        return InnerConstant.PATTERN_CONTAINER;
+    }
+
 
     public <T> Validator notNull(T target, String targetName) {
         if (null == target) {
-            throw MUST_NOT_NULL_OR_EMPTY.ex(targetName);
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
         }
-        return this;
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
     }
 
     public <T> Validator notEmpty(Collection<T> target, String targetName) {
         if (null == target || target.isEmpty()) {
-            throw MUST_NOT_NULL_OR_EMPTY.ex(targetName);
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
         }
-        return this;
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
     }
 
     public <T> Validator notEmpty(T[] target, String targetName) {
         if (null == target || 0 == target.length) {
-            throw MUST_NOT_NULL_OR_EMPTY.ex(targetName);
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
         }
-        return this;
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    public <T> Validator notEmpty(MembershipIndex<T> target, String targetName) {
+        if (null == target || target.isEmpty()) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    public Validator notEmpty(KeywordMatcher target, String targetName) {
+        if (null == target || target.isEmpty()) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    public <T> Validator notEmpty(Iterable<T> target, String targetName) {
+        if (null == target || !target.iterator().hasNext()) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    public <T> Validator notEmpty(Iterator<T> target, String targetName) {
+        if (null == target || !target.hasNext()) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    /**
+     * 流不能再使用;大小未知时读取第一个元素即停止
+     */
+    public <T> Validator notEmpty(Stream<T> target, String targetName) {
+        if (null == target || !InnerMethod.nonEmpty(target.spliterator())) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    /**
+     * 大小未知时会消费第一个元素
+     */
+    public <T> Validator notEmpty(Spliterator<T> target, String targetName) {
+        if (null == target || !InnerMethod.nonEmpty(target)) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
     }
 
     public <K, V> Validator notEmpty(Map<K, V> target, String targetName) {
         if (null == target || target.isEmpty()) {
-            throw MUST_NOT_NULL_OR_EMPTY.ex(targetName);
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
         }
-        return this;
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
     }
 
     public Validator hasText(CharSequence target, String targetName) {
         if (!InnerMethod.hasText(target)) {
-            throw MUST_NOT_NULL_OR_EMPTY.ex(targetName);
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
         }
-        return this;
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
     }
 
 
@@ -80,55 +167,168 @@ public final class Validator {
             return this;
         }
         hasText(target, targetName).hasText(item, "必要文本");
-        if (!("" + target).contains(item)) {
-            throw MUST_CONTAIN_TEXT.ex(targetName, item);
+        if (InnerMethod.indexOf(target, item) < 0) {
+            throw failed(MUST_CONTAIN_TEXT, targetName, targetName, item);
         }
-        return this;
+        return passed(MUST_CONTAIN_TEXT, targetName);
     }
 
     public Validator contains(CharSequence target, String targetName, CharSequence item) {
         return contains(target, targetName, item, true);
     }
 
+    /**
+     * 文本须至少包含一个关键词;多个关键词一次扫描完成;失败信息列出关键词,较多时只列出前几个
+     */
+    public Validator contains(CharSequence target, String targetName, KeywordMatcher keywords, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasText(target, targetName).notEmpty(keywords, "必要关键词");
+        if (!keywords.matches(target)) {
+            throw failed(MUST_CONTAIN_TEXT, targetName, targetName, keywords.describe());
+        }
+        return passed(MUST_CONTAIN_TEXT, targetName);
+    }
+
+    public Validator contains(CharSequence target, String targetName, KeywordMatcher keywords) {
+        return contains(target, targetName, keywords, true);
+    }
+
+    /**
+     * @param keywordsName 失败信息中关键词集合的名称,如"促销用语"
+     */
+    public Validator contains(CharSequence target, String targetName, KeywordMatcher keywords, String keywordsName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasText(target, targetName).notEmpty(keywords, "必要关键词").hasText(keywordsName, "关键词名称");
+        if (!keywords.matches(target)) {
+            throw failed(MUST_CONTAIN_TEXT, targetName, targetName, keywordsName);
+        }
+        return passed(MUST_CONTAIN_TEXT, targetName);
+    }
+
+    public Validator contains(CharSequence target, String targetName, KeywordMatcher keywords, String keywordsName) {
+        return contains(target, targetName, keywords, keywordsName, true);
+    }
+
     public <T> Validator contains(Collection<T> target, String targetName, T item, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notEmpty(target, targetName).notNull(item, "必要元素");
         if (!target.contains(item)) {
-            throw MUST_CONTAIN_ELEMENT.ex(targetName, item);
+            throw failed(MUST_CONTAIN_ELEMENT, targetName, targetName, item);
         }
-        return this;
+        return passed(MUST_CONTAIN_ELEMENT, targetName);
     }
 
     public <T> Validator contains(Collection<T> target, String targetName, T item) {
         return contains(target, targetName, item, true);
     }
 
+    /**
+     * 惰性序列的元素包含校验;遇到第一个相等元素即停止,语义与信息与集合版本一致
+     */
+    public <T> Validator contains(Iterable<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return containsOf(null == target ? null : target.spliterator(), targetName, item);
+    }
+
+    public <T> Validator contains(Iterable<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    public <T> Validator contains(Iterator<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return containsOf(null == target ? null : Spliterators.spliteratorUnknownSize(target, 0), targetName, item);
+    }
+
+    public <T> Validator contains(Iterator<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    public <T> Validator contains(Stream<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return containsOf(null == target ? null : target.spliterator(), targetName, item);
+    }
+
+    public <T> Validator contains(Stream<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    public <T> Validator contains(Spliterator<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return containsOf(null == target ? null : target, targetName, item);
+    }
+
+    public <T> Validator contains(Spliterator<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
+    private Validator containsOf(Spliterator<?> target, String targetName, Object item) {
+        InnerMethod.Probe probe = new InnerMethod.Probe(item);
+        if (null == target || !target.tryAdvance(probe)) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        notNull(item, "必要元素");
+        if (!InnerMethod.find(target, probe).found) {
+            throw failed(MUST_CONTAIN_ELEMENT, targetName, targetName, item);
+        }
+        return passed(MUST_CONTAIN_ELEMENT, targetName);
+    }
+
     public <T> Validator contains(T[] target, String targetName, T item, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notEmpty(target, targetName).notNull(item, "必要元素");
         if (!InnerMethod.isArrayContainsItem(target, item)) {
-            throw MUST_CONTAIN_ELEMENT.ex(targetName, item);
+            throw failed(MUST_CONTAIN_ELEMENT, targetName, targetName, item);
         }
-        return this;
+        return passed(MUST_CONTAIN_ELEMENT, targetName);
     }
 
     public <T> Validator contains(T[] target, String targetName, T item) {
         return contains(target, targetName, item, true);
     }
 
+    /**
+     * 以预构建的成员索引判断;适合百万级参考集合,单次判断为布隆过滤器加二分查找
+     */
+    public <T> Validator contains(MembershipIndex<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        notEmpty(target, targetName).notNull(item, "必要元素");
+        if (!target.contains(item)) {
+            throw failed(MUST_CONTAIN_ELEMENT, targetName, targetName, item);
+        }
+        return passed(MUST_CONTAIN_ELEMENT, targetName);
+    }
+
+    public <T> Validator contains(MembershipIndex<T> target, String targetName, T item) {
+        return contains(target, targetName, item, true);
+    }
+
     public <K, V> Validator containsKey(Map<K, V> target, String targetName, K item, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notEmpty(target, targetName).notNull(item, "必要键");
         if (!target.containsKey(item)) {
-            throw MUST_CONTAIN_KEY.ex(targetName, item);
+            throw failed(MUST_CONTAIN_KEY, targetName, targetName, item);
         }
-        return this;
+        return passed(MUST_CONTAIN_KEY, targetName);
     }
 
     public <K, V> Validator containsKey(Map<K, V> target, String targetName, K item) {
@@ -140,25 +340,56 @@ public final class Validator {
             return this;
         }
         hasText(target, targetName).hasText(item, "必要文本");
-        if (("" + target).contains(item)) {
-            throw MUST_NOT_CONTAIN_TEXT.ex(targetName, item);
+        if (InnerMethod.indexOf(target, item) >= 0) {
+            throw failed(MUST_NOT_CONTAIN_TEXT, targetName, targetName, item);
         }
-        return this;
+        return passed(MUST_NOT_CONTAIN_TEXT, targetName);
     }
 
     public Validator notContains(CharSequence target, String targetName, CharSequence item) {
         return notContains(target, targetName, item, true);
     }
 
+    /**
+     * 文本不能包含任一关键词;失败信息给出最先出现的关键词
+     */
+    public Validator notContains(CharSequence target, String targetName, KeywordMatcher keywords, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasText(target, targetName).notNull(keywords, "禁止关键词");
+        String found = keywords.find(target);
+        if (null != found) {
+            throw failed(MUST_NOT_CONTAIN_TEXT, targetName, targetName, found);
+        }
+        return passed(MUST_NOT_CONTAIN_TEXT, targetName);
+    }
+
+    public Validator notContains(CharSequence target, String targetName, KeywordMatcher keywords) {
+        return notContains(target, targetName, keywords, true);
+    }
+
+    /**
+     * 按黑名单当前的关键词校验;失败信息给出最先出现的关键词
+     */
+    public Validator notContains(CharSequence target, String targetName, KeywordBlocklist blocklist, Boolean required) {
+        notNull(blocklist, "关键词黑名单");
+        return notContains(target, targetName, blocklist.matcher(), required);
+    }
+
+    public Validator notContains(CharSequence target, String targetName, KeywordBlocklist blocklist) {
+        return notContains(target, targetName, blocklist, true);
+    }
+
     public <T> Validator notContains(Collection<T> target, String targetName, T item, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notEmpty(target, targetName).notNull(item, "必要元素");
         if (target.contains(item)) {
-            throw MUST_NOT_CONTAIN_ELEMENT.ex(targetName, item);
+            throw failed(MUST_NOT_CONTAIN_ELEMENT, targetName, targetName, item);
         }
-        return this;
+        return passed(MUST_NOT_CONTAIN_ELEMENT, targetName);
     }
 
     public <T> Validator notContains(Collection<T> target, String targetName, T item) {
@@ -171,24 +402,42 @@ public final class Validator {
         }
         notEmpty(target, targetName).notNull(item, "必要元素");
         if (InnerMethod.isArrayContainsItem(target, item)) {
-            throw MUST_NOT_CONTAIN_ELEMENT.ex(targetName, item);
+            throw failed(MUST_NOT_CONTAIN_ELEMENT, targetName, targetName, item);
         }
-        return this;
+        return passed(MUST_NOT_CONTAIN_ELEMENT, targetName);
     }
 
     public <T> Validator notContains(T[] target, String targetName, T item) {
         return notContains(target, targetName, item, true);
     }
 
+    /**
+     * 以预构建的成员索引判断;布隆过滤器未命中时直接通过,适合黑名单等多数请求不命中的场景
+     */
+    public <T> Validator notContains(MembershipIndex<T> target, String targetName, T item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        notEmpty(target, targetName).notNull(item, "必要元素");
+        if (target.contains(item)) {
+            throw failed(MUST_NOT_CONTAIN_ELEMENT, targetName, targetName, item);
+        }
+        return passed(MUST_NOT_CONTAIN_ELEMENT, targetName);
+    }
+
+    public <T> Validator notContains(MembershipIndex<T> target, String targetName, T item) {
+        return notContains(target, targetName, item, true);
+    }
+
     public <K, V> Validator notContainsKey(Map<K, V> target, String targetName, K item, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notEmpty(target, targetName).notNull(item, "必要键");
         if (target.containsKey(item)) {
-            throw MUST_NOT_CONTAIN_KEY.ex(targetName, item);
+            throw failed(MUST_NOT_CONTAIN_KEY, targetName, targetName, item);
         }
-        return this;
+        return passed(MUST_NOT_CONTAIN_KEY, targetName);
     }
 
     public <K, V> Validator notContainsKey(Map<K, V> target, String targetName, K item) {
@@ -201,116 +450,266 @@ public final class Validator {
             return this;
         }
         notNull(target, targetName).notNull(aim, "标准值");
-        if (aim.doubleValue() != target.doubleValue()) {
-            throw MUST_EQUAL_NUMBER.ex(targetName, aim);
+        if (InnerMethod.compare(target, aim) != 0) {
+            throw failed(MUST_EQUAL_NUMBER, targetName, targetName, aim);
         }
-        return this;
+        return passed(MUST_EQUAL_NUMBER, targetName);
     }
 
     public Validator eq(Number target, String targetName, Number aim) {
         return eq(target, targetName, aim, true);
     }
 
+    public Validator eqInt(int target, String targetName, int aim) {
+        if (target != aim) {
+            throw failed(MUST_EQUAL_NUMBER, targetName, targetName, aim);
+        }
+        return passed(MUST_EQUAL_NUMBER, targetName);
+    }
+
+    public Validator eqLong(long target, String targetName, long aim) {
+        if (target != aim) {
+            throw failed(MUST_EQUAL_NUMBER, targetName, targetName, aim);
+        }
+        return passed(MUST_EQUAL_NUMBER, targetName);
+    }
+
+    public Validator eqDouble(double target, String targetName, double aim) {
+        if (target != aim) {
+            throw failed(MUST_EQUAL_NUMBER, targetName, targetName, aim);
+        }
+        return passed(MUST_EQUAL_NUMBER, targetName);
+    }
+
     public Validator neq(Number target, String targetName, Number aim, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notNull(target, targetName).notNull(aim, "标准值");
-        if (aim.doubleValue() == target.doubleValue()) {
-            throw MUST_NOT_EQUAL_NUMBER.ex(targetName, aim);
+        if (InnerMethod.compare(target, aim) == 0) {
+            throw failed(MUST_NOT_EQUAL_NUMBER, targetName, targetName, aim);
         }
-        return this;
+        return passed(MUST_NOT_EQUAL_NUMBER, targetName);
     }
 
     public Validator neq(Number target, String targetName, Number aim) {
         return neq(target, targetName, aim, true);
     }
 
+    public Validator neqInt(int target, String targetName, int aim) {
+        if (target == aim) {
+            throw failed(MUST_NOT_EQUAL_NUMBER, targetName, targetName, aim);
+        }
+        return passed(MUST_NOT_EQUAL_NUMBER, targetName);
+    }
+
+    public Validator neqLong(long target, String targetName, long aim) {
+        if (target == aim) {
+            throw failed(MUST_NOT_EQUAL_NUMBER, targetName, targetName, aim);
+        }
+        return passed(MUST_NOT_EQUAL_NUMBER, targetName);
+    }
+
+    public Validator neqDouble(double target, String targetName, double aim) {
+        if (target == aim) {
+            throw failed(MUST_NOT_EQUAL_NUMBER, targetName, targetName, aim);
+        }
+        return passed(MUST_NOT_EQUAL_NUMBER, targetName);
+    }
+
     public Validator lte(Number target, String targetName, Number max, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notNull(target, targetName).notNull(max, "最大值");
-        if (target.doubleValue() > max.doubleValue()) {
-            throw MUST_LTE.ex(targetName, max);
+        if (InnerMethod.compare(target, max) == InnerMethod.GREATER) {
+            throw failed(MUST_LTE, targetName, targetName, max);
         }
-        return this;
+        return passed(MUST_LTE, targetName);
     }
 
     public Validator lte(Number target, String targetName, Number max) {
         return lte(target, targetName, max, true);
     }
 
+    public Validator lteInt(int target, String targetName, int max) {
+        if (target > max) {
+            throw failed(MUST_LTE, targetName, targetName, max);
+        }
+        return passed(MUST_LTE, targetName);
+    }
+
+    public Validator lteLong(long target, String targetName, long max) {
+        if (target > max) {
+            throw failed(MUST_LTE, targetName, targetName, max);
+        }
+        return passed(MUST_LTE, targetName);
+    }
+
+    public Validator lteDouble(double target, String targetName, double max) {
+        if (target > max) {
+            throw failed(MUST_LTE, targetName, targetName, max);
+        }
+        return passed(MUST_LTE, targetName);
+    }
+
     public Validator lt(Number target, String targetName, Number max, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notNull(target, targetName).notNull(max, "最大值");
-        if (target.doubleValue() >= max.doubleValue()) {
-            throw MUST_LT.ex(targetName, max);
+        if (InnerMethod.isGreaterOrEqual(InnerMethod.compare(target, max))) {
+            throw failed(MUST_LT, targetName, targetName, max);
         }
-        return this;
+        return passed(MUST_LT, targetName);
     }
 
     public Validator lt(Number target, String targetName, Number max) {
         return lt(target, targetName, max, true);
     }
 
+    public Validator ltInt(int target, String targetName, int max) {
+        if (target >= max) {
+            throw failed(MUST_LT, targetName, targetName, max);
+        }
+        return passed(MUST_LT, targetName);
+    }
+
+    public Validator ltLong(long target, String targetName, long max) {
+        if (target >= max) {
+            throw failed(MUST_LT, targetName, targetName, max);
+        }
+        return passed(MUST_LT, targetName);
+    }
+
+    public Validator ltDouble(double target, String targetName, double max) {
+        if (target >= max) {
+            throw failed(MUST_LT, targetName, targetName, max);
+        }
+        return passed(MUST_LT, targetName);
+    }
+
     public Validator gte(Number target, String targetName, Number min, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notNull(target, targetName).notNull(min, "最小值");
-        if (target.doubleValue() < min.doubleValue()) {
-            throw MUST_GTE.ex(targetName, min);
+        if (InnerMethod.compare(target, min) == InnerMethod.LESS) {
+            throw failed(MUST_GTE, targetName, targetName, min);
         }
-        return this;
+        return passed(MUST_GTE, targetName);
     }
 
     public Validator gte(Number target, String targetName, Number min) {
         return gte(target, targetName, min, true);
     }
 
+    public Validator gteInt(int target, String targetName, int min) {
+        if (target < min) {
+            throw failed(MUST_GTE, targetName, targetName, min);
+        }
+        return passed(MUST_GTE, targetName);
+    }
+
+    public Validator gteLong(long target, String targetName, long min) {
+        if (target < min) {
+            throw failed(MUST_GTE, targetName, targetName, min);
+        }
+        return passed(MUST_GTE, targetName);
+    }
+
+    public Validator gteDouble(double target, String targetName, double min) {
+        if (target < min) {
+            throw failed(MUST_GTE, targetName, targetName, min);
+        }
+        return passed(MUST_GTE, targetName);
+    }
+
     public Validator gt(Number target, String targetName, Number min, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notNull(target, targetName).notNull(min, "最小值");
-        if (target.doubleValue() <= min.doubleValue()) {
-            throw MUST_GT.ex(targetName, min);
+        if (InnerMethod.isLessOrEqual(InnerMethod.compare(target, min))) {
+            throw failed(MUST_GT, targetName, targetName, min);
         }
-        return this;
+        return passed(MUST_GT, targetName);
     }
 
     public Validator gt(Number target, String targetName, Number min) {
         return gt(target, targetName, min, true);
     }
 
+    public Validator gtInt(int target, String targetName, int min) {
+        if (target <= min) {
+            throw failed(MUST_GT, targetName, targetName, min);
+        }
+        return passed(MUST_GT, targetName);
+    }
+
+    public Validator gtLong(long target, String targetName, long min) {
+        if (target <= min) {
+            throw failed(MUST_GT, targetName, targetName, min);
+        }
+        return passed(MUST_GT, targetName);
+    }
+
+    public Validator gtDouble(double target, String targetName, double min) {
+        if (target <= min) {
+            throw failed(MUST_GT, targetName, targetName, min);
+        }
+        return passed(MUST_GT, targetName);
+    }
+
     public Validator between(Number target, String targetName, Number min, Number max, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notNull(target, targetName).notNull(min, "最小值").notNull(max, "最大值")
-                .isLegal(min.doubleValue() < max.doubleValue(), "最小值与最大值");
-        if (target.doubleValue() < min.doubleValue() || target.doubleValue() > max.doubleValue()) {
-            throw MUST_BETWEEN.ex(targetName, min, max);
+                .isLegal(InnerMethod.compare(min, max) == InnerMethod.LESS, "最小值与最大值");
+        if (InnerMethod.compare(target, min) == InnerMethod.LESS || InnerMethod.compare(target, max) == InnerMethod.GREATER) {
+            throw failed(MUST_BETWEEN, targetName, targetName, min, max);
         }
-        return this;
+        return passed(MUST_BETWEEN, targetName);
     }
 
     public Validator between(Number target, String targetName, Number min, Number max) {
         return between(target, targetName, min, max, true);
     }
 
+    public Validator betweenInt(int target, String targetName, int min, int max) {
+        isLegal(min < max, "最小值与最大值");
+        if (target < min || target > max) {
+            throw failed(MUST_BETWEEN, targetName, targetName, min, max);
+        }
+        return passed(MUST_BETWEEN, targetName);
+    }
+
+    public Validator betweenLong(long target, String targetName, long min, long max) {
+        isLegal(min < max, "最小值与最大值");
+        if (target < min || target > max) {
+            throw failed(MUST_BETWEEN, targetName, targetName, min, max);
+        }
+        return passed(MUST_BETWEEN, targetName);
+    }
+
+    public Validator betweenDouble(double target, String targetName, double min, double max) {
+        isLegal(min < max, "最小值与最大值");
+        if (target < min || target > max) {
+            throw failed(MUST_BETWEEN, targetName, targetName, min, max);
+        }
+        return passed(MUST_BETWEEN, targetName);
+    }
+
     public Validator before(Date target, String targetName, Date end, String dateFormat, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
         notNull(target, targetName).notNull(end, "最晚时间").hasText(dateFormat, "日期格式");
         if (target.after(end)) {
-            throw MUST_BEFORE.ex(targetName, InnerMethod.parseString(end, dateFormat));
+            throw failed(MUST_BEFORE, targetName, targetName, InnerMethod.formatLazily(end, dateFormat));
         }
-        return this;
+        return passed(MUST_BEFORE, targetName);
     }
 
     public Validator before(Date target, String targetName, Date end, Boolean required) {
@@ -331,9 +730,9 @@ public final class Validator {
         }
         notNull(target, targetName).notNull(start, "最早时间").hasText(dateFormat, "日期格式");
         if (target.before(start)) {
-            throw MUST_AFTER.ex(targetName, InnerMethod.parseString(start, dateFormat));
+            throw failed(MUST_AFTER, targetName, targetName, InnerMethod.formatLazily(start, dateFormat));
         }
-        return this;
+        return passed(MUST_AFTER, targetName);
     }
 
     public Validator after(Date target, String targetName, Date start, Boolean required) {
@@ -355,9 +754,9 @@ public final class Validator {
         notNull(target, targetName).notNull(start, "最早时间").notNull(end, "最晚时间").hasText(dateFormat, "日期格式")
                 .isLegal(start.before(end), "最早时间与最晚时间关系");
         if (target.before(start) || target.after(end)) {
-            throw MUST_BETWEEN.ex(targetName, InnerMethod.parseString(start, dateFormat), InnerMethod.parseString(end, dateFormat));
+            throw failed(MUST_BETWEEN, targetName, targetName, InnerMethod.formatLazily(start, dateFormat), InnerMethod.formatLazily(end, dateFormat));
         }
-        return this;
+        return passed(MUST_BETWEEN, targetName);
     }
 
     public Validator between(Date target, String targetName, Date start, Date end, Boolean required) {
@@ -372,92 +771,605 @@ public final class Validator {
         return between(target, targetName, start, end, true);
     }
 
-
-    public Validator matchPattern(String target, String targetName, Pattern pattern, String patternName, Boolean required) {
+    public Validator before(Instant target, String targetName, Instant end, String dateFormat, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
-        hasText(target, targetName).notNull(pattern, "格式").hasText(patternName, "格式名称");
-        if (!pattern.matcher(target).matches()) {
-            throw MUST_MATCH_PATTERN.ex(target, patternName);
+        notNull(target, targetName).notNull(end, "最晚时间").hasText(dateFormat, "日期格式");
+        if (target.isAfter(end)) {
+            throw failed(MUST_BEFORE, targetName, targetName, InnerMethod.formatLazily(end, dateFormat));
         }
-        return this;
+        return passed(MUST_BEFORE, targetName);
     }
 
-    public Validator matchPattern(String target, String targetName, Pattern pattern, String patternName) {
-        return matchPattern(target, targetName, pattern, patternName, true);
+    public Validator before(Instant target, String targetName, Instant end, Boolean required) {
+        return before(target, targetName, end, InnerConstant.DEFAULT_DATE_FORMAT, required);
     }
 
-    public Validator matchPattern(String target, String targetName, String pattern, String patternName, Boolean required) {
-        return matchPattern(target, targetName, InnerConstant.pattern(pattern), patternName, required);
+    public Validator before(Instant target, String targetName, Instant end, String dateFormat) {
+        return before(target, targetName, end, dateFormat, true);
     }
 
-    public Validator matchPattern(String target, String targetName, String pattern, String patternName) {
-        return matchPattern(target, targetName, pattern, patternName, true);
+    public Validator before(Instant target, String targetName, Instant end) {
+        return before(target, targetName, end, true);
     }
 
-    public Validator isEmail(String target, String targetName, Boolean required) {
-        return matchPattern(target, targetName, InnerConstant.REGEX_EMAIL, "邮箱", required);
+    public Validator after(Instant target, String targetName, Instant start, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        notNull(target, targetName).notNull(start, "最早时间").hasText(dateFormat, "日期格式");
+        if (target.isBefore(start)) {
+            throw failed(MUST_AFTER, targetName, targetName, InnerMethod.formatLazily(start, dateFormat));
+        }
+        return passed(MUST_AFTER, targetName);
     }
 
-    public Validator isEmail(String target, String targetName) {
-        return isEmail(target, targetName, true);
+    public Validator after(Instant target, String targetName, Instant start, Boolean required) {
+        return after(target, targetName, start, InnerConstant.DEFAULT_DATE_FORMAT, required);
     }
 
-    public Validator isTelePhone(String target, String targetName, Boolean required) {
-        return matchPattern(target, targetName, InnerConstant.REGEX_TELEPHONE, "手机号", required);
+    public Validator after(Instant target, String targetName, Instant start, String dateFormat) {
+        return after(target, targetName, start, dateFormat, true);
     }
 
-    public Validator isTelePhone(String target, String targetName) {
-        return isTelePhone(target, targetName, true);
+    public Validator after(Instant target, String targetName, Instant start) {
+        return after(target, targetName, start, true);
     }
 
-
-    public Validator size(String target, String targetName, Integer size, Boolean required) {
+    public Validator between(Instant target, String targetName, Instant start, Instant end, String dateFormat, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
-        return hasText(target, targetName).gt(size, targetName + "文本标准长度", 0)
-                .eq(target.length(), targetName + "文本标准长度", size);
+        notNull(target, targetName).notNull(start, "最早时间").notNull(end, "最晚时间").hasText(dateFormat, "日期格式")
+                .isLegal(start.isBefore(end), "最早时间与最晚时间关系");
+        if (target.isBefore(start) || target.isAfter(end)) {
+            throw failed(MUST_BETWEEN, targetName, targetName, InnerMethod.formatLazily(start, dateFormat), InnerMethod.formatLazily(end, dateFormat));
+        }
+        return passed(MUST_BETWEEN, targetName);
     }
 
-    public Validator size(String target, String targetName, Integer size) {
-        return size(target, targetName, size, true);
+    public Validator between(Instant target, String targetName, Instant start, Instant end, Boolean required) {
+        return between(target, targetName, start, end, InnerConstant.DEFAULT_DATE_FORMAT, required);
     }
 
-    public Validator size(String target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
-        if (!Boolean.TRUE.equals(required) && null == target) {
-            return this;
-        }
-        return hasText(target, targetName)
-                .gt(minSize, targetName + "文本最小长度", 0)
-                .gt(maxSize, targetName + "文本最大长度", minSize)
-                .between(target.length(), targetName + "文本长度", minSize, maxSize, required);
+    public Validator between(Instant target, String targetName, Instant start, Instant end, String dateFormat) {
+        return between(target, targetName, start, end, dateFormat, true);
     }
 
-    public Validator size(String target, String targetName, Integer minSize, Integer maxSize) {
-        return size(target, targetName, minSize, maxSize, true);
+    public Validator between(Instant target, String targetName, Instant start, Instant end) {
+        return between(target, targetName, start, end, true);
     }
 
-    public <T> Validator size(Collection<T> target, String targetName, Integer size, Boolean required) {
+    public Validator before(LocalDate target, String targetName, LocalDate end, String dateFormat, Boolean required) {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
-        return notEmpty(target, targetName).gt(size, targetName + "列表长度", 0)
-                .eq(target.size(), targetName + "列表长度", size);
+        notNull(target, targetName).notNull(end, "最晚时间").hasText(dateFormat, "日期格式");
+        if (target.isAfter(end)) {
+            throw failed(MUST_BEFORE, targetName, targetName, InnerMethod.formatLazily(end, dateFormat));
+        }
+        return passed(MUST_BEFORE, targetName);
     }
 
-    public <T> Validator size(Collection<T> target, String targetName, Integer size) {
-        return size(target, targetName, size, true);
+    public Validator before(LocalDate target, String targetName, LocalDate end, Boolean required) {
+        return before(target, targetName, end, InnerConstant.DEFAULT_DATE_FORMAT, required);
     }
 
-    public <T> Validator size(Collection<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
-        if (!Boolean.TRUE.equals(required) && null == target) {
-            return this;
-        }
-        return notEmpty(target, targetName)
-                .gt(minSize, targetName + "列表最小长度", 0)
-                .gt(maxSize, targetName + "列表最大长度", 0)
+    public Validator before(LocalDate target, String targetName, LocalDate end, String dateFormat) {
+        return before(target, targetName, end, dateFormat, true);
+    }
+
+    public Validator before(LocalDate target, String targetName, LocalDate end) {
+        return before(target, targetName, end, true);
+    }
+
+    public Validator after(LocalDate target, String targetName, LocalDate start, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        notNull(target, targetName).notNull(start, "最早时间").hasText(dateFormat, "日期格式");
+        if (target.isBefore(start)) {
+            throw failed(MUST_AFTER, targetName, targetName, InnerMethod.formatLazily(start, dateFormat));
+        }
+        return passed(MUST_AFTER, targetName);
+    }
+
+    public Validator after(LocalDate target, String targetName, LocalDate start, Boolean required) {
+        return after(target, targetName, start, InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public Validator after(LocalDate target, String targetName, LocalDate start, String dateFormat) {
+        return after(target, targetName, start, dateFormat, true);
+    }
+
+    public Validator after(LocalDate target, String targetName, LocalDate start) {
+        return after(target, targetName, start, true);
+    }
+
+    public Validator between(LocalDate target, String targetName, LocalDate start, LocalDate end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        notNull(target, targetName).notNull(start, "最早时间").notNull(end, "最晚时间").hasText(dateFormat, "日期格式")
+                .isLegal(start.isBefore(end), "最早时间与最晚时间关系");
+        if (target.isBefore(start) || target.isAfter(end)) {
+            throw failed(MUST_BETWEEN, targetName, targetName, InnerMethod.formatLazily(start, dateFormat), InnerMethod.formatLazily(end, dateFormat));
+        }
+        return passed(MUST_BETWEEN, targetName);
+    }
+
+    public Validator between(LocalDate target, String targetName, LocalDate start, LocalDate end, Boolean required) {
+        return between(target, targetName, start, end, InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public Validator between(LocalDate target, String targetName, LocalDate start, LocalDate end, String dateFormat) {
+        return between(target, targetName, start, end, dateFormat, true);
+    }
+
+    public Validator between(LocalDate target, String targetName, LocalDate start, LocalDate end) {
+        return between(target, targetName, start, end, true);
+    }
+
+    public Validator before(LocalDateTime target, String targetName, LocalDateTime end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        notNull(target, targetName).notNull(end, "最晚时间").hasText(dateFormat, "日期格式");
+        if (target.isAfter(end)) {
+            throw failed(MUST_BEFORE, targetName, targetName, InnerMethod.formatLazily(end, dateFormat));
+        }
+        return passed(MUST_BEFORE, targetName);
+    }
+
+    public Validator before(LocalDateTime target, String targetName, LocalDateTime end, Boolean required) {
+        return before(target, targetName, end, InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public Validator before(LocalDateTime target, String targetName, LocalDateTime end, String dateFormat) {
+        return before(target, targetName, end, dateFormat, true);
+    }
+
+    public Validator before(LocalDateTime target, String targetName, LocalDateTime end) {
+        return before(target, targetName, end, true);
+    }
+
+    public Validator after(LocalDateTime target, String targetName, LocalDateTime start, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        notNull(target, targetName).notNull(start, "最早时间").hasText(dateFormat, "日期格式");
+        if (target.isBefore(start)) {
+            throw failed(MUST_AFTER, targetName, targetName, InnerMethod.formatLazily(start, dateFormat));
+        }
+        return passed(MUST_AFTER, targetName);
+    }
+
+    public Validator after(LocalDateTime target, String targetName, LocalDateTime start, Boolean required) {
+        return after(target, targetName, start, InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public Validator after(LocalDateTime target, String targetName, LocalDateTime start, String dateFormat) {
+        return after(target, targetName, start, dateFormat, true);
+    }
+
+    public Validator after(LocalDateTime target, String targetName, LocalDateTime start) {
+        return after(target, targetName, start, true);
+    }
+
+    public Validator between(LocalDateTime target, String targetName, LocalDateTime start, LocalDateTime end, String dateFormat, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        notNull(target, targetName).notNull(start, "最早时间").notNull(end, "最晚时间").hasText(dateFormat, "日期格式")
+                .isLegal(start.isBefore(end), "最早时间与最晚时间关系");
+        if (target.isBefore(start) || target.isAfter(end)) {
+            throw failed(MUST_BETWEEN, targetName, targetName, InnerMethod.formatLazily(start, dateFormat), InnerMethod.formatLazily(end, dateFormat));
+        }
+        return passed(MUST_BETWEEN, targetName);
+    }
+
+    public Validator between(LocalDateTime target, String targetName, LocalDateTime start, LocalDateTime end, Boolean required) {
+        return between(target, targetName, start, end, InnerConstant.DEFAULT_DATE_FORMAT, required);
+    }
+
+    public Validator between(LocalDateTime target, String targetName, LocalDateTime start, LocalDateTime end, String dateFormat) {
+        return between(target, targetName, start, end, dateFormat, true);
+    }
+
+    public Validator between(LocalDateTime target, String targetName, LocalDateTime start, LocalDateTime end) {
+        return between(target, targetName, start, end, true);
+    }
+
+    /**
+     * 以毫秒时间戳比较;不创建日期对象,格式化仅在读取异常信息时按系统时区进行
+     */
+    public Validator beforeEpochMilli(long target, String targetName, long end, String dateFormat) {
+        hasText(dateFormat, "日期格式");
+        if (target > end) {
+            throw failed(MUST_BEFORE, targetName, targetName, InnerMethod.formatLazily(Instant.ofEpochMilli(end), dateFormat));
+        }
+        return passed(MUST_BEFORE, targetName);
+    }
+
+    public Validator beforeEpochMilli(long target, String targetName, long end) {
+        return beforeEpochMilli(target, targetName, end, InnerConstant.DEFAULT_DATE_FORMAT);
+    }
+
+    public Validator afterEpochMilli(long target, String targetName, long start, String dateFormat) {
+        hasText(dateFormat, "日期格式");
+        if (target < start) {
+            throw failed(MUST_AFTER, targetName, targetName, InnerMethod.formatLazily(Instant.ofEpochMilli(start), dateFormat));
+        }
+        return passed(MUST_AFTER, targetName);
+    }
+
+    public Validator afterEpochMilli(long target, String targetName, long start) {
+        return afterEpochMilli(target, targetName, start, InnerConstant.DEFAULT_DATE_FORMAT);
+    }
+
+    public Validator betweenEpochMilli(long target, String targetName, long start, long end, String dateFormat) {
+        hasText(dateFormat, "日期格式").isLegal(start < end, "最早时间与最晚时间关系");
+        if (target < start || target > end) {
+            throw failed(MUST_BETWEEN, targetName, targetName, InnerMethod.formatLazily(Instant.ofEpochMilli(start), dateFormat),
+                    InnerMethod.formatLazily(Instant.ofEpochMilli(end), dateFormat));
+        }
+        return passed(MUST_BETWEEN, targetName);
+    }
+
+    public Validator betweenEpochMilli(long target, String targetName, long start, long end) {
+        return betweenEpochMilli(target, targetName, start, end, InnerConstant.DEFAULT_DATE_FORMAT);
+    }
+
+
+    public Validator matchPattern(String target, String targetName, Pattern pattern, String patternName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasText(target, targetName).notNull(pattern, "格式").hasText(patternName, "格式名称");
+        if (!pattern.matcher(target).matches()) {
+            throw failed(MUST_MATCH_PATTERN, targetName, target, patternName);
+        }
+        return passed(MUST_MATCH_PATTERN, targetName);
+    }
+
+    public Validator matchPattern(String target, String targetName, Pattern pattern, String patternName) {
+        return matchPattern(target, targetName, pattern, patternName, true);
+    }
+
+    public Validator matchPattern(String target, String targetName, String pattern, String patternName, Boolean required) {
+        return matchPattern(target, targetName, InnerConstant.pattern(pattern), patternName, required);
+    }
+
+    public Validator matchPattern(String target, String targetName, String pattern, String patternName) {
+        return matchPattern(target, targetName, pattern, patternName, true);
+    }
+
+    public Validator isEmail(CharSequence target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasText(target, targetName);
+        if (!FormatMatcher.isEmail(target)) {
+            throw failed(MUST_MATCH_PATTERN, targetName, target.toString(), "邮箱");
+        }
+        return passed(MUST_MATCH_PATTERN, targetName);
+    }
+
+    public Validator isEmail(CharSequence target, String targetName) {
+        return isEmail(target, targetName, true);
+    }
+
+    /**
+     * 保留String参数的版本,兼容按String签名编译的调用方
+     */
+    public Validator isEmail(String target, String targetName, Boolean required) {
+        return isEmail((CharSequence) target, targetName, required);
+    }
+
+    public Validator isEmail(String target, String targetName) {
+        return isEmail((CharSequence) target, targetName, true);
+    }
+
+    public Validator isTelePhone(CharSequence target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasText(target, targetName);
+        if (!FormatMatcher.isTelePhone(target)) {
+            throw failed(MUST_MATCH_PATTERN, targetName, target.toString(), "手机号");
+        }
+        return passed(MUST_MATCH_PATTERN, targetName);
+    }
+
+    public Validator isTelePhone(CharSequence target, String targetName) {
+        return isTelePhone(target, targetName, true);
+    }
+
+    /**
+     * 保留String参数的版本,兼容按String签名编译的调用方
+     */
+    public Validator isTelePhone(String target, String targetName, Boolean required) {
+        return isTelePhone((CharSequence) target, targetName, required);
+    }
+
+    public Validator isTelePhone(String target, String targetName) {
+        return isTelePhone((CharSequence) target, targetName, true);
+    }
+
+
+    public Validator size(String target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return hasText(target, targetName).notNull(size, targetName + "文本标准长度")
+                .gtInt(size.intValue(), targetName + "文本标准长度", 0)
+                .eqInt(target.length(), targetName + "文本标准长度", size.intValue());
+    }
+
+    public Validator size(String target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public Validator size(String target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return hasText(target, targetName)
+                .notNull(minSize, targetName + "文本最小长度")
+                .gtInt(minSize.intValue(), targetName + "文本最小长度", 0)
+                .gt(maxSize, targetName + "文本最大长度", minSize)
+                .between(target.length(), targetName + "文本长度", minSize, maxSize, required);
+    }
+
+    public Validator size(String target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    /**
+     * 在UTF-8字节上判断是否含有非空白字符;不解码为字符串
+     */
+    public Validator hasTextUtf8(byte[] target, String targetName) {
+        if (null == target || !Utf8Bytes.hasText(target, 0, target.length)) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    /**
+     * 按码点数判断UTF-8文本长度;注意{@link #size(String, String, Integer, Boolean)}按UTF-16单元计数,二者仅在增补字符上不同
+     */
+    public Validator sizeUtf8(byte[] target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName);
+        if (null == size || size <= 0) {
+            notNull(size, targetName + "文本标准长度").gtInt(size.intValue(), targetName + "文本标准长度", 0);
+        }
+        if (Utf8Bytes.codePointCount(target, 0, target.length) != size) {
+            throw failed(MUST_EQUAL_NUMBER, targetName, targetName + "文本标准长度", size);
+        }
+        return passed(MUST_EQUAL_NUMBER, targetName);
+    }
+
+    public Validator sizeUtf8(byte[] target, String targetName, Integer size) {
+        return sizeUtf8(target, targetName, size, true);
+    }
+
+    public Validator sizeUtf8(byte[] target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName);
+        InnerMethod.checkSizeRange(this, targetName, minSize, maxSize);
+        int length = Utf8Bytes.codePointCount(target, 0, target.length);
+        if (length < minSize || length > maxSize) {
+            throw failed(MUST_BETWEEN, targetName, targetName + "文本长度", minSize, maxSize);
+        }
+        return passed(MUST_BETWEEN, targetName);
+    }
+
+    public Validator sizeUtf8(byte[] target, String targetName, Integer minSize, Integer maxSize) {
+        return sizeUtf8(target, targetName, minSize, maxSize, true);
+    }
+
+    /**
+     * @param item UTF-8编码的必要文本;建议预先编码为常量
+     */
+    public Validator containsUtf8(byte[] target, String targetName, byte[] item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName).hasTextUtf8(item, "必要文本");
+        if (!Utf8Bytes.contains(target, 0, target.length, item)) {
+            throw failed(MUST_CONTAIN_TEXT, targetName, targetName, Utf8Bytes.toString(item, 0, item.length));
+        }
+        return passed(MUST_CONTAIN_TEXT, targetName);
+    }
+
+    public Validator containsUtf8(byte[] target, String targetName, byte[] item) {
+        return containsUtf8(target, targetName, item, true);
+    }
+
+    public Validator notContainsUtf8(byte[] target, String targetName, byte[] item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName).hasTextUtf8(item, "必要文本");
+        if (Utf8Bytes.contains(target, 0, target.length, item)) {
+            throw failed(MUST_NOT_CONTAIN_TEXT, targetName, targetName, Utf8Bytes.toString(item, 0, item.length));
+        }
+        return passed(MUST_NOT_CONTAIN_TEXT, targetName);
+    }
+
+    public Validator notContainsUtf8(byte[] target, String targetName, byte[] item) {
+        return notContainsUtf8(target, targetName, item, true);
+    }
+
+    public Validator isEmailUtf8(byte[] target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName);
+        if (!Utf8Bytes.isEmail(target, 0, target.length)) {
+            throw failed(MUST_MATCH_PATTERN, targetName, Utf8Bytes.toString(target, 0, target.length), "邮箱");
+        }
+        return passed(MUST_MATCH_PATTERN, targetName);
+    }
+
+    public Validator isEmailUtf8(byte[] target, String targetName) {
+        return isEmailUtf8(target, targetName, true);
+    }
+
+    public Validator isTelePhoneUtf8(byte[] target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName);
+        if (!Utf8Bytes.isTelePhone(target, 0, target.length)) {
+            throw failed(MUST_MATCH_PATTERN, targetName, Utf8Bytes.toString(target, 0, target.length), "手机号");
+        }
+        return passed(MUST_MATCH_PATTERN, targetName);
+    }
+
+    public Validator isTelePhoneUtf8(byte[] target, String targetName) {
+        return isTelePhoneUtf8(target, targetName, true);
+    }
+
+    /**
+     * 在UTF-8字节上判断是否含有非空白字符;缓冲区取position到limit之间的字节,不改变其状态;不解码为字符串
+     */
+    public Validator hasTextUtf8(ByteBuffer target, String targetName) {
+        if (null == target || !Utf8Bytes.hasText(target, target.position(), target.limit())) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        return passed(MUST_NOT_NULL_OR_EMPTY, targetName);
+    }
+
+    /**
+     * 按码点数判断UTF-8文本长度;注意{@link #size(String, String, Integer, Boolean)}按UTF-16单元计数,二者仅在增补字符上不同
+     */
+    public Validator sizeUtf8(ByteBuffer target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName);
+        if (null == size || size <= 0) {
+            notNull(size, targetName + "文本标准长度").gtInt(size.intValue(), targetName + "文本标准长度", 0);
+        }
+        if (Utf8Bytes.codePointCount(target, target.position(), target.limit()) != size) {
+            throw failed(MUST_EQUAL_NUMBER, targetName, targetName + "文本标准长度", size);
+        }
+        return passed(MUST_EQUAL_NUMBER, targetName);
+    }
+
+    public Validator sizeUtf8(ByteBuffer target, String targetName, Integer size) {
+        return sizeUtf8(target, targetName, size, true);
+    }
+
+    public Validator sizeUtf8(ByteBuffer target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName);
+        InnerMethod.checkSizeRange(this, targetName, minSize, maxSize);
+        int length = Utf8Bytes.codePointCount(target, target.position(), target.limit());
+        if (length < minSize || length > maxSize) {
+            throw failed(MUST_BETWEEN, targetName, targetName + "文本长度", minSize, maxSize);
+        }
+        return passed(MUST_BETWEEN, targetName);
+    }
+
+    public Validator sizeUtf8(ByteBuffer target, String targetName, Integer minSize, Integer maxSize) {
+        return sizeUtf8(target, targetName, minSize, maxSize, true);
+    }
+
+    /**
+     * @param item UTF-8编码的必要文本;建议预先编码为常量
+     */
+    public Validator containsUtf8(ByteBuffer target, String targetName, byte[] item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName).hasTextUtf8(item, "必要文本");
+        if (!Utf8Bytes.contains(target, target.position(), target.limit(), item)) {
+            throw failed(MUST_CONTAIN_TEXT, targetName, targetName, Utf8Bytes.toString(item, 0, item.length));
+        }
+        return passed(MUST_CONTAIN_TEXT, targetName);
+    }
+
+    public Validator containsUtf8(ByteBuffer target, String targetName, byte[] item) {
+        return containsUtf8(target, targetName, item, true);
+    }
+
+    public Validator notContainsUtf8(ByteBuffer target, String targetName, byte[] item, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName).hasTextUtf8(item, "必要文本");
+        if (Utf8Bytes.contains(target, target.position(), target.limit(), item)) {
+            throw failed(MUST_NOT_CONTAIN_TEXT, targetName, targetName, Utf8Bytes.toString(item, 0, item.length));
+        }
+        return passed(MUST_NOT_CONTAIN_TEXT, targetName);
+    }
+
+    public Validator notContainsUtf8(ByteBuffer target, String targetName, byte[] item) {
+        return notContainsUtf8(target, targetName, item, true);
+    }
+
+    public Validator isEmailUtf8(ByteBuffer target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName);
+        if (!Utf8Bytes.isEmail(target, target.position(), target.limit())) {
+            throw failed(MUST_MATCH_PATTERN, targetName, Utf8Bytes.toString(target, target.position(), target.limit()), "邮箱");
+        }
+        return passed(MUST_MATCH_PATTERN, targetName);
+    }
+
+    public Validator isEmailUtf8(ByteBuffer target, String targetName) {
+        return isEmailUtf8(target, targetName, true);
+    }
+
+    public Validator isTelePhoneUtf8(ByteBuffer target, String targetName, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        hasTextUtf8(target, targetName);
+        if (!Utf8Bytes.isTelePhone(target, target.position(), target.limit())) {
+            throw failed(MUST_MATCH_PATTERN, targetName, Utf8Bytes.toString(target, target.position(), target.limit()), "手机号");
+        }
+        return passed(MUST_MATCH_PATTERN, targetName);
+    }
+
+    public Validator isTelePhoneUtf8(ByteBuffer target, String targetName) {
+        return isTelePhoneUtf8(target, targetName, true);
+    }
+
+    public <T> Validator size(Collection<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return notEmpty(target, targetName).notNull(size, targetName + "列表长度")
+                .gtInt(size.intValue(), targetName + "列表长度", 0)
+                .eqInt(target.size(), targetName + "列表长度", size.intValue());
+    }
+
+    public <T> Validator size(Collection<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> Validator size(Collection<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return notEmpty(target, targetName)
+                .notNull(minSize, targetName + "列表最小长度")
+                .gtInt(minSize.intValue(), targetName + "列表最小长度", 0)
+                .notNull(maxSize, targetName + "列表最大长度")
+                .gtInt(maxSize.intValue(), targetName + "列表最大长度", 0)
                 .between(target.size(), targetName + "列表长度", minSize, maxSize, required);
     }
 
@@ -469,8 +1381,9 @@ public final class Validator {
         if (!Boolean.TRUE.equals(required) && null == target) {
             return this;
         }
-        return notEmpty(target, targetName).gt(size, targetName + "列表长度", 0)
-                .eq(target.length, targetName + "列表长度", size);
+        return notEmpty(target, targetName).notNull(size, targetName + "列表长度")
+                .gtInt(size.intValue(), targetName + "列表长度", 0)
+                .eqInt(target.length, targetName + "列表长度", size.intValue());
     }
 
     public <T> Validator size(T[] target, String targetName, Integer size) {
@@ -482,8 +1395,10 @@ public final class Validator {
             return this;
         }
         return notEmpty(target, targetName)
-                .gt(minSize, targetName + "列表最小长度", 0)
-                .gt(maxSize, targetName + "列表最大长度", 0)
+                .notNull(minSize, targetName + "列表最小长度")
+                .gtInt(minSize.intValue(), targetName + "列表最小长度", 0)
+                .notNull(maxSize, targetName + "列表最大长度")
+                .gtInt(maxSize.intValue(), targetName + "列表最大长度", 0)
                 .between(target.length, targetName + "列表长度", minSize, maxSize, required);
     }
 
@@ -491,46 +1406,295 @@ public final class Validator {
         return size(target, targetName, minSize, maxSize, true);
     }
 
+    /**
+     * 惰性序列的长度校验:{@link Iterable}、{@link Iterator}、{@link Stream}、{@link Spliterator}
+     * <br>逐个计数,超过标准长度(或最大长度)一个元素即停止;已知确切大小(SIZED)时不遍历
+     * <br>信息与集合版本一致
+     */
+    public <T> Validator size(Iterable<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return sizeOf(null == target ? null : target.spliterator(), targetName, size);
+    }
+
+    public <T> Validator size(Iterable<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> Validator size(Iterable<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return sizeOf(null == target ? null : target.spliterator(), targetName, minSize, maxSize);
+    }
+
+    public <T> Validator size(Iterable<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    public <T> Validator size(Iterator<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return sizeOf(null == target ? null : Spliterators.spliteratorUnknownSize(target, 0), targetName, size);
+    }
+
+    public <T> Validator size(Iterator<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> Validator size(Iterator<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return sizeOf(null == target ? null : Spliterators.spliteratorUnknownSize(target, 0), targetName, minSize, maxSize);
+    }
+
+    public <T> Validator size(Iterator<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    public <T> Validator size(Stream<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return sizeOf(null == target ? null : target.spliterator(), targetName, size);
+    }
+
+    public <T> Validator size(Stream<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> Validator size(Stream<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return sizeOf(null == target ? null : target.spliterator(), targetName, minSize, maxSize);
+    }
+
+    public <T> Validator size(Stream<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    public <T> Validator size(Spliterator<T> target, String targetName, Integer size, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return sizeOf(null == target ? null : target, targetName, size);
+    }
+
+    public <T> Validator size(Spliterator<T> target, String targetName, Integer size) {
+        return size(target, targetName, size, true);
+    }
+
+    public <T> Validator size(Spliterator<T> target, String targetName, Integer minSize, Integer maxSize, Boolean required) {
+        if (!Boolean.TRUE.equals(required) && null == target) {
+            return this;
+        }
+        return sizeOf(null == target ? null : target, targetName, minSize, maxSize);
+    }
+
+    public <T> Validator size(Spliterator<T> target, String targetName, Integer minSize, Integer maxSize) {
+        return size(target, targetName, minSize, maxSize, true);
+    }
+
+    private Validator sizeOf(Spliterator<?> target, String targetName, Integer size) {
+        InnerMethod.Probe probe = new InnerMethod.Probe(null);
+        if (null == target || !InnerMethod.nonEmpty(target, probe)) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        String lengthName = targetName + "列表长度";
+        if (null == size || size <= 0) {
+            notNull(size, lengthName).gtInt(size.intValue(), lengthName, 0);
+        }
+        if (InnerMethod.count(target, probe, size + 1L) != size) {
+            throw failed(MUST_EQUAL_NUMBER, lengthName, lengthName, size);
+        }
+        return passed(MUST_EQUAL_NUMBER, lengthName);
+    }
+
+    private Validator sizeOf(Spliterator<?> target, String targetName, Integer minSize, Integer maxSize) {
+        InnerMethod.Probe probe = new InnerMethod.Probe(null);
+        if (null == target || !InnerMethod.nonEmpty(target, probe)) {
+            throw failed(MUST_NOT_NULL_OR_EMPTY, targetName, targetName);
+        }
+        String lengthName = targetName + "列表长度";
+        if (null == minSize || minSize <= 0 || null == maxSize || maxSize <= minSize) {
+            notNull(minSize, targetName + "列表最小长度")
+                    .gtInt(minSize.intValue(), targetName + "列表最小长度", 0)
+                    .notNull(maxSize, targetName + "列表最大长度")
+                    .gtInt(maxSize.intValue(), targetName + "列表最大长度", 0)
+                    .isLegal(minSize < maxSize, "最小值与最大值");
+        }
+        long count = InnerMethod.count(target, probe, maxSize + 1L);
+        if (count < minSize || count > maxSize) {
+            throw failed(MUST_BETWEEN, lengthName, lengthName, minSize, maxSize);
+        }
+        return passed(MUST_BETWEEN, lengthName);
+    }
+
 
     public Validator isLegal(Boolean isLegal, String targetName) {
         if (!Boolean.TRUE.equals(isLegal)) {
-            throw MUST_LEGAL.ex(targetName);
+            throw failed(MUST_LEGAL, targetName, targetName);
         }
-        return this;
+        return passed(MUST_LEGAL, targetName);
     }
 
     public Validator isExist(Boolean isExist, String targetName) {
         if (!Boolean.TRUE.equals(isExist)) {
-            throw MUST_EXIST.ex(targetName);
+            throw failed(MUST_EXIST, targetName, targetName);
         }
-        return this;
+        return passed(MUST_EXIST, targetName);
     }
 
     public Validator notExist(Boolean isExist, String targetName) {
         if (Boolean.TRUE.equals(isExist)) {
-            throw MUST_NOT_EXIST.ex(targetName);
+            throw failed(MUST_NOT_EXIST, targetName, targetName);
+        }
+        return passed(MUST_NOT_EXIST, targetName);
+    }
+
+    /**
+     * 经存在性校验器查询单个键;同一请求内有多个键时使用{@link ExistenceChecker#batch()}合并查询
+     */
+    public <K> Validator isExist(ExistenceChecker<K> checker, String targetName, K key) {
+        notNull(checker, "存在性校验器").notNull(key, targetName);
+        if (!checker.exists(key)) {
+            throw failed(MUST_EXIST, targetName, targetName);
+        }
+        return passed(MUST_EXIST, targetName);
+    }
+
+    public <K> Validator notExist(ExistenceChecker<K> checker, String targetName, K key) {
+        notNull(checker, "存在性校验器").notNull(key, targetName);
+        if (checker.exists(key)) {
+            throw failed(MUST_NOT_EXIST, targetName, targetName);
+        }
+        return passed(MUST_NOT_EXIST, targetName);
+    }
+
+    /**
+     * 键须已加入集合
+     */
+    public Validator isExist(OffHeapKeySet keys, String targetName, long key) {
+        notNull(keys, "键集合");
+        if (!keys.contains(key)) {
+            throw failed(MUST_EXIST, targetName, targetName);
+        }
+        return passed(MUST_EXIST, targetName);
+    }
+
+    /**
+     * 键不能已加入集合;只判断,不加入
+     */
+    public Validator notExist(OffHeapKeySet keys, String targetName, long key) {
+        notNull(keys, "键集合");
+        if (keys.contains(key)) {
+            throw failed(MUST_NOT_EXIST, targetName, targetName);
+        }
+        return passed(MUST_NOT_EXIST, targetName);
+    }
+
+    /**
+     * 键在批次内不能重复;首次出现时加入集合,再次出现时不通过
+     */
+    public Validator unique(OffHeapKeySet keys, String targetName, long key) {
+        notNull(keys, "键集合");
+        if (!keys.add(key)) {
+            throw failed(MUST_NOT_EXIST, targetName, targetName);
+        }
+        return passed(MUST_NOT_EXIST, targetName);
+    }
+
+    /**
+     * 键须已加入集合
+     */
+    public Validator isExist(OffHeapKeySet keys, String targetName, CharSequence key) {
+        notNull(keys, "键集合");
+        if (!keys.contains(key)) {
+            throw failed(MUST_EXIST, targetName, targetName);
+        }
+        return passed(MUST_EXIST, targetName);
+    }
+
+    /**
+     * 键不能已加入集合;只判断,不加入
+     */
+    public Validator notExist(OffHeapKeySet keys, String targetName, CharSequence key) {
+        notNull(keys, "键集合");
+        if (keys.contains(key)) {
+            throw failed(MUST_NOT_EXIST, targetName, targetName);
+        }
+        return passed(MUST_NOT_EXIST, targetName);
+    }
+
+    /**
+     * 键在批次内不能重复;首次出现时加入集合,再次出现时不通过
+     */
+    public Validator unique(OffHeapKeySet keys, String targetName, CharSequence key) {
+        notNull(keys, "键集合");
+        if (!keys.add(key)) {
+            throw failed(MUST_NOT_EXIST, targetName, targetName);
+        }
+        return passed(MUST_NOT_EXIST, targetName);
+    }
+
+    /**
+     * 记录一次通过的校验;指标关闭时仅返回自身,由JIT折叠
+     */
+    private Validator passed(ExMsgTemplateEnum rule, String targetName) {
+        if (ValidationMetrics.ENABLED) {
+            ValidationMetrics.pass(rule, targetName);
         }
         return this;
     }
 
+    /**
+     * 记录一次不通过的校验并构造异常
+     * <br>同包内以异常报告违规的校验器共用,使不通过次数计入{@link ValidationMetrics}
+     */
+    static ValidationException failed(ExMsgTemplateEnum rule, String targetName, Object... args) {
+        if (ValidationMetrics.ENABLED) {
+            ValidationMetrics.fail(rule, targetName);
+        }
+        return rule.ex(args);
+    }
 
-    private static final class InnerConstant {
-        private static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
+    static final class InnerConstant {
+        static final String DEFAULT_DATE_FORMAT = "yyyy-MM-dd";
 
-        private static final String REGEX_EMAIL = "^\\w+([-+.]\\w+)*@\\w+([-.]\\w+)*\\.\\w+([-.]\\w+)*$";
+        private static final int MAX_FORMATTERS = 256;
 
-        private static final String REGEX_TELEPHONE = "^(13[0-9]|14[5|7]|15[0|1|2|3|4|5|6|7|8|9]|18[0|1|2|3|5|6|7|8|9])\\d{8}$";
+        private static final Map<String, DateTimeFormatter> FORMATTER_CONTAINER = new ConcurrentHashMap<>();
+
+        /**
+         * 按格式与时区缓存的格式化器;zone为null时不绑定时区
+         * <br>缓存达到上限后新格式不再缓存,直接创建
+         */
+        static DateTimeFormatter formatter(String format, ZoneId zone) {
+            String key = null == zone ? format : format + '@' + zone.getId();
+            DateTimeFormatter formatter = FORMATTER_CONTAINER.get(key);
+            if (null == formatter) {
+                formatter = DateTimeFormatter.ofPattern(format).withZone(zone);
+                if (FORMATTER_CONTAINER.size() < MAX_FORMATTERS) {
+                    FORMATTER_CONTAINER.putIfAbsent(key, formatter);
+                }
+            }
+            return formatter;
+        }
 
-        private static final Map<String, Pattern> PATTERN_CONTAINER = new HashMap<>(16);
+        private static final PatternCache PATTERN_CONTAINER = PatternCache.fromSystemProperties();
 
-        private static Pattern pattern(String pattern) {
-            return PATTERN_CONTAINER.computeIfAbsent(pattern, Pattern::compile);
+        static Pattern pattern(String pattern) {
+            return PATTERN_CONTAINER.get(pattern);
         }
     }
 
-    private static class InnerMethod {
+    static final class InnerMethod {
 
-        private static boolean hasText(CharSequence str) {
+        static boolean hasText(CharSequence str) {
             return str != null && str.length() > 0 && containsText(str);
         }
 
@@ -544,7 +1708,88 @@ public final class Validator {
             return false;
         }
 
-        private static <T> boolean isArrayContainsItem(T[] target, T item) {
+        /**
+         * 元素个数,最多数到limit;已知确切大小时不遍历
+         */
+        /**
+         * 计数至多到limit;已读取的元素计入probe
+         */
+        static long count(Spliterator<?> target, Probe probe, long limit) {
+            long exact = target.getExactSizeIfKnown();
+            if (exact >= 0) {
+                return Math.min(probe.seen + exact, limit);
+            }
+            while (probe.seen < limit && target.tryAdvance(probe)) {
+                // 计数在Probe中完成
+            }
+            return probe.seen;
+        }
+
+        /**
+         * 遍历到第一个与item相等的元素为止
+         */
+        static Probe find(Spliterator<?> target, Probe probe) {
+            while (!probe.found && target.tryAdvance(probe)) {
+                // 比较在Probe中完成
+            }
+            return probe;
+        }
+
+        static boolean nonEmpty(Spliterator<?> target) {
+            long exact = target.getExactSizeIfKnown();
+            return exact >= 0 ? exact > 0 : target.tryAdvance(element -> {
+            });
+        }
+
+        /**
+         * 大小未知时读取的第一个元素计入probe
+         */
+        static boolean nonEmpty(Spliterator<?> target, Probe probe) {
+            long exact = target.getExactSizeIfKnown();
+            return exact >= 0 ? exact > 0 : target.tryAdvance(probe);
+        }
+
+        /**
+         * item在target中首次出现的位置,没有时返回-1
+         * <br>两者都是String时使用{@link String#indexOf(String)};否则按charAt直接查找,不复制target
+         */
+        static int indexOf(CharSequence target, CharSequence item) {
+            if (target instanceof String && item instanceof String) {
+                return ((String) target).indexOf((String) item);
+            }
+            int length = item.length();
+            if (0 == length) {
+                return 0;
+            }
+            char first = item.charAt(0);
+            for (int i = 0, last = target.length() - length; i <= last; i++) {
+                if (target.charAt(i) != first) {
+                    continue;
+                }
+                int k = 1;
+                while (k < length && target.charAt(i + k) == item.charAt(k)) {
+                    k++;
+                }
+                if (k == length) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * 长度范围参数不合法时按{@link Validator#size(String, String, Integer, Integer, Boolean)}的顺序报错;
+         * 合法时不拼接任何名称
+         */
+        static void checkSizeRange(Validator validator, String targetName, Integer minSize, Integer maxSize) {
+            if (null == minSize || minSize <= 0 || null == maxSize || maxSize <= minSize) {
+                validator.notNull(minSize, targetName + "文本最小长度")
+                        .gtInt(minSize.intValue(), targetName + "文本最小长度", 0)
+                        .gt(maxSize, targetName + "文本最大长度", minSize);
+            }
+        }
+
+        static <T> boolean isArrayContainsItem(T[] target, T item) {
             if (target.length == 0) {
                 return false;
             }
@@ -562,8 +1807,152 @@ public final class Validator {
             return false;
         }
 
-        private static String parseString(Date date, String format) {
-            return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()).format(DateTimeFormatter.ofPattern(format));
+        static final int LESS = -1;
+
+        static final int EQUAL = 0;
+
+        static final int GREATER = 1;
+
+        /**
+         * 无序;任一方为NaN时的比较结果,与原始double比较运算符的语义保持一致
+         */
+        static final int UNORDERED = 2;
+
+        /**
+         * 数值比较
+         * <br>双方均为整型(含原子类型)时按long精确比较,避免超过2^53的long经double转换后失真
+         * <br>任一方为BigDecimal/BigInteger时按BigDecimal精确比较
+         * <br>其余情况按double比较
+         *
+         * @return {@link #LESS}/{@link #EQUAL}/{@link #GREATER}/{@link #UNORDERED}
+         */
+        static int compare(Number a, Number b) {
+            if (isIntegral(a) && isIntegral(b)) {
+                return Long.compare(a.longValue(), b.longValue());
+            }
+            if ((isBig(a) || isBig(b)) && isFinite(a) && isFinite(b)) {
+                return Integer.signum(toBigDecimal(a).compareTo(toBigDecimal(b)));
+            }
+            double x = a.doubleValue();
+            double y = b.doubleValue();
+            return x < y ? LESS : (x > y ? GREATER : (x == y ? EQUAL : UNORDERED));
+        }
+
+        static boolean isLessOrEqual(int compared) {
+            return LESS == compared || EQUAL == compared;
+        }
+
+        static boolean isGreaterOrEqual(int compared) {
+            return GREATER == compared || EQUAL == compared;
+        }
+
+        private static boolean isIntegral(Number n) {
+            return n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte
+                    || n instanceof AtomicInteger || n instanceof AtomicLong;
+        }
+
+        private static boolean isBig(Number n) {
+            return n instanceof BigDecimal || n instanceof BigInteger;
+        }
+
+        private static boolean isFinite(Number n) {
+            if (isBig(n) || isIntegral(n)) {
+                return true;
+            }
+            double d = n.doubleValue();
+            return !Double.isNaN(d) && !Double.isInfinite(d);
+        }
+
+        private static BigDecimal toBigDecimal(Number n) {
+            if (n instanceof BigDecimal) {
+                return (BigDecimal) n;
+            }
+            if (n instanceof BigInteger) {
+                return new BigDecimal((BigInteger) n);
+            }
+            if (isIntegral(n)) {
+                return BigDecimal.valueOf(n.longValue());
+            }
+            return new BigDecimal(n.doubleValue());
+        }
+
+        static String parseString(Date date, String format) {
+            return InnerConstant.formatter(format, ZoneId.systemDefault()).format(date.toInstant());
+        }
+
+        static CharSequence formatLazily(Date date, String format) {
+            return new FormattedTime(date.toInstant(), format);
+        }
+
+        static CharSequence formatLazily(TemporalAccessor time, String format) {
+            return new FormattedTime(time, format);
+        }
+
+
+        /**
+         * 遍历回调:记录已遍历的元素数以及是否遇到与item相等的元素
+         */
+        static final class Probe implements Consumer<Object> {
+            private final Object item;
+            long seen;
+            boolean found;
+
+            Probe(Object item) {
+                this.item = item;
+            }
+
+            @Override
+            public void accept(Object element) {
+                seen++;
+                if (null != item && item.equals(element)) {
+                    found = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * 延迟格式化的时间文本;作为异常信息参数,仅在首次读取时格式化并缓存结果
+     * <br>{@link Instant}按格式化时的系统时区转换;格式非法或与时间类型不匹配时退回ISO格式
+     */
+    static final class FormattedTime implements CharSequence {
+        private final TemporalAccessor time;
+        private final String format;
+        private String text;
+
+        FormattedTime(TemporalAccessor time, String format) {
+            this.time = time;
+            this.format = format;
+        }
+
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            String value = text;
+            if (null == value) {
+                ZoneId zone = time instanceof Instant ? ZoneId.systemDefault() : null;
+                try {
+                    value = InnerConstant.formatter(format, zone).format(time);
+                } catch (DateTimeException | IllegalArgumentException e) {
+                    value = time.toString();
+                }
+                text = value;
+            }
+            return value;
         }
 
     }
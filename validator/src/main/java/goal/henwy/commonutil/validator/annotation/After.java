@@ -0,0 +1,40 @@
+package goal.henwy.commonutil.validator.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 最早时间校验;对应{@link goal.henwy.commonutil.validator.Validator#after(java.util.Date, String, java.util.Date, String, Boolean)}
+ * <br>字段须为{@link java.util.Date}、{@link java.time.Instant}、{@link java.time.LocalDate}或{@link java.time.LocalDateTime},
+ * 按字段类型调用对应的重载
+ *
+ * @author HenwyGoal
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface After {
+
+    /**
+     * 目标名称,用于异常信息
+     */
+    String value();
+
+    /**
+     * 日期文本,按{@link #dateFormat()}解析;编译期校验,运行期在校验器初始化时解析一次
+     */
+    String date();
+
+    /**
+     * 日期格式
+     */
+    String dateFormat() default "yyyy-MM-dd";
+
+    /**
+     * 是否必填;非必填时字段为空则跳过校验
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,53 @@
+package goal.henwy.commonutil.validator.annotation;
+
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Date;
+
+/**
+ * 注解驱动的对象校验器
+ * <br>由validator-processor注解处理器在编译期为每个带校验注解的类生成实现,类名为"类名Validator"(嵌套类以"_"连接外部类名),
+ * 与被校验类位于同一包下,通过单例INSTANCE获取
+ * <br>生成的实现按字段声明顺序直接调用{@link goal.henwy.commonutil.validator.Validator}的链式方法,运行期没有反射
+ * <br>实现不可变,<b>线程安全</b>
+ *
+ * @param <T> 被校验对象类型
+ * @author HenwyGoal
+ */
+public interface BeanValidator<T> {
+
+    /**
+     * 快速失败校验;遇到首个违规项即抛出{@link ValidationException}
+     */
+    void validate(T target);
+
+    /**
+     * 收集式校验;执行全部校验并将违规项写入结果对象
+     *
+     * @return 传入的结果对象
+     */
+    ValidationResult validate(T target, ValidationResult result);
+
+    /**
+     * 按格式解析日期注解中的日期文本;格式不含时间时取当日零点,按系统时区转换
+     * <br>供生成的校验器初始化常量使用
+     */
+    static Date date(String text, String dateFormat) {
+        return Date.from(dateTime(text, dateFormat).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * 按格式解析日期注解中的日期文本;格式不含时间时取当日零点
+     * <br>供生成的校验器初始化{@link LocalDate}、{@link LocalDateTime}常量使用
+     */
+    static LocalDateTime dateTime(String text, String dateFormat) {
+        TemporalAccessor parsed = DateTimeFormatter.ofPattern(dateFormat).parseBest(text, LocalDateTime::from, LocalDate::from);
+        return parsed instanceof LocalDateTime ? (LocalDateTime) parsed : ((LocalDate) parsed).atStartOfDay();
+    }
+}
@@ -0,0 +1,40 @@
+package goal.henwy.commonutil.validator.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 取值范围校验;对应{@link goal.henwy.commonutil.validator.Validator}的between方法
+ * <br>字段须为数值基本类型或{@link Number};边界以十进制文本给出,编译期解析,整数边界按整数精确比较
+ * <br>基本类型字段且边界可无损表示时调用对应的基本类型重载,不产生装箱
+ *
+ * @author HenwyGoal
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Between {
+
+    /**
+     * 目标名称,用于异常信息
+     */
+    String value();
+
+    /**
+     * 最小值(含),十进制文本
+     */
+    String min();
+
+    /**
+     * 最大值(含),十进制文本
+     */
+    String max();
+
+    /**
+     * 是否必填;非必填时字段为空则跳过校验
+     */
+    boolean required() default true;
+}
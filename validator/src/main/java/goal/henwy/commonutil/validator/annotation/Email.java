@@ -0,0 +1,29 @@
+package goal.henwy.commonutil.validator.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 邮箱格式校验;对应{@link goal.henwy.commonutil.validator.Validator#isEmail(CharSequence, String, Boolean)}
+ * <br>字段须为{@link CharSequence}
+ *
+ * @author HenwyGoal
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Email {
+
+    /**
+     * 目标名称,用于异常信息
+     */
+    String value();
+
+    /**
+     * 是否必填;非必填时字段为空则跳过校验
+     */
+    boolean required() default true;
+}
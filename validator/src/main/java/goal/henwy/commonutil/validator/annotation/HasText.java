@@ -0,0 +1,24 @@
+package goal.henwy.commonutil.validator.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 非空白文本校验;对应{@link goal.henwy.commonutil.validator.Validator#hasText(CharSequence, String)}
+ * <br>字段须为{@link CharSequence}
+ *
+ * @author HenwyGoal
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface HasText {
+
+    /**
+     * 目标名称,用于异常信息
+     */
+    String value();
+}
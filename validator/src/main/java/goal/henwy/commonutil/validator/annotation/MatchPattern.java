@@ -0,0 +1,39 @@
+package goal.henwy.commonutil.validator.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 正则格式校验;对应{@link goal.henwy.commonutil.validator.Validator#matchPattern(String, String, java.util.regex.Pattern, String, Boolean)}
+ * <br>字段须为{@link String};正则在编译期校验语法,并在生成的校验器中预编译为常量
+ *
+ * @author HenwyGoal
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface MatchPattern {
+
+    /**
+     * 目标名称,用于异常信息
+     */
+    String value();
+
+    /**
+     * 正则表达式
+     */
+    String regexp();
+
+    /**
+     * 格式名称,用于异常信息
+     */
+    String patternName();
+
+    /**
+     * 是否必填;非必填时字段为空则跳过校验
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,24 @@
+package goal.henwy.commonutil.validator.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 非空校验;对应{@link goal.henwy.commonutil.validator.Validator#notNull(Object, String)}
+ * <br>字段须为引用类型
+ *
+ * @author HenwyGoal
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface NotNull {
+
+    /**
+     * 目标名称,用于异常信息
+     */
+    String value();
+}
@@ -0,0 +1,39 @@
+package goal.henwy.commonutil.validator.annotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 长度校验;对应{@link goal.henwy.commonutil.validator.Validator}的size方法
+ * <br>字段须为{@link String}、{@link java.util.Collection}或引用类型数组;min与max相等时校验标准长度
+ *
+ * @author HenwyGoal
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface Size {
+
+    /**
+     * 目标名称,用于异常信息
+     */
+    String value();
+
+    /**
+     * 最小长度(含),须大于0
+     */
+    int min();
+
+    /**
+     * 最大长度(含),不能小于最小长度
+     */
+    int max();
+
+    /**
+     * 是否必填;非必填时字段为空则跳过校验
+     */
+    boolean required() default true;
+}
@@ -0,0 +1,139 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.BatchResult;
+import goal.henwy.commonutil.validator.BatchValidator;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationResult;
+import goal.henwy.commonutil.validator.ValidationSchema;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行批量校验器测试类
+ *
+ * @author HenwyGoal
+ */
+class BatchValidatorTest {
+
+    private static final ValidationSchema<String> SCHEMA = ValidationSchema.<String>builder()
+            .hasText(s -> s, "文本")
+            .matchPattern(s -> s, "文本", "^\\d+$", "纯数字")
+            .build();
+
+    @Test
+    void testInputOrder() {
+        List<String> targets = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            targets.add(0 == i % 7 ? "a" + i : 0 == i % 11 ? " " : String.valueOf(i));
+        }
+        ValidationResult expected = new ValidationResult();
+        List<Integer> expectedIndices = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            int before = expected.size();
+            SCHEMA.validate(targets.get(i), expected);
+            for (int k = before; k < expected.size(); k++) {
+                expectedIndices.add(i);
+            }
+        }
+
+        try (BatchValidator<String> forkJoin = BatchValidator.builder(SCHEMA).parallelism(4).chunkSize(100).build();
+             BatchValidator<String> virtual = BatchValidator.builder(SCHEMA).parallelism(3).chunkSize(64).virtualThreads(true).build();
+             BatchValidator<String> common = BatchValidator.builder(SCHEMA).build()) {
+            for (BatchValidator<String> batch : new BatchValidator[]{forkJoin, virtual, common}) {
+                assertSame(expected, expectedIndices, batch.validate(targets));
+                assertSame(expected, expectedIndices, batch.validate(new LinkedList<>(targets)));
+                assertSame(expected, expectedIndices, batch.validate(targets.toArray(new String[0])));
+            }
+        }
+    }
+
+    @Test
+    void testCheck() {
+        try (BatchValidator<Integer> batch = BatchValidator.<Integer>builder((target, result) ->
+                Validator.collecting(result).notNull(target, "数值")).parallelism(2).chunkSize(2).build()) {
+            Integer[] targets = {1, null, 3, 4, null};
+            BatchResult result = batch.validate(targets);
+            Assertions.assertEquals(2, result.size());
+            Assertions.assertEquals(1, result.getIndex(0));
+            Assertions.assertEquals(4, result.getIndex(1));
+            Assertions.assertThrows(ValidationException.class, result::throwIfInvalid);
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> result.getIndex(2));
+
+            Assertions.assertTrue(batch.validate(new Integer[0]).isValid());
+            Assertions.assertTrue(batch.validate(new Integer[]{1, 2, 3}).isValid());
+        }
+    }
+
+    @Test
+    void testException() {
+        Assertions.assertThrows(ValidationException.class, () -> BatchValidator.<String>builder(SCHEMA::validate).parallelism(0));
+        Assertions.assertThrows(ValidationException.class, () -> BatchValidator.<String>builder(SCHEMA::validate).chunkSize(0));
+        try (BatchValidator<String> batch = BatchValidator.<String>builder((target, result) -> {
+            if ("boom".equals(target)) {
+                throw new IllegalStateException(target);
+            }
+        }).parallelism(2).chunkSize(1).build()) {
+            List<String> targets = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                targets.add(50 == i ? "boom" : "ok");
+            }
+            Assertions.assertThrows(IllegalStateException.class, () -> batch.validate(targets));
+        }
+    }
+
+    @Test
+    void testClose() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger done = new AtomicInteger();
+        BatchValidator<Long> batch = BatchValidator.<Long>builder((target, result) -> {
+            started.countDown();
+            sleep(target);
+            done.incrementAndGet();
+        }).parallelism(2).chunkSize(1).build();
+        Thread caller = new Thread(() -> batch.validate(Arrays.asList(200L, 200L)));
+        caller.start();
+        started.await();
+        // 等待进行中的校验结束后才返回
+        batch.close();
+        Assertions.assertEquals(2, done.get());
+        caller.join();
+
+        BatchValidator<Long> stuck = BatchValidator.<Long>builder((target, result) -> sleep(target))
+                .parallelism(1).closeTimeout(50, TimeUnit.MILLISECONDS).build();
+        Thread blocked = new Thread(() -> stuck.validate(Collections.singletonList(10_000L)));
+        blocked.setDaemon(true);
+        blocked.start();
+        long begin = System.nanoTime();
+        stuck.close();
+        Assertions.assertTrue(System.nanoTime() - begin < TimeUnit.SECONDS.toNanos(5));
+
+        Assertions.assertThrows(ValidationException.class,
+                () -> BatchValidator.<String>builder(SCHEMA::validate).closeTimeout(-1, TimeUnit.SECONDS));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void assertSame(ValidationResult expected, List<Integer> expectedIndices, BatchResult actual) {
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertEquals(expectedIndices.get(i), actual.getIndex(i));
+            Assertions.assertEquals(expected.getMessage(i), actual.getMessage(i));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.BulkValidator;
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.ValidationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+/**
+ * 列式批量校验器测试类
+ *
+ * @author HenwyGoal
+ */
+class BulkValidatorTest {
+
+    private static final BulkValidator bulkValidator = BulkValidator.BulkValidatorBuilder.build();
+
+    private static final String targetName = "item";
+
+    @Test
+    void testNotNull() {
+        Object[] values = new Object[130];
+        Arrays.fill(values, "1");
+        values[0] = null;
+        values[64] = null;
+        values[129] = null;
+        Assertions.assertEquals(bits(0, 64, 129), bulkValidator.notNull(values, targetName));
+        Assertions.assertEquals(bits(1), bulkValidator.notNull(Arrays.asList("1", null), targetName));
+        Assertions.assertTrue(bulkValidator.notNull(new Object[0], targetName).isEmpty());
+        Assertions.assertThrows(ValidationException.class, () -> bulkValidator.notNull((Object[]) null, targetName));
+
+        Assertions.assertEquals(bits(0, 2), bulkValidator.hasText(new String[]{" ", "1", null}, targetName));
+        Assertions.assertEquals(bits(1), bulkValidator.hasText(Arrays.asList("1", ""), targetName));
+    }
+
+    @Test
+    void testBetween() {
+        long[] longs = new long[200];
+        for (int i = 0; i < longs.length; i++) {
+            longs[i] = i;
+        }
+        BitSet failures = bulkValidator.between(longs, targetName, 10, 150);
+        Assertions.assertEquals(10 + 49, failures.cardinality());
+        Assertions.assertEquals(0, failures.nextSetBit(0));
+        Assertions.assertEquals(151, failures.nextSetBit(10));
+
+        long snowflake = (1L << 53) + 1;
+        Assertions.assertEquals(bits(0), bulkValidator.between(new long[]{snowflake - 1, snowflake}, targetName, snowflake, snowflake + 1));
+        Assertions.assertEquals(bits(0, 3), bulkValidator.between(new int[]{-1, 0, 5, 6}, targetName, 0, 5));
+        Assertions.assertEquals(bits(0, 2), bulkValidator.between(new double[]{0.5, 1.0, Double.NaN}, targetName, 1.0, 2.0));
+        Assertions.assertThrows(ValidationException.class, () -> bulkValidator.between(new int[0], targetName, 5, 5));
+    }
+
+    @Test
+    void testText() {
+        Assertions.assertEquals(bits(1, 2), bulkValidator.matchPattern(Arrays.asList("噶", "Goal", null), targetName, "^[\\u4e00-\\u9fa5]*$", "纯中文"));
+        Assertions.assertEquals(bits(0), bulkValidator.isEmail(Arrays.asList("null", "HenwyGoal@163.com"), targetName));
+        Assertions.assertEquals(bits(1), bulkValidator.isTelePhone(Arrays.asList("15625717814", "11125717814"), targetName));
+        Assertions.assertEquals(bits(0, 2), bulkValidator.size(Arrays.asList("1", "12", "123456"), targetName, 2, 5));
+        Assertions.assertTrue(bulkValidator.size(Collections.emptyList(), targetName, 2, 5).isEmpty());
+    }
+
+    @Test
+    void testRequireNone() {
+        bulkValidator.requireNone(new BitSet(), ExMsgTemplateEnum.MUST_BETWEEN, targetName, 0, 5);
+        ValidationException ex = Assertions.assertThrows(ValidationException.class,
+                () -> bulkValidator.requireNone(bits(3, 7), ExMsgTemplateEnum.MUST_BETWEEN, targetName, 0, 5));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN.errMsg("item[3]", 0, 5), ex.getMessage());
+    }
+
+    private static BitSet bits(int... indices) {
+        BitSet bitSet = new BitSet();
+        for (int index : indices) {
+            bitSet.set(index);
+        }
+        return bitSet;
+    }
+}
@@ -0,0 +1,161 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.CollectingValidator;
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.KeywordMatcher;
+import goal.henwy.commonutil.validator.MembershipIndex;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationResult;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 收集式校验器测试类
+ *
+ * @author HenwyGoal
+ */
+class CollectingValidatorTest {
+
+    private static final Validator validator = Validator.ValidatorBuilder.build();
+
+    @Test
+    void testCollectAll() {
+        ValidationResult result = new ValidationResult(1);
+        Validator.collecting(result)
+                .notNull(null, "a")
+                .hasText(" ", "b")
+                .between(11, "c", 1, 10)
+                .size("123", "d", 2)
+                .contains(Collections.singleton("2"), "e", "1")
+                .isEmail("null", "f")
+                .isLegal(true, "g");
+
+        Assertions.assertEquals(6, result.size());
+        Assertions.assertFalse(result.isValid());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY, result.getTemplate(0));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, result.getTemplate(2));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_EQUAL_NUMBER, result.getTemplate(3));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_MATCH_PATTERN, result.getTemplate(5));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN.errMsg("c", 1, 10), result.getMessage(2));
+        Assertions.assertEquals(6, result.getMessages().size());
+
+        ValidationException ex = Assertions.assertThrows(ValidationException.class, result::throwIfInvalid);
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY, ex.getTemplate());
+    }
+
+    @Test
+    void testReset() {
+        CollectingValidator collecting = Validator.collecting();
+        collecting.notNull(null, "a");
+        Assertions.assertEquals(1, collecting.getResult().size());
+
+        collecting.reset().notNull(new Object(), "a").hasText("1", "b");
+        Assertions.assertTrue(collecting.getResult().isValid());
+        Assertions.assertTrue(collecting.getResult().getMessages().isEmpty());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> collecting.getResult().getTemplate(0));
+    }
+
+    @Test
+    void testSameVerdictAsValidator() {
+        long dayMillis = 86400000;
+        Date now = new Date();
+        Date tomorrow = new Date(now.getTime() + dayMillis);
+        Date yesterday = new Date(now.getTime() - dayMillis);
+
+        assertSame(() -> validator.size("1", "a", 2, 5), c -> c.size("1", "a", 2, 5));
+        assertSame(() -> validator.size("13", "a", 1, 5), c -> c.size("13", "a", 1, 5));
+        assertSame(() -> validator.size("13", "a", 0), c -> c.size("13", "a", 0));
+        assertSame(() -> validator.size(Arrays.asList(1, 2), "a", 3, 3), c -> c.size(Arrays.asList(1, 2), "a", 3, 3));
+        assertSame(() -> validator.size(new Integer[]{1}, "a", 1, 5), c -> c.size(new Integer[]{1}, "a", 1, 5));
+        assertSame(() -> validator.between(5, "a", 10, 1), c -> c.between(5, "a", 10, 1));
+        assertSame(() -> validator.between(now, "a", tomorrow, yesterday), c -> c.between(now, "a", tomorrow, yesterday));
+        assertSame(() -> validator.before(now, "a", yesterday), c -> c.before(now, "a", yesterday));
+        assertSame(() -> validator.notContains("21", "a", "1"), c -> c.notContains("21", "a", "1"));
+        assertSame(() -> validator.containsKey(Collections.singletonMap("2", true), "a", "1"),
+                c -> c.containsKey(Collections.singletonMap("2", true), "a", "1"));
+        assertSame(() -> validator.isTelePhone("15625717814", "a"), c -> c.isTelePhone("15625717814", "a"));
+    }
+
+    @Test
+    void testSameVerdictForExtendedOverloads() {
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.now();
+        LocalDateTime moment = LocalDateTime.now();
+        long millis = now.toEpochMilli();
+        byte[] email = "x@y".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer text = ByteBuffer.wrap("噶噶噶".getBytes(StandardCharsets.UTF_8));
+        MembershipIndex<String> index = MembershipIndex.of("a", "b");
+        KeywordMatcher keywords = KeywordMatcher.of("促销", "折扣");
+
+        assertSame(() -> validator.between(now, "a", now.plusSeconds(1), now.plusSeconds(2)),
+                c -> c.between(now, "a", now.plusSeconds(1), now.plusSeconds(2)));
+        assertSame(() -> validator.between(today, "a", today.plusDays(1), today), c -> c.between(today, "a", today.plusDays(1), today));
+        assertSame(() -> validator.between(moment, "a", moment.minusDays(1), moment.plusDays(1)),
+                c -> c.between(moment, "a", moment.minusDays(1), moment.plusDays(1)));
+        assertSame(() -> validator.beforeEpochMilli(millis, "a", millis - 1), c -> c.beforeEpochMilli(millis, "a", millis - 1));
+        assertSame(() -> validator.afterEpochMilli(millis, "a", millis + 1), c -> c.afterEpochMilli(millis, "a", millis + 1));
+        assertSame(() -> validator.betweenEpochMilli(millis, "a", millis, millis - 1), c -> c.betweenEpochMilli(millis, "a", millis, millis - 1));
+
+        assertSame(() -> validator.isEmailUtf8(email, "a"), c -> c.isEmailUtf8(email, "a"));
+        assertSame(() -> validator.sizeUtf8(text, "a", 3), c -> c.sizeUtf8(text, "a", 3));
+        assertSame(() -> validator.sizeUtf8(text, "a", 1, 2), c -> c.sizeUtf8(text, "a", 1, 2));
+        assertSame(() -> validator.containsUtf8(email, "a", "z".getBytes(StandardCharsets.UTF_8)),
+                c -> c.containsUtf8(email, "a", "z".getBytes(StandardCharsets.UTF_8)));
+        assertSame(() -> validator.hasTextUtf8(ByteBuffer.allocate(0), "a"), c -> c.hasTextUtf8(ByteBuffer.allocate(0), "a"));
+
+        assertSame(() -> validator.size(Stream.of(1, 2, 3), "a", 2), c -> c.size(Stream.of(1, 2, 3), "a", 2));
+        assertSame(() -> validator.size(Stream.of(1, 2, 3).iterator(), "a", 1, 3), c -> c.size(Stream.of(1, 2, 3).iterator(), "a", 1, 3));
+        assertSame(() -> validator.size(Collections.emptyIterator(), "a", null), c -> c.size(Collections.emptyIterator(), "a", null));
+        assertSame(() -> validator.size(Arrays.asList(1, 2).spliterator(), "a", 3, 1), c -> c.size(Arrays.asList(1, 2).spliterator(), "a", 3, 1));
+        assertSame(() -> validator.contains(Stream.of(1, 2), "a", 3), c -> c.contains(Stream.of(1, 2), "a", 3));
+        assertSame(() -> validator.contains(Stream.empty(), "a", null), c -> c.contains(Stream.empty(), "a", null));
+        assertSame(() -> validator.notEmpty(Stream.empty(), "a"), c -> c.notEmpty(Stream.empty(), "a"));
+
+        assertSame(() -> validator.contains(index, "a", "c"), c -> c.contains(index, "a", "c"));
+        assertSame(() -> validator.notContains(index, "a", "b"), c -> c.notContains(index, "a", "b"));
+        assertSame(() -> validator.contains("正常内容", "a", keywords), c -> c.contains("正常内容", "a", keywords));
+        assertSame(() -> validator.contains("正常内容", "a", keywords, "促销用语"), c -> c.contains("正常内容", "a", keywords, "促销用语"));
+        assertSame(() -> validator.notContains("限时折扣", "a", keywords), c -> c.notContains("限时折扣", "a", keywords));
+    }
+
+    /**
+     * Validator的每个链式校验方法在收集式校验器中都有同签名的版本
+     */
+    @Test
+    void testSameMethodsAsValidator() {
+        for (Method method : Validator.class.getMethods()) {
+            if (Validator.class != method.getReturnType() || Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            Method collecting = Assertions.assertDoesNotThrow(
+                    () -> CollectingValidator.class.getMethod(method.getName(), method.getParameterTypes()), method::toString);
+            Assertions.assertEquals(CollectingValidator.class, collecting.getReturnType(), method::toString);
+        }
+    }
+
+    private static void assertSame(Runnable failFast, Consumer<CollectingValidator> collect) {
+        ValidationResult result = new ValidationResult();
+        collect.accept(Validator.collecting(result));
+        try {
+            failFast.run();
+            Assertions.assertTrue(result.isValid(), result::toString);
+        } catch (ValidationException ex) {
+            Assertions.assertEquals(1, result.size());
+            Assertions.assertEquals(ex.getMessage(), result.getMessage(0));
+        }
+    }
+}
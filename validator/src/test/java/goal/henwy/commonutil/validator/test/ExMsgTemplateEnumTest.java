@@ -0,0 +1,47 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.ValidationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.MissingFormatArgumentException;
+import java.util.Set;
+
+/**
+ * 异常信息模板测试类
+ *
+ * @author HenwyGoal
+ */
+class ExMsgTemplateEnumTest {
+
+    @Test
+    void testSameAsFormat() {
+        Object[] args = {"item", null, 1.5d};
+        for (ExMsgTemplateEnum template : ExMsgTemplateEnum.values()) {
+            String expected = String.format(template.template(), args);
+            Assertions.assertEquals(expected, template.errMsg(args));
+            Assertions.assertEquals("[" + expected, template.appendMsg(new StringBuilder("["), args).toString());
+            Assertions.assertEquals(expected, template.appendMsg(new StringWriter(), args).toString());
+        }
+        Assertions.assertEquals(3, ExMsgTemplateEnum.MUST_BETWEEN.argCount());
+        Assertions.assertThrows(MissingFormatArgumentException.class, () -> ExMsgTemplateEnum.MUST_BETWEEN.errMsg("item"));
+    }
+
+    @Test
+    void testCode() {
+        Set<Integer> codes = new HashSet<>();
+        for (ExMsgTemplateEnum template : ExMsgTemplateEnum.values()) {
+            Assertions.assertTrue(codes.add(template.code()), template.name());
+            Assertions.assertSame(template, ExMsgTemplateEnum.ofCode(template.code()));
+        }
+        Assertions.assertEquals(1220, ExMsgTemplateEnum.MUST_BETWEEN.code());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExMsgTemplateEnum.ofCode(-1));
+
+        ValidationException ex = ExMsgTemplateEnum.MUST_EXIST.ex("item");
+        Assertions.assertEquals(1501, ex.getCode());
+        Assertions.assertEquals(ex.getMessage(), ex.appendMessage(new StringBuilder()).toString());
+    }
+}
@@ -0,0 +1,122 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.ExistenceChecker;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationResult;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 存在性校验器测试类
+ *
+ * @author HenwyGoal
+ */
+class ExistenceCheckerTest {
+
+    private static final Validator validator = Validator.ValidatorBuilder.build();
+
+    private final Set<Long> users = new HashSet<>(Arrays.asList(1L, 2L, 3L));
+
+    private final List<Set<Long>> queries = new ArrayList<>();
+
+    private Set<Long> findExisting(Set<Long> keys) {
+        queries.add(new HashSet<>(keys));
+        return keys.stream().filter(users::contains).collect(Collectors.toSet());
+    }
+
+    @Test
+    void testBatch() {
+        ExistenceChecker<Long> checker = ExistenceChecker.<Long>builder(this::findExisting).maxBatchSize(2).build();
+        checker.batch().isExist(1L, "买家").isExist(2L, "卖家").notExist(9L, "新用户").isExist(1L, "收货人").validate();
+        Assertions.assertEquals(2, queries.size());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), queries.get(0));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(9L)), queries.get(1));
+
+        ValidationException ex = Assertions.assertThrows(ValidationException.class,
+                () -> checker.batch().isExist(1L, "买家").isExist(8L, "卖家").notExist(2L, "新用户").validate());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_EXIST.errMsg("卖家"), ex.getMessage());
+
+        ValidationResult result = checker.batch().isExist(8L, "卖家").notExist(2L, "新用户").validate(new ValidationResult());
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_EXIST.errMsg("卖家"), result.getMessage(0));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_EXIST.errMsg("新用户"), result.getMessage(1));
+
+        queries.clear();
+        checker.batch().validate();
+        Assertions.assertTrue(queries.isEmpty());
+        Assertions.assertThrows(RuntimeException.class, () -> checker.batch().isExist(null, "买家"));
+    }
+
+    @Test
+    void testCache() {
+        AtomicLong now = new AtomicLong();
+        ExistenceChecker<Long> checker = ExistenceChecker.<Long>builder(this::findExisting)
+                .cacheTtl(10, 1, TimeUnit.NANOSECONDS)
+                .ticker(now::get)
+                .build();
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), checker.existing(Arrays.asList(1L, 2L, 9L)));
+        Assertions.assertEquals(1, queries.size());
+
+        Assertions.assertTrue(checker.exists(1L));
+        Assertions.assertFalse(checker.exists(9L));
+        Assertions.assertEquals(1, queries.size());
+
+        now.set(5);
+        users.add(9L);
+        Assertions.assertTrue(checker.exists(9L));
+        Assertions.assertTrue(checker.exists(2L));
+        Assertions.assertEquals(2, queries.size());
+
+        users.remove(1L);
+        checker.invalidate(1L);
+        Assertions.assertFalse(checker.exists(1L));
+        Assertions.assertEquals(3, queries.size());
+
+        now.set(20);
+        checker.batch().isExist(2L, "卖家").isExist(9L, "买家").validate();
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(2L, 9L)), queries.get(3));
+    }
+
+    @Test
+    void testFullCache() {
+        AtomicLong now = new AtomicLong();
+        ExistenceChecker<Long> checker = ExistenceChecker.<Long>builder(this::findExisting)
+                .cacheTtl(10, TimeUnit.NANOSECONDS)
+                .maxCacheSize(2)
+                .ticker(now::get)
+                .build();
+        checker.existing(Arrays.asList(1L, 2L));
+        Assertions.assertFalse(checker.exists(9L));
+        Assertions.assertFalse(checker.exists(9L));
+        Assertions.assertEquals(3, queries.size());
+
+        // 最早条目到期后清理腾出空间,新结果重新进入缓存
+        now.set(10);
+        Assertions.assertFalse(checker.exists(9L));
+        Assertions.assertFalse(checker.exists(9L));
+        Assertions.assertEquals(4, queries.size());
+    }
+
+    @Test
+    void testValidator() {
+        ExistenceChecker<Long> checker = ExistenceChecker.<Long>builder(this::findExisting).build();
+        Assertions.assertEquals(validator, validator.isExist(checker, "买家", 1L));
+        Assertions.assertEquals(validator, validator.notExist(checker, "新用户", 9L));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.isExist(checker, "买家", 9L));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.notExist(checker, "新用户", 1L));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.isExist(checker, "买家", null));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> ExistenceChecker.<Long>builder(keys -> null).build().exists(1L));
+    }
+}
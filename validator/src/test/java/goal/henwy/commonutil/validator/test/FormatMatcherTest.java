@@ -0,0 +1,85 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.FormatMatcher;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * 格式匹配器测试类
+ * <br>与参照正则做差分模糊测试
+ *
+ * @author HenwyGoal
+ */
+class FormatMatcherTest {
+
+    private static final Pattern EMAIL = Pattern.compile(FormatMatcher.EMAIL_REGEX);
+
+    private static final Pattern TELEPHONE = Pattern.compile(FormatMatcher.TELEPHONE_REGEX);
+
+    private static final String EMAIL_ALPHABET = "aaaaaaZ09_-+...@@|噶 \n";
+
+    private static final String TELEPHONE_ALPHABET = "0123456789|a";
+
+    @Test
+    void testEmail() {
+        Assertions.assertTrue(FormatMatcher.isEmail("HenwyGoal@163.com"));
+        Assertions.assertTrue(FormatMatcher.isEmail("a.b+c-d@e-f.g.h"));
+        Assertions.assertTrue(FormatMatcher.isEmail(new StringBuilder("a@b.c")));
+        Assertions.assertFalse(FormatMatcher.isEmail(null));
+        Assertions.assertFalse(FormatMatcher.isEmail(""));
+        Assertions.assertFalse(FormatMatcher.isEmail("a@b"));
+        Assertions.assertFalse(FormatMatcher.isEmail("a@b-c"));
+        Assertions.assertFalse(FormatMatcher.isEmail("a..b@c.d"));
+        Assertions.assertFalse(FormatMatcher.isEmail("a@b.c\n"));
+        Assertions.assertFalse(FormatMatcher.isEmail("a@b@c.d"));
+    }
+
+    @Test
+    void testTelePhone() {
+        Assertions.assertTrue(FormatMatcher.isTelePhone("15625717814"));
+        Assertions.assertTrue(FormatMatcher.isTelePhone("14|25717814"));
+        Assertions.assertFalse(FormatMatcher.isTelePhone("18425717814"));
+        Assertions.assertFalse(FormatMatcher.isTelePhone("11125717814"));
+        Assertions.assertFalse(FormatMatcher.isTelePhone("1562571781"));
+        Assertions.assertFalse(FormatMatcher.isTelePhone(null));
+    }
+
+    @Test
+    void testDifferential() {
+        Random random = new Random(20230401L);
+        for (int i = 0; i < 200000; i++) {
+            String email = randomString(random, EMAIL_ALPHABET, random.nextInt(16));
+            Assertions.assertEquals(EMAIL.matcher(email).matches(), FormatMatcher.isEmail(email), email);
+
+            String telePhone = "1" + randomString(random, TELEPHONE_ALPHABET, 9 + random.nextInt(3));
+            Assertions.assertEquals(TELEPHONE.matcher(telePhone).matches(), FormatMatcher.isTelePhone(telePhone), telePhone);
+        }
+    }
+
+    @Test
+    void testLinear() {
+        StringBuilder adversarial = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            adversarial.append("a.");
+        }
+        adversarial.append("a@a");
+        for (int i = 0; i < 100000; i++) {
+            adversarial.append("-a");
+        }
+        adversarial.append('!');
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(1),
+                () -> Assertions.assertFalse(FormatMatcher.isEmail(adversarial)));
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        return new String(chars);
+    }
+}
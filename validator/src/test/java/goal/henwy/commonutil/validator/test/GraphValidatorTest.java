@@ -0,0 +1,186 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.GraphValidator;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationResult;
+import goal.henwy.commonutil.validator.ValidationSchema;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 对象图校验器测试类
+ *
+ * @author HenwyGoal
+ */
+class GraphValidatorTest {
+
+    private static final Validator validator = Validator.ValidatorBuilder.build();
+
+    private static final ValidationSchema<Order> ORDER_SCHEMA = ValidationSchema.<Order>builder()
+            .notNull(o -> o.id, "订单号")
+            .build();
+
+    private static final ValidationSchema<Line> LINE_SCHEMA = ValidationSchema.<Line>builder()
+            .between(l -> l.quantity, "数量", 1, 99)
+            .build();
+
+    private final AtomicInteger productChecks = new AtomicInteger();
+
+    private final ValidationSchema<Product> productSchema = ValidationSchema.<Product>builder()
+            .hasText(p -> {
+                productChecks.incrementAndGet();
+                return p.name;
+            }, "商品名称")
+            .build();
+
+    private GraphValidator<Order> graph(int parallelThreshold, boolean allowCycles) {
+        return GraphValidator.<Order>builder()
+                .node(Order.class, ORDER_SCHEMA)
+                .children(Order.class, o -> o.lines)
+                .children(Order.class, o -> o.related)
+                .node(Line.class, LINE_SCHEMA)
+                .children(Line.class, l -> l.product)
+                .node(Product.class, productSchema)
+                .parallelThreshold(parallelThreshold)
+                .allowCycles(allowCycles)
+                .build();
+    }
+
+    @Test
+    void testSharedInstances() {
+        Product product = new Product("book");
+        Order order = new Order(1L, Arrays.asList(new Line(1, product), new Line(2, product), new Line(3, product)));
+        graph(Integer.MAX_VALUE, false).validate(order);
+        Assertions.assertEquals(1, productChecks.get());
+
+        Order invalid = new Order(1L, Arrays.asList(new Line(1, product), new Line(0, product), new Line(100, product)));
+        ValidationResult result = graph(Integer.MAX_VALUE, false).validate(invalid, new ValidationResult());
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, result.getTemplate(0));
+        ValidationException ex = Assertions.assertThrows(ValidationException.class,
+                () -> graph(Integer.MAX_VALUE, false).validate(new Order(null, new ArrayList<>())));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY, ex.getTemplate());
+    }
+
+    @Test
+    void testCycle() {
+        Order first = new Order(1L, new ArrayList<>());
+        Order second = new Order(2L, new ArrayList<>());
+        first.related = second;
+        second.related = first;
+
+        ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> graph(Integer.MAX_VALUE, false).validate(first));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_LEGAL, ex.getTemplate());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_LEGAL.errMsg("对象图循环引用(Order→Order→Order)"), ex.getMessage());
+        graph(Integer.MAX_VALUE, true).validate(first);
+
+        // 共享但不成环的实例不是循环引用
+        Order shared = new Order(3L, new ArrayList<>());
+        Order root = new Order(4L, Arrays.asList(new Line(1, new Product("a"))));
+        root.related = shared;
+        shared.related = null;
+        graph(Integer.MAX_VALUE, false).validate(root);
+    }
+
+    @Test
+    void testBuilderReuse() {
+        GraphValidator.Builder<Order> builder = GraphValidator.<Order>builder()
+                .node(Order.class, ORDER_SCHEMA)
+                .node(Line.class, LINE_SCHEMA);
+        GraphValidator<Order> shallow = builder.build();
+        GraphValidator<Order> deep = builder.children(Order.class, o -> o.lines).build();
+
+        Order order = new Order(1L, Arrays.asList(new Line(0, new Product("a"))));
+        shallow.validate(order);
+        Assertions.assertThrows(ValidationException.class, () -> deep.validate(order));
+    }
+
+    @Test
+    void testParallel() {
+        Product product = new Product("book");
+        List<Line> lines = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            lines.add(new Line(i % 1000 == 999 ? 0 : 1, i % 2 == 0 ? product : new Product("p" + i)));
+        }
+        Order order = new Order(1L, lines);
+        ValidationResult result = graph(64, false).validate(order, new ValidationResult());
+        Assertions.assertEquals(10, result.size());
+        Assertions.assertEquals(5001, productChecks.get());
+
+        ValidationResult sequential = graph(Integer.MAX_VALUE, false).validate(order, new ValidationResult());
+        Assertions.assertEquals(sequential.getMessages(), result.getMessages());
+        Assertions.assertThrows(ValidationException.class, () -> graph(64, false).validate(order));
+    }
+
+    @Test
+    void testParallelFailFast() {
+        List<Line> lines = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            lines.add(new Line(i % 1000 == 999 ? 0 : 1, new Product("p" + i)));
+        }
+        Order order = new Order(1L, lines);
+        GraphValidator<Order> graph = GraphValidator.<Order>builder()
+                .children(Order.class, o -> o.lines)
+                .node(Line.class, (Line l, ValidationResult r) -> validator.gtInt(l.quantity, "数量(" + l.product.name + ")", 0))
+                .parallelThreshold(64)
+                .build();
+        // 排在前面的分块不因后面分块的失败而中止,始终报告子对象顺序上最靠前的违规
+        for (int i = 0; i < 20; i++) {
+            ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> graph.validate(order));
+            Assertions.assertEquals(ExMsgTemplateEnum.MUST_GT.errMsg("数量(p999)", 0), ex.getMessage());
+        }
+
+        // 多个分块共享的非法商品:无论哪个分块先校验到,都报告子对象顺序上最靠前的引用处的违规
+        Product shared = new Product(" ");
+        for (int i = 500; i < lines.size(); i += 2500) {
+            lines.set(i, new Line(1, shared));
+        }
+        GraphValidator<Order> sharedGraph = GraphValidator.<Order>builder()
+                .children(Order.class, o -> o.lines)
+                .node(Line.class, (Line l, ValidationResult r) -> validator.gtInt(l.quantity, "数量(" + l.product.name + ")", 0))
+                .children(Line.class, l -> l.product)
+                .node(Product.class, (Product p, ValidationResult r) -> validator.hasText(p.name, "商品名称"))
+                .parallelThreshold(64)
+                .build();
+        for (int i = 0; i < 20; i++) {
+            ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> sharedGraph.validate(order));
+            Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg("商品名称"), ex.getMessage());
+        }
+    }
+
+    private static final class Order {
+        private final Long id;
+        private final List<Line> lines;
+        private Order related;
+
+        private Order(Long id, List<Line> lines) {
+            this.id = id;
+            this.lines = lines;
+        }
+    }
+
+    private static final class Line {
+        private final int quantity;
+        private final Product product;
+
+        private Line(int quantity, Product product) {
+            this.quantity = quantity;
+            this.product = product;
+        }
+    }
+
+    private static final class Product {
+        private final String name;
+
+        private Product(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.KeywordBlocklist;
+import goal.henwy.commonutil.validator.KeywordMatcher;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationResult;
+import goal.henwy.commonutil.validator.ValidationSchema;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 关键词匹配器与黑名单测试类
+ *
+ * @author HenwyGoal
+ */
+class KeywordMatcherTest {
+
+    private static final Validator validator = Validator.ValidatorBuilder.build();
+
+    private static final String targetName = "item";
+
+    @Test
+    void testFind() {
+        KeywordMatcher matcher = KeywordMatcher.of("he", "she", "his", "hers", "赌博");
+        Assertions.assertEquals(5, matcher.size());
+        Assertions.assertEquals("she", matcher.find("ushers"));
+        Assertions.assertEquals("his", matcher.find(new StringBuilder("this")));
+        Assertions.assertEquals("赌博", matcher.find("网络赌博网站"));
+        Assertions.assertNull(matcher.find("hxsx"));
+        Assertions.assertNull(matcher.find(null));
+        Assertions.assertFalse(matcher.matches("HE"));
+
+        Assertions.assertEquals(1, KeywordMatcher.of("a", "a").size());
+        Assertions.assertTrue(KeywordMatcher.of(Collections.emptyList()).isEmpty());
+        Assertions.assertThrows(RuntimeException.class, () -> KeywordMatcher.of("a", ""));
+        Assertions.assertThrows(RuntimeException.class, () -> KeywordMatcher.of((List<String>) null));
+    }
+
+    @Test
+    void testAgainstStringContains() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            List<String> keywords = new ArrayList<>();
+            for (int k = random.nextInt(6) + 1; k > 0; k--) {
+                keywords.add(randomText(random, random.nextInt(4) + 1));
+            }
+            KeywordMatcher matcher = KeywordMatcher.of(keywords);
+            String text = randomText(random, random.nextInt(40));
+            boolean expected = keywords.stream().anyMatch(text::contains);
+            Assertions.assertEquals(expected, matcher.matches(text), keywords + " in " + text);
+        }
+    }
+
+    @Test
+    void testValidator() {
+        KeywordMatcher forbidden = KeywordMatcher.of(Arrays.asList("赌博", "诈骗"));
+        Assertions.assertEquals(validator, validator.notContains("正常内容", targetName, forbidden));
+        Assertions.assertEquals(validator, validator.notContains((CharSequence) null, targetName, forbidden, false));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.notContains("电信诈骗", targetName, forbidden));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.notContains((CharSequence) null, targetName, forbidden));
+
+        Assertions.assertEquals(validator, validator.contains(new StringBuilder("反诈骗宣传"), targetName, forbidden));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.contains("正常内容", targetName, forbidden));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> validator.contains("正常内容", targetName, KeywordMatcher.of(Collections.emptyList())));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_CONTAIN_TEXT.errMsg(targetName, "赌博、诈骗"), Assertions.assertThrows(
+                ValidationException.class, () -> validator.contains("正常内容", targetName, forbidden)).getMessage());
+        KeywordMatcher promotions = KeywordMatcher.of("促销", "折扣", "满减", "包邮");
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_CONTAIN_TEXT.errMsg(targetName, "促销、折扣、满减等4个关键词"), Assertions.assertThrows(
+                ValidationException.class, () -> validator.contains("正常内容", targetName, promotions)).getMessage());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_CONTAIN_TEXT.errMsg(targetName, "促销用语"), Assertions.assertThrows(
+                ValidationException.class, () -> validator.contains("正常内容", targetName, promotions, "促销用语")).getMessage());
+        Assertions.assertEquals(validator, validator.contains("限时折扣", targetName, promotions, "促销用语"));
+        Assertions.assertEquals(validator, validator.contains((CharSequence) null, targetName, promotions, "促销用语", false));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.contains("限时折扣", targetName, promotions, " "));
+
+        Assertions.assertEquals(validator, validator.contains(new StringBuilder("abcabd"), targetName, "abd"));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> validator.contains(new StringBuilder("abcab"), targetName, new StringBuilder("abd")));
+        Assertions.assertEquals(validator, validator.notContains(new StringBuilder("abcab"), targetName, "abd"));
+    }
+
+    @Test
+    void testFindAll() {
+        KeywordMatcher matcher = KeywordMatcher.of("he", "she", "his", "hers");
+        Assertions.assertEquals(Arrays.asList("she", "he", "hers"), matcher.findAll("ushers"));
+        Assertions.assertEquals(Arrays.asList("his", "she", "he"), matcher.findAll("hishe he"));
+        Assertions.assertTrue(matcher.findAll("xyz").isEmpty());
+        Assertions.assertTrue(matcher.findAll(null).isEmpty());
+    }
+
+    @Test
+    void testBlocklist() {
+        KeywordBlocklist blocklist = KeywordBlocklist.of("赌博");
+        Assertions.assertThrows(RuntimeException.class, () -> validator.notContains("网络赌博", targetName, blocklist));
+        Assertions.assertEquals(validator, validator.notContains("电信诈骗", targetName, blocklist));
+
+        KeywordMatcher previous = blocklist.replace(Arrays.asList("诈骗", "传销"));
+        Assertions.assertEquals(1, previous.size());
+        Assertions.assertEquals(2, blocklist.size());
+        Assertions.assertEquals(validator, validator.notContains("网络赌博", targetName, blocklist));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.notContains("电信诈骗", targetName, blocklist));
+        Assertions.assertThrows(RuntimeException.class, () -> blocklist.replace(Collections.singleton(" ")));
+        Assertions.assertEquals(2, blocklist.size());
+
+        ValidationSchema<String> schema = ValidationSchema.<String>builder()
+                .notContainsKeywords(text -> text, "内容", blocklist)
+                .build();
+        schema.validate("正常内容");
+        ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> schema.validate("传销与诈骗"));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_CONTAIN_TEXT.errMsg("内容", "传销"), ex.getMessage());
+        ValidationResult result = schema.validate("传销与诈骗", new ValidationResult());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_CONTAIN_TEXT.errMsg("内容", "传销、诈骗"), result.getMessage(0));
+
+        blocklist.replace(KeywordMatcher.of("广告"));
+        Assertions.assertTrue(schema.validate("传销与诈骗", new ValidationResult()).isValid());
+    }
+
+    private static String randomText(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,99 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.MembershipIndex;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 成员索引测试类
+ *
+ * @author HenwyGoal
+ */
+class MembershipIndexTest {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    @Test
+    void testObjectIndex() {
+        List<String> blocked = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            blocked.add("user-" + i);
+        }
+        // 哈希相同的不同元素
+        blocked.add("Aa");
+        blocked.add("BB");
+        MembershipIndex<String> index = MembershipIndex.of(blocked);
+        Assertions.assertEquals(10002, index.size());
+        for (String item : blocked) {
+            Assertions.assertTrue(index.contains(item), item);
+        }
+        for (int i = 10000; i < 20000; i++) {
+            Assertions.assertFalse(index.contains("user-" + i));
+        }
+        Assertions.assertFalse(index.contains(null));
+        Assertions.assertFalse(index.contains(1));
+        Assertions.assertTrue(MembershipIndex.of("Aa").contains("Aa"));
+        Assertions.assertFalse(MembershipIndex.of("Aa").contains("BB"));
+        Assertions.assertTrue(MembershipIndex.of(Collections.emptyList()).isEmpty());
+        Assertions.assertThrows(ValidationException.class, () -> MembershipIndex.of("a", null));
+    }
+
+    @Test
+    void testLongIndex() {
+        Random random = new Random(7);
+        long[] values = new long[50000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        long[] withDuplicates = Arrays.copyOf(values, values.length + 2);
+        withDuplicates[values.length] = values[0];
+        withDuplicates[values.length + 1] = values[1];
+        MembershipIndex<Long> index = MembershipIndex.ofLongs(withDuplicates);
+        Assertions.assertEquals(values.length, index.size());
+        for (long value : values) {
+            Assertions.assertTrue(index.containsLong(value));
+            Assertions.assertTrue(index.contains(Long.valueOf(value)));
+        }
+        Arrays.sort(values);
+        int misses = 0;
+        for (int i = 0; i < 50000; i++) {
+            long value = random.nextLong();
+            if (Arrays.binarySearch(values, value) < 0) {
+                Assertions.assertFalse(index.containsLong(value));
+                misses++;
+            }
+        }
+        Assertions.assertTrue(misses > 0);
+        Assertions.assertFalse(index.contains(values[0] + ""));
+        Assertions.assertTrue(MembershipIndex.ofLongs(Long.MIN_VALUE, Long.MAX_VALUE).containsLong(Long.MAX_VALUE));
+        Assertions.assertFalse(MembershipIndex.ofLongs().containsLong(0));
+    }
+
+    @Test
+    void testValidator() {
+        MembershipIndex<String> blocked = MembershipIndex.of("spam", "fraud");
+        MembershipIndex<Long> ids = MembershipIndex.ofLongs(1, 2, 3);
+
+        VALIDATOR.notContains(blocked, "黑名单", "normal").contains(ids, "用户", 2L)
+                .contains((MembershipIndex<Long>) null, "用户", 2L, false);
+
+        ValidationException ex = Assertions.assertThrows(ValidationException.class,
+                () -> VALIDATOR.notContains(blocked, "黑名单", "spam"));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_CONTAIN_ELEMENT.errMsg("黑名单", "spam"), ex.getMessage());
+        ex = Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.contains(ids, "用户", 4L));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_CONTAIN_ELEMENT.errMsg("用户", 4L), ex.getMessage());
+        ex = Assertions.assertThrows(ValidationException.class,
+                () -> VALIDATOR.contains(MembershipIndex.<Long>ofLongs(), "用户", 1L));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg("用户"), ex.getMessage());
+        Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.notContains(blocked, "黑名单", null));
+    }
+}
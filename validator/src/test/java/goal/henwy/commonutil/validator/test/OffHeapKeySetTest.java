@@ -0,0 +1,122 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.OffHeapKeySet;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 堆外键集合测试类
+ *
+ * @author HenwyGoal
+ */
+class OffHeapKeySetTest {
+
+    private static final Validator validator = Validator.ValidatorBuilder.build();
+
+    private static final String targetName = "item";
+
+    @Test
+    void testLongKeys() {
+        Random random = new Random(11);
+        Set<Long> expected = new HashSet<>();
+        try (OffHeapKeySet keys = OffHeapKeySet.withExpectedSize(10)) {
+            for (int i = 0; i < 50000; i++) {
+                long key = random.nextInt(40000) - 20000;
+                Assertions.assertEquals(expected.add(key), keys.add(key));
+            }
+            Assertions.assertEquals(expected.size(), keys.size());
+            for (long key = -20000; key < 20000; key++) {
+                Assertions.assertEquals(expected.contains(key), keys.contains(key));
+            }
+            Assertions.assertTrue(keys.contains(0L) || !expected.contains(0L));
+
+            keys.clear();
+            Assertions.assertTrue(keys.isEmpty());
+            Assertions.assertFalse(keys.contains(0L));
+            Assertions.assertTrue(keys.add(0L));
+            Assertions.assertFalse(keys.add(0L));
+        }
+    }
+
+    @Test
+    void testTextKeys() {
+        try (OffHeapKeySet keys = OffHeapKeySet.withExpectedSize(100000)) {
+            for (int i = 0; i < 100000; i++) {
+                Assertions.assertTrue(keys.add("order-" + i));
+            }
+            Assertions.assertFalse(keys.add(new StringBuilder("order-99")));
+            Assertions.assertTrue(keys.contains("order-0"));
+            Assertions.assertFalse(keys.contains("order-100000"));
+            Assertions.assertThrows(RuntimeException.class, () -> keys.add((CharSequence) null));
+        }
+    }
+
+    @Test
+    void testClose() {
+        OffHeapKeySet keys = OffHeapKeySet.withExpectedSize(0);
+        keys.add(1L);
+        keys.close();
+        keys.close();
+        Assertions.assertThrows(IllegalStateException.class, () -> keys.contains(1L));
+        Assertions.assertThrows(IllegalStateException.class, () -> keys.add(1L));
+        Assertions.assertThrows(RuntimeException.class, () -> OffHeapKeySet.withExpectedSize(-1));
+    }
+
+    @Test
+    void testCloseReleasesMemory() {
+        long before = directMemoryUsed();
+        OffHeapKeySet keys = OffHeapKeySet.withExpectedSize(1_000_000);
+        for (long key = 1; key <= 10; key++) {
+            keys.add(key);
+        }
+        // 预计100万个键时表容量为2^21槽,即16MB
+        Assertions.assertTrue(directMemoryUsed() - before >= 16L << 20);
+        keys.close();
+        Assertions.assertTrue(directMemoryUsed() - before < 1L << 20);
+        Assertions.assertThrows(IllegalStateException.class, () -> keys.add(1L));
+        Assertions.assertThrows(IllegalStateException.class, () -> keys.contains("A001"));
+        Assertions.assertThrows(IllegalStateException.class, keys::clear);
+        Assertions.assertThrows(IllegalStateException.class, () -> validator.unique(keys, targetName, 1L));
+
+        // 扩容后旧表同样立即释放
+        try (OffHeapKeySet growing = OffHeapKeySet.withExpectedSize(0)) {
+            for (long key = 1; key <= 100_000; key++) {
+                growing.add(key);
+            }
+            Assertions.assertTrue(directMemoryUsed() - before <= 3L << 20);
+        }
+        Assertions.assertTrue(directMemoryUsed() - before < 1L << 20);
+    }
+
+    private static long directMemoryUsed() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+        throw new IllegalStateException("direct buffer pool not found");
+    }
+
+    @Test
+    void testValidator() {
+        try (OffHeapKeySet keys = OffHeapKeySet.withExpectedSize(4)) {
+            Assertions.assertEquals(validator, validator.unique(keys, targetName, 1L));
+            Assertions.assertEquals(validator, validator.unique(keys, targetName, "A001"));
+            Assertions.assertThrows(RuntimeException.class, () -> validator.unique(keys, targetName, 1L));
+            Assertions.assertThrows(RuntimeException.class, () -> validator.unique(keys, targetName, "A001"));
+
+            Assertions.assertEquals(validator, validator.isExist(keys, targetName, 1L));
+            Assertions.assertEquals(validator, validator.notExist(keys, targetName, "A002"));
+            Assertions.assertThrows(RuntimeException.class, () -> validator.isExist(keys, targetName, 2L));
+            Assertions.assertThrows(RuntimeException.class, () -> validator.notExist(keys, targetName, "A001"));
+            Assertions.assertThrows(RuntimeException.class, () -> validator.unique(null, targetName, 1L));
+        }
+    }
+}
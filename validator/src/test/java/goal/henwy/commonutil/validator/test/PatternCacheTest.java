@@ -0,0 +1,88 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.PatternCache;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 正则缓存测试类
+ *
+ * @author HenwyGoal
+ */
+class PatternCacheTest {
+
+    @Test
+    void testLru() {
+        PatternCache cache = new PatternCache(2, PatternCache.EvictionPolicy.LRU);
+        Pattern a = cache.get("a+");
+        cache.get("b+");
+        Assertions.assertSame(a, cache.get("a+"));
+        cache.get("c+");
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.evictionCount());
+        Assertions.assertEquals(1, cache.hitCount());
+        Assertions.assertEquals(3, cache.missCount());
+        Assertions.assertSame(a, cache.get("a+"));
+        Assertions.assertEquals(3, cache.missCount());
+    }
+
+    @Test
+    void testLfu() {
+        PatternCache cache = new PatternCache(2, PatternCache.EvictionPolicy.LFU);
+        cache.get("a+");
+        cache.get("a+");
+        cache.get("a+");
+        Pattern b = cache.get("b+");
+        cache.get("c+");
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.evictionCount());
+        Assertions.assertNotSame(b, cache.get("b+"));
+    }
+
+    @Test
+    void testPreload() {
+        PatternCache cache = new PatternCache(1, PatternCache.EvictionPolicy.LRU).preload("x+");
+        cache.get("a+");
+        cache.get("b+");
+        long missCount = cache.missCount();
+        cache.get("x+");
+        Assertions.assertEquals(missCount, cache.missCount());
+        Assertions.assertThrows(RuntimeException.class, () -> new PatternCache(0, PatternCache.EvictionPolicy.LRU));
+    }
+
+    @Test
+    void testConcurrent() throws Exception {
+        PatternCache cache = new PatternCache(16, PatternCache.EvictionPolicy.LRU);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    String regex = "^a{" + (i % 64) + "}$";
+                    Assertions.assertEquals(regex, cache.get(regex).pattern());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(cache.size() <= 16 + 8);
+        Assertions.assertEquals(16000, cache.hitCount() + cache.missCount());
+
+        Validator.ValidatorBuilder.build().matchPattern("噶", "item", "^[\\u4e00-\\u9fa5]*$", "纯中文");
+        Assertions.assertTrue(Validator.patternCache().size() > 0);
+    }
+}
@@ -0,0 +1,135 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.StreamingValidator;
+import goal.henwy.commonutil.validator.ValidationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式文件校验器测试类
+ *
+ * @author HenwyGoal
+ */
+class StreamingValidatorTest {
+
+    private static final StreamingValidator CSV = StreamingValidator.csv(',').skipHeader()
+            .hasText(0, "订单号")
+            .size(1, "名称", 2, 5)
+            .between(2, "数量", 1L, 100L)
+            .isTelePhone(3, "手机号", false)
+            .between(4, "日期", LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31))
+            .build();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testCsv() throws IOException {
+        String content = "id,name,count,phone,date\n"
+                + "A1,噶噶,10,15625717814,2020-05-01\r\n"
+                + ",\"a,b\",0,,2020-05-01\n"
+                + "A3,x,abc,123,2021-01-01\n"
+                + "A4,\"abcdef\"x\n"
+                + "A5,名称,-9223372036854775809,15625717814,2020-13-01";
+        Path file = write("orders.csv", content);
+        List<String> violations = new ArrayList<>();
+        long count = CSV.validate(file, (offset, line, template, args) ->
+                violations.add(line + ":" + offset + ":" + template.errMsg(args)));
+        int row2 = byteOffset(content, content.indexOf("\n,") + 1);
+        int row3 = byteOffset(content, content.indexOf("A3"));
+        Assertions.assertEquals(violations.size(), count);
+        Assertions.assertEquals("3:" + row2 + ":" + ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg("订单号"), violations.get(0));
+        Assertions.assertEquals("3:" + (row2 + 7) + ":" + ExMsgTemplateEnum.MUST_BETWEEN.errMsg("数量", 1L, 100L), violations.get(1));
+        Assertions.assertEquals("4:" + (row3 + 3) + ":" + ExMsgTemplateEnum.MUST_BETWEEN.errMsg("名称文本长度", 2, 5), violations.get(2));
+        Assertions.assertEquals("4:" + (row3 + 5) + ":" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("数量", "整数"), violations.get(3));
+        Assertions.assertEquals("4:" + (row3 + 9) + ":" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("123", "手机号"), violations.get(4));
+        Assertions.assertEquals("4:" + (row3 + 13) + ":" + ExMsgTemplateEnum.MUST_BETWEEN.errMsg("日期", "2020-01-01", "2020-12-31"), violations.get(5));
+        Assertions.assertEquals("5:" + byteOffset(content, content.indexOf("A4")) + ":" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("第5行记录", "CSV"), violations.get(6));
+        Assertions.assertTrue(violations.get(7).startsWith("6:") && violations.get(7).endsWith("数量不符合整数的格式要求"));
+        Assertions.assertTrue(violations.get(8).endsWith("日期不符合yyyy-MM-dd的格式要求"));
+        Assertions.assertEquals(9, violations.size());
+
+        ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> CSV.validate(file));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg("订单号@" + row2), ex.getMessage());
+        CSV.validate(write("valid.csv", "header\nA1,ab,1,,2020-01-01\n"));
+    }
+
+    @Test
+    void testJsonLines() throws IOException {
+        StreamingValidator json = StreamingValidator.jsonLines()
+                .hasText("id", "订单号")
+                .matchPattern("code", "编码", "^[A-Z]{2}\\d+$", "编码")
+                .isEmail("email", "邮箱", false)
+                .between("price", "价格", 0.0, 99.9)
+                .build();
+        String content = "{\"id\": \"1\", \"extra\": {\"a\": [1, \"}\"]}, \"code\": \"AB12\", \"price\": 1.5}\n"
+                + "{\"id\": null, \"code\": \"ab\", \"email\": \"x@y\", \"price\": 100}\n"
+                + "{\"id\": \"3\", \"code\": \"AB1\", \"price\": 1}\n"
+                + "[1, 2]\n"
+                + "\n"
+                + "{\"id\": \"噶\\\"\", \"code\": \"AB1\", \"price\": 1}\n"
+                + "{\"id\": \"7\", \"code\": \"噶1\", \"price\": 1}\n"
+                + "{} x\n"
+                + "{\"id\": \"9\", \"code\": \"AB9\", \"price\": 1}}";
+        List<String> violations = new ArrayList<>();
+        json.validate(write("orders.jsonl", content), (offset, line, template, args) ->
+                violations.add(line + ":" + template.errMsg(args)));
+        List<String> expected = new ArrayList<>();
+        expected.add("2:" + ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg("订单号"));
+        expected.add("2:" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("ab", "编码"));
+        expected.add("2:" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("x@y", "邮箱"));
+        expected.add("2:" + ExMsgTemplateEnum.MUST_BETWEEN.errMsg("价格", 0.0, 99.9));
+        expected.add("4:" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("第4行记录", "JSON"));
+        expected.add("7:" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("噶1", "编码"));
+        // 顶层对象之后不允许再有内容
+        expected.add("8:" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("第8行记录", "JSON"));
+        expected.add("9:" + ExMsgTemplateEnum.MUST_MATCH_PATTERN.errMsg("第9行记录", "JSON"));
+        Assertions.assertEquals(expected, violations);
+    }
+
+    @Test
+    void testWindow() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append("名").append(i).append(',').append(0 == i % 100 ? "" : String.valueOf(i)).append('\n');
+        }
+        StreamingValidator small = StreamingValidator.csv(',').windowSize(64)
+                .hasText(0, "名称").between(1, "序号", 1L, 1000L).build();
+        List<Long> lines = new ArrayList<>();
+        small.validate(write("window.csv", content.toString()), (offset, line, template, args) -> lines.add(line));
+        Assertions.assertEquals(10, lines.size());
+        Assertions.assertEquals(1L, lines.get(0));
+        Assertions.assertEquals(901L, lines.get(9));
+
+        StreamingValidator tiny = StreamingValidator.csv(',').windowSize(4).hasText(0, "名称").build();
+        Path file = write("tiny.csv", "123456789\n");
+        Assertions.assertThrows(IllegalStateException.class, () -> tiny.validate(file, (offset, line, template, args) -> {
+        }));
+    }
+
+    @Test
+    void testException() {
+        Assertions.assertThrows(ValidationException.class, () -> StreamingValidator.csv('"'));
+        Assertions.assertThrows(ValidationException.class, () -> StreamingValidator.csv(',').build());
+        Assertions.assertThrows(ValidationException.class, () -> StreamingValidator.csv(',').hasText(-1, "名称"));
+        Assertions.assertThrows(ValidationException.class, () -> StreamingValidator.jsonLines().between("a", "数量", 5L, 1L));
+    }
+
+    private static int byteOffset(String content, int index) {
+        return content.substring(0, index).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
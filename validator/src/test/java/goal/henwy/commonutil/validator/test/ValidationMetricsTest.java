@@ -0,0 +1,146 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.ExistenceChecker;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationMetrics;
+import goal.henwy.commonutil.validator.ValidationResult;
+import goal.henwy.commonutil.validator.ValidationSchema;
+import goal.henwy.commonutil.validator.Validator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMX;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 校验指标测试类
+ * <br>需以系统属性goal.henwy.commonutil.validator.metrics=true运行,sampleRate=1时耗时全量记录
+ *
+ * @author HenwyGoal
+ */
+class ValidationMetricsTest {
+
+    private static final Validator VALIDATOR = Validator.ValidatorBuilder.build();
+
+    @BeforeEach
+    void setUp() {
+        Assumptions.assumeTrue(ValidationMetrics.ENABLED);
+        ValidationMetrics.reset();
+    }
+
+    @Test
+    void testRuleCount() {
+        VALIDATOR.notNull(1, "指标-编号").between(5, "指标-数量", 1, 10).between(6, "指标-数量", 1, 10);
+        Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.between(11, "指标-数量", 1, 10));
+        Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.isEmail("x@y", "指标-邮箱"));
+
+        ValidationMetrics.Snapshot snapshot = ValidationMetrics.snapshot();
+        ValidationMetrics.RuleStat between = snapshot.getRule(ExMsgTemplateEnum.MUST_BETWEEN, "指标-数量");
+        Assertions.assertEquals(2, between.getPassCount());
+        Assertions.assertEquals(1, between.getFailCount());
+        Assertions.assertEquals(1, snapshot.getRule(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY, "指标-编号").getPassCount());
+        Assertions.assertEquals(1, snapshot.getRule(ExMsgTemplateEnum.MUST_MATCH_PATTERN, "指标-邮箱").getFailCount());
+        Assertions.assertEquals(1L, snapshot.getExceptions().get(ExMsgTemplateEnum.MUST_BETWEEN));
+        Assertions.assertEquals(1L, snapshot.getExceptions().get(ExMsgTemplateEnum.MUST_MATCH_PATTERN));
+
+        ValidationMetrics.reset();
+        Assertions.assertNull(ValidationMetrics.snapshot().getRule(ExMsgTemplateEnum.MUST_BETWEEN, "指标-数量"));
+    }
+
+    @Test
+    void testIllegalBounds() {
+        Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.betweenInt(5, "指标-数量", 10, 1));
+        Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.betweenLong(5L, "指标-数量", 10L, 1L));
+        Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.betweenDouble(5d, "指标-数量", 10d, 1d));
+
+        ValidationMetrics.Snapshot snapshot = ValidationMetrics.snapshot();
+        Assertions.assertEquals(3, snapshot.getRule(ExMsgTemplateEnum.MUST_LEGAL, "最小值与最大值").getFailCount());
+        Assertions.assertEquals(3L, snapshot.getExceptions().get(ExMsgTemplateEnum.MUST_LEGAL));
+    }
+
+    @Test
+    void testSequenceRuleName() {
+        VALIDATOR.size(Arrays.asList(1, 2).iterator(), "指标-明细", 2).size(Stream.of(1, 2), "指标-明细", 1, 3);
+        Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.size(Stream.of(1), "指标-明细", 2));
+
+        // 与集合版本一致,按"列表长度"计数
+        ValidationMetrics.Snapshot snapshot = ValidationMetrics.snapshot();
+        ValidationMetrics.RuleStat equal = snapshot.getRule(ExMsgTemplateEnum.MUST_EQUAL_NUMBER, "指标-明细列表长度");
+        Assertions.assertEquals(1, equal.getPassCount());
+        Assertions.assertEquals(1, equal.getFailCount());
+        Assertions.assertEquals(1, snapshot.getRule(ExMsgTemplateEnum.MUST_BETWEEN, "指标-明细列表长度").getPassCount());
+        Assertions.assertNull(snapshot.getRule(ExMsgTemplateEnum.MUST_EQUAL_NUMBER, "指标-明细"));
+    }
+
+    @Test
+    void testSchemaFailure() {
+        ValidationSchema<String> schema = ValidationSchema.<String>builder()
+                .hasText(s -> s, "指标-方案文本")
+                .matchPattern(s -> s, "指标-方案文本", "^\\d+$", "纯数字")
+                .build();
+        Assertions.assertThrows(ValidationException.class, () -> schema.validate(" "));
+        Assertions.assertThrows(ValidationException.class, () -> schema.validate("abc"));
+
+        ValidationMetrics.Snapshot snapshot = ValidationMetrics.snapshot();
+        Assertions.assertEquals(1, snapshot.getRule(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY, "指标-方案文本").getFailCount());
+        Assertions.assertEquals(1, snapshot.getRule(ExMsgTemplateEnum.MUST_MATCH_PATTERN, "指标-方案文本").getFailCount());
+    }
+
+    @Test
+    void testExistenceFailure() {
+        ExistenceChecker<Long> checker = ExistenceChecker.<Long>builder(keys -> Collections.singleton(1L)).build();
+        Assertions.assertThrows(ValidationException.class, () -> checker.batch().isExist(2L, "指标-买家").validate());
+        Assertions.assertThrows(ValidationException.class, () -> checker.batch().notExist(1L, "指标-新用户").validate());
+
+        ValidationMetrics.Snapshot snapshot = ValidationMetrics.snapshot();
+        Assertions.assertEquals(1, snapshot.getRule(ExMsgTemplateEnum.MUST_EXIST, "指标-买家").getFailCount());
+        Assertions.assertEquals(1, snapshot.getRule(ExMsgTemplateEnum.MUST_NOT_EXIST, "指标-新用户").getFailCount());
+    }
+
+    @Test
+    void testLatency() {
+        ValidationSchema<String> schema = ValidationSchema.<String>builder()
+                .metricName("指标-方案")
+                .hasText(s -> s, "文本")
+                .build();
+        for (int i = 0; i < 100; i++) {
+            schema.validate("text");
+        }
+        Assertions.assertThrows(ValidationException.class, () -> schema.validate(" "));
+        schema.validate(" ", new ValidationResult());
+
+        ValidationMetrics.LatencyStat latency = ValidationMetrics.snapshot().getLatencies().get("指标-方案");
+        Assertions.assertEquals(102, latency.getCount());
+        Assertions.assertTrue(latency.getMeanNanos() > 0);
+        Assertions.assertTrue(latency.getQuantileNanos(0.5) <= latency.getQuantileNanos(0.99));
+        long total = 0;
+        for (long bucket : latency.getBuckets()) {
+            total += bucket;
+        }
+        Assertions.assertEquals(102, total);
+
+        ValidationMetrics.endSample("指标-未抽样", ValidationMetrics.NOT_SAMPLED);
+        Assertions.assertFalse(ValidationMetrics.snapshot().getLatencies().containsKey("指标-未抽样"));
+    }
+
+    @Test
+    void testJmx() throws Exception {
+        Assertions.assertThrows(ValidationException.class, () -> VALIDATOR.hasText("", "指标-名称"));
+        ValidationMetrics.ValidationMetricsMXBean bean = JMX.newMXBeanProxy(ManagementFactory.getPlatformMBeanServer(),
+                new ObjectName(ValidationMetrics.OBJECT_NAME), ValidationMetrics.ValidationMetricsMXBean.class);
+        Map<String, Long> fails = bean.getFailCounts();
+        Assertions.assertEquals(1L, fails.get("MUST_NOT_NULL_OR_EMPTY:指标-名称"));
+        Assertions.assertEquals(1L, bean.getExceptionCounts().get("MUST_NOT_NULL_OR_EMPTY"));
+
+        bean.reset();
+        Assertions.assertTrue(ValidationMetrics.snapshot().getRules().isEmpty());
+    }
+}
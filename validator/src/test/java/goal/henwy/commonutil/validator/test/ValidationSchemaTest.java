@@ -0,0 +1,162 @@
+package goal.henwy.commonutil.validator.test;
+
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.ValidationException;
+import goal.henwy.commonutil.validator.ValidationResult;
+import goal.henwy.commonutil.validator.ValidationSchema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 校验方案测试类
+ *
+ * @author HenwyGoal
+ */
+class ValidationSchemaTest {
+
+    private static final long DAY_MILLIS = 86400000;
+
+    private static final Date NOW = new Date();
+
+    private static final ValidationSchema<Order> SCHEMA = ValidationSchema.<Order>builder()
+            .notNull(o -> o.id, "订单号")
+            .between(o -> o.amount, "金额", 1, 100)
+            .before(o -> o.createTime, "创建时间", new Date(NOW.getTime() + DAY_MILLIS))
+            .isTelePhone(o -> o.phone, "手机号", false)
+            .size(o -> o.remark, "备注", 1, 5, false)
+            .collectionSize(o -> o.tags, "标签", 1, 3)
+            .contains(o -> o.tags, "标签", "vip")
+            .build();
+
+    @Test
+    void testValidate() {
+        Order order = new Order(1L, 50, NOW, "15625717814", "ok", Arrays.asList("vip", "new"));
+        SCHEMA.validate(order);
+        Assertions.assertTrue(SCHEMA.validate(order, new ValidationResult()).isValid());
+
+        Order optional = new Order(1L, 50, NOW, null, null, Collections.singletonList("vip"));
+        SCHEMA.validate(optional);
+
+        ValidationException ex = Assertions.assertThrows(ValidationException.class,
+                () -> SCHEMA.validate(new Order(1L, 500, NOW, null, null, Collections.singletonList("vip"))));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, ex.getTemplate());
+        Assertions.assertThrows(ValidationException.class, () -> SCHEMA.validate(null));
+    }
+
+    @Test
+    void testCollect() {
+        Order order = new Order(null, 0, new Date(NOW.getTime() + 2 * DAY_MILLIS), "123", "too long",
+                Arrays.asList("a", "b", "c", "d"));
+        ValidationResult result = SCHEMA.validate(order, new ValidationResult());
+
+        Assertions.assertEquals(7, result.size());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY, result.getTemplate(0));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, result.getTemplate(1));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BEFORE, result.getTemplate(2));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_MATCH_PATTERN, result.getTemplate(3));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, result.getTemplate(4));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, result.getTemplate(5));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_CONTAIN_ELEMENT, result.getTemplate(6));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN.errMsg("备注文本长度", 1, 5), result.getMessage(4));
+    }
+
+    @Test
+    void testBuildTimeCheck() {
+        Assertions.assertThrows(ValidationException.class,
+                () -> ValidationSchema.<Order>builder().between(o -> o.amount, "金额", 10, 1));
+        Assertions.assertThrows(ValidationException.class,
+                () -> ValidationSchema.<Order>builder().size(o -> o.remark, "备注", 0));
+        Assertions.assertThrows(ValidationException.class,
+                () -> ValidationSchema.<Order>builder().matchPattern(o -> o.phone, "手机号", "\\d+", " "));
+        Assertions.assertThrows(ValidationException.class,
+                () -> ValidationSchema.<Order>builder().collectionSize(o -> o.tags, "标签", 2, 2));
+        Assertions.assertThrows(ValidationException.class,
+                () -> ValidationSchema.<Order>builder().notNull(null, "订单号"));
+    }
+
+    @Test
+    void testOrdering() {
+        ValidationSchema<Order> cost = orderedSchema(ValidationSchema.Ordering.COST);
+        Assertions.assertEquals(Arrays.asList("备注", "订单号", "金额", "标签", "手机号"), cost.executionOrder());
+        Assertions.assertEquals(Arrays.asList("手机号", "标签", "金额", "备注", "订单号"),
+                orderedSchema(ValidationSchema.Ordering.DECLARED).executionOrder());
+
+        // 手机号与订单号同时不合法时,仍报告声明在前的手机号
+        Order invalid = new Order(null, 50, NOW, "123", "ok", Collections.singletonList("vip"));
+        ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> cost.validate(invalid));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_MATCH_PATTERN, ex.getTemplate());
+        Order noId = new Order(null, 50, NOW, "15625717814", "ok", Collections.singletonList("vip"));
+        ex = Assertions.assertThrows(ValidationException.class, () -> cost.validate(noId));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY, ex.getTemplate());
+        cost.validate(new Order(1L, 50, NOW, "15625717814", "ok", Collections.singletonList("vip")));
+    }
+
+    @Test
+    void testAdaptiveOrdering() {
+        ValidationSchema<Order> adaptive = orderedSchema(ValidationSchema.Ordering.ADAPTIVE);
+        Order outOfRange = new Order(1L, 500, NOW, "15625717814", "ok", Collections.singletonList("vip"));
+        for (int i = 0; i < 50000; i++) {
+            ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> adaptive.validate(outOfRange));
+            Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, ex.getTemplate());
+        }
+        Assertions.assertEquals("金额", adaptive.executionOrder().get(0));
+
+        Order both = new Order(1L, 500, NOW, "123", "ok", Collections.singletonList("vip"));
+        ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> adaptive.validate(both));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_MATCH_PATTERN, ex.getTemplate());
+        Assertions.assertEquals(5, adaptive.validate(new Order(null, 500, NOW, "123", "too long",
+                Collections.singletonList("a")), new ValidationResult()).size());
+    }
+
+    @Test
+    void testDependentOrdering() {
+        // 首个标签的读取依赖标签规则先通过;按代价排序时它会提前执行
+        ValidationSchema<Order> cost = ValidationSchema.<Order>builder()
+                .ordering(ValidationSchema.Ordering.COST)
+                .contains(o -> o.tags, "标签", "vip")
+                .size(o -> o.tags.get(0), "首个标签", 1, 5)
+                .build();
+        Assertions.assertEquals(Arrays.asList("首个标签", "标签"), cost.executionOrder());
+        Order noTags = new Order(1L, 50, NOW, "15625717814", "ok", null);
+        ValidationException ex = Assertions.assertThrows(ValidationException.class, () -> cost.validate(noTags));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY, ex.getTemplate());
+        Order longTag = new Order(1L, 50, NOW, "15625717814", "ok", Arrays.asList("regular", "vip"));
+        ex = Assertions.assertThrows(ValidationException.class, () -> cost.validate(longTag));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, ex.getTemplate());
+        cost.validate(new Order(1L, 50, NOW, "15625717814", "ok", Arrays.asList("vip", "new")));
+    }
+
+    private static ValidationSchema<Order> orderedSchema(ValidationSchema.Ordering ordering) {
+        return ValidationSchema.<Order>builder()
+                .ordering(ordering)
+                .matchPattern(o -> o.phone, "手机号", "^1\\d{10}$", "手机号")
+                .contains(o -> o.tags, "标签", "vip")
+                .between(o -> o.amount, "金额", 1, 100)
+                .size(o -> o.remark, "备注", 1, 5)
+                .notNull(o -> o.id, "订单号")
+                .build();
+    }
+
+    private static final class Order {
+        private final Long id;
+        private final Integer amount;
+        private final Date createTime;
+        private final String phone;
+        private final String remark;
+        private final List<String> tags;
+
+        private Order(Long id, Integer amount, Date createTime, String phone, String remark, List<String> tags) {
+            this.id = id;
+            this.amount = amount;
+            this.createTime = createTime;
+            this.phone = phone;
+            this.remark = remark;
+            this.tags = tags;
+        }
+    }
+}
@@ -1,11 +1,24 @@
 package goal.henwy.commonutil.validator.test;
 
+import goal.henwy.commonutil.validator.ExMsgTemplateEnum;
+import goal.henwy.commonutil.validator.ValidationException;
 import goal.henwy.commonutil.validator.Validator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * 校验器测试类
@@ -140,6 +153,40 @@ class ValidatorTest {
         Assertions.assertEquals(validator, validator.between(5.0f, targetName, 1.0d, 10.0d));
     }
 
+    @Test
+    void testExactNumber() {
+        long snowflake = (1L << 53) + 1;
+        Assertions.assertThrows(RuntimeException.class, () -> validator.eqLong(snowflake, targetName, snowflake - 1));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.eq(Long.valueOf(snowflake), targetName, Long.valueOf(snowflake - 1)));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.gtLong(snowflake - 1, targetName, snowflake));
+        Assertions.assertEquals(validator, validator.gtLong(snowflake, targetName, snowflake - 1));
+        Assertions.assertEquals(validator, validator.betweenLong(snowflake, targetName, snowflake - 1, snowflake + 1));
+
+        Assertions.assertEquals(validator, validator.eq(new BigDecimal("1.00"), targetName, BigDecimal.ONE));
+        Assertions.assertEquals(validator, validator.eq(new BigDecimal("1.00"), targetName, 1));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.lte(new BigDecimal("0.30000000000000001"), targetName, new BigDecimal("0.3")));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.gt(new BigInteger("9007199254740993"), targetName, snowflake));
+        Assertions.assertEquals(validator, validator.gt(new BigInteger("9007199254740994"), targetName, snowflake));
+
+        Assertions.assertEquals(validator, validator.ltInt(1, targetName, 2).lteInt(2, targetName, 2).gteInt(2, targetName, 2).neqInt(1, targetName, 2));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.ltInt(2, targetName, 2));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.betweenInt(5, targetName, 10, 1));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.betweenDouble(0.5d, targetName, 1.0d, 2.0d));
+        Assertions.assertEquals(validator, validator.neqDouble(Double.NaN, targetName, Double.NaN));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.eq(Double.NaN, targetName, (Number) Double.NaN));
+    }
+
+    @Test
+    void testBoxedWithLiteral() {
+        Integer age = 30;
+        Long id = 5L;
+        Assertions.assertEquals(validator, validator.between(age, "age", 0, 150));
+        Assertions.assertEquals(validator, validator.gt(age, "age", 0));
+        Assertions.assertEquals(validator, validator.eq(id, "id", 5L));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.between(age, "age", 0, 18));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.eq(id, "id", 6L));
+    }
+
     @Test
     void testDate() {
         long dayMillis = 86400000;
@@ -183,6 +230,49 @@ class ValidatorTest {
         Assertions.assertEquals(validator, validator.between(now, targetName, yesterday, tomorrow, dateFormat));
     }
 
+    @Test
+    void testJavaTime() {
+        LocalDate today = LocalDate.of(2020, 1, 2);
+        Assertions.assertEquals(validator, validator.before(today, targetName, today.plusDays(1)));
+        Assertions.assertEquals(validator, validator.before((LocalDate) null, targetName, today, false));
+        ValidationException ex = Assertions.assertThrows(ValidationException.class,
+                () -> validator.before(today, targetName, today.minusDays(1)));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BEFORE.errMsg(targetName, "2020-01-01"), ex.getMessage());
+        ex = Assertions.assertThrows(ValidationException.class,
+                () -> validator.after(today, targetName, today.plusDays(1), "yyyy/MM/dd"));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_AFTER.errMsg(targetName, "2020/01/03"), ex.getMessage());
+        Assertions.assertThrows(ValidationException.class, () -> validator.between(today, targetName, today, today));
+
+        LocalDateTime time = today.atTime(12, 30);
+        Assertions.assertEquals(validator, validator.between(time, targetName, time.minusHours(1), time.plusHours(1)));
+        ex = Assertions.assertThrows(ValidationException.class,
+                () -> validator.between(time, targetName, time.plusHours(1), time.plusHours(2), "HH:mm"));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN.errMsg(targetName, "13:30", "14:30"), ex.getMessage());
+        // 格式与类型不匹配时退回ISO格式
+        ex = Assertions.assertThrows(ValidationException.class,
+                () -> validator.after(today, targetName, today.plusDays(1), "yyyy-MM-dd HH:mm"));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_AFTER.errMsg(targetName, "2020-01-03"), ex.getMessage());
+        // 格式非法时同样退回ISO格式,读取异常信息不再抛出
+        ValidationException illegal = Assertions.assertThrows(ValidationException.class,
+                () -> validator.before(new Date(2000), "d", new Date(1000), "yyyy-MM-dd'"));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BEFORE.errMsg("d", Instant.ofEpochMilli(1000)), illegal.getMessage());
+
+        Instant instant = time.atZone(ZoneId.systemDefault()).toInstant();
+        Assertions.assertEquals(validator, validator.after(instant, targetName, instant));
+        ex = Assertions.assertThrows(ValidationException.class,
+                () -> validator.before(instant, targetName, instant.minusSeconds(60), "yyyy-MM-dd HH:mm"));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BEFORE.errMsg(targetName, "2020-01-02 12:29"), ex.getMessage());
+
+        long millis = instant.toEpochMilli();
+        Assertions.assertEquals(validator, validator.beforeEpochMilli(millis, targetName, millis)
+                .afterEpochMilli(millis, targetName, millis - 1)
+                .betweenEpochMilli(millis, targetName, millis - 1, millis + 1));
+        ex = Assertions.assertThrows(ValidationException.class,
+                () -> validator.afterEpochMilli(millis, targetName, millis + 60000, "HH:mm"));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_AFTER.errMsg(targetName, "12:31"), ex.getMessage());
+        Assertions.assertThrows(ValidationException.class, () -> validator.betweenEpochMilli(millis, targetName, millis, millis));
+    }
+
     @Test
     void testPattern() {
         String pureChinese = "^[\\u4e00-\\u9fa5]*$";
@@ -209,6 +299,20 @@ class ValidatorTest {
         Assertions.assertThrows(RuntimeException.class, () -> validator.isTelePhone("11125717814", targetName));
         Assertions.assertThrows(RuntimeException.class, () -> validator.isTelePhone("1112571814", targetName));
         Assertions.assertEquals(validator, validator.isTelePhone("15625717814", targetName));
+
+        StringBuilder email = new StringBuilder("HenwyGoal@163.com");
+        Assertions.assertEquals(validator, validator.isEmail(email, targetName));
+        Assertions.assertEquals(validator, validator.isTelePhone(new StringBuilder("15625717814"), targetName, true));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.isEmail(email.append('@'), targetName));
+    }
+
+    @Test
+    void testStringSignature() throws NoSuchMethodException {
+        // 按String签名编译的调用方仍可链接
+        Assertions.assertEquals(Validator.class, Validator.class.getMethod("isEmail", String.class, String.class).getReturnType());
+        Assertions.assertEquals(Validator.class, Validator.class.getMethod("isEmail", String.class, String.class, Boolean.class).getReturnType());
+        Assertions.assertEquals(Validator.class, Validator.class.getMethod("isTelePhone", String.class, String.class).getReturnType());
+        Assertions.assertEquals(Validator.class, Validator.class.getMethod("isTelePhone", String.class, String.class, Boolean.class).getReturnType());
     }
 
     @Test
@@ -254,6 +358,98 @@ class ValidatorTest {
         Assertions.assertEquals(validator, validator.size(new Integer[]{1, 2, 3}, targetName, 1, 5));
     }
 
+    @Test
+    void testUtf8() {
+        byte[] mixed = "高G\uD83D\uDE00".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(validator, validator.hasTextUtf8(mixed, targetName));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.hasTextUtf8((byte[]) null, targetName));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.hasTextUtf8(new byte[0], targetName));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> validator.hasTextUtf8(" \t\u3000".getBytes(StandardCharsets.UTF_8), targetName));
+
+        Assertions.assertEquals(validator, validator.sizeUtf8((byte[]) null, targetName, 0, false));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.sizeUtf8(mixed, targetName, 0));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.sizeUtf8(mixed, targetName, 4));
+        Assertions.assertEquals(validator, validator.sizeUtf8(mixed, targetName, 3));
+        Assertions.assertEquals(validator, validator.sizeUtf8(mixed, targetName, 1, 3));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.sizeUtf8(mixed, targetName, 4, 5));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.sizeUtf8(mixed, targetName, 3, 2));
+
+        byte[] item = "G\uD83D\uDE00".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(validator, validator.containsUtf8(mixed, targetName, item));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.notContainsUtf8(mixed, targetName, item));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.containsUtf8(mixed, targetName, new byte[0]));
+        Assertions.assertEquals(validator, validator.notContainsUtf8(mixed, targetName, "噶".getBytes(StandardCharsets.UTF_8)));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        direct.put("##HenwyGoal@163.com".getBytes(StandardCharsets.UTF_8)).flip().position(2);
+        Assertions.assertEquals(validator, validator.isEmailUtf8(direct, targetName));
+        Assertions.assertEquals(validator, validator.sizeUtf8(direct, targetName, 17));
+        Assertions.assertEquals(validator, validator.containsUtf8(direct, targetName, "@163".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(2, direct.position());
+        Assertions.assertEquals(19, direct.limit());
+        Assertions.assertThrows(RuntimeException.class,
+                () -> validator.isEmailUtf8(ByteBuffer.wrap("高@163.com".getBytes(StandardCharsets.UTF_8)), targetName));
+
+        Assertions.assertEquals(validator, validator.isTelePhoneUtf8((ByteBuffer) null, targetName, false));
+        Assertions.assertEquals(validator, validator.isTelePhoneUtf8("15625717814".getBytes(StandardCharsets.UTF_8), targetName));
+        Assertions.assertThrows(RuntimeException.class,
+                () -> validator.isTelePhoneUtf8("11125717814".getBytes(StandardCharsets.UTF_8), targetName));
+    }
+
+    @Test
+    void testSequence() {
+        AtomicInteger pulled = new AtomicInteger();
+        Supplier<Stream<Integer>> naturals = () -> Stream.iterate(1, i -> i + 1).peek(i -> pulled.incrementAndGet());
+
+        Assertions.assertEquals(validator, validator.contains(naturals.get(), targetName, 5));
+        Assertions.assertEquals(5, pulled.getAndSet(0));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.size(naturals.get(), targetName, 1, 10));
+        Assertions.assertEquals(11, pulled.getAndSet(0));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.size(naturals.get(), targetName, 3));
+        Assertions.assertEquals(4, pulled.getAndSet(0));
+        Assertions.assertEquals(validator, validator.notEmpty(naturals.get(), targetName));
+        Assertions.assertEquals(1, pulled.getAndSet(0));
+
+        Assertions.assertEquals(validator, validator.size(naturals.get().limit(3), targetName, 3));
+        Assertions.assertEquals(validator, validator.size(Arrays.asList(1, 2, 3).stream().map(i -> i * 2), targetName, 1, 5));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.size(Stream.empty(), targetName, 1, 5));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.size((Stream<Integer>) null, targetName, 1, 5));
+        Assertions.assertEquals(validator, validator.size((Stream<Integer>) null, targetName, 1, 5, false));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.size(Stream.of(1), targetName, 5, 1));
+
+        Iterator<Integer> iterator = Arrays.asList(1, 2, 3, 4).iterator();
+        Assertions.assertEquals(validator, validator.notEmpty(iterator, targetName));
+        Assertions.assertEquals(validator, validator.contains(iterator, targetName, 2));
+        Assertions.assertEquals(Integer.valueOf(3), iterator.next());
+        Assertions.assertThrows(RuntimeException.class, () -> validator.contains(iterator, targetName, 1));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.notEmpty(Collections.emptyIterator(), targetName));
+
+        Iterable<String> iterable = () -> Arrays.asList("a", "b").iterator();
+        Assertions.assertEquals(validator, validator.notEmpty(iterable, targetName));
+        Assertions.assertEquals(validator, validator.size(iterable, targetName, 2));
+        Assertions.assertEquals(validator, validator.contains(iterable, targetName, "b"));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.contains(iterable, targetName, "c"));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.contains(iterable, targetName, null));
+
+        Spliterator<String> spliterator = Arrays.asList("a", "b", "c").spliterator();
+        Assertions.assertEquals(validator, validator.notEmpty(spliterator, targetName));
+        Assertions.assertEquals(validator, validator.size(spliterator, targetName, 3));
+        Assertions.assertThrows(RuntimeException.class, () -> validator.notEmpty(Spliterators.emptySpliterator(), targetName));
+
+        // 与集合版本相同:先校验非空,再校验参数
+        String empty = ExMsgTemplateEnum.MUST_NOT_NULL_OR_EMPTY.errMsg(targetName);
+        Assertions.assertEquals(empty, Assertions.assertThrows(ValidationException.class,
+                () -> validator.size(Stream.empty(), targetName, null)).getMessage());
+        Assertions.assertEquals(empty, Assertions.assertThrows(ValidationException.class,
+                () -> validator.size(Collections.emptyIterator(), targetName, 5, 1)).getMessage());
+        Assertions.assertEquals(empty, Assertions.assertThrows(ValidationException.class,
+                () -> validator.contains(Collections.emptyIterator(), targetName, null)).getMessage());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_EQUAL_NUMBER.errMsg(targetName + "列表长度", 2),
+                Assertions.assertThrows(ValidationException.class,
+                        () -> validator.size(Arrays.asList(1, 2, 3).iterator(), targetName, 2)).getMessage());
+    }
+
     @Test
     void testCondition() {
         Assertions.assertEquals(validator, validator.isLegal(true, targetName));
@@ -269,4 +465,14 @@ class ValidatorTest {
         Assertions.assertThrows(RuntimeException.class, () -> validator.notExist(true, targetName));
     }
 
+    @Test
+    void testException() {
+        ValidationException ex = Assertions.assertThrows(ValidationException.class,
+                () -> validator.between(0, targetName, 1, 10));
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN, ex.getTemplate());
+        Assertions.assertArrayEquals(new Object[]{targetName, 1, 10}, ex.getArgs());
+        Assertions.assertEquals(ExMsgTemplateEnum.MUST_BETWEEN.errMsg(targetName, 1, 10), ex.getMessage());
+        Assertions.assertEquals(0, ex.getStackTrace().length);
+    }
+
 }